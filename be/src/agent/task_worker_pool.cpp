@@ -21,6 +21,7 @@
 #include <pthread.h>
 #include <sys/stat.h>
 
+#include <algorithm>
 #include <boost/lexical_cast.hpp>
 #include <chrono>
 #include <csignal>
@@ -1217,11 +1218,10 @@ void TaskWorkerPool::_report_tablet_worker_thread_callback() {
 
         TReportRequest request;
         request.__set_backend(_backend);
-        request.__isset.tablets = true;
 
         uint64_t report_version = _s_report_version;
-        StorageEngine::instance()->tablet_manager()->build_all_report_tablets_info(
-                &request.tablets);
+        auto tablets = std::make_shared<std::map<TTabletId, TTablet>>();
+        StorageEngine::instance()->tablet_manager()->build_all_report_tablets_info(tablets.get());
         if (report_version < _s_report_version) {
             // TODO llj This can only reduce the possibility for report error, but can't avoid it.
             // If FE create a tablet in FE meta and send CREATE task to this BE, the tablet may not be included in this
@@ -1237,6 +1237,7 @@ void TaskWorkerPool::_report_tablet_worker_thread_callback() {
                          DorisMetrics::instance()->tablet_base_max_compaction_score->value());
         request.__set_tablet_max_compaction_score(max_compaction_score);
         request.__set_report_version(report_version);
+        _set_report_tablets(*tablets, &request);
 
         // report storage policy and resource
         auto& storage_policy_list = request.storage_policy;
@@ -1254,11 +1255,73 @@ void TaskWorkerPool::_report_tablet_worker_thread_callback() {
         }
         request.__isset.resource = true;
 
-        _handle_report(request, ReportType::TABLET);
+        // FE may process the report even if the response is lost, so the tablets are kept anyway
+        _sent_tablet_reports[report_version] = std::move(tablets);
+        TMasterResult result;
+        if (_handle_report(request, ReportType::TABLET, &result)) {
+            _on_tablet_report_result(result);
+        }
     }
     StorageEngine::instance()->deregister_report_listener(this);
 }
 
+void TaskWorkerPool::_set_report_tablets(const std::map<TTabletId, TTablet>& tablets,
+                                         TReportRequest* request) {
+    auto base = _sent_tablet_reports.find(_acked_tablet_report_version);
+    if (!config::enable_delta_tablet_report || _need_full_tablet_report ||
+        base == _sent_tablet_reports.end()) {
+        request->__set_tablets(tablets);
+        return;
+    }
+
+    const auto& base_tablets = *base->second;
+    std::map<TTabletId, TTablet> changed_tablets;
+    for (const auto& [tablet_id, tablet] : tablets) {
+        auto it = base_tablets.find(tablet_id);
+        // the expired transactions are reported every time until they are cleared by FE
+        bool has_expired_txns = std::any_of(
+                tablet.tablet_infos.begin(), tablet.tablet_infos.end(),
+                [](const TTabletInfo& info) { return !info.transaction_ids.empty(); });
+        if (it == base_tablets.end() || !(it->second == tablet) || has_expired_txns) {
+            changed_tablets.emplace(tablet_id, tablet);
+        }
+    }
+    std::vector<TTabletId> dropped_tablets;
+    for (const auto& [tablet_id, tablet] : base_tablets) {
+        if (tablets.find(tablet_id) == tablets.end()) {
+            dropped_tablets.push_back(tablet_id);
+        }
+    }
+    LOG(INFO) << "delta tablet report based on report version " << base->first << ", "
+              << changed_tablets.size() << " changed tablets, " << dropped_tablets.size()
+              << " dropped tablets, " << tablets.size() << " tablets in total";
+    request->__set_tablets(changed_tablets);
+    request->__set_is_delta_tablet_report(true);
+    request->__set_base_tablet_report_version(base->first);
+    request->__set_dropped_tablets(dropped_tablets);
+}
+
+void TaskWorkerPool::_on_tablet_report_result(const TMasterResult& result) {
+    _need_full_tablet_report = result.__isset.need_full_tablet_report && result.need_full_tablet_report;
+    if (result.__isset.acked_tablet_report_version) {
+        _acked_tablet_report_version = result.acked_tablet_report_version;
+        // the reports before the acknowledged one will never be the base of a delta report
+        _sent_tablet_reports.erase(_sent_tablet_reports.begin(),
+                                   _sent_tablet_reports.lower_bound(_acked_tablet_report_version));
+    } else {
+        // FE does not accept delta reports, e.g. an old FE or delta reports are disabled,
+        // only the last report is kept, so that it can be the base once FE acknowledges it
+        _acked_tablet_report_version = -1;
+        _sent_tablet_reports.erase(_sent_tablet_reports.begin(),
+                                   std::prev(_sent_tablet_reports.end()));
+    }
+    // FE processes the reports asynchronously, so it usually acknowledges the report before the last one,
+    // a report not acknowledged after that is not kept any more
+    while (_sent_tablet_reports.size() > 2) {
+        _sent_tablet_reports.erase(_sent_tablet_reports.begin());
+    }
+}
+
 void TaskWorkerPool::_upload_worker_thread_callback() {
     while (_is_work) {
         TAgentTaskRequest agent_task_req;
@@ -1527,8 +1590,10 @@ Status TaskWorkerPool::_move_dir(const TTabletId tablet_id, const std::string& s
     return loader.move(src, tablet, overwrite);
 }
 
-void TaskWorkerPool::_handle_report(TReportRequest& request, ReportType type) {
-    TMasterResult result;
+bool TaskWorkerPool::_handle_report(TReportRequest& request, ReportType type,
+                                    TMasterResult* master_result) {
+    TMasterResult local_result;
+    TMasterResult& result = master_result == nullptr ? local_result : *master_result;
     Status status = _master_client->report(request, &result);
     bool is_report_success = false;
     if (!status.ok()) {
@@ -1569,6 +1634,7 @@ void TaskWorkerPool::_handle_report(TReportRequest& request, ReportType type) {
     default:
         break;
     }
+    return is_report_success;
 }
 
 void TaskWorkerPool::_random_sleep(int second) {
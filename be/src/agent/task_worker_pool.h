@@ -19,6 +19,7 @@
 
 #include <atomic>
 #include <deque>
+#include <map>
 #include <memory>
 #include <utility>
 #include <vector>
@@ -195,7 +196,11 @@ private:
 
     void _alter_tablet(const TAgentTaskRequest& alter_tablet_request, int64_t signature,
                        const TTaskType::type task_type, TFinishTaskRequest* finish_task_request);
-    void _handle_report(TReportRequest& request, ReportType type);
+    // return true if the report is processed by FE, the result of FE is set if 'result' is not null
+    bool _handle_report(TReportRequest& request, ReportType type, TMasterResult* result = nullptr);
+    // set the tablets of the report, only the changed and dropped ones if a delta report can be sent
+    void _set_report_tablets(const std::map<TTabletId, TTablet>& tablets, TReportRequest* request);
+    void _on_tablet_report_result(const TMasterResult& result);
 
     Status _get_tablet_info(const TTabletId tablet_id, const TSchemaHash schema_hash,
                             int64_t signature, TTabletInfo* tablet_info);
@@ -238,6 +243,13 @@ private:
     uint32_t _worker_count;
     TaskWorkerType _task_worker_type;
 
+    // Only used by the tablet report thread.
+    // report version -> the tablets sent by the report, a delta report is built against the tablets of the
+    // report acknowledged by FE, so the reports sent after the acknowledged one are kept.
+    std::map<int64_t, std::shared_ptr<std::map<TTabletId, TTablet>>> _sent_tablet_reports;
+    int64_t _acked_tablet_report_version = -1;
+    bool _need_full_tablet_report = true;
+
     static FrontendServiceClientCache _master_service_client_cache;
     static std::atomic_ulong _s_report_version;
 
@@ -132,6 +132,9 @@ CONF_mInt32(storage_refresh_storage_policy_task_interval_seconds, "5");
 CONF_mInt32(report_disk_state_interval_seconds, "60");
 // the interval time(seconds) for agent report olap table to FE
 CONF_mInt32(report_tablet_interval_seconds, "60");
+// if true, only the tablets changed since the last tablet report acknowledged by FE are reported,
+// until FE asks for a full report
+CONF_mBool(enable_delta_tablet_report, "true");
 // the max download speed(KB/s)
 CONF_mInt32(max_download_speed_kbps, "50000");
 // download low speed limit(KB/s)
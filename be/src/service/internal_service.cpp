@@ -416,6 +416,20 @@ Status PInternalServiceImpl::_tablet_fetch_data(const PTabletKeyLookupRequest* r
         VLOG_DEBUG << lookup_util.print_profile();
     }
     LOG_EVERY_N(INFO, 500) << lookup_util.print_profile();
+    if (request->more_tablet_keys_size() > 0) {
+        // the other tablets share the cached structures of the first one
+        PTabletKeyLookupRequest tablet_request;
+        tablet_request.CopyFrom(*request);
+        tablet_request.clear_more_tablet_keys();
+        for (const PTabletKeys& tablet_keys : request->more_tablet_keys()) {
+            tablet_request.set_tablet_id(tablet_keys.tablet_id());
+            *tablet_request.mutable_key_tuples() = tablet_keys.key_tuples();
+            PTabletKeyLookupResponse* tablet_response = response->add_more_responses();
+            Status st = _tablet_fetch_data(&tablet_request, tablet_response);
+            st.to_protobuf(tablet_response->mutable_status());
+            RETURN_IF_ERROR(st);
+        }
+    }
     return Status::OK();
 }
 
@@ -258,6 +258,7 @@ Status PointQueryExecutor::_lookup_row_data() {
             vectorized::JsonbSerializeUtil::jsonb_to_block(
                     *_reusable->tuple_desc(), _cached_row_data[i].data().data,
                     _cached_row_data[i].data().size, *_result_block);
+            _response->add_row_key_indexes(i);
             continue;
         }
         if (!_row_locations[i].has_value()) {
@@ -267,6 +268,8 @@ Status PointQueryExecutor::_lookup_row_data() {
                 _primary_keys[i], _row_locations[i].value(), _reusable->tuple_desc(),
                 _result_block.get(),
                 !config::disable_storage_row_cache /*whether write row cache*/));
+        // FE merges the rows of tablets in the order of keys
+        _response->add_row_key_indexes(i);
     }
     return Status::OK();
 }
@@ -213,6 +213,26 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int edit_log_roll_num = 50000;
 
+    /**
+     * If set to true, master FE will write edit logs in group commit mode.
+     * Concurrent edit logs are put into a queue, and a single writer thread writes them to bdbje
+     * in batches, one transaction per batch, instead of one transaction per edit log.
+     */
+    @ConfField(masterOnly = true)
+    public static boolean enable_journal_group_commit = false;
+
+    /**
+     * The max number of edit logs written in one batch in group commit mode.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int journal_group_commit_max_batch_num = 100;
+
+    /**
+     * The max total bytes of edit logs written in one batch in group commit mode.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long journal_group_commit_max_batch_bytes = 32 * 1024 * 1024; // 32MB
+
     /**
      * Non-master FE will stop offering service
      * if meta data delay gap exceeds *meta_delay_toleration_second*
@@ -898,6 +918,36 @@ public class Config extends ConfigBase {
      */
     @ConfField public static int max_connection_scheduler_threads_num = 4096;
 
+    /**
+     * If set to true, mysql requests are handled on virtual threads instead of the threads of mysql-nio-pool
+     * and connection-scheduler-pool, and max_mysql_service_task_threads_num and
+     * max_connection_scheduler_threads_num do not take effect.
+     * Only works when FE runs on JDK 21 or later, otherwise platform threads are still used.
+     */
+    @ConfField public static boolean enable_connection_virtual_thread = false;
+
+    /**
+     * The max number of distinct point queries whose serialized descriptor table and output exprs
+     * are shared by all connections, so that they also share the prepared structure cached in BE.
+     * A point query is only serialized if its plan is not cached.
+     */
+    @ConfField public static int point_query_context_cache_num = 4096;
+
+    /**
+     * The max number of keys fetched by one point query, such as `SELECT * FROM tbl WHERE k1 IN (1, 2, 3)`.
+     * The number of keys is the product of the element numbers of IN predicates on key columns.
+     * The query with more keys is executed as a normal query.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int max_point_query_batch_key_num = 1024;
+
+    /**
+     * The max number of optimized plans cached by Nereids for the queries with session variable
+     * `enable_nereids_plan_cache` enabled. A plan is reused when the same statement is sent again
+     * with the same session variables and the tables it reads have not changed.
+     */
+    @ConfField public static int nereids_plan_cache_num = 1024;
+
     /**
      * The memory_limit for colocote join PlanFragment instance =
      * exec_mem_limit / min (query_colocate_join_memory_limit_penalty_factor, instance_num)
@@ -1184,6 +1234,22 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int report_queue_size = 100;
 
+    /**
+     * If set to true, a backend may report only the tablets changed since a tablet report processed by FE.
+     * A delta report which is based on a report not processed yet, e.g. after the master changed, is rejected,
+     * and the backend is asked to send a full report instead. If set to false, backends are not told which report is processed, so they
+     * always send full reports.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_delta_tablet_report = true;
+
+    /**
+     * The max number of delta tablet reports a backend can send in a row. After that, the backend is asked to
+     * send a full report, so that any difference missed by the delta reports is eventually found.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int max_consecutive_delta_tablet_reports = 10;
+
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
      */
@@ -1260,6 +1326,30 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static boolean force_do_metadata_checkpoint = false;
 
+    /**
+     * The number of threads to save and load the sections (meta modules) of image in parallel.
+     * When saving image, each section is written to a temp file in parallel and then appended to the image.
+     * When loading image, the few sections known to be independent (broker, paloAuth, smallFiles, sqlBlockRule)
+     * are read in parallel with the others, and the other sections are still read one by one.
+     * The image format is not changed. 1 means saving and loading sections one by one.
+     */
+    @ConfField(mutable = true)
+    public static int metadata_image_parallelism = 1;
+
+    /**
+     * If set to true, the checkpoint copies the serialized databases which are not changed by the replayed
+     * journals from the previous image, instead of serializing them again.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_incremental_checkpoint = false;
+
+    /**
+     * After this number of consecutive incremental checkpoints, a full image is written,
+     * in which all databases are serialized again.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int incremental_checkpoint_full_image_interval = 10;
+
     /**
      * The multi cluster feature will be deprecated in version 0.12
      * set this config to true will disable all operations related to cluster feature, include:
@@ -1379,6 +1469,20 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static int cache_result_max_row_count = 3000;
 
+    /**
+     * The memory used by the sql and partition cache results kept in FE, in MB.
+     * Results in FE are returned without a rpc to BE, the cache of BE is still used on a miss.
+     * Set to 0 to keep the results only in BE.
+     */
+    @ConfField
+    public static long cache_fe_result_max_memory_mb = 128;
+
+    /**
+     * Results larger than this are only cached in BE, in KB.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int cache_fe_result_max_entry_kb = 1024;
+
     /**
      * Used to limit element num of InPredicate in delete statement.
      */
@@ -1753,6 +1857,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long remote_fragment_exec_timeout_ms = 5000; // 5 sec
 
+    /**
+     * The max number of threads shared by all queries to serialize and send the fragments of different backends
+     * in parallel. The query thread serializes and sends the fragments itself if all the threads are busy.
+     * Fragments are serialized and sent one backend after another if it is no more than 1.
+     */
+    @ConfField
+    public static int max_send_fragment_threads_num = 16;
+
     /**
      * Temp config, should be removed when new file scan node is ready.
      */
@@ -1888,6 +2000,49 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false, masterOnly = false)
     public static long max_external_file_cache_num = 100000;
 
+    /**
+     * Max number of threads to load the partitions and list the files of an external table in parallel.
+     * The threads are shared by all queries, and a query with many partitions uses at most all of them.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static int max_external_file_listing_thread_num = 64;
+
+    /**
+     * Whether to save the splits of hive partitions on local disk, so that they need not be computed again
+     * from the file system after FE restarts. Saved splits are used only if the files of the partition have the
+     * same lengths and modification times as when they were saved.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean enable_external_file_cache_persistence = false;
+
+    /**
+     * The directory to save the file listings of hive partitions when enable_external_file_cache_persistence is true.
+     */
+    @ConfField
+    public static String external_file_cache_dir = System.getenv("DORIS_HOME") + "/external_file_cache";
+
+    /**
+     * Max total bytes of the saved splits of hive partitions of each catalog on local disk.
+     * The least recently used ones are removed when exceeded.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long external_file_cache_persist_max_bytes = 1024L * 1024 * 1024; // 1gb
+
+    /**
+     * Max number of threads to read the manifests of iceberg tables in parallel when planning the scans.
+     * The threads are shared by all queries.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static int max_external_iceberg_planning_thread_num = 16;
+
+    /**
+     * Max total bytes of the iceberg manifests cached in memory by each iceberg catalog.
+     * The manifests are immutable, so the cached ones are reused by all snapshots referring to them.
+     * Set to 0 to disable the cache. Takes effect when the catalog is initialized.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long iceberg_manifest_cache_max_total_bytes = 104857600;
+
     /**
      * Max cache num of external table's schema
      * Decrease this value if FE's memory is small
@@ -21,6 +21,7 @@ import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.OlapTable;
 import org.apache.doris.common.UserException;
 import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.PointQueryContextCache;
 import org.apache.doris.thrift.TDescriptorTable;
 import org.apache.doris.thrift.TExpr;
 import org.apache.doris.thrift.TExprList;
@@ -93,30 +94,30 @@ public class PrepareStmt extends StatementBase {
         return binaryRowFormat;
     }
 
-    public void cacheSerializedDescriptorTable(DescriptorTable desctbl) {
+    // Cache the serialized structures, and share them and the id with the same statements prepared by
+    // other connections. The structures are serialized only if no connection has prepared the statement.
+    public void cacheSerializedContext(DescriptorTable desctbl, List<Expr> outExprs) {
+        descTable = desctbl.toThrift();
         try {
-            descTable = desctbl.toThrift();
-            serializedDescTable = ByteString.copyFrom(
-                    new TSerializer().serialize(descTable));
+            PointQueryContextCache.Context sharedContext = PointQueryContextCache.INSTANCE.getOrCreate(
+                    PointQueryContextCache.Key.of(desctbl, outExprs, binaryRowFormat),
+                    () -> ByteString.copyFrom(new TSerializer().serialize(descTable)),
+                    () -> serializeOutputExprs(outExprs));
+            id = sharedContext.getId();
+            serializedDescTable = sharedContext.getSerializedDescTable();
+            serializedOutputExpr = sharedContext.getSerializedOutputExpr();
         } catch (TException e) {
-            LOG.warn("failed to serilize DescriptorTable, {}", e.getMessage());
+            LOG.warn("failed to serilize DescriptorTable or TExprList, {}", e.getMessage());
             Preconditions.checkState(false, e.getMessage());
         }
     }
 
-    public void cacheSerializedOutputExprs(List<Expr> outExprs) {
+    private static ByteString serializeOutputExprs(List<Expr> outExprs) throws TException {
         List<TExpr> exprs = new ArrayList<>();
         for (Expr expr : outExprs) {
             exprs.add(expr.treeToThrift());
         }
-        TExprList exprList = new TExprList(exprs);
-        try {
-            serializedOutputExpr = ByteString.copyFrom(
-                        new TSerializer().serialize(exprList));
-        } catch (TException e) {
-            LOG.warn("failed to serilize TExprList, {}", e.getMessage());
-            Preconditions.checkState(false, e.getMessage());
-        }
+        return ByteString.copyFrom(new TSerializer().serialize(new TExprList(exprs)));
     }
 
     public ByteString getSerializedDescTable() {
@@ -137,11 +138,13 @@ public class PrepareStmt extends StatementBase {
             SelectStmt select = (SelectStmt) inner;
             for (PlaceHolderExpr pexpr : placeholders) {
                 // Only point query support
-                for (Map.Entry<SlotRef, Expr> entry :
-                            select.getPointQueryEQPredicates().entrySet()) {
-                    // same instance
-                    if (entry.getValue() == pexpr) {
-                        slots.add(entry.getKey());
+                for (Map.Entry<SlotRef, List<Expr>> entry :
+                            select.getPointQueryKeyValues().entrySet()) {
+                    for (Expr value : entry.getValue()) {
+                        // same instance
+                        if (value == pexpr) {
+                            slots.add(entry.getKey());
+                        }
                     }
                 }
             }
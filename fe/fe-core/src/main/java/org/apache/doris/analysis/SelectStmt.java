@@ -35,6 +35,7 @@ import org.apache.doris.catalog.View;
 import org.apache.doris.cluster.ClusterNamespace;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.ColumnAliasGenerator;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
 import org.apache.doris.common.Pair;
@@ -127,6 +128,10 @@ public class SelectStmt extends QueryStmt {
 
     // For quick get condition for point query
     private Map<SlotRef, Expr> eqPredicates;
+    // IN conditions of point query which fetches a batch of keys
+    private Map<SlotRef, List<Expr>> inPredicates;
+    // Values of all key columns of point query, sorted by column unique id
+    private Map<SlotRef, List<Expr>> pointQueryKeyValues;
 
     boolean isTwoPhaseOptEnabled = false;
 
@@ -2386,6 +2391,10 @@ public class SelectStmt extends QueryStmt {
         return eqPredicates;
     }
 
+    public Map<SlotRef, List<Expr>> getPointQueryKeyValues() {
+        return pointQueryKeyValues;
+    }
+
     public boolean isPointQueryShortCircuit() {
         return isPointQuery;
     }
@@ -2395,15 +2404,15 @@ public class SelectStmt extends QueryStmt {
         if (isPointQuery) {
             return true;
         }
-        eqPredicates = new TreeMap<SlotRef, Expr>(
-                new Comparator<SlotRef>() {
-                    @Override
-                    public int compare(SlotRef o1, SlotRef o2) {
-                        // order by unique id
-                        return Integer.compare(o1.getColumn().getUniqueId(), o2.getColumn().getUniqueId());
-                    }
-                }
-        );
+        Comparator<SlotRef> slotComparator = new Comparator<SlotRef>() {
+            @Override
+            public int compare(SlotRef o1, SlotRef o2) {
+                // order by unique id
+                return Integer.compare(o1.getColumn().getUniqueId(), o2.getColumn().getUniqueId());
+            }
+        };
+        eqPredicates = new TreeMap<SlotRef, Expr>(slotComparator);
+        inPredicates = new TreeMap<SlotRef, List<Expr>>(slotComparator);
         // Only handle the simplest `SELECT ... FROM <tbl> WHERE ...` query
         if (getAggInfo() != null
                 || getHavingPred() != null
@@ -2424,11 +2433,10 @@ public class SelectStmt extends QueryStmt {
         }
         OlapTable olapTable = (OlapTable) tbl.getTable();
         Preconditions.checkNotNull(eqPredicates);
-        eqPredicates = getExpectedBinaryPredicates(eqPredicates, whereClause, TExprOpcode.EQ);
-        LOG.debug("predicates {}", eqPredicates);
-        if (eqPredicates == null) {
+        if (!getExpectedPointQueryPredicates(eqPredicates, inPredicates, whereClause)) {
             return false;
         }
+        LOG.debug("predicates {}, in predicates {}", eqPredicates, inPredicates);
         if (!olapTable.getEnableUniqueKeyMergeOnWrite() || !olapTable.storeRowColumn()) {
             return false;
         }
@@ -2436,16 +2444,29 @@ public class SelectStmt extends QueryStmt {
         List<Column> pkColumns = olapTable.getBaseSchemaKeyColumns();
 
         // TODO(lhy) select does not support other conditions
-        if (pkColumns.size() != eqPredicates.size()) {
+        if (pkColumns.size() != eqPredicates.size() + inPredicates.size()) {
             return false;
         }
 
         for (Column col : pkColumns) {
             SlotRef slot = findSlot(eqPredicates.keySet(), col.getName());
-            if (slot == null) {
+            if (slot == null && findSlot(inPredicates.keySet(), col.getName()) == null) {
+                return false;
+            }
+        }
+        // the keys to fetch are the cartesian product of the values of all key columns
+        long keyNum = 1;
+        for (List<Expr> values : inPredicates.values()) {
+            keyNum *= values.size();
+            if (keyNum > Config.max_point_query_batch_key_num) {
                 return false;
             }
         }
+        pointQueryKeyValues = new TreeMap<SlotRef, List<Expr>>(slotComparator);
+        for (Map.Entry<SlotRef, Expr> entry : eqPredicates.entrySet()) {
+            pointQueryKeyValues.put(entry.getKey(), Lists.newArrayList(entry.getValue()));
+        }
+        pointQueryKeyValues.putAll(inPredicates);
         isPointQuery = true;
         return true;
     }
@@ -2459,41 +2480,53 @@ public class SelectStmt extends QueryStmt {
         return null;
     }
 
-    // extract all the expected binary predicate in `expr`
-    // @param expected : the expected binary op type you need to collect in origin expr
-    private static Map<SlotRef, Expr> getExpectedBinaryPredicates(
-            Map<SlotRef, Expr> result, Expr expr, TExprOpcode expected) {
+    // extract all the EQ and IN predicates combined by AND in `expr`
+    // return false if there are any other predicates
+    private static boolean getExpectedPointQueryPredicates(Map<SlotRef, Expr> eqResult,
+            Map<SlotRef, List<Expr>> inResult, Expr expr) {
         if (expr == null) {
-            return null;
+            return false;
         }
         if (expr instanceof CompoundPredicate) {
             CompoundPredicate compoundPredicate = (CompoundPredicate) expr;
             if (compoundPredicate.getOp() != CompoundPredicate.Operator.AND) {
-                return null;
-            }
-            result = getExpectedBinaryPredicates(result, compoundPredicate.getChild(0), expected);
-            if (result == null) {
-                return null;
-            }
-            result = getExpectedBinaryPredicates(result, compoundPredicate.getChild(1), expected);
-            if (result == null) {
-                return null;
+                return false;
             }
-            return result;
+            return getExpectedPointQueryPredicates(eqResult, inResult, compoundPredicate.getChild(0))
+                    && getExpectedPointQueryPredicates(eqResult, inResult, compoundPredicate.getChild(1));
         } else if ((expr instanceof BinaryPredicate)) {
             BinaryPredicate binaryPredicate = (BinaryPredicate) expr;
-            if (binaryPredicate.getOpcode() != expected) {
-                return null;
+            if (binaryPredicate.getOpcode() != TExprOpcode.EQ) {
+                return false;
             }
             LOG.debug("binary pred {}", expr);
             Pair<SlotRef, Expr> p = binaryPredicate.extract();
-            if (p == null || result.containsKey(p.first)) {
-                return null;
+            if (p == null || eqResult.containsKey(p.first) || inResult.containsKey(p.first)) {
+                return false;
             }
-            result.put(p.first, p.second);
-            return result;
+            eqResult.put(p.first, p.second);
+            return true;
+        } else if (expr instanceof InPredicate) {
+            InPredicate inPredicate = (InPredicate) expr;
+            if (inPredicate.isNotIn() || !(inPredicate.getChild(0) instanceof SlotRef)) {
+                return false;
+            }
+            LOG.debug("in pred {}", expr);
+            SlotRef slot = (SlotRef) inPredicate.getChild(0);
+            if (eqResult.containsKey(slot) || inResult.containsKey(slot)) {
+                return false;
+            }
+            List<Expr> values = Lists.newArrayList();
+            for (Expr value : inPredicate.getListChildren()) {
+                if (!(value instanceof LiteralExpr) || value instanceof NullLiteral) {
+                    return false;
+                }
+                values.add(value);
+            }
+            inResult.put(slot, values);
+            return true;
         } else {
-            return null;
+            return false;
         }
     }
 }
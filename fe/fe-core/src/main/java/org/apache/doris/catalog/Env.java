@@ -194,6 +194,7 @@ import org.apache.doris.persist.TableInfo;
 import org.apache.doris.persist.TablePropertyInfo;
 import org.apache.doris.persist.TableRenameColumnInfo;
 import org.apache.doris.persist.TruncateTableInfo;
+import org.apache.doris.persist.meta.IncrementalImageContext;
 import org.apache.doris.persist.meta.MetaHeader;
 import org.apache.doris.persist.meta.MetaReader;
 import org.apache.doris.persist.meta.MetaWriter;
@@ -358,6 +359,8 @@ public class Env {
 
     private static Env CHECKPOINT = null;
     private static long checkpointThreadId = -1;
+    // threads which save or load image sections in parallel on behalf of the checkpoint thread
+    private static final Set<Long> checkpointWorkerThreadIds = ConcurrentHashMap.newKeySet();
     private Checkpoint checkpointer;
     private List<Pair<String, Integer>> helperNodes = Lists.newArrayList();
     private Pair<String, Integer> selfNode = null;
@@ -735,7 +738,18 @@ public class Env {
     }
 
     public static final boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        long threadId = Thread.currentThread().getId();
+        return threadId == checkpointThreadId || checkpointWorkerThreadIds.contains(threadId);
+    }
+
+    // Make the current thread be treated as the checkpoint thread, so that it visits the checkpoint env.
+    // Only for the worker threads started by checkpoint thread, and must be unregistered before exit.
+    public static void registerCheckpointWorkerThread() {
+        checkpointWorkerThreadIds.add(Thread.currentThread().getId());
+    }
+
+    public static void unregisterCheckpointWorkerThread() {
+        checkpointWorkerThreadIds.remove(Thread.currentThread().getId());
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -2405,6 +2419,9 @@ public class Env {
             }
             hasLog = true;
             EditLog.loadJournal(this, entity);
+            if (isCheckpointThread() && IncrementalImageContext.get() != null) {
+                IncrementalImageContext.get().markDirty(entity);
+            }
             replayedJournalId.incrementAndGet();
             LOG.debug("journal {} replayed.", replayedJournalId);
             if (feType != FrontendNodeType.MASTER) {
@@ -20,6 +20,7 @@ package org.apache.doris.catalog;
 import org.apache.doris.catalog.Replica.ReplicaState;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.util.LongObjectHashMap;
 import org.apache.doris.cooldown.CooldownConf;
 import org.apache.doris.thrift.TPartitionVersionInfo;
 import org.apache.doris.thrift.TStorageMedium;
@@ -47,6 +48,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +56,8 @@ import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /*
  * this class stores a inverted index
@@ -72,10 +76,10 @@ public class TabletInvertedIndex {
     private StampedLock lock = new StampedLock();
 
     // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+    private LongObjectHashMap<TabletMeta> tabletMetaMap = new LongObjectHashMap<>();
 
     // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    private LongObjectHashMap<Long> replicaToTabletMap = new LongObjectHashMap<>();
 
     /*
      *  we use this to save memory.
@@ -88,11 +92,16 @@ public class TabletInvertedIndex {
      */
     private Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
 
-    // tablet id -> (backend id -> replica)
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+    /*
+     * There may be tens of millions of replicas, so the replica indexes are keyed by primitive long
+     * to avoid boxing the ids and creating entry objects for every replica.
+     */
+    // tablet id -> replicas of the tablet
+    // a tablet only has a few replicas, so we save them in a small array and search it by backend id.
+    private LongObjectHashMap<Replica[]> replicaMetaTable = new LongObjectHashMap<>();
     // backing replica table, for visiting backend replicas faster.
     // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+    private Map<Long, LongObjectHashMap<Replica>> backingReplicaMetaTable = Maps.newHashMap();
 
     private volatile ImmutableSet<Long> partitionIdInMemorySet = ImmutableSet.of();
 
@@ -117,7 +126,15 @@ public class TabletInvertedIndex {
         this.lock.unlockWrite(stamp);
     }
 
-    public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
+    /**
+     * Diff the tablets reported by a backend with the replicas of the backend in meta.
+     * A full report contains all tablets of the backend, so every replica in meta is checked and the ones not
+     * reported are deleted from meta. A delta report only contains the tablets changed since the last processed
+     * report and the tablets dropped since then, so only the replicas of these tablets are checked.
+     *
+     * @param droppedTablets tablets dropped from the backend, null for a full report
+     */
+    public void tabletReport(long backendId, Map<Long, TTablet> backendTablets, List<Long> droppedTablets,
                              final HashMap<Long, TStorageMedium> storageMediumMap,
                              ListMultimap<Long, Long> tabletSyncMap,
                              ListMultimap<Long, Long> tabletDeleteFromMeta,
@@ -132,19 +149,33 @@ public class TabletInvertedIndex {
         long stamp = readLock();
         long start = System.currentTimeMillis();
         try {
-            LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LOG.debug("begin to do tablet diff with backend[{}]. num: {}, delta: {}",
+                    backendId, backendTablets.size(), droppedTablets != null);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
+                long[] tabletIds;
+                List<Replica> replicas;
+                if (droppedTablets == null) {
+                    // the keys and values are in the same order, and will not be changed while holding the read lock.
+                    tabletIds = replicaMetaWithBackend.keyArray();
+                    replicas = replicaMetaWithBackend.valueList();
+                } else {
+                    tabletIds = Stream.concat(backendTablets.keySet().stream(), droppedTablets.stream())
+                            .filter(replicaMetaWithBackend::containsKey).mapToLong(Long::longValue).distinct()
+                            .toArray();
+                    replicas = Arrays.stream(tabletIds).mapToObj(replicaMetaWithBackend::get)
+                            .collect(Collectors.toList());
+                }
                 taskPool.submit(() -> {
                     // traverse replicas in meta with this backend
-                    replicaMetaWithBackend.entrySet().parallelStream().forEach(entry -> {
-                        long tabletId = entry.getKey();
+                    IntStream.range(0, tabletIds.length).parallel().forEach(idx -> {
+                        long tabletId = tabletIds[idx];
                         Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
                         TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
 
                         if (backendTablets.containsKey(tabletId)) {
                             TTablet backendTablet = backendTablets.get(tabletId);
-                            Replica replica = entry.getValue();
+                            Replica replica = replicas.get(idx);
                             tabletFoundInMeta.add(tabletId);
                             TTabletInfo backendTabletInfo = backendTablet.getTabletInfos().get(0);
                             if (partitionIdInMemorySet.contains(
@@ -375,12 +406,12 @@ public class TabletInvertedIndex {
         }
 
         // validate replica is active
-        Map<Long, Replica> replicaMap = replicaMetaTable.row(beTabletInfo.getTabletId());
-        if (replicaMap.isEmpty()) {
+        Replica[] replicaArray = replicaMetaTable.get(beTabletInfo.getTabletId());
+        if (replicaArray == null) {
             return;
         }
         boolean replicaInvalid = true;
-        for (Replica replica : replicaMap.values()) {
+        for (Replica replica : replicaArray) {
             if (replica.getId() == cooldownConf.first) {
                 replicaInvalid = false;
                 break;
@@ -407,8 +438,8 @@ public class TabletInvertedIndex {
     public List<Replica> getReplicas(Long tabletId) {
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMap = replicaMetaTable.row(tabletId);
-            return replicaMap.values().stream().collect(Collectors.toList());
+            Replica[] replicaArray = replicaMetaTable.get(tabletId);
+            return replicaArray == null ? Lists.newArrayList() : Lists.newArrayList(replicaArray);
         } finally {
             readUnlock(stamp);
         }
@@ -477,14 +508,11 @@ public class TabletInvertedIndex {
         }
         long stamp = writeLock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            Replica[] replicas = replicaMetaTable.remove(tabletId);
             if (replicas != null) {
-                for (Replica replica : replicas.values()) {
+                for (Replica replica : replicas) {
                     replicaToTabletMap.remove(replica.getId());
-                }
-
-                for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
+                    removeBackingReplica(replica.getBackendId(), tabletId);
                 }
             }
             TabletMeta tabletMeta = tabletMetaMap.remove(tabletId);
@@ -506,9 +534,10 @@ public class TabletInvertedIndex {
         long stamp = writeLock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
+            replicaMetaTable.put(tabletId, addToReplicaArray(replicaMetaTable.get(tabletId), replica));
             replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
+            backingReplicaMetaTable.computeIfAbsent(replica.getBackendId(), k -> new LongObjectHashMap<>())
+                    .put(tabletId, replica);
             LOG.debug("add replica {} of tablet {} in backend {}",
                     replica.getId(), tabletId, replica.getBackendId());
         } finally {
@@ -523,11 +552,21 @@ public class TabletInvertedIndex {
         long stamp = writeLock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
+            Replica[] replicaArray = replicaMetaTable.get(tabletId);
+            if (replicaArray != null) {
+                Replica replica = findReplica(replicaArray, backendId);
+                if (replica == null) {
+                    LOG.warn("tablet[{}] has no replica on backend[{}] in inverted index", tabletId, backendId);
+                    return;
+                }
+                Replica[] newReplicaArray = removeFromReplicaArray(replicaArray, backendId);
+                if (newReplicaArray.length == 0) {
+                    replicaMetaTable.remove(tabletId);
+                } else {
+                    replicaMetaTable.put(tabletId, newReplicaArray);
+                }
                 replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
+                removeBackingReplica(backendId, tabletId);
                 LOG.debug("delete replica {} of tablet {} in backend {}",
                         replica.getId(), tabletId, backendId);
             } else {
@@ -544,7 +583,8 @@ public class TabletInvertedIndex {
         long stamp = readLock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId), tabletId);
-            return replicaMetaTable.get(tabletId, backendId);
+            Replica[] replicaArray = replicaMetaTable.get(tabletId);
+            return replicaArray == null ? null : findReplica(replicaArray, backendId);
         } finally {
             readUnlock(stamp);
         }
@@ -553,8 +593,9 @@ public class TabletInvertedIndex {
     public List<Replica> getReplicasByTabletId(long tabletId) {
         long stamp = readLock();
         try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
+            Replica[] replicaArray = replicaMetaTable.get(tabletId);
+            if (replicaArray != null) {
+                return Lists.newArrayList(replicaArray);
             }
             return Lists.newArrayList();
         } finally {
@@ -566,9 +607,11 @@ public class TabletInvertedIndex {
         List<Long> tabletIds = Lists.newArrayList();
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
-                tabletIds.addAll(replicaMetaWithBackend.keySet());
+                for (long tabletId : replicaMetaWithBackend.keyArray()) {
+                    tabletIds.add(tabletId);
+                }
             }
         } finally {
             readUnlock(stamp);
@@ -580,10 +623,13 @@ public class TabletInvertedIndex {
         List<Long> tabletIds = Lists.newArrayList();
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
-                tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                        id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
+                for (long tabletId : replicaMetaWithBackend.keyArray()) {
+                    if (tabletMetaMap.get(tabletId).getStorageMedium() == storageMedium) {
+                        tabletIds.add(tabletId);
+                    }
+                }
             }
         } finally {
             readUnlock(stamp);
@@ -594,7 +640,7 @@ public class TabletInvertedIndex {
     public int getTabletNumByBackendId(long backendId) {
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
                 return replicaMetaWithBackend.size();
             }
@@ -610,9 +656,9 @@ public class TabletInvertedIndex {
         long ssdNum = 0;
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
-                for (long tabletId : replicaMetaWithBackend.keySet()) {
+                for (long tabletId : replicaMetaWithBackend.keyArray()) {
                     if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
                         hddNum++;
                     } else {
@@ -646,10 +692,6 @@ public class TabletInvertedIndex {
         this.partitionIdInMemorySet = partitionIdInMemorySet;
     }
 
-    public Map<Long, Long> getReplicaToTabletMap() {
-        return replicaToTabletMap;
-    }
-
     // Only build from available bes, exclude colocate tables
     public Map<TStorageMedium, TreeMultimap<Long, PartitionBalanceInfo>> buildPartitionInfoBySkew(
             List<Long> availableBeIds) {
@@ -663,38 +705,13 @@ public class TabletInvertedIndex {
             partitionReplicasInfoMaps.put(medium, HashBasedTable.create());
         }
         try {
-            // Changes to the returned set will update the underlying table
             // tablet id -> (backend id -> replica)
-            Set<Table.Cell<Long, Long, Replica>> cells = replicaMetaTable.cellSet();
-            for (Table.Cell<Long, Long, Replica> cell : cells) {
-                Long tabletId = cell.getRowKey();
-                Long beId = cell.getColumnKey();
-                try {
-                    Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
-                    TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
-                    Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
-                    Preconditions.checkState(
-                            !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
-                            "should not be the colocate table");
-
-                    TStorageMedium medium = tabletMeta.getStorageMedium();
-                    Table<Long, Long, Map<Long, Long>> partitionReplicasInfo = partitionReplicasInfoMaps.get(medium);
-                    Map<Long, Long> countMap = partitionReplicasInfo.get(
-                            tabletMeta.getPartitionId(), tabletMeta.getIndexId());
-                    if (countMap == null) {
-                        // If one be doesn't have any replica of one partition, it should be counted too.
-                        countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
-                    }
-
-                    Long count = countMap.get(beId);
-                    countMap.put(beId, count + 1L);
-                    partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
-                    partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
-                } catch (IllegalStateException | NullPointerException e) {
-                    // If the tablet or be has some problem, don't count in
-                    LOG.debug(e.getMessage());
+            replicaMetaTable.forEach((tabletId, replicaArray) -> {
+                for (Replica replica : replicaArray) {
+                    countReplicaForSkew(tabletId, replica.getBackendId(), availableBeIds,
+                            partitionReplicasInfoMaps);
                 }
-            }
+            });
         } finally {
             readUnlock(stamp);
         }
@@ -728,6 +745,35 @@ public class TabletInvertedIndex {
         return skewMaps;
     }
 
+    private void countReplicaForSkew(long tabletId, long beId, List<Long> availableBeIds,
+            Map<TStorageMedium, Table<Long, Long, Map<Long, Long>>> partitionReplicasInfoMaps) {
+        try {
+            Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
+            TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
+            Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
+            Preconditions.checkState(
+                    !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
+                    "should not be the colocate table");
+
+            TStorageMedium medium = tabletMeta.getStorageMedium();
+            Table<Long, Long, Map<Long, Long>> partitionReplicasInfo = partitionReplicasInfoMaps.get(medium);
+            Map<Long, Long> countMap = partitionReplicasInfo.get(
+                    tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+            if (countMap == null) {
+                // If one be doesn't have any replica of one partition, it should be counted too.
+                countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
+            }
+
+            Long count = countMap.get(beId);
+            countMap.put(beId, count + 1L);
+            partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
+            partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
+        } catch (IllegalStateException | NullPointerException e) {
+            // If the tablet or be has some problem, don't count in
+            LOG.debug(e.getMessage());
+        }
+    }
+
     public static class PartitionBalanceInfo {
         public Long partitionId;
         public Long indexId;
@@ -746,14 +792,81 @@ public class TabletInvertedIndex {
         }
     }
 
-    // just for ut
+    private static Replica findReplica(Replica[] replicaArray, long backendId) {
+        for (Replica replica : replicaArray) {
+            if (replica.getBackendId() == backendId) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // add the replica to the array, or replace the replica on the same backend.
+    private static Replica[] addToReplicaArray(Replica[] replicaArray, Replica replica) {
+        if (replicaArray == null) {
+            return new Replica[] {replica};
+        }
+        for (int i = 0; i < replicaArray.length; i++) {
+            if (replicaArray[i].getBackendId() == replica.getBackendId()) {
+                Replica[] newReplicaArray = replicaArray.clone();
+                newReplicaArray[i] = replica;
+                return newReplicaArray;
+            }
+        }
+        Replica[] newReplicaArray = Arrays.copyOf(replicaArray, replicaArray.length + 1);
+        newReplicaArray[replicaArray.length] = replica;
+        return newReplicaArray;
+    }
+
+    private static Replica[] removeFromReplicaArray(Replica[] replicaArray, long backendId) {
+        Replica[] newReplicaArray = new Replica[replicaArray.length - 1];
+        int idx = 0;
+        for (Replica replica : replicaArray) {
+            if (replica.getBackendId() != backendId) {
+                newReplicaArray[idx++] = replica;
+            }
+        }
+        return newReplicaArray;
+    }
+
+    private void removeBackingReplica(long backendId, long tabletId) {
+        LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            replicaMetaWithBackend.remove(tabletId);
+            if (replicaMetaWithBackend.isEmpty()) {
+                backingReplicaMetaTable.remove(backendId);
+            }
+        }
+    }
+
+    // just for ut, return a copy of tablet id -> (backend id -> replica)
     public Table<Long, Long, Replica> getReplicaMetaTable() {
-        return replicaMetaTable;
+        Table<Long, Long, Replica> table = HashBasedTable.create();
+        long stamp = readLock();
+        try {
+            replicaMetaTable.forEach((tabletId, replicaArray) -> {
+                for (Replica replica : replicaArray) {
+                    table.put(tabletId, replica.getBackendId(), replica);
+                }
+            });
+        } finally {
+            readUnlock(stamp);
+        }
+        return table;
     }
 
-    // just for ut
+    // just for ut, return a copy of backend id -> (tablet id -> replica)
     public Table<Long, Long, Replica> getBackingReplicaMetaTable() {
-        return backingReplicaMetaTable;
+        Table<Long, Long, Replica> table = HashBasedTable.create();
+        long stamp = readLock();
+        try {
+            for (Map.Entry<Long, LongObjectHashMap<Replica>> entry : backingReplicaMetaTable.entrySet()) {
+                entry.getValue().forEach((tabletId, replica) -> table.put(entry.getKey(), tabletId, replica));
+            }
+        } finally {
+            readUnlock(stamp);
+        }
+        return table;
     }
 
     // just for ut
@@ -761,9 +874,16 @@ public class TabletInvertedIndex {
         return tabletMetaTable;
     }
 
-    // just for ut
+    // just for ut, return a copy of tablet id -> tablet meta
     public Map<Long, TabletMeta> getTabletMetaMap() {
-        return tabletMetaMap;
+        Map<Long, TabletMeta> map = Maps.newHashMap();
+        long stamp = readLock();
+        try {
+            tabletMetaMap.forEach(map::put);
+        } finally {
+            readUnlock(stamp);
+        }
+        return map;
     }
 
     private boolean isLocal(TStorageMedium storageMedium) {
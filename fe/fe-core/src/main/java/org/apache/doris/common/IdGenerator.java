@@ -28,4 +28,11 @@ public abstract class IdGenerator<IdType extends Id<IdType>> {
     protected int nextId = 0;
 
     public abstract IdType getNextId();
+
+    /**
+     * Make the ids generated later not less than the given id.
+     */
+    public void setNextIdAtLeast(int id) {
+        nextId = Math.max(nextId, id);
+    }
 }
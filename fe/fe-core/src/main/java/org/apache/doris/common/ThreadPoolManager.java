@@ -29,6 +29,8 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
@@ -43,7 +45,7 @@ import java.util.function.Supplier;
 /**
  * ThreadPoolManager is a helper class for construct daemon thread pool with limit thread and memory resource.
  * thread names in thread pool are formatted as poolName-ID, where ID is a unique, sequentially assigned integer.
- * it provide four functions to construct thread pool now.
+ * it provide five functions to construct thread pool now.
  *
  * 1. newDaemonCacheThreadPool
  *    Wrapper over newCachedThreadPool with additional maxNumThread limit.
@@ -53,6 +55,8 @@ import java.util.function.Supplier;
  *    Wrapper over ThreadPoolExecutor, user can use it to construct thread pool more flexibly.
  * 4. newDaemonScheduledThreadPool
  *    Wrapper over ScheduledThreadPoolExecutor, but without delay task num limit and thread num limit now(NOTICE).
+ * 5. newVirtualThreadPerTaskExecutor
+ *    Start a new virtual thread for each task, only available when running on JDK 21 or later.
  *
  *  All thread pool constructed by ThreadPoolManager will be added to the nameToThreadPoolMap,
  *  so the thread pool name in fe must be unique.
@@ -113,6 +117,14 @@ public class ThreadPoolManager {
                 new LogDiscardPolicy(poolName), poolName, needRegisterMetric);
     }
 
+    // Tasks are never queued, the submitting thread runs the task itself if all the threads are busy.
+    public static ThreadPoolExecutor newDaemonCallerRunsThreadPool(int maxNumThread,
+            String poolName, boolean needRegisterMetric) {
+        return newDaemonThreadPool(0, maxNumThread, KEEP_ALIVE_TIME,
+                TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.CallerRunsPolicy(), poolName, needRegisterMetric);
+    }
+
     public static ThreadPoolExecutor newDaemonFixedThreadPool(int numThread,
             int queueSize, String poolName, boolean needRegisterMetric) {
         return newDaemonThreadPool(numThread, numThread, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
@@ -158,6 +170,25 @@ public class ThreadPoolManager {
         return scheduledThreadPoolExecutor;
     }
 
+    /**
+     * Create an executor that starts a new virtual thread for each task, named as poolName-ID.
+     * The FE is compiled for JDK 8, so virtual threads are created by reflection.
+     * Return null if the running JDK does not support virtual threads.
+     * The executor has no thread limit and is not registered to metrics.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String poolName) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, poolName + "-", 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
     /**
      * Create a thread factory that names threads with a prefix and also sets the threads to daemon.
      */
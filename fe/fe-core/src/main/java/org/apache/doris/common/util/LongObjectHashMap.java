@@ -0,0 +1,269 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.common.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * A hash map with primitive long keys, using open addressing with linear probing.
+ *
+ * Compared with HashMap<Long, V>, it does not box the keys and does not create an entry object
+ * for each mapping. Keys and values are stored in two flat arrays, so a mapping takes about
+ * 12~16 bytes (plus the unused slots) instead of 60+ bytes. It is used to index huge number of
+ * objects by id, such as tablets and replicas.
+ *
+ * Null values are not allowed. This class is not thread safe.
+ */
+public class LongObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    // 0 is used to mark a free slot, so the mapping of key 0 is saved separately.
+    private static final long FREE_KEY = 0;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    private boolean hasZeroKey = false;
+    private V zeroValue = null;
+
+    @FunctionalInterface
+    public interface LongObjectConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey;
+        }
+        return findSlot(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == FREE_KEY) {
+            return zeroValue;
+        }
+        int slot = findSlot(key);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /*
+     * Return the previous value associated with key, or null if there was no mapping for key.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("null value is not allowed");
+        }
+        if (key == FREE_KEY) {
+            V old = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return old;
+        }
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                V old = (V) values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /*
+     * Return the value removed, or null if there was no mapping for key.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == FREE_KEY) {
+            V old = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            return old;
+        }
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V old = (V) values[slot];
+        shiftKeys(slot);
+        size--;
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(values, null);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(LongObjectConsumer<? super V> action) {
+        if (hasZeroKey) {
+            action.accept(FREE_KEY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /*
+     * Return all the keys. The order is the same as valueList() if the map is not modified in between.
+     */
+    public long[] keyArray() {
+        long[] result = new long[size()];
+        int idx = 0;
+        if (hasZeroKey) {
+            result[idx++] = FREE_KEY;
+        }
+        for (long key : keys) {
+            if (key != FREE_KEY) {
+                result[idx++] = key;
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Return all the values. The order is the same as keyArray() if the map is not modified in between.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> valueList() {
+        List<V> result = new ArrayList<>(size());
+        if (hasZeroKey) {
+            result.add(zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                result.add((V) values[i]);
+            }
+        }
+        return result;
+    }
+
+    private int findSlot(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Backward shift deletion, so that no tombstone is needed for linear probing.
+    private void shiftKeys(int pos) {
+        int last;
+        int slot;
+        while (true) {
+            last = pos;
+            pos = (pos + 1) & mask;
+            while (true) {
+                long key = keys[pos];
+                if (key == FREE_KEY) {
+                    keys[last] = FREE_KEY;
+                    values[last] = null;
+                    return;
+                }
+                slot = hash(key) & mask;
+                // move the key to 'last' only if its home slot is not in (last, pos]
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = keys[pos];
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int slot = hash(key) & mask;
+                while (keys[slot] != FREE_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long capacity = (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+        return (int) Math.max(DEFAULT_CAPACITY, BitUtil.roundUpToPowerOf2(capacity));
+    }
+
+    // ids are usually continuous, so mix the bits to spread them over the table.
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.doris.datasource;
 import org.apache.doris.catalog.external.ExternalTable;
 import org.apache.doris.catalog.external.HMSExternalTable;
 import org.apache.doris.cluster.ClusterNamespace;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.datasource.hive.HiveMetaStoreCache;
 
@@ -30,6 +31,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Cache meta of external catalog
@@ -44,9 +46,21 @@ public class ExternalMetaCacheMgr {
     // catalog id -> table schema cache
     private Map<Long, ExternalSchemaCache> schemaCacheMap = Maps.newHashMap();
     private Executor executor;
+    // for loading the partitions and files of many partitions of a table in parallel
+    private ExecutorService listingExecutor;
+    // for reading the manifests of iceberg tables in parallel when planning the scans
+    private ExecutorService icebergPlanningExecutor;
 
     public ExternalMetaCacheMgr() {
         executor = ThreadPoolManager.newDaemonCacheThreadPool(10, "ExternalMetaCacheMgr", false);
+        listingExecutor = ThreadPoolManager.newDaemonFixedThreadPool(Config.max_external_file_listing_thread_num,
+                Integer.MAX_VALUE, "ExternalFileListing", true);
+        icebergPlanningExecutor = ThreadPoolManager.newDaemonFixedThreadPool(
+                Config.max_external_iceberg_planning_thread_num, Integer.MAX_VALUE, "IcebergScanPlanning", true);
+    }
+
+    public ExecutorService getIcebergPlanningExecutor() {
+        return icebergPlanningExecutor;
     }
 
     public HiveMetaStoreCache getMetaStoreCache(HMSExternalCatalog catalog) {
@@ -54,7 +68,7 @@ public class ExternalMetaCacheMgr {
         if (cache == null) {
             synchronized (cacheMap) {
                 if (!cacheMap.containsKey(catalog.getId())) {
-                    cacheMap.put(catalog.getId(), new HiveMetaStoreCache(catalog, executor));
+                    cacheMap.put(catalog.getId(), new HiveMetaStoreCache(catalog, executor, listingExecutor));
                 }
                 cache = cacheMap.get(catalog.getId());
             }
@@ -26,14 +26,18 @@ import org.apache.doris.catalog.external.HMSExternalDatabase;
 import org.apache.doris.common.Config;
 import org.apache.doris.datasource.hive.PooledHiveMetaStoreClient;
 import org.apache.doris.datasource.hive.event.MetastoreNotificationFetchException;
+import org.apache.doris.external.iceberg.util.IcebergUtils;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hdfs.HdfsConfiguration;
 import org.apache.hadoop.hive.conf.HiveConf;
 import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
 import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.hive.HiveCatalog;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -51,6 +55,9 @@ public class HMSExternalCatalog extends ExternalCatalog {
     protected PooledHiveMetaStoreClient client;
     // Record the latest synced event id when processing hive events
     private long lastSyncedEventId;
+    // Load the iceberg tables in this catalog. It is kept across queries, so that the manifests cached by its
+    // FileIO are reused.
+    private volatile HiveCatalog icebergHiveCatalog;
 
     /**
      * Default constructor for HMSExternalCatalog.
@@ -126,6 +133,30 @@ public class HMSExternalCatalog extends ExternalCatalog {
         }
 
         client = new PooledHiveMetaStoreClient(hiveConf, MAX_CLIENT_POOL_SIZE);
+        icebergHiveCatalog = null;
+    }
+
+    public HiveCatalog getIcebergHiveCatalog() {
+        makeSureInitialized();
+        if (icebergHiveCatalog == null) {
+            synchronized (this) {
+                if (icebergHiveCatalog == null) {
+                    HiveCatalog hiveCatalog = new HiveCatalog();
+                    Configuration conf = new HdfsConfiguration();
+                    for (Map.Entry<String, String> entry : catalogProperty.getHadoopProperties().entrySet()) {
+                        conf.set(entry.getKey(), entry.getValue());
+                    }
+                    hiveCatalog.setConf(conf);
+                    Map<String, String> catalogProperties = Maps.newHashMap();
+                    catalogProperties.put(HMSResource.HIVE_METASTORE_URIS, getHiveMetastoreUris());
+                    catalogProperties.put(CatalogProperties.URI, getHiveMetastoreUris());
+                    IcebergUtils.setManifestCacheProperties(catalogProperties);
+                    hiveCatalog.initialize("hive", catalogProperties);
+                    icebergHiveCatalog = hiveCatalog;
+                }
+            }
+        }
+        return icebergHiveCatalog;
     }
 
     @Override
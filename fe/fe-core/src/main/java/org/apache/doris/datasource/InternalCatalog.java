@@ -159,6 +159,8 @@ import org.apache.doris.persist.PartitionPersistInfo;
 import org.apache.doris.persist.RecoverInfo;
 import org.apache.doris.persist.ReplicaPersistInfo;
 import org.apache.doris.persist.TruncateTableInfo;
+import org.apache.doris.persist.meta.IncrementalImageContext;
+import org.apache.doris.persist.meta.MetaWriter;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.resource.Tag;
 import org.apache.doris.system.Backend;
@@ -3404,6 +3406,9 @@ public class InternalCatalog implements CatalogIf<Database> {
     }
 
     public long saveDb(CountingDataOutputStream dos, long checksum) throws IOException {
+        // the checkpoint may copy the dbs which are not changed from the base image
+        IncrementalImageContext incrementalContext = Env.isCheckpointThread() ? IncrementalImageContext.get() : null;
+        long moduleStart = dos.getCount();
         int dbCount = idToDb.size() - nameToCluster.keySet().size();
         checksum ^= dbCount;
         dos.writeInt(dbCount);
@@ -3413,7 +3418,10 @@ public class InternalCatalog implements CatalogIf<Database> {
             // Don't write information_schema db meta
             if (!InfoSchemaDb.isInfoSchemaDb(dbName)) {
                 checksum ^= entry.getKey();
-                db.write(dos);
+                MetaWriter.writer.addDbIndex(entry.getKey(), dos.getCount() - moduleStart);
+                if (incrementalContext == null || !incrementalContext.copyDb(entry.getKey(), dos)) {
+                    db.write(dos);
+                }
             }
         }
         return checksum;
@@ -36,6 +36,7 @@ import org.apache.doris.planner.ColumnBound;
 import org.apache.doris.planner.ListPartitionPrunerV2;
 import org.apache.doris.planner.PartitionPrunerV2Base.UniqueId;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
@@ -48,6 +49,8 @@ import com.google.common.collect.RangeMap;
 import com.google.common.collect.TreeRangeMap;
 import lombok.Data;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hdfs.HdfsConfiguration;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
@@ -65,9 +68,12 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 // The cache of a hms catalog. 3 kind of caches:
 // 1. partitionValuesCache: cache the partition values of a table, for partition prune.
@@ -86,8 +92,15 @@ public class HiveMetaStoreCache {
     // cache from <location> -> <file list>
     private LoadingCache<FileCacheKey, ImmutableList<InputSplit>> fileCache;
 
-    public HiveMetaStoreCache(HMSExternalCatalog catalog, Executor executor) {
+    // the pool to load partitions and list files of many partitions in parallel
+    private final ExecutorService listingExecutor;
+    // the file lists saved on local disk, used when enable_external_file_cache_persistence is true
+    private final PersistentFileCache persistentFileCache;
+
+    public HiveMetaStoreCache(HMSExternalCatalog catalog, Executor executor, ExecutorService listingExecutor) {
         this.catalog = catalog;
+        this.listingExecutor = listingExecutor;
+        this.persistentFileCache = new PersistentFileCache(catalog.getId());
         init(executor);
         initMetrics();
     }
@@ -243,12 +256,30 @@ public class HiveMetaStoreCache {
             jobConf.set("mapreduce.input.fileinputformat.input.dir.recursive", "true");
             FileInputFormat.setInputPaths(jobConf, finalLocation);
             try {
+                // list the files before computing the splits, so that files changed meanwhile invalidate
+                // the saved splits
+                FileStatus[] fileStatuses = Config.enable_external_file_cache_persistence
+                        ? listFileStatuses(finalLocation, jobConf) : null;
+                if (fileStatuses != null) {
+                    List<InputSplit> savedSplits = persistentFileCache.get(finalLocation, fileStatuses);
+                    if (savedSplits != null) {
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("load #{} saved files for {} in catalog {}", savedSplits.size(), key,
+                                    catalog.getName());
+                        }
+                        return ImmutableList.copyOf(savedSplits);
+                    }
+                }
                 InputFormat<?, ?> inputFormat = HiveUtil.getInputFormat(conf, key.inputFormat, false);
                 InputSplit[] splits = inputFormat.getSplits(jobConf, 0);
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("load #{} files for {} in catalog {}", splits.length, key, catalog.getName());
                 }
-                return ImmutableList.copyOf(splits);
+                ImmutableList<InputSplit> result = ImmutableList.copyOf(splits);
+                if (fileStatuses != null) {
+                    persistentFileCache.put(finalLocation, fileStatuses, result);
+                }
+                return result;
             } catch (Exception e) {
                 throw new CacheException("failed to get input splits for %s in catalog %s", e, key, catalog.getName());
             }
@@ -257,6 +288,17 @@ public class HiveMetaStoreCache {
         }
     }
 
+    // returns null if the location can not be listed, then the saved splits are not used
+    private FileStatus[] listFileStatuses(String location, JobConf jobConf) {
+        try {
+            Path path = new Path(location);
+            return path.getFileSystem(jobConf).listStatus(path);
+        } catch (Exception e) {
+            LOG.debug("failed to list {} in catalog {}", location, catalog.getName(), e);
+            return null;
+        }
+    }
+
     // convert oss:// to s3://
     private String convertToS3IfNecessary(String location) {
         LOG.debug("try convert location to s3 prefix: " + location);
@@ -301,19 +343,7 @@ public class HiveMetaStoreCache {
         List<FileCacheKey> keys = Lists.newArrayListWithExpectedSize(partitions.size());
         partitions.stream().forEach(p -> keys.add(new FileCacheKey(p.getPath(), p.getInputFormat())));
 
-        Stream<FileCacheKey> stream;
-        if (partitions.size() < MIN_BATCH_FETCH_PARTITION_NUM) {
-            stream = keys.stream();
-        } else {
-            stream = keys.parallelStream();
-        }
-        List<ImmutableList<InputSplit>> fileLists = stream.map(k -> {
-            try {
-                return fileCache.get(k);
-            } catch (ExecutionException e) {
-                throw new RuntimeException(e);
-            }
-        }).collect(Collectors.toList());
+        List<ImmutableList<InputSplit>> fileLists = getAll(fileCache, keys, "files");
         List<InputSplit> retFiles = Lists.newArrayListWithExpectedSize(
                 fileLists.stream().mapToInt(l -> l.size()).sum());
         fileLists.stream().forEach(l -> retFiles.addAll(l));
@@ -327,24 +357,66 @@ public class HiveMetaStoreCache {
         List<PartitionCacheKey> keys = Lists.newArrayListWithExpectedSize(partitionValuesList.size());
         partitionValuesList.stream().forEach(p -> keys.add(new PartitionCacheKey(dbName, name, p)));
 
-        Stream<PartitionCacheKey> stream;
-        if (partitionValuesList.size() < MIN_BATCH_FETCH_PARTITION_NUM) {
-            stream = keys.stream();
-        } else {
-            stream = keys.parallelStream();
-        }
-        List<HivePartition> partitions = stream.map(k -> {
-            try {
-                return partitionCache.get(k);
-            } catch (ExecutionException e) {
-                throw new CacheException("failed to get partition for %s in catalog %s", e, k, catalog.getName());
-            }
-        }).collect(Collectors.toList());
+        List<HivePartition> partitions = getAll(partitionCache, keys, "partition");
         LOG.debug("get #{} partitions in catalog {} cost: {} ms", partitions.size(), catalog.getName(),
                 (System.currentTimeMillis() - start));
         return partitions;
     }
 
+    /**
+     * Get the values of the keys from the cache, the values are in the same order as the keys.
+     * The missing values of many keys are loaded by at most max_external_file_listing_thread_num workers of the
+     * listing pool, each of them takes the next key until all keys are done, so a query with a lot of partitions
+     * neither waits for the partitions one by one nor floods the pool shared by all queries.
+     */
+    @VisibleForTesting
+    <K, V> List<V> getAll(LoadingCache<K, V> cache, List<K> keys, String type) {
+        int parallelism = Math.min(Config.max_external_file_listing_thread_num,
+                keys.size() / MIN_BATCH_FETCH_PARTITION_NUM + 1);
+        if (parallelism <= 1) {
+            return keys.stream().map(key -> get(cache, key, type)).collect(Collectors.toList());
+        }
+        AtomicReferenceArray<V> values = new AtomicReferenceArray<>(keys.size());
+        AtomicInteger nextIdx = new AtomicInteger(0);
+        List<Future<?>> workers = Lists.newArrayListWithExpectedSize(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(listingExecutor.submit(() -> {
+                for (int idx = nextIdx.getAndIncrement(); idx < keys.size(); idx = nextIdx.getAndIncrement()) {
+                    values.set(idx, get(cache, keys.get(idx), type));
+                }
+            }));
+        }
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            // stop the other workers from taking more keys
+            nextIdx.set(keys.size());
+            Thread.currentThread().interrupt();
+            throw new CacheException("interrupted to get %s in catalog %s", e, type, catalog.getName());
+        } catch (ExecutionException e) {
+            nextIdx.set(keys.size());
+            if (e.getCause() instanceof CacheException) {
+                throw (CacheException) e.getCause();
+            }
+            throw new CacheException("failed to get %s in catalog %s", e.getCause(), type, catalog.getName());
+        }
+        List<V> result = Lists.newArrayListWithExpectedSize(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            result.add(values.get(i));
+        }
+        return result;
+    }
+
+    private <K, V> V get(LoadingCache<K, V> cache, K key, String type) {
+        try {
+            return cache.get(key);
+        } catch (ExecutionException e) {
+            throw new CacheException("failed to get %s for %s in catalog %s", e, type, key, catalog.getName());
+        }
+    }
+
     public void invalidateTableCache(String dbName, String tblName) {
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, null);
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
@@ -396,6 +468,7 @@ public class HiveMetaStoreCache {
         partitionValuesCache.invalidateAll();
         partitionCache.invalidateAll();
         fileCache.invalidateAll();
+        persistentFileCache.clear();
         LOG.debug("invalid all meta cache in catalog {}", catalog.getName());
     }
 
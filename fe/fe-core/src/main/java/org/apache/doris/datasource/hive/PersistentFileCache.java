@@ -0,0 +1,254 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.persist.gson.GsonUtils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.annotations.SerializedName;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The on-disk tier of the file cache of HiveMetaStoreCache, so that the splits of a partition need not be computed
+ * again from the file system after FE restarts.
+ *
+ * The splits of a location are saved with the length and modification time of every file directly under it, and
+ * are loaded only if a listing of the location still returns exactly the same files. So an added, removed,
+ * appended or overwritten file invalidates the saved splits. Only the locations without sub directories are saved,
+ * because the files in sub directories are not validated.
+ *
+ * The saved files of a catalog are bounded by external_file_cache_persist_max_bytes. The files not accessed for
+ * external_cache_expire_time_minutes_after_access are removed, and then the least recently accessed ones until
+ * the total size is within the bound.
+ */
+public class PersistentFileCache {
+    private static final Logger LOG = LogManager.getLogger(PersistentFileCache.class);
+
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final long EVICT_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final File dir;
+    private final AtomicLong lastEvictTime = new AtomicLong(0);
+
+    public PersistentFileCache(long catalogId) {
+        this.dir = new File(Config.external_file_cache_dir, String.valueOf(catalogId));
+    }
+
+    /**
+     * Returns the saved splits of the location, or null if they are not saved or the files under the location
+     * are not the same as the given ones.
+     */
+    public List<InputSplit> get(String location, FileStatus[] fileStatuses) {
+        File file = getFile(location);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            FileListing listing = GsonUtils.GSON.fromJson(json, FileListing.class);
+            if (listing == null || !location.equals(listing.location) || !isSameFiles(listing.files, fileStatuses)) {
+                file.delete();
+                return null;
+            }
+            List<InputSplit> splits = Lists.newArrayListWithCapacity(listing.splits.size());
+            for (SplitEntry entry : listing.splits) {
+                splits.add(new FileSplit(new Path(entry.path), entry.start, entry.length, entry.hosts));
+            }
+            // the access time for eviction
+            file.setLastModified(System.currentTimeMillis());
+            return splits;
+        } catch (Exception e) {
+            LOG.warn("failed to load the saved splits of {} from {}", location, file, e);
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Saves the splits of the location with the files listed before computing the splits.
+     */
+    public void put(String location, FileStatus[] fileStatuses, List<InputSplit> splits) {
+        FileListing listing = new FileListing();
+        listing.location = location;
+        listing.files = Lists.newArrayListWithCapacity(fileStatuses.length);
+        for (FileStatus status : fileStatuses) {
+            if (!status.isFile()) {
+                return;
+            }
+            FileEntry entry = new FileEntry();
+            entry.path = status.getPath().toUri().getPath();
+            entry.length = status.getLen();
+            entry.modificationTime = status.getModificationTime();
+            listing.files.add(entry);
+        }
+        listing.splits = Lists.newArrayListWithCapacity(splits.size());
+        Path parent = new Path(location);
+        try {
+            for (InputSplit split : splits) {
+                // sub classes of FileSplit carry more than the file, which can not be restored
+                if (split.getClass() != FileSplit.class) {
+                    return;
+                }
+                FileSplit fileSplit = (FileSplit) split;
+                if (fileSplit.getPath().getParent() == null
+                        || !fileSplit.getPath().getParent().toUri().getPath().equals(parent.toUri().getPath())) {
+                    return;
+                }
+                SplitEntry entry = new SplitEntry();
+                entry.path = fileSplit.getPath().toString();
+                entry.start = fileSplit.getStart();
+                entry.length = fileSplit.getLength();
+                entry.hosts = fileSplit.getLocations();
+                listing.splits.add(entry);
+            }
+            if (!dir.exists() && !dir.mkdirs()) {
+                LOG.warn("failed to create the directory {} to save the splits of external tables", dir);
+                return;
+            }
+            File file = getFile(location);
+            File tmpFile = new File(file.getPath() + TMP_SUFFIX);
+            Files.write(tmpFile.toPath(), GsonUtils.GSON.toJson(listing).getBytes(StandardCharsets.UTF_8));
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("failed to save the splits of {} to {}", location, dir, e);
+        }
+        evictIfNecessary();
+    }
+
+    /**
+     * Removes all saved splits of the catalog.
+     */
+    public void clear() {
+        try {
+            FileUtils.deleteDirectory(dir);
+        } catch (IOException e) {
+            LOG.warn("failed to remove the directory {} of the saved splits of external tables", dir, e);
+        }
+    }
+
+    private void evictIfNecessary() {
+        long now = System.currentTimeMillis();
+        long lastTime = lastEvictTime.get();
+        if (now - lastTime < EVICT_INTERVAL_MS || !lastEvictTime.compareAndSet(lastTime, now)) {
+            return;
+        }
+        evict(now);
+    }
+
+    // visible for test
+    synchronized void evict(long now) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        long expireTime = now - TimeUnit.MINUTES.toMillis(Config.external_cache_expire_time_minutes_after_access);
+        // the least recently accessed first
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        long totalBytes = 0;
+        List<File> remainingFiles = Lists.newArrayList();
+        for (File file : files) {
+            if (file.lastModified() < expireTime) {
+                file.delete();
+            } else {
+                totalBytes += file.length();
+                remainingFiles.add(file);
+            }
+        }
+        for (File file : remainingFiles) {
+            if (totalBytes <= Config.external_file_cache_persist_max_bytes) {
+                break;
+            }
+            totalBytes -= file.length();
+            file.delete();
+        }
+    }
+
+    private static boolean isSameFiles(List<FileEntry> savedFiles, FileStatus[] fileStatuses) {
+        if (fileStatuses == null || savedFiles.size() != fileStatuses.length) {
+            return false;
+        }
+        Map<String, FileEntry> pathToFile = Maps.newHashMap();
+        for (FileEntry file : savedFiles) {
+            pathToFile.put(file.path, file);
+        }
+        for (FileStatus status : fileStatuses) {
+            FileEntry file = pathToFile.get(status.getPath().toUri().getPath());
+            if (file == null || file.length != status.getLen()
+                    || file.modificationTime != status.getModificationTime()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private File getFile(String location) {
+        return new File(dir, DigestUtils.md5Hex(location));
+    }
+
+    private static class FileListing {
+        @SerializedName(value = "location")
+        private String location;
+        @SerializedName(value = "files")
+        private List<FileEntry> files = ImmutableList.of();
+        @SerializedName(value = "splits")
+        private List<SplitEntry> splits = ImmutableList.of();
+    }
+
+    private static class FileEntry {
+        @SerializedName(value = "path")
+        private String path;
+        @SerializedName(value = "length")
+        private long length;
+        @SerializedName(value = "modificationTime")
+        private long modificationTime;
+    }
+
+    private static class SplitEntry {
+        @SerializedName(value = "path")
+        private String path;
+        @SerializedName(value = "start")
+        private long start;
+        @SerializedName(value = "length")
+        private long length;
+        @SerializedName(value = "hosts")
+        private String[] hosts;
+    }
+}
@@ -40,6 +40,7 @@ import java.util.stream.Collectors;
 public class AddPartitionEvent extends MetastoreTableEvent {
     private final Table hmsTbl;
     private final List<String> partitionNames;
+    private int numberOfEvents = 1;
 
     private AddPartitionEvent(NotificationEvent event,
             String catalogName) {
@@ -63,6 +64,30 @@ public class AddPartitionEvent extends MetastoreTableEvent {
         }
     }
 
+    // consecutive events of the same table are applied at once, so that the partition values of the table are
+    // updated once for all partitions added by them
+    @Override
+    protected boolean canBeBatched(MetastoreEvent that) {
+        return that instanceof AddPartitionEvent && isSameTable(that);
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent that) {
+        partitionNames.addAll(((AddPartitionEvent) that).partitionNames);
+        numberOfEvents += that.getNumberOfEvents();
+        return this;
+    }
+
+    @Override
+    protected int getNumberOfEvents() {
+        return numberOfEvents;
+    }
+
+    // visible for test
+    List<String> getPartitionNames() {
+        return partitionNames;
+    }
+
     protected static List<MetastoreEvent> getEvents(NotificationEvent event,
             String catalogName) {
         return Lists.newArrayList(new AddPartitionEvent(event, catalogName));
@@ -39,6 +39,7 @@ import java.util.stream.Collectors;
 public class DropPartitionEvent extends MetastoreTableEvent {
     private final Table hmsTbl;
     private final List<String> partitionNames;
+    private int numberOfEvents = 1;
 
     private DropPartitionEvent(NotificationEvent event,
             String catalogName) {
@@ -62,6 +63,30 @@ public class DropPartitionEvent extends MetastoreTableEvent {
         }
     }
 
+    // consecutive events of the same table are applied at once, so that the partition values of the table are
+    // updated once for all partitions dropped by them
+    @Override
+    protected boolean canBeBatched(MetastoreEvent that) {
+        return that instanceof DropPartitionEvent && isSameTable(that);
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent that) {
+        partitionNames.addAll(((DropPartitionEvent) that).partitionNames);
+        numberOfEvents += that.getNumberOfEvents();
+        return this;
+    }
+
+    @Override
+    protected int getNumberOfEvents() {
+        return numberOfEvents;
+    }
+
+    // visible for test
+    List<String> getPartitionNames() {
+        return partitionNames;
+    }
+
     protected static List<MetastoreEvent> getEvents(NotificationEvent event,
             String catalogName) {
         return Lists.newArrayList(
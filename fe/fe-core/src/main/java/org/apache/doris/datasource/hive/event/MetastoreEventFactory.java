@@ -22,11 +22,13 @@ import org.apache.doris.datasource.HMSExternalCatalog;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Factory class to create various MetastoreEvents.
@@ -73,12 +75,33 @@ public class MetastoreEventFactory implements EventFactory {
     }
 
     /**
-     * Create batch event tasks according to HivePartitionName to facilitate subsequent parallel processing.
-     * For ADD_PARTITION and DROP_PARTITION, we directly override any events before that partition.
-     * For a partition, it is meaningless to process any events before the drop partition.
+     * Merge the events of a table which can be batched, eg. ADD_PARTITION events, into the first of them.
+     * The events of different tables are independent, so the events of a table can be merged across the events
+     * of other tables. A database level event ends all batches, and an event of a table which can not be batched
+     * ends the batch of the table, so the order of the events of a table is kept.
      */
     List<MetastoreEvent> createBatchEvents(List<MetastoreEvent> events) {
-        // now do nothing
-        return events;
+        List<MetastoreEvent> batchEvents = Lists.newArrayList();
+        // db.tbl -> index of the last event of the table in batchEvents
+        Map<String, Integer> tableToLastEventIdx = Maps.newHashMap();
+        for (MetastoreEvent event : events) {
+            if (event.getTblName() == null) {
+                tableToLastEventIdx.clear();
+                batchEvents.add(event);
+                continue;
+            }
+            String tableKey = (event.getDbName() + "." + event.getTblName()).toLowerCase();
+            Integer idx = tableToLastEventIdx.get(tableKey);
+            if (idx != null && batchEvents.get(idx).canBeBatched(event)) {
+                batchEvents.set(idx, batchEvents.get(idx).addToBatchEvents(event));
+            } else {
+                tableToLastEventIdx.put(tableKey, batchEvents.size());
+                batchEvents.add(event);
+            }
+        }
+        if (batchEvents.size() < events.size()) {
+            LOG.info("batch {} hive metastore events into {}", events.size(), batchEvents.size());
+        }
+        return batchEvents;
     }
 }
@@ -23,6 +23,7 @@ import org.apache.doris.common.Config;
 import org.apache.doris.common.util.MasterDaemon;
 import org.apache.doris.datasource.CatalogIf;
 import org.apache.doris.datasource.HMSExternalCatalog;
+import org.apache.doris.metric.MetricRepo;
 
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
@@ -100,10 +101,20 @@ public class MetastoreEventsProcessor extends MasterDaemon {
      * Process the given list of notification events. Useful for tests which provide a list of events
      */
     private void processEvents(List<NotificationEvent> events, HMSExternalCatalog hmsExternalCatalog) {
+        long start = System.currentTimeMillis();
         //transfer
         List<MetastoreEvent> metastoreEvents = metastoreEventFactory.getMetastoreEvents(events, hmsExternalCatalog);
         doExecute(metastoreEvents, hmsExternalCatalog);
-        hmsExternalCatalog.setLastSyncedEventId(events.get(events.size() - 1).getEventId());
+        NotificationEvent lastEvent = events.get(events.size() - 1);
+        hmsExternalCatalog.setLastSyncedEventId(lastEvent.getEventId());
+        if (MetricRepo.isInit) {
+            long end = System.currentTimeMillis();
+            MetricRepo.HISTO_HMS_EVENT_BATCH_PROCESS_LATENCY.update(end - start);
+            MetricRepo.CATALOG_COUNTER_HMS_EVENTS.getOrAdd(hmsExternalCatalog.getName()).increase((long) events.size());
+            // the event time of metastore is in seconds
+            MetricRepo.CATALOG_GAUGE_HMS_EVENT_LAG_MS.getOrAdd(hmsExternalCatalog.getName())
+                    .setValue(Math.max(0L, end - lastEvent.getEventTime() * 1000L));
+        }
     }
 
     @Override
@@ -36,6 +36,10 @@ public abstract class MetastoreTableEvent extends MetastoreEvent {
         Preconditions.checkNotNull(tblName, "Table name cannot be null");
     }
 
+    protected boolean isSameTable(MetastoreEvent that) {
+        return dbName.equalsIgnoreCase(that.getDbName()) && tblName.equalsIgnoreCase(that.getTblName());
+    }
+
     /**
      * Returns a list of parameters that are set by Hive for tables/partitions that can be
      * ignored to determine if the alter table/partition event is a trivial one.
@@ -19,6 +19,7 @@ package org.apache.doris.datasource.iceberg;
 
 import org.apache.doris.catalog.HMSResource;
 import org.apache.doris.datasource.CatalogProperty;
+import org.apache.doris.external.iceberg.util.IcebergUtils;
 
 import org.apache.iceberg.CatalogProperties;
 import org.apache.iceberg.hive.HiveCatalog;
@@ -44,6 +45,7 @@ public class IcebergHMSExternalCatalog extends IcebergExternalCatalog {
 
         catalogProperties.put(HMSResource.HIVE_METASTORE_URIS, metastoreUris);
         catalogProperties.put(CatalogProperties.URI, metastoreUris);
+        IcebergUtils.setManifestCacheProperties(catalogProperties);
         hiveCatalog.initialize(icebergCatalogType, catalogProperties);
         catalog = hiveCatalog;
     }
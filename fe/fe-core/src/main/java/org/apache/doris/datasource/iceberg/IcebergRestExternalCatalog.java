@@ -20,6 +20,7 @@ package org.apache.doris.datasource.iceberg;
 import org.apache.doris.catalog.S3Resource;
 import org.apache.doris.datasource.CatalogProperty;
 import org.apache.doris.datasource.credentials.DataLakeAWSCredentialsProvider;
+import org.apache.doris.external.iceberg.util.IcebergUtils;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.s3a.Constants;
@@ -42,6 +43,7 @@ public class IcebergRestExternalCatalog extends IcebergExternalCatalog {
         Map<String, String> restProperties = new HashMap<>();
         String restUri = catalogProperty.getProperties().getOrDefault(CatalogProperties.URI, "");
         restProperties.put(CatalogProperties.URI, restUri);
+        IcebergUtils.setManifestCacheProperties(restProperties);
         RESTCatalog restCatalog = new RESTCatalog();
         Configuration conf = replaceS3Properties(getConfiguration());
         restCatalog.setConf(conf);
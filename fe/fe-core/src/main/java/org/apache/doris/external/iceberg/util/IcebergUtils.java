@@ -42,6 +42,7 @@ import org.apache.doris.thrift.TExprOpcode;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import org.apache.iceberg.CatalogProperties;
 import org.apache.iceberg.CombinedScanTask;
 import org.apache.iceberg.MetadataTableType;
 import org.apache.iceberg.MetadataTableUtils;
@@ -65,6 +66,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -380,6 +382,21 @@ public class IcebergUtils {
         return (int) literal.getValue();
     }
 
+    /**
+     * Enables the manifest cache of the FileIO created by an iceberg catalog with these properties,
+     * so that scan planning does not read the same manifests from the file system again.
+     */
+    public static void setManifestCacheProperties(Map<String, String> catalogProperties) {
+        if (Config.iceberg_manifest_cache_max_total_bytes <= 0) {
+            return;
+        }
+        catalogProperties.put(CatalogProperties.IO_MANIFEST_CACHE_ENABLED, "true");
+        catalogProperties.put(CatalogProperties.IO_MANIFEST_CACHE_MAX_TOTAL_BYTES,
+                String.valueOf(Config.iceberg_manifest_cache_max_total_bytes));
+        catalogProperties.put(CatalogProperties.IO_MANIFEST_CACHE_EXPIRATION_INTERVAL_MS,
+                String.valueOf(TimeUnit.MINUTES.toMillis(Config.external_cache_expire_time_minutes_after_access)));
+    }
+
     public static int nextId() {
         int nextId = columnIdThreadLocal.get();
         columnIdThreadLocal.set(nextId + 1);
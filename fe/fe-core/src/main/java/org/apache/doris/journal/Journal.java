@@ -49,6 +49,10 @@ public interface Journal {
     // Write a journal and sync to disk
     public void write(short op, Writable writable) throws IOException;
 
+    // Write a batch of journals in one transaction and sync to disk.
+    // Return the id of the first journal in the batch, or -1 if the batch is given up.
+    public long write(JournalBatch batch) throws IOException;
+
     // Get current journal number
     public long getJournalNum();
 
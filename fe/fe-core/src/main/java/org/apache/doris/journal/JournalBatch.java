@@ -0,0 +1,113 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.journal;
+
+import org.apache.doris.common.io.DataOutputBuffer;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.persist.OperationType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * A batch of journals which will be written to the journal store in one transaction.
+ * Every journal is serialized when it is added, so the writer only needs to copy bytes.
+ */
+public class JournalBatch {
+    private static final int OUTPUT_BUFFER_INIT_SIZE = 128;
+
+    private final List<Entity> entities;
+    private long dataSize = 0;
+
+    public JournalBatch() {
+        this.entities = new ArrayList<>();
+    }
+
+    public JournalBatch(int capacity) {
+        this.entities = new ArrayList<>(capacity);
+    }
+
+    public void addJournal(short op, Writable writable) throws IOException {
+        JournalEntity entity = new JournalEntity();
+        entity.setOpCode(op);
+        entity.setData(writable);
+
+        DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
+        entity.write(buffer);
+        addEntity(new Entity(entity, buffer));
+    }
+
+    public void addEntity(Entity entity) {
+        entities.add(entity);
+        dataSize += entity.getSize();
+    }
+
+    public List<Entity> getJournalEntities() {
+        return entities;
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    // Return true if all journals in this batch are OP_TIMESTAMP.
+    public boolean isTimestampOnly() {
+        for (Entity entity : entities) {
+            if (entity.getOpCode() != OperationType.OP_TIMESTAMP) {
+                return false;
+            }
+        }
+        return !entities.isEmpty();
+    }
+
+    public static class Entity {
+        private final JournalEntity journalEntity;
+        private final DataOutputBuffer buffer;
+
+        public Entity(JournalEntity journalEntity, DataOutputBuffer buffer) {
+            this.journalEntity = journalEntity;
+            this.buffer = buffer;
+        }
+
+        public short getOpCode() {
+            return journalEntity.getOpCode();
+        }
+
+        public Writable getData() {
+            return journalEntity.getData();
+        }
+
+        public byte[] getBinaryData() {
+            return buffer.getData();
+        }
+
+        public int getSize() {
+            return buffer.getLength();
+        }
+    }
+}
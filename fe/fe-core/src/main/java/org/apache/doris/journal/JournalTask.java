@@ -0,0 +1,56 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.journal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/*
+ * A journal waiting to be written by JournalWriter.
+ * The caller waits on get() until the batch containing this journal is committed,
+ * and gets the journal id assigned to it.
+ */
+public class JournalTask {
+    private final JournalBatch.Entity entity;
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+    public JournalTask(JournalBatch.Entity entity) {
+        this.entity = entity;
+    }
+
+    public JournalBatch.Entity getEntity() {
+        return entity;
+    }
+
+    public long getSize() {
+        return entity.getSize();
+    }
+
+    public void finish(long journalId) {
+        future.complete(journalId);
+    }
+
+    public void fail(Throwable t) {
+        future.completeExceptionally(t);
+    }
+
+    public long get() throws InterruptedException, ExecutionException {
+        return future.get();
+    }
+}
@@ -0,0 +1,121 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.journal;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.util.Daemon;
+import org.apache.doris.metric.MetricRepo;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/*
+ * Group commit writer of journals.
+ * Callers put JournalTasks into the queue and wait for them. A single writer thread takes
+ * tasks from the queue in order, writes them to the journal in one batch, and then wakes
+ * up the callers. Since there is only one writer, the journal ids are assigned in the same
+ * order as the tasks are put into the queue. The journal is only rolled by the batch listener
+ * in the writer thread, so it is never rolled in the middle of a batch.
+ */
+public class JournalWriter extends Daemon {
+    public static final Logger LOG = LogManager.getLogger(JournalWriter.class);
+
+    /**
+     * Called in the writer thread after a batch is written and its callers are woken up.
+     */
+    public interface BatchListener {
+        void onBatchWritten(int journalNum, long costMs);
+    }
+
+    private final Journal journal;
+    private final BatchListener batchListener;
+    private final BlockingQueue<JournalTask> journalQueue = new LinkedBlockingQueue<>();
+
+    public JournalWriter(Journal journal, BatchListener batchListener) {
+        // no interval between batches, the writer waits for the journals in the queue
+        super("journal-writer", 0);
+        this.journal = journal;
+        this.batchListener = batchListener;
+    }
+
+    public void submit(JournalTask task) throws InterruptedException {
+        journalQueue.put(task);
+    }
+
+    @Override
+    protected void runOneCycle() {
+        try {
+            writeOneBatch();
+        } catch (InterruptedException e) {
+            LOG.warn("journal writer is interrupted", e);
+        }
+    }
+
+    private void writeOneBatch() throws InterruptedException {
+        JournalTask firstTask = journalQueue.take();
+        List<JournalTask> tasks = new ArrayList<>();
+        JournalBatch batch = new JournalBatch();
+        tasks.add(firstTask);
+        batch.addEntity(firstTask.getEntity());
+
+        while (tasks.size() < Config.journal_group_commit_max_batch_num
+                && batch.getDataSize() < Config.journal_group_commit_max_batch_bytes) {
+            JournalTask task = journalQueue.poll();
+            if (task == null) {
+                break;
+            }
+            tasks.add(task);
+            batch.addEntity(task.getEntity());
+        }
+
+        long start = System.currentTimeMillis();
+        long firstJournalId;
+        try {
+            firstJournalId = journal.write(batch);
+        } catch (Throwable t) {
+            LOG.error("failed to write journal batch, batch size: {}", tasks.size(), t);
+            for (JournalTask task : tasks) {
+                task.fail(t);
+            }
+            return;
+        }
+        long end = System.currentTimeMillis();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).finish(firstJournalId < 0 ? firstJournalId : firstJournalId + i);
+        }
+
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_JOURNAL_BATCH_SIZE.update(tasks.size());
+            MetricRepo.HISTO_JOURNAL_BATCH_DATA_SIZE.update(batch.getDataSize());
+            MetricRepo.HISTO_JOURNAL_BATCH_COMMIT_LATENCY.update(end - start);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("write journal batch finished. first journal id: {}, batch size: {}, data size: {}, cost: {}ms",
+                    firstJournalId, tasks.size(), batch.getDataSize(), end - start);
+        }
+
+        batchListener.onBatchWritten(tasks.size(), end - start);
+    }
+}
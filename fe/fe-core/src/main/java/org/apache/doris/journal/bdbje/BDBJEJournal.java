@@ -23,6 +23,7 @@ import org.apache.doris.common.io.DataOutputBuffer;
 import org.apache.doris.common.io.Writable;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
 import org.apache.doris.journal.JournalCursor;
 import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.metric.MetricRepo;
@@ -35,6 +36,7 @@ import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.DatabaseNotFoundException;
 import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.NetworkRestore;
 import com.sleepycat.je.rep.NetworkRestoreConfig;
@@ -153,11 +155,7 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
                 }
             } catch (DatabaseException e) {
                 LOG.error("catch an exception when writing to database. sleep and retry. journal id {}", id, e);
-                try {
-                    Thread.sleep(5 * 1000);
-                } catch (InterruptedException e1) {
-                    e1.printStackTrace();
-                }
+                sleepBeforeRetry();
             }
         }
 
@@ -181,6 +179,94 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
         }
     }
 
+    private static void sleepBeforeRetry() {
+        try {
+            Thread.sleep(5 * 1000);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized long write(JournalBatch batch) throws IOException {
+        List<JournalBatch.Entity> entities = batch.getJournalEntities();
+        int entitySize = entities.size();
+        long dataSize = batch.getDataSize();
+
+        // ids of the journals in one batch are continuous
+        long firstId = nextJournalId.getAndAdd(entitySize);
+        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+
+        // Write all the key value pairs of the batch to bdb in one transaction.
+        boolean writeSucceed = false;
+        for (int i = 0; i < RETRY_TIME; i++) {
+            Transaction txn = null;
+            try {
+                txn = bdbEnvironment.getReplicatedEnvironment().beginTransaction(null, null);
+                boolean putSucceed = true;
+                for (int j = 0; j < entitySize; j++) {
+                    JournalBatch.Entity entity = entities.get(j);
+                    DatabaseEntry theKey = new DatabaseEntry();
+                    idBinding.objectToEntry(firstId + j, theKey);
+                    DatabaseEntry theData = new DatabaseEntry(entity.getBinaryData(), 0, entity.getSize());
+                    if (currentJournalDB.put(txn, theKey, theData) != OperationStatus.SUCCESS) {
+                        putSucceed = false;
+                        break;
+                    }
+                }
+                if (!putSucceed) {
+                    txn.abort();
+                    txn = null;
+                    LOG.warn("failed to write journal {} to {} to database. sleep and retry",
+                            firstId, firstId + entitySize - 1);
+                    sleepBeforeRetry();
+                    continue;
+                }
+                txn.commit();
+                txn = null;
+                writeSucceed = true;
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("master write journal {} to {} finished. db name {}, current time {}",
+                            firstId, firstId + entitySize - 1, currentJournalDB.getDatabaseName(),
+                            System.currentTimeMillis());
+                }
+                break;
+            } catch (DatabaseException e) {
+                LOG.error("catch an exception when writing to database. sleep and retry. journal id {} to {}",
+                        firstId, firstId + entitySize - 1, e);
+                sleepBeforeRetry();
+            } finally {
+                if (txn != null) {
+                    try {
+                        txn.abort();
+                    } catch (DatabaseException e) {
+                        LOG.warn("failed to abort bdb transaction of journal batch {}", firstId, e);
+                    }
+                }
+            }
+        }
+
+        if (!writeSucceed) {
+            if (batch.isTimestampOnly()) {
+                // Same as write(op, writable), do not exit if there are only OP_TIMESTAMP in the batch.
+                nextJournalId.set(firstId);
+                LOG.warn("master can not achieve quorum. write timestamp fail. but will not exit.");
+                return -1;
+            }
+            String msg = "write bdb failed. will exit. journalId: " + firstId + ", batch size: " + entitySize
+                    + ", bdb database Name: " + currentJournalDB.getDatabaseName();
+            LOG.error(msg);
+            Util.stdoutWithTime(msg);
+            System.exit(-1);
+        }
+
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase(dataSize);
+            MetricRepo.COUNTER_CURRENT_EDIT_LOG_SIZE_BYTES.increase(dataSize);
+        }
+        return firstId;
+    }
+
     @Override
     public JournalEntity read(long journalId) {
         List<Long> dbNames = getDatabaseNames();
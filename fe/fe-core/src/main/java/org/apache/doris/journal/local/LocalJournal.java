@@ -19,6 +19,7 @@ package org.apache.doris.journal.local;
 
 import org.apache.doris.common.io.Writable;
 import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
 import org.apache.doris.journal.JournalCursor;
 import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.persist.EditLogFileOutputStream;
@@ -147,6 +148,18 @@ public class LocalJournal implements Journal {
         journalId.incrementAndGet();
     }
 
+    @Override
+    public synchronized long write(JournalBatch batch) throws IOException {
+        long firstId = journalId.get() + 1;
+        for (JournalBatch.Entity entity : batch.getJournalEntities()) {
+            outputStream.write(entity.getOpCode(), entity.getData());
+        }
+        outputStream.setReadyToFlush();
+        outputStream.flush();
+        journalId.addAndGet(batch.size());
+        return firstId;
+    }
+
     @Override
     public void deleteJournals(long deleteJournalToId) {
         try {
@@ -22,6 +22,7 @@ import org.apache.doris.common.CheckpointException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.meta.MetaContext;
 import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.monitor.jvm.JvmService;
 import org.apache.doris.monitor.jvm.JvmStats;
@@ -29,6 +30,7 @@ import org.apache.doris.monitor.jvm.JvmStats.MemoryPool;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.persist.MetaCleaner;
 import org.apache.doris.persist.Storage;
+import org.apache.doris.persist.meta.IncrementalImageContext;
 import org.apache.doris.qe.VariableMgr;
 import org.apache.doris.system.Frontend;
 
@@ -36,6 +38,7 @@ import com.google.common.base.Strings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
@@ -55,6 +58,8 @@ public class Checkpoint extends MasterDaemon {
     private Env env;
     private String imageDir;
     private EditLog editLog;
+    // number of consecutive incremental checkpoints since the last full image
+    private int incrementalCheckpointNum = 0;
 
     public Checkpoint(EditLog editLog) {
         super("leaderCheckpointer", FeConstants.checkpoint_interval_second * 1000L);
@@ -62,6 +67,33 @@ public class Checkpoint extends MasterDaemon {
         this.editLog = editLog;
     }
 
+    /*
+     * Return null if a full image should be written.
+     * The base image can only be reused if it has the same meta version as the new image.
+     */
+    private IncrementalImageContext createIncrementalImageContext(File baseImage) {
+        if (!Config.enable_incremental_checkpoint || !baseImage.exists()
+                || incrementalCheckpointNum >= Config.incremental_checkpoint_full_image_interval
+                || MetaContext.get().getMetaVersion() != FeConstants.meta_version) {
+            return null;
+        }
+        try {
+            return IncrementalImageContext.create(baseImage);
+        } catch (Throwable e) {
+            LOG.warn("failed to read base image {}, write full image instead", baseImage.getName(), e);
+            return null;
+        }
+    }
+
+    private void closeIncrementalImageContext(IncrementalImageContext incrementalContext) {
+        if (IncrementalImageContext.get() != null) {
+            IncrementalImageContext.set(null);
+        }
+        if (incrementalContext != null) {
+            incrementalContext.close();
+        }
+    }
+
     public static class NullOutputStream extends OutputStream {
         public void write(byte[] b, int off, int len) throws IOException {
         }
@@ -119,8 +151,12 @@ public class Checkpoint extends MasterDaemon {
         createStaticFieldForCkpt();
         boolean exceptionCaught = false;
         String latestImageFilePath = null;
+        IncrementalImageContext incrementalContext = null;
+        boolean isIncremental = false;
         try {
             env.loadImage(imageDir);
+            incrementalContext = createIncrementalImageContext(storage.getImageFile(imageVersion));
+            IncrementalImageContext.set(incrementalContext);
             env.replayJournal(checkPointVersion);
             if (env.getReplayedJournalId() != checkPointVersion) {
                 throw new CheckpointException(
@@ -130,6 +166,9 @@ public class Checkpoint extends MasterDaemon {
             env.fixBugAfterMetadataReplayed(false);
             latestImageFilePath = env.saveImage();
             replayedJournalId = env.getReplayedJournalId();
+            isIncremental = incrementalContext != null;
+            closeIncrementalImageContext(incrementalContext);
+            incrementalContext = null;
 
             // destroy checkpoint catalog, reclaim memory
             env = null;
@@ -145,6 +184,7 @@ public class Checkpoint extends MasterDaemon {
             if (MetricRepo.isInit) {
                 MetricRepo.COUNTER_IMAGE_WRITE_SUCCESS.increase(1L);
             }
+            incrementalCheckpointNum = isIncremental ? incrementalCheckpointNum + 1 : 0;
             LOG.info("checkpoint finished save image.{}", replayedJournalId);
         } catch (Throwable e) {
             exceptionCaught = true;
@@ -154,6 +194,7 @@ public class Checkpoint extends MasterDaemon {
             }
             throw new CheckpointException(e.getMessage(), e);
         } finally {
+            closeIncrementalImageContext(incrementalContext);
             // destroy checkpoint catalog, reclaim memory
             env = null;
             Env.destroyCheckpoint();
@@ -82,6 +82,7 @@ import org.apache.doris.thrift.TTablet;
 import org.apache.doris.thrift.TTabletInfo;
 import org.apache.doris.thrift.TTaskType;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
@@ -105,9 +106,16 @@ import java.util.stream.Collectors;
 
 public class ReportHandler extends Daemon {
     private static final Logger LOG = LogManager.getLogger(ReportHandler.class);
+    // the max number of tablets of a table synced in one hold of the table lock
+    private static final int SYNC_TABLETS_PER_LOCK = 100;
 
     private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
 
+    // backend id -> report version of the last processed tablet report
+    private final Map<Long, Long> ackedTabletReportVersions = Maps.newConcurrentMap();
+    // backend id -> number of delta tablet reports processed since the last full tablet report
+    private final Map<Long, Integer> deltaTabletReportNums = Maps.newConcurrentMap();
+
     private enum ReportType {
         UNKNOWN,
         TASK,
@@ -148,6 +156,7 @@ public class ReportHandler extends Daemon {
         Map<TTaskType, Set<Long>> tasks = null;
         Map<String, TDisk> disks = null;
         Map<Long, TTablet> tablets = null;
+        List<Long> droppedTablets = null;
         long reportVersion = -1;
 
         ReportType reportType = ReportType.UNKNOWN;
@@ -173,11 +182,34 @@ public class ReportHandler extends Daemon {
             reportType = ReportType.TABLET;
         }
 
+        Long ackedTabletReportVersion = ackedTabletReportVersions.get(beId);
+        if (tablets != null && request.isSetIsDeltaTabletReport() && request.isIsDeltaTabletReport()) {
+            // the delta may be based on an earlier report than the last processed one, because the reports are
+            // processed asynchronously. It contains all the changes since the last processed report as well.
+            if (!Config.enable_delta_tablet_report || ackedTabletReportVersion == null
+                    || request.getBaseTabletReportVersion() > ackedTabletReportVersion) {
+                // the delta is based on a tablet report not processed by this FE, eg. after master changed
+                LOG.info("reject delta tablet report from be {}. base report version: {}, acked report version: {}",
+                        beId, request.getBaseTabletReportVersion(), ackedTabletReportVersion);
+                tablets = null;
+                result.setNeedFullTabletReport(true);
+            } else {
+                droppedTablets = request.isSetDroppedTablets() ? request.getDroppedTablets() : Lists.newArrayList();
+                if (deltaTabletReportNums.getOrDefault(beId, 0) + 1 >= Config.max_consecutive_delta_tablet_reports) {
+                    result.setNeedFullTabletReport(true);
+                }
+            }
+        }
+        // a backend sends delta tablet reports only if the last processed report is acknowledged
+        if (Config.enable_delta_tablet_report && ackedTabletReportVersion != null) {
+            result.setAckedTabletReportVersion(ackedTabletReportVersion);
+        }
+
         if (request.isSetTabletMaxCompactionScore()) {
             backend.setTabletMaxCompactionScore(request.getTabletMaxCompactionScore());
         }
 
-        ReportTask reportTask = new ReportTask(beId, tasks, disks, tablets, reportVersion,
+        ReportTask reportTask = new ReportTask(beId, tasks, disks, tablets, droppedTablets, reportVersion,
                 request.getStoragePolicy(), request.getResource());
         try {
             putToQueue(reportTask);
@@ -224,6 +256,8 @@ public class ReportHandler extends Daemon {
         private Map<TTaskType, Set<Long>> tasks;
         private Map<String, TDisk> disks;
         private Map<Long, TTablet> tablets;
+        // null for a full tablet report
+        private List<Long> droppedTablets;
         private long reportVersion;
 
         private List<TStoragePolicy> storagePolicies;
@@ -231,12 +265,13 @@ public class ReportHandler extends Daemon {
 
         public ReportTask(long beId, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
-                          Map<Long, TTablet> tablets, long reportVersion,
+                          Map<Long, TTablet> tablets, List<Long> droppedTablets, long reportVersion,
                           List<TStoragePolicy> storagePolicies, List<TStorageResource> storageResources) {
             this.beId = beId;
             this.tasks = tasks;
             this.disks = disks;
             this.tablets = tablets;
+            this.droppedTablets = droppedTablets;
             this.reportVersion = reportVersion;
             this.storagePolicies = storagePolicies;
             this.storageResources = storageResources;
@@ -260,7 +295,13 @@ public class ReportHandler extends Daemon {
                     LOG.warn("out of date report version {} from backend[{}]. current report version[{}]",
                             reportVersion, beId, backendReportVersion);
                 } else {
-                    ReportHandler.tabletReport(beId, tablets, reportVersion);
+                    ReportHandler.tabletReport(beId, tablets, droppedTablets, reportVersion);
+                    ackedTabletReportVersions.put(beId, reportVersion);
+                    if (droppedTablets == null) {
+                        deltaTabletReportNums.put(beId, 0);
+                    } else {
+                        deltaTabletReportNums.merge(beId, 1, Integer::sum);
+                    }
                 }
             }
         }
@@ -393,10 +434,11 @@ public class ReportHandler extends Daemon {
         }
     }
 
-    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion) {
+    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, List<Long> droppedTablets,
+                                     long backendReportVersion) {
         long start = System.currentTimeMillis();
-        LOG.info("backend[{}] reports {} tablet(s). report version: {}",
-                backendId, backendTablets.size(), backendReportVersion);
+        LOG.info("backend[{}] reports {} tablet(s). report version: {}, delta: {}",
+                backendId, backendTablets.size(), backendReportVersion, droppedTablets != null);
 
         // storage medium map
         HashMap<Long, TStorageMedium> storageMediumMap = Config.disable_storage_medium_check
@@ -424,7 +466,7 @@ public class ReportHandler extends Daemon {
         List<CooldownConf> cooldownConfToUpdate = new LinkedList<>();
 
         // 1. do the diff. find out (intersection) / (be - meta) / (meta - be)
-        Env.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, storageMediumMap,
+        Env.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, droppedTablets, storageMediumMap,
                 tabletSyncMap,
                 tabletDeleteFromMeta,
                 tabletFoundInMeta,
@@ -442,7 +484,8 @@ public class ReportHandler extends Daemon {
         }
 
         // 3. delete (meta - be)
-        // BE will automatically drop defective tablets. these tablets should also be dropped in catalog
+        // BE will automatically drop defective tablets. these tablets should also be dropped in catalog.
+        // for a delta report, only the tablets dropped since the last report are checked
         if (!tabletDeleteFromMeta.isEmpty()) {
             deleteFromMeta(tabletDeleteFromMeta, backendId, backendReportVersion);
         }
@@ -568,107 +611,122 @@ public class ReportHandler extends Daemon {
             LOG.info("before sync tablets in db[{}]. report num: {}. backend[{}]",
                     dbId, tabletIds.size(), backendId);
             List<TabletMeta> tabletMetaList = invertedIndex.getTabletMetaList(tabletIds);
+            // table id -> index of tablets in the list, so that the lock of a table is taken once for a batch of its
+            // tablets instead of once for each tablet. The lock is released between batches, so that it is not held
+            // for the edit logs of all the tablets of a large table.
+            ListMultimap<Long, Integer> tableToTabletIdx = LinkedListMultimap.create();
             for (int i = 0; i < tabletMetaList.size(); i++) {
                 TabletMeta tabletMeta = tabletMetaList.get(i);
-                if (tabletMeta == TabletInvertedIndex.NOT_EXIST_TABLET_META) {
-                    continue;
+                if (tabletMeta != TabletInvertedIndex.NOT_EXIST_TABLET_META) {
+                    tableToTabletIdx.put(tabletMeta.getTableId(), i);
                 }
-                long tabletId = tabletIds.get(i);
-                long tableId = tabletMeta.getTableId();
+            }
+            for (Long tableId : tableToTabletIdx.keySet()) {
                 OlapTable olapTable = (OlapTable) db.getTableNullable(tableId);
-                if (olapTable == null || !olapTable.writeLockIfExist()) {
+                if (olapTable == null) {
                     continue;
                 }
-                try {
-                    long partitionId = tabletMeta.getPartitionId();
-                    Partition partition = olapTable.getPartition(partitionId);
-                    if (partition == null) {
-                        continue;
-                    }
-
-                    long indexId = tabletMeta.getIndexId();
-                    MaterializedIndex index = partition.getIndex(indexId);
-                    if (index == null) {
-                        continue;
-                    }
-                    int schemaHash = olapTable.getSchemaHashByIndexId(indexId);
-
-                    Tablet tablet = index.getTablet(tabletId);
-                    if (tablet == null) {
-                        continue;
+                for (List<Integer> batch : Lists.partition(tableToTabletIdx.get(tableId), SYNC_TABLETS_PER_LOCK)) {
+                    if (!olapTable.writeLockIfExist()) {
+                        break;
                     }
-
-                    Replica replica = tablet.getReplicaByBackendId(backendId);
-                    if (replica == null) {
-                        continue;
-                    }
-
-                    // yiguolei: it is very important here, if the replica is under schema change or rollup
-                    // should ignore the report.
-                    // eg.
-                    // original replica import successfully, but the dest schema change replica failed
-                    // the fe will sync the replica with the original replica, but ignore the schema change replica.
-                    // if the last failed version is changed, then fe will think schema change successfully.
-                    // this is an fatal error.
-                    if (replica.getState() == ReplicaState.NORMAL) {
-                        long metaVersion = replica.getVersion();
-                        long backendVersion = -1L;
-                        long rowCount = -1L;
-                        long dataSize = -1L;
-                        long remoteDataSize = -1L;
-                        // schema change maybe successfully in fe, but not inform be,
-                        // then be will report two schema hash
-                        // just select the dest schema hash
-                        for (TTabletInfo tabletInfo : backendTablets.get(tabletId).getTabletInfos()) {
-                            if (tabletInfo.getSchemaHash() == schemaHash) {
-                                backendVersion = tabletInfo.getVersion();
-                                rowCount = tabletInfo.getRowCount();
-                                dataSize = tabletInfo.getDataSize();
-                                remoteDataSize = tabletInfo.getRemoteDataSize();
-                                break;
+                    try {
+                        for (int i : batch) {
+                            TabletMeta tabletMeta = tabletMetaList.get(i);
+                            long tabletId = tabletIds.get(i);
+                            long partitionId = tabletMeta.getPartitionId();
+                            Partition partition = olapTable.getPartition(partitionId);
+                            if (partition == null) {
+                                continue;
                             }
-                        }
-                        if (backendVersion == -1L) {
-                            continue;
-                        }
 
-                        if (metaVersion < backendVersion
-                                || (metaVersion == backendVersion && replica.isBad())) {
+                            long indexId = tabletMeta.getIndexId();
+                            MaterializedIndex index = partition.getIndex(indexId);
+                            if (index == null) {
+                                continue;
+                            }
+                            int schemaHash = olapTable.getSchemaHashByIndexId(indexId);
 
-                            if (backendReportVersion < Env.getCurrentSystemInfo()
-                                    .getBackendReportVersion(backendId)) {
+                            Tablet tablet = index.getTablet(tabletId);
+                            if (tablet == null) {
                                 continue;
                             }
 
-                            // happens when
-                            // 1. PUSH finished in BE but failed or not yet report to FE
-                            // 2. repair for VERSION_INCOMPLETE finished in BE, but failed or not yet report to FE
-                            replica.updateVersionInfo(backendVersion, dataSize, remoteDataSize, rowCount);
-
-                            if (replica.getLastFailedVersion() < 0) {
-                                // last failed version < 0 means this replica becomes health after sync,
-                                // so we write an edit log to sync this operation
-                                ReplicaPersistInfo info = ReplicaPersistInfo.createForClone(dbId, tableId,
-                                        partitionId, indexId, tabletId, backendId, replica.getId(),
-                                        replica.getVersion(), schemaHash,
-                                        dataSize, remoteDataSize, rowCount,
-                                        replica.getLastFailedVersion(),
-                                        replica.getLastSuccessVersion());
-                                Env.getCurrentEnv().getEditLog().logUpdateReplica(info);
+                            Replica replica = tablet.getReplicaByBackendId(backendId);
+                            if (replica == null) {
+                                continue;
                             }
 
-                            ++syncCounter;
-                            LOG.debug("sync replica {} of tablet {} in backend {} in db {}. report version: {}",
-                                    replica.getId(), tabletId, backendId, dbId, backendReportVersion);
-                        } else {
-                            LOG.debug("replica {} of tablet {} in backend {} version is changed"
-                                            + " between check and real sync. meta[{}]. backend[{}]",
-                                    replica.getId(), tabletId, backendId, metaVersion,
-                                    backendVersion);
+                            // yiguolei: it is very important here, if the replica is under schema change or rollup
+                            // should ignore the report.
+                            // eg.
+                            // original replica import successfully, but the dest schema change replica failed
+                            // the fe will sync the replica with the original replica,
+                            // but ignore the schema change replica.
+                            // if the last failed version is changed, then fe will think schema change successfully.
+                            // this is an fatal error.
+                            if (replica.getState() == ReplicaState.NORMAL) {
+                                long metaVersion = replica.getVersion();
+                                long backendVersion = -1L;
+                                long rowCount = -1L;
+                                long dataSize = -1L;
+                                long remoteDataSize = -1L;
+                                // schema change maybe successfully in fe, but not inform be,
+                                // then be will report two schema hash
+                                // just select the dest schema hash
+                                for (TTabletInfo tabletInfo : backendTablets.get(tabletId).getTabletInfos()) {
+                                    if (tabletInfo.getSchemaHash() == schemaHash) {
+                                        backendVersion = tabletInfo.getVersion();
+                                        rowCount = tabletInfo.getRowCount();
+                                        dataSize = tabletInfo.getDataSize();
+                                        remoteDataSize = tabletInfo.getRemoteDataSize();
+                                        break;
+                                    }
+                                }
+                                if (backendVersion == -1L) {
+                                    continue;
+                                }
+
+                                if (metaVersion < backendVersion
+                                        || (metaVersion == backendVersion && replica.isBad())) {
+
+                                    if (backendReportVersion < Env.getCurrentSystemInfo()
+                                            .getBackendReportVersion(backendId)) {
+                                        continue;
+                                    }
+
+                                    // happens when
+                                    // 1. PUSH finished in BE but failed or not yet report to FE
+                                    // 2. repair for VERSION_INCOMPLETE finished in BE,
+                                    //    but failed or not yet report to FE
+                                    replica.updateVersionInfo(backendVersion, dataSize, remoteDataSize, rowCount);
+
+                                    if (replica.getLastFailedVersion() < 0) {
+                                        // last failed version < 0 means this replica becomes health after sync,
+                                        // so we write an edit log to sync this operation
+                                        ReplicaPersistInfo info = ReplicaPersistInfo.createForClone(dbId, tableId,
+                                                partitionId, indexId, tabletId, backendId, replica.getId(),
+                                                replica.getVersion(), schemaHash,
+                                                dataSize, remoteDataSize, rowCount,
+                                                replica.getLastFailedVersion(),
+                                                replica.getLastSuccessVersion());
+                                        Env.getCurrentEnv().getEditLog().logUpdateReplica(info);
+                                    }
+
+                                    ++syncCounter;
+                                    LOG.debug("sync replica {} of tablet {} in backend {} in db {}. report version: {}",
+                                            replica.getId(), tabletId, backendId, dbId, backendReportVersion);
+                                } else {
+                                    LOG.debug("replica {} of tablet {} in backend {} version is changed"
+                                                    + " between check and real sync. meta[{}]. backend[{}]",
+                                            replica.getId(), tabletId, backendId, metaVersion,
+                                            backendVersion);
+                                }
+                            }
                         }
+                    } finally {
+                        olapTable.writeUnlock();
                     }
-                } finally {
-                    olapTable.writeUnlock();
                 }
             }
             LOG.info("sync {} tablets in db[{}]. backend[{}]", syncCounter, dbId, backendId);
@@ -1163,6 +1221,14 @@ public class ReportHandler extends Daemon {
         }
     }
 
+    @VisibleForTesting
+    void runQueuedReportTasks() {
+        ReportTask task;
+        while ((task = reportQueue.poll()) != null) {
+            task.exec();
+        }
+    }
+
     @Override
     protected void runOneCycle() {
         while (true) {
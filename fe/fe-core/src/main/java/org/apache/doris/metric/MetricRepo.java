@@ -34,6 +34,7 @@ import org.apache.doris.monitor.jvm.JvmService;
 import org.apache.doris.monitor.jvm.JvmStats;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.qe.QeProcessorImpl;
+import org.apache.doris.qe.cache.CacheFeProxy;
 import org.apache.doris.service.ExecuteEnv;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.SystemInfoService;
@@ -83,6 +84,11 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_CACHE_ADDED_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_HIT_SQL;
     public static LongCounterMetric COUNTER_CACHE_HIT_PARTITION;
+    public static LongCounterMetric COUNTER_CACHE_FE_RESULT_HIT;
+    public static LongCounterMetric COUNTER_CACHE_FE_RESULT_MISS;
+    public static LongCounterMetric COUNTER_NEREIDS_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_NEREIDS_PLAN_CACHE_MISS;
+    public static LongCounterMetric COUNTER_NEREIDS_PLAN_CACHE_SAVED_TIME_MS;
 
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
     public static LongCounterMetric COUNTER_EDIT_LOG_READ;
@@ -92,6 +98,9 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_EDIT_LOG_CLEAN_SUCCESS;
     public static LongCounterMetric COUNTER_EDIT_LOG_CLEAN_FAILED;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_JOURNAL_BATCH_SIZE;
+    public static Histogram HISTO_JOURNAL_BATCH_DATA_SIZE;
+    public static Histogram HISTO_JOURNAL_BATCH_COMMIT_LATENCY;
 
     public static LongCounterMetric COUNTER_IMAGE_WRITE_SUCCESS;
     public static LongCounterMetric COUNTER_IMAGE_WRITE_FAILED;
@@ -115,6 +124,10 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
     public static LongCounterMetric COUNTER_HIT_SQL_BLOCK_RULE;
 
+    public static AutoMappedMetric<LongCounterMetric> CATALOG_COUNTER_HMS_EVENTS;
+    public static AutoMappedMetric<GaugeMetricImpl<Long>> CATALOG_GAUGE_HMS_EVENT_LAG_MS;
+    public static Histogram HISTO_HMS_EVENT_BATCH_PROCESS_LATENCY;
+
     public static AutoMappedMetric<LongCounterMetric> THRIFT_COUNTER_RPC_ALL;
     public static AutoMappedMetric<LongCounterMetric> THRIFT_COUNTER_RPC_LATENCY;
 
@@ -337,6 +350,33 @@ public final class MetricRepo {
                 "total hits query by partition model");
         COUNTER_CACHE_HIT_PARTITION.addLabel(new MetricLabel("type", "partition"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_HIT_PARTITION);
+        COUNTER_CACHE_FE_RESULT_HIT = new LongCounterMetric("result_cache", MetricUnit.REQUESTS,
+                "total hits of results cached in fe");
+        COUNTER_CACHE_FE_RESULT_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_FE_RESULT_HIT);
+        COUNTER_CACHE_FE_RESULT_MISS = new LongCounterMetric("result_cache", MetricUnit.REQUESTS,
+                "total misses of results cached in fe");
+        COUNTER_CACHE_FE_RESULT_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_FE_RESULT_MISS);
+        GaugeMetric<Long> feResultCacheBytes = new GaugeMetric<Long>("result_cache_bytes", MetricUnit.BYTES,
+                "memory used by results cached in fe") {
+            @Override
+            public Long getValue() {
+                return CacheFeProxy.getUsedBytes();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(feResultCacheBytes);
+        COUNTER_NEREIDS_PLAN_CACHE_HIT = new LongCounterMetric("plan_cache", MetricUnit.REQUESTS,
+                "total hits of nereids plan cache");
+        COUNTER_NEREIDS_PLAN_CACHE_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_NEREIDS_PLAN_CACHE_HIT);
+        COUNTER_NEREIDS_PLAN_CACHE_MISS = new LongCounterMetric("plan_cache", MetricUnit.REQUESTS,
+                "total misses of nereids plan cache");
+        COUNTER_NEREIDS_PLAN_CACHE_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_NEREIDS_PLAN_CACHE_MISS);
+        COUNTER_NEREIDS_PLAN_CACHE_SAVED_TIME_MS = new LongCounterMetric("plan_cache_saved_time_ms",
+                MetricUnit.MILLISECONDS, "total planning time saved by nereids plan cache");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_NEREIDS_PLAN_CACHE_SAVED_TIME_MS);
 
         // edit log
         COUNTER_EDIT_LOG_WRITE = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
@@ -361,6 +401,12 @@ public final class MetricRepo {
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CURRENT_EDIT_LOG_SIZE_BYTES);
         HISTO_EDIT_LOG_WRITE_LATENCY = METRIC_REGISTER.histogram(
             MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_JOURNAL_BATCH_SIZE = METRIC_REGISTER.histogram(
+            MetricRegistry.name("journal", "batch", "size"));
+        HISTO_JOURNAL_BATCH_DATA_SIZE = METRIC_REGISTER.histogram(
+            MetricRegistry.name("journal", "batch", "data", "size", "bytes"));
+        HISTO_JOURNAL_BATCH_COMMIT_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("journal", "batch", "commit", "latency", "ms"));
 
         // edit log clean
         COUNTER_EDIT_LOG_CLEAN_SUCCESS = new LongCounterMetric("edit_log_clean", MetricUnit.OPERATIONS,
@@ -468,6 +514,15 @@ public final class MetricRepo {
                 "total hit sql block rule query");
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_HIT_SQL_BLOCK_RULE);
 
+        // hive metastore events
+        CATALOG_COUNTER_HMS_EVENTS = addLabeledMetrics("catalog", () ->
+                new LongCounterMetric("hms_events", MetricUnit.OPERATIONS, "total applied hive metastore events"));
+        CATALOG_GAUGE_HMS_EVENT_LAG_MS = addLabeledMetrics("catalog", () ->
+                new GaugeMetricImpl<>("hms_event_lag_ms", MetricUnit.MILLISECONDS,
+                        "time between the last applied hive metastore event and its application"));
+        HISTO_HMS_EVENT_BATCH_PROCESS_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("hms_event", "batch", "process", "latency", "ms"));
+
         THRIFT_COUNTER_RPC_ALL = addLabeledMetrics("method", () ->
                 new LongCounterMetric("thrift_rpc_total", MetricUnit.NOUNIT, ""));
         THRIFT_COUNTER_RPC_LATENCY = addLabeledMetrics("method", () ->
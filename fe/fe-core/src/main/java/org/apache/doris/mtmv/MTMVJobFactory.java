@@ -18,7 +18,6 @@
 package org.apache.doris.mtmv;
 
 import org.apache.doris.analysis.MVRefreshInfo.BuildMode;
-import org.apache.doris.analysis.MVRefreshInfo.RefreshMethod;
 import org.apache.doris.analysis.MVRefreshInfo.RefreshTrigger;
 import org.apache.doris.analysis.MVRefreshIntervalTriggerInfo;
 import org.apache.doris.analysis.MVRefreshTriggerInfo;
@@ -41,7 +40,6 @@ public class MTMVJobFactory {
     private static final Logger LOG = LogManager.getLogger(MTMVTaskProcessor.class);
 
     public static boolean isGenerateJob(MaterializedView materializedView) {
-        boolean completeRefresh = materializedView.getRefreshInfo().getRefreshMethod() == RefreshMethod.COMPLETE;
         BuildMode buildMode = materializedView.getBuildMode();
         MVRefreshTriggerInfo triggerInfo = materializedView.getRefreshInfo().getTriggerInfo();
         //can not generate a job when creating a temp materialized view.
@@ -49,9 +47,9 @@ public class MTMVJobFactory {
             return false;
         }
         if (buildMode == BuildMode.IMMEDIATE) {
-            return completeRefresh;
+            return true;
         } else {
-            return completeRefresh && triggerInfo != null && triggerInfo.getRefreshTrigger() == RefreshTrigger.INTERVAL;
+            return triggerInfo != null && triggerInfo.getRefreshTrigger() == RefreshTrigger.INTERVAL;
         }
     }
 
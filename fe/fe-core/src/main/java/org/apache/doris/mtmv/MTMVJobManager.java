@@ -29,6 +29,7 @@ import org.apache.doris.mtmv.metadata.ChangeMTMVTask;
 import org.apache.doris.mtmv.metadata.MTMVCheckpointData;
 import org.apache.doris.mtmv.metadata.MTMVJob;
 import org.apache.doris.mtmv.metadata.MTMVJob.JobSchedule;
+import org.apache.doris.mtmv.metadata.MTMVRefreshSnapshot;
 import org.apache.doris.mtmv.metadata.MTMVTask;
 import org.apache.doris.persist.gson.GsonUtils;
 
@@ -44,8 +45,10 @@ import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -274,6 +277,9 @@ public class MTMVJobManager {
             }
             job.setState(changeJob.getToStatus());
             job.setLastModifyTime(changeJob.getLastModifyTime());
+            if (changeJob.getRefreshSnapshot() != null) {
+                job.setRefreshSnapshot(changeJob.getRefreshSnapshot());
+            }
             if (!isReplay) {
                 Env.getCurrentEnv().getEditLog().logChangeMTMVJob(changeJob);
             }
@@ -338,6 +344,17 @@ public class MTMVJobManager {
         return showJobs(dbName).stream().filter(u -> u.getMVName().equals(mvName)).collect(Collectors.toList());
     }
 
+    /**
+     * The snapshot of the latest successful refresh of the materialized view, whichever job ran it.
+     */
+    public MTMVRefreshSnapshot getLastRefreshSnapshot(String dbName, String mvName) {
+        return showJobs(dbName, mvName).stream()
+                .map(MTMVJob::getRefreshSnapshot)
+                .filter(Objects::nonNull)
+                .max(Comparator.comparingLong(MTMVRefreshSnapshot::getRefreshTime))
+                .orElse(null);
+    }
+
     private boolean tryLock() {
         try {
             return reentrantLock.tryLock(5, TimeUnit.SECONDS);
@@ -0,0 +1,320 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.mtmv;
+
+import org.apache.doris.analysis.Analyzer;
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.InlineViewRef;
+import org.apache.doris.analysis.JoinOperator;
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.SetOperationStmt;
+import org.apache.doris.analysis.SetOperationStmt.SetOperand;
+import org.apache.doris.analysis.SlotDescriptor;
+import org.apache.doris.analysis.SlotRef;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.analysis.Subquery;
+import org.apache.doris.analysis.TableRef;
+import org.apache.doris.analysis.TupleDescriptor;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.MaterializedView;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.PartitionInfo;
+import org.apache.doris.catalog.PartitionKey;
+import org.apache.doris.catalog.PartitionType;
+import org.apache.doris.catalog.RangePartitionItem;
+import org.apache.doris.catalog.TableIf;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.mtmv.metadata.MTMVRefreshSnapshot;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decide which partitions of a materialized view have to be recomputed.
+ *
+ * A partition of the materialized view can be refreshed on its own when the materialized view is range
+ * partitioned on a column that is passed through unchanged from the range partition column of exactly one
+ * base table (the driving table): every row of the materialized view partition is then derived only from
+ * rows of the driving table in the same range. Such a partition is stale when a driving table partition
+ * overlapping its range got a new visible version since the last refresh. Anything the planner can not
+ * prove ends up in a complete refresh.
+ */
+public class MTMVPartitionRefreshPlanner {
+    private static final Logger LOG = LogManager.getLogger(MTMVPartitionRefreshPlanner.class);
+
+    public static class RefreshPlan {
+        // versions of all base tables captured before the refresh, null if they can not be tracked
+        private final Map<Long, Map<Long, Long>> tableVersions;
+        // label of the query output that feeds the materialized view partition column, null for complete refresh
+        private final String partitionLabel;
+        private final List<Long> partitionIds;
+        private final Set<Long> allPartitionIds;
+        private final String reason;
+
+        private RefreshPlan(Map<Long, Map<Long, Long>> tableVersions, String partitionLabel,
+                List<Long> partitionIds, Set<Long> allPartitionIds, String reason) {
+            this.tableVersions = tableVersions;
+            this.partitionLabel = partitionLabel;
+            this.partitionIds = partitionIds;
+            this.allPartitionIds = allPartitionIds;
+            this.reason = reason;
+        }
+
+        static RefreshPlan complete(Map<Long, Map<Long, Long>> tableVersions, String reason) {
+            return new RefreshPlan(tableVersions, null, Lists.newArrayList(), Sets.newHashSet(), reason);
+        }
+
+        public boolean isIncremental() {
+            return partitionLabel != null;
+        }
+
+        public Map<Long, Map<Long, Long>> getTableVersions() {
+            return tableVersions;
+        }
+
+        public String getPartitionLabel() {
+            return partitionLabel;
+        }
+
+        public List<Long> getPartitionIds() {
+            return partitionIds;
+        }
+
+        public Set<Long> getAllPartitionIds() {
+            return allPartitionIds;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+
+    public static RefreshPlan plan(ConnectContext ctx, MaterializedView mv, String query,
+            MTMVRefreshSnapshot lastSnapshot) {
+        SelectStmt selectStmt;
+        Analyzer analyzer;
+        ctx.setThreadLocalInfo();
+        try {
+            StatementBase stmt = SqlParserUtils.getFirstStmt(new SqlParser(new SqlScanner(new StringReader(query))));
+            if (!(stmt instanceof SelectStmt)) {
+                return RefreshPlan.complete(null, "the query is not a single select statement");
+            }
+            selectStmt = (SelectStmt) stmt;
+            analyzer = new Analyzer(ctx.getEnv(), ctx);
+            selectStmt.analyze(analyzer);
+        } catch (Exception e) {
+            LOG.warn("Failed to analyze the query of materialized view {}.", mv.getName(), e);
+            return RefreshPlan.complete(null, "failed to analyze the query: " + e.getMessage());
+        } finally {
+            ConnectContext.remove();
+        }
+
+        Map<Long, OlapTable> tables = Maps.newHashMap();
+        Map<Long, Integer> tableRefCounts = Maps.newHashMap();
+        for (TupleDescriptor tupleDesc : analyzer.getDescTbl().getTupleDescs()) {
+            TableIf table = tupleDesc.getTable();
+            if (table == null) {
+                continue;
+            }
+            if (!(table instanceof OlapTable)) {
+                return RefreshPlan.complete(null, "table " + table.getName() + " is not an olap table");
+            }
+            tables.put(table.getId(), (OlapTable) table);
+            tableRefCounts.merge(table.getId(), 1, Integer::sum);
+        }
+        Map<Long, Map<Long, Long>> tableVersions = Maps.newHashMap();
+        for (OlapTable table : tables.values()) {
+            tableVersions.put(table.getId(), getPartitionVersions(table));
+        }
+
+        if (lastSnapshot == null) {
+            return RefreshPlan.complete(tableVersions, "there is no previous refresh");
+        }
+        PartitionInfo mvPartitionInfo = mv.getPartitionInfo();
+        if (mvPartitionInfo.getType() != PartitionType.RANGE || mvPartitionInfo.getPartitionColumns().size() != 1) {
+            return RefreshPlan.complete(tableVersions, "the materialized view is not range partitioned on one column");
+        }
+        String reason = getNotPartitionWiseReason(selectStmt);
+        if (reason != null) {
+            return RefreshPlan.complete(tableVersions, reason);
+        }
+
+        String partitionColumn = mvPartitionInfo.getPartitionColumns().get(0).getName();
+        int index = -1;
+        for (int i = 0; i < selectStmt.getColLabels().size(); i++) {
+            if (selectStmt.getColLabels().get(i).equalsIgnoreCase(partitionColumn)) {
+                index = i;
+                break;
+            }
+        }
+        SlotDescriptor baseSlot = index < 0 ? null : getBaseSlot(selectStmt.getResultExprs().get(index));
+        if (baseSlot == null || baseSlot.getColumn() == null
+                || !(baseSlot.getParent().getTable() instanceof OlapTable)) {
+            return RefreshPlan.complete(tableVersions,
+                    "partition column " + partitionColumn + " does not come from a base table column");
+        }
+        OlapTable baseTable = (OlapTable) baseSlot.getParent().getTable();
+        PartitionInfo basePartitionInfo = baseTable.getPartitionInfo();
+        if (basePartitionInfo.getType() != PartitionType.RANGE
+                || basePartitionInfo.getPartitionColumns().size() != 1
+                || !basePartitionInfo.getPartitionColumns().get(0).getName()
+                        .equalsIgnoreCase(baseSlot.getColumn().getName())) {
+            return RefreshPlan.complete(tableVersions,
+                    "partition column " + partitionColumn + " is not the partition column of " + baseTable.getName());
+        }
+        if (tableRefCounts.get(baseTable.getId()) != 1) {
+            return RefreshPlan.complete(tableVersions,
+                    "table " + baseTable.getName() + " is referenced more than once");
+        }
+
+        Map<Long, Map<Long, Long>> lastVersions = lastSnapshot.getTableVersions();
+        for (Map.Entry<Long, Map<Long, Long>> entry : tableVersions.entrySet()) {
+            if (entry.getKey() != baseTable.getId() && !entry.getValue().equals(lastVersions.get(entry.getKey()))) {
+                return RefreshPlan.complete(tableVersions,
+                        "table " + tables.get(entry.getKey()).getName() + " has changed");
+            }
+        }
+        Map<Long, Long> lastBaseVersions = lastVersions.get(baseTable.getId());
+        Map<Long, Long> baseVersions = tableVersions.get(baseTable.getId());
+        if (lastBaseVersions == null || !baseVersions.keySet().containsAll(lastBaseVersions.keySet())) {
+            return RefreshPlan.complete(tableVersions, "partitions of " + baseTable.getName() + " were dropped");
+        }
+
+        List<Range<PartitionKey>> changedRanges = Lists.newArrayList();
+        baseTable.readLock();
+        try {
+            for (Map.Entry<Long, Long> entry : baseVersions.entrySet()) {
+                if (!entry.getValue().equals(lastBaseVersions.get(entry.getKey()))) {
+                    changedRanges.add(((RangePartitionItem) basePartitionInfo.getItem(entry.getKey())).getItems());
+                }
+            }
+        } finally {
+            baseTable.readUnlock();
+        }
+
+        List<Long> partitionIds = Lists.newArrayList();
+        Set<Long> allPartitionIds = Sets.newHashSet();
+        mv.readLock();
+        try {
+            for (Partition partition : mv.getPartitions()) {
+                allPartitionIds.add(partition.getId());
+                Range<PartitionKey> range =
+                        ((RangePartitionItem) mvPartitionInfo.getItem(partition.getId())).getItems();
+                if (!lastSnapshot.getMvPartitionIds().contains(partition.getId())
+                        || changedRanges.stream().anyMatch(r -> r.isConnected(range)
+                                && !r.intersection(range).isEmpty())) {
+                    partitionIds.add(partition.getId());
+                }
+            }
+        } finally {
+            mv.readUnlock();
+        }
+        if (!partitionIds.isEmpty() && partitionIds.size() == allPartitionIds.size()) {
+            return RefreshPlan.complete(tableVersions, "all partitions have changed");
+        }
+        return new RefreshPlan(tableVersions, selectStmt.getColLabels().get(index), partitionIds, allPartitionIds,
+                null);
+    }
+
+    public static Map<Long, Long> getPartitionVersions(OlapTable table) {
+        Map<Long, Long> versions = Maps.newHashMap();
+        table.readLock();
+        try {
+            for (Partition partition : table.getPartitions()) {
+                versions.put(partition.getId(), partition.getVisibleVersion());
+            }
+        } finally {
+            table.readUnlock();
+        }
+        return versions;
+    }
+
+    /**
+     * The rows of a partition can not be computed from the rows of the same partition of the base table,
+     * if the query, or any query nested in it, has analytic functions, limit or outer joins.
+     *
+     * @return the reason, or null if the query can be refreshed partition by partition
+     */
+    private static String getNotPartitionWiseReason(QueryStmt queryStmt) {
+        if (queryStmt.hasLimit()) {
+            return "the query has limit";
+        }
+        List<QueryStmt> nestedStmts = Lists.newArrayList();
+        if (queryStmt instanceof SetOperationStmt) {
+            for (SetOperand operand : ((SetOperationStmt) queryStmt).getOperands()) {
+                nestedStmts.add(operand.getQueryStmt());
+            }
+        } else {
+            SelectStmt selectStmt = (SelectStmt) queryStmt;
+            if (selectStmt.hasAnalyticInfo()) {
+                return "the query has analytic functions";
+            }
+            for (TableRef tableRef : selectStmt.getTableRefs()) {
+                JoinOperator joinOp = tableRef.getJoinOp();
+                if (joinOp != null && !joinOp.isInnerJoin() && !joinOp.isCrossJoin()) {
+                    return "the query has " + joinOp;
+                }
+                if (tableRef instanceof InlineViewRef) {
+                    nestedStmts.add(((InlineViewRef) tableRef).getViewStmt());
+                }
+            }
+            if (selectStmt.getWhereClause() != null) {
+                List<Subquery> subqueries = Lists.newArrayList();
+                selectStmt.getWhereClause().collect(Subquery.class, subqueries);
+                for (Subquery subquery : subqueries) {
+                    nestedStmts.add(subquery.getStatement());
+                }
+            }
+        }
+        for (QueryStmt nestedStmt : nestedStmts) {
+            String reason = getNotPartitionWiseReason(nestedStmt);
+            if (reason != null) {
+                return reason;
+            }
+        }
+        return null;
+    }
+
+    // Follow a plain slot reference down to the scanned column, give up on any expression or cast on the way.
+    private static SlotDescriptor getBaseSlot(Expr expr) {
+        if (!(expr instanceof SlotRef) || ((SlotRef) expr).getDesc() == null) {
+            return null;
+        }
+        SlotDescriptor slot = ((SlotRef) expr).getDesc();
+        List<Expr> sourceExprs = slot.getSourceExprs();
+        if (sourceExprs == null || sourceExprs.isEmpty()) {
+            return slot;
+        }
+        return sourceExprs.size() == 1 ? getBaseSlot(sourceExprs.get(0)) : null;
+    }
+}
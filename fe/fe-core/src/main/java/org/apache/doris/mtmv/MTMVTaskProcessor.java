@@ -17,27 +17,43 @@
 
 package org.apache.doris.mtmv;
 
+import org.apache.doris.analysis.MVRefreshInfo.RefreshMethod;
 import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.MaterializedView;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.PartitionKey;
+import org.apache.doris.catalog.RangePartitionItem;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.MetaNotFoundException;
+import org.apache.doris.mtmv.MTMVPartitionRefreshPlanner.RefreshPlan;
+import org.apache.doris.mtmv.metadata.ChangeMTMVJob;
+import org.apache.doris.mtmv.metadata.MTMVJob;
+import org.apache.doris.mtmv.metadata.MTMVRefreshSnapshot;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.QueryState;
 import org.apache.doris.qe.QueryState.MysqlStateType;
 import org.apache.doris.qe.StmtExecutor;
 
+import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 
 public class MTMVTaskProcessor {
     private static final Logger LOG = LogManager.getLogger(MTMVTaskProcessor.class);
     private static final AtomicLong STMT_ID_GENERATOR = new AtomicLong(0);
+    private static final String TEMP_PARTITION_PREFIX = "mtmv_tmp_";
+    private static final String TEMP_QUERY_ALIAS = "mtmv_query";
 
     boolean process(MTMVTaskContext context) throws Exception {
         String taskId = context.getTask().getTaskId();
@@ -57,36 +73,33 @@ public class MTMVTaskProcessor {
             return false;
         }
         try {
-            // Check whether the temporary materialized view exists, we should drop the obsolete materialized view first
-            // because it was created by previous tasks which failed to complete their work.
-            dropMaterializedView(context, temporaryMVName);
-
-            // Step 1: create the temporary materialized view.
-            String createStatement = generateCreateStatement(mv.clone(temporaryMVName));
-            if (!executeSQL(context, createStatement)) {
-                throw new RuntimeException(
-                        "Failed to create the temporary materialized view, sql=" + createStatement + ", cause="
-                                + context.getCtx().getState().getErrorMessage() + ".");
+            // The snapshot is recorded for every refresh method, it also tells whether the data is fresh.
+            MTMVRefreshSnapshot lastSnapshot = null;
+            if (mv.getRefreshInfo().getRefreshMethod() != RefreshMethod.COMPLETE) {
+                lastSnapshot = Env.getCurrentEnv().getMTMVJobManager()
+                        .getLastRefreshSnapshot(context.getJob().getDBName(), context.getJob().getMVName());
             }
-
-            // Step 2: insert data to the temporary materialized view.
-            String insertSelectStatement = generateInsertSelectStmt(context, temporaryMVName);
-            if (!executeSQL(context, insertSelectStatement)) {
-                throw new RuntimeException(
-                        "Failed to insert data to the temporary materialized view, sql=" + insertSelectStatement
-                                + ", cause=" + context.getCtx().getState().getErrorMessage() + ".");
+            RefreshPlan plan = MTMVPartitionRefreshPlanner.plan(context.getCtx(), mv, context.getQuery(),
+                    lastSnapshot);
+            Set<Long> partitionIds = null;
+            if (plan.isIncremental()) {
+                try {
+                    partitionIds = refreshPartitions(context, mv, plan);
+                } catch (Exception e) {
+                    LOG.warn("Failed to refresh the partitions of the materialized view, fall back to a complete "
+                            + "refresh, taskId={}, jobId={}.", taskId, jobId, e);
+                }
+            } else if (lastSnapshot != null) {
+                LOG.info("Run a complete refresh, taskId={}, jobId={}, reason={}.", taskId, jobId, plan.getReason());
             }
-            String insertInfoMessage = context.getCtx().getState().getInfoMessage();
-
-            // Step 3: swap the temporary materialized view with the original materialized view.
-            String swapStatement = generateSwapStatement(mvName, temporaryMVName);
-            if (!executeSQL(context, swapStatement)) {
-                throw new RuntimeException(
-                        "Failed to swap the temporary materialized view with the original materialized view, sql="
-                                + swapStatement + ", cause=" + context.getCtx().getState().getErrorMessage() + ".");
+            if (partitionIds == null) {
+                refreshMaterializedView(context, mv, temporaryMVName);
+                partitionIds = getPartitionIds((MaterializedView) db.getTableOrAnalysisException(mvName));
+            }
+            if (plan.getTableVersions() != null) {
+                recordRefreshSnapshot(context, new MTMVRefreshSnapshot(MTMVUtils.getNowTimeStamp(),
+                        plan.getTableVersions(), partitionIds));
             }
-
-            context.getTask().setMessage(insertInfoMessage);
             LOG.info("Run MTMV task successfully, taskId={}, jobId={}.", taskId, jobId);
             return true;
         } catch (Throwable e) {
@@ -98,6 +111,164 @@ public class MTMVTaskProcessor {
         }
     }
 
+    private void refreshMaterializedView(MTMVTaskContext context, MaterializedView mv, String temporaryMVName) {
+        // Check whether the temporary materialized view exists, we should drop the obsolete materialized view first
+        // because it was created by previous tasks which failed to complete their work.
+        dropMaterializedView(context, temporaryMVName);
+
+        // Step 1: create the temporary materialized view.
+        String createStatement = generateCreateStatement(mv.clone(temporaryMVName));
+        if (!executeSQL(context, createStatement)) {
+            throw new RuntimeException(
+                    "Failed to create the temporary materialized view, sql=" + createStatement + ", cause="
+                            + context.getCtx().getState().getErrorMessage() + ".");
+        }
+
+        // Step 2: insert data to the temporary materialized view.
+        String insertSelectStatement = generateInsertSelectStmt(context, temporaryMVName);
+        if (!executeSQL(context, insertSelectStatement)) {
+            throw new RuntimeException(
+                    "Failed to insert data to the temporary materialized view, sql=" + insertSelectStatement
+                            + ", cause=" + context.getCtx().getState().getErrorMessage() + ".");
+        }
+        String insertInfoMessage = context.getCtx().getState().getInfoMessage();
+
+        // Step 3: swap the temporary materialized view with the original materialized view.
+        String swapStatement = generateSwapStatement(mv.getName(), temporaryMVName);
+        if (!executeSQL(context, swapStatement)) {
+            throw new RuntimeException(
+                    "Failed to swap the temporary materialized view with the original materialized view, sql="
+                            + swapStatement + ", cause=" + context.getCtx().getState().getErrorMessage() + ".");
+        }
+
+        context.getTask().setMessage(insertInfoMessage);
+    }
+
+    /**
+     * Recompute the partitions chosen by the plan into temporary partitions with the same ranges, then replace
+     * the formal partitions with them in one step. Returns the partition ids of the materialized view afterwards.
+     */
+    private Set<Long> refreshPartitions(MTMVTaskContext context, MaterializedView mv, RefreshPlan plan)
+            throws MetaNotFoundException {
+        if (plan.getPartitionIds().isEmpty()) {
+            context.getTask().setMessage("No partition needs to be refreshed.");
+            return plan.getAllPartitionIds();
+        }
+        // Temporary partitions left by a failed task are dropped first.
+        dropTemporaryPartitions(context, mv);
+        try {
+            List<String> partitionNames = Lists.newArrayList();
+            List<String> tempPartitionNames = Lists.newArrayList();
+            List<String> predicates = Lists.newArrayList();
+            for (long partitionId : plan.getPartitionIds()) {
+                Partition partition;
+                Range<PartitionKey> range;
+                mv.readLock();
+                try {
+                    partition = mv.getPartition(partitionId);
+                    if (partition == null) {
+                        throw new MetaNotFoundException("Partition " + partitionId + " has been dropped.");
+                    }
+                    range = ((RangePartitionItem) mv.getPartitionInfo().getItem(partitionId)).getItems();
+                } finally {
+                    mv.readUnlock();
+                }
+                String tempPartitionName = TEMP_PARTITION_PREFIX + partitionId;
+                executeSQLOrThrow(context, "ALTER TABLE " + mv.getName() + " ADD TEMPORARY PARTITION "
+                        + tempPartitionName + " VALUES [" + range.lowerEndpoint().toSql() + ", "
+                        + range.upperEndpoint().toSql() + ")");
+                partitionNames.add(partition.getName());
+                tempPartitionNames.add(tempPartitionName);
+                predicates.add(generateRangePredicate(plan.getPartitionLabel(), range));
+            }
+
+            executeSQLOrThrow(context, "INSERT INTO " + mv.getName() + " TEMPORARY PARTITION ("
+                    + Joiner.on(", ").join(tempPartitionNames) + ") SELECT * FROM (" + context.getQuery()
+                    + ") " + TEMP_QUERY_ALIAS + " WHERE " + Joiner.on(" OR ").join(predicates));
+            String insertInfoMessage = context.getCtx().getState().getInfoMessage();
+
+            // The temporary partitions keep their ids when they become formal partitions.
+            Set<Long> partitionIds = Sets.newHashSet(plan.getAllPartitionIds());
+            partitionIds.removeAll(plan.getPartitionIds());
+            mv.readLock();
+            try {
+                for (String tempPartitionName : tempPartitionNames) {
+                    partitionIds.add(mv.getPartition(tempPartitionName, true).getId());
+                }
+            } finally {
+                mv.readUnlock();
+            }
+
+            executeSQLOrThrow(context, "ALTER TABLE " + mv.getName() + " REPLACE PARTITION ("
+                    + Joiner.on(", ").join(partitionNames) + ") WITH TEMPORARY PARTITION ("
+                    + Joiner.on(", ").join(tempPartitionNames)
+                    + ") PROPERTIES('strict_range' = 'true', 'use_temp_partition_name' = 'false')");
+
+            context.getTask().setMessage("Refreshed partitions " + partitionNames + ". " + insertInfoMessage);
+            return partitionIds;
+        } finally {
+            dropTemporaryPartitions(context, mv);
+        }
+    }
+
+    // `label` >= lower AND `label` < upper, rows with null go to the partition starting at the minimum value.
+    private String generateRangePredicate(String label, Range<PartitionKey> range) {
+        String column = "`" + label + "`";
+        List<String> conjuncts = Lists.newArrayList();
+        PartitionKey lower = range.lowerEndpoint();
+        PartitionKey upper = range.upperEndpoint();
+        if (!lower.isMinValue()) {
+            conjuncts.add(column + " >= " + lower.getKeys().get(0).toSql());
+        }
+        if (!upper.isMaxValue()) {
+            conjuncts.add(column + " < " + upper.getKeys().get(0).toSql());
+        }
+        String predicate = conjuncts.isEmpty() ? "TRUE" : Joiner.on(" AND ").join(conjuncts);
+        return lower.isMinValue() ? "(" + predicate + " OR " + column + " IS NULL)" : "(" + predicate + ")";
+    }
+
+    private void dropTemporaryPartitions(MTMVTaskContext context, MaterializedView mv) {
+        List<String> tempPartitionNames = Lists.newArrayList();
+        mv.readLock();
+        try {
+            for (Partition partition : mv.getTempPartitions()) {
+                if (partition.getName().startsWith(TEMP_PARTITION_PREFIX)) {
+                    tempPartitionNames.add(partition.getName());
+                }
+            }
+        } finally {
+            mv.readUnlock();
+        }
+        for (String tempPartitionName : tempPartitionNames) {
+            executeSQLOrThrow(context,
+                    "ALTER TABLE " + mv.getName() + " DROP TEMPORARY PARTITION IF EXISTS " + tempPartitionName);
+        }
+    }
+
+    private Set<Long> getPartitionIds(MaterializedView mv) {
+        mv.readLock();
+        try {
+            return mv.getPartitions().stream().map(Partition::getId).collect(Collectors.toSet());
+        } finally {
+            mv.readUnlock();
+        }
+    }
+
+    private void recordRefreshSnapshot(MTMVTaskContext context, MTMVRefreshSnapshot snapshot) {
+        MTMVJob job = context.getJob();
+        ChangeMTMVJob changeJob = new ChangeMTMVJob(job.getId(), job.getState());
+        changeJob.setFromStatus(job.getState());
+        changeJob.setRefreshSnapshot(snapshot);
+        Env.getCurrentEnv().getMTMVJobManager().updateJob(changeJob, false);
+    }
+
+    private void executeSQLOrThrow(MTMVTaskContext context, String sql) {
+        if (!executeSQL(context, sql)) {
+            throw new RuntimeException("Failed to execute sql=" + sql + ", cause="
+                    + context.getCtx().getState().getErrorMessage() + ".");
+        }
+    }
+
     private String getTemporaryMVName(String mvName) {
         return FeConstants.TEMP_MATERIZLIZE_DVIEW_PREFIX + mvName;
     }
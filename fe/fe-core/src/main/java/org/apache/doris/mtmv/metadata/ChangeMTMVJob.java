@@ -48,6 +48,9 @@ public class ChangeMTMVJob implements Writable {
     @SerializedName("errorMessage")
     private String errorMessage;
 
+    @SerializedName("refreshSnapshot")
+    private MTMVRefreshSnapshot refreshSnapshot;
+
     public ChangeMTMVJob(long jobId, JobState toStatus) {
         this.jobId = jobId;
         this.toStatus = toStatus;
@@ -86,6 +89,14 @@ public class ChangeMTMVJob implements Writable {
         this.toStatus = toStatus;
     }
 
+    public MTMVRefreshSnapshot getRefreshSnapshot() {
+        return refreshSnapshot;
+    }
+
+    public void setRefreshSnapshot(MTMVRefreshSnapshot refreshSnapshot) {
+        this.refreshSnapshot = refreshSnapshot;
+    }
+
     public static ChangeMTMVJob read(DataInput in) throws IOException {
         String json = Text.readString(in);
         return GsonUtils.GSON.fromJson(json, ChangeMTMVJob.class);
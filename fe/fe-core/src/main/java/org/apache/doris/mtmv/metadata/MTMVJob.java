@@ -86,6 +86,9 @@ public class MTMVJob implements Writable, Comparable {
     @SerializedName("lastModifyTime")
     private long lastModifyTime;
 
+    @SerializedName("refreshSnapshot")
+    private MTMVRefreshSnapshot refreshSnapshot;
+
     public MTMVJob(String name) {
         this.name = name;
         this.createTime = MTMVUtils.getNowTimeStamp();
@@ -214,6 +217,14 @@ public class MTMVJob implements Writable, Comparable {
         this.lastModifyTime = lastModifyTime;
     }
 
+    public MTMVRefreshSnapshot getRefreshSnapshot() {
+        return refreshSnapshot;
+    }
+
+    public void setRefreshSnapshot(MTMVRefreshSnapshot refreshSnapshot) {
+        this.refreshSnapshot = refreshSnapshot;
+    }
+
     public static class JobSchedule {
         @SerializedName("startTime")
         private long startTime; // second
@@ -0,0 +1,59 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.mtmv.metadata;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What a materialized view was refreshed from: the visible version of every partition of every base table,
+ * captured before the refresh ran, and the materialized view partitions the refresh left behind.
+ * The next refresh compares against it to find out which partitions have to be recomputed.
+ */
+public class MTMVRefreshSnapshot {
+    @SerializedName("refreshTime")
+    private long refreshTime;
+
+    // table id -> partition id -> visible version
+    @SerializedName("tableVersions")
+    private Map<Long, Map<Long, Long>> tableVersions;
+
+    @SerializedName("mvPartitionIds")
+    private Set<Long> mvPartitionIds;
+
+    public MTMVRefreshSnapshot(long refreshTime, Map<Long, Map<Long, Long>> tableVersions, Set<Long> mvPartitionIds) {
+        this.refreshTime = refreshTime;
+        this.tableVersions = tableVersions;
+        this.mvPartitionIds = mvPartitionIds;
+    }
+
+    public long getRefreshTime() {
+        return refreshTime;
+    }
+
+    public Map<Long, Map<Long, Long>> getTableVersions() {
+        return tableVersions;
+    }
+
+    public Set<Long> getMvPartitionIds() {
+        return mvPartitionIds;
+    }
+}
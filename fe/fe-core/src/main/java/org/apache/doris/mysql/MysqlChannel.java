@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 
 /**
  * This class used to read/write MySQL logical packet.
@@ -36,6 +37,11 @@ public class MysqlChannel {
     public static final int MAX_PHYSICAL_PACKET_LENGTH = 0xffffff;
     // MySQL packet header length
     protected static final int PACKET_HEADER_LEN = 4;
+    // initial and max size of the send buffer
+    protected static final int INIT_SEND_BUFFER_SIZE = 16 * 1024;
+    protected static final int MAX_SEND_BUFFER_SIZE = 2 * 1024 * 1024;
+    // the grown send buffer is released after this many consecutive commands not needing it
+    protected static final int SHRINK_SEND_BUFFER_COMMAND_NUM = 16;
     // logger for this class
     protected static final Logger LOG = LogManager.getLogger(MysqlChannel.class);
     // next sequence id to receive or send
@@ -46,7 +52,12 @@ public class MysqlChannel {
     protected ByteBuffer headerByteBuffer = ByteBuffer.allocate(PACKET_HEADER_LEN);
     // default packet byte buffer for most packet
     protected ByteBuffer defaultBuffer = ByteBuffer.allocate(16 * 1024);
+    // allocated when sending the first packet, and grows to MAX_SEND_BUFFER_SIZE if needed.
     protected ByteBuffer sendBuffer;
+    // the max bytes in send buffer since the last command
+    protected int sendBufferPeak;
+    // number of consecutive commands which have sent no more than INIT_SEND_BUFFER_SIZE at once with a grown buffer
+    protected int smallCommandNum;
     // for log and show
     protected String remoteHostPortString;
     protected String remoteIp;
@@ -54,7 +65,7 @@ public class MysqlChannel {
 
     protected MysqlChannel() {
         this.sequenceId = 0;
-        this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
+        this.sendBuffer = null;
         this.isSend = false;
         this.remoteHostPortString = "";
         this.remoteIp = "";
@@ -63,7 +74,7 @@ public class MysqlChannel {
     public MysqlChannel(SocketChannel channel) {
         this.sequenceId = 0;
         this.channel = channel;
-        this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
+        this.sendBuffer = null;
         this.isSend = false;
         this.remoteHostPortString = "";
         this.remoteIp = "";
@@ -202,20 +213,56 @@ public class MysqlChannel {
             // Nothing to send
             return;
         }
+        sendBufferPeak = Math.max(sendBufferPeak, sendBuffer.position());
         sendBuffer.flip();
         realNetSend(sendBuffer);
         sendBuffer.clear();
         isSend = true;
     }
 
-    private void writeHeader(int length) throws IOException {
+    // make sure there is enough space in send buffer for the given length, which is no more than
+    // MAX_SEND_BUFFER_SIZE. grow the buffer first, and flush it if it can not grow any more.
+    private void ensureSendBuffer(int length) throws IOException {
         if (null == sendBuffer) {
+            sendBuffer = ByteBuffer.allocate(Math.max(INIT_SEND_BUFFER_SIZE, length));
             return;
         }
-        long leftLength = sendBuffer.capacity() - sendBuffer.position();
-        if (leftLength < 4) {
-            flush();
+        if (sendBuffer.remaining() >= length) {
+            return;
+        }
+        if (sendBuffer.capacity() < MAX_SEND_BUFFER_SIZE) {
+            int newCapacity = Math.min(MAX_SEND_BUFFER_SIZE,
+                    Math.max(sendBuffer.capacity() * 2, sendBuffer.position() + length));
+            ByteBuffer tmp = ByteBuffer.allocate(newCapacity);
+            sendBuffer.flip();
+            tmp.put(sendBuffer);
+            sendBuffer = tmp;
+            if (sendBuffer.remaining() >= length) {
+                return;
+            }
         }
+        flush();
+    }
+
+    // called after every command. release the send buffer grown by a large result once the following commands
+    // have not needed it for a while, so that idle connections only hold small buffers, while connections which
+    // keep returning mid-size results do not reallocate the buffer for every command.
+    public void shrinkSendBuffer() {
+        int peak = sendBufferPeak;
+        sendBufferPeak = 0;
+        if (null == sendBuffer || sendBuffer.position() != 0 || sendBuffer.capacity() <= INIT_SEND_BUFFER_SIZE
+                || peak > INIT_SEND_BUFFER_SIZE) {
+            smallCommandNum = 0;
+            return;
+        }
+        if (++smallCommandNum >= SHRINK_SEND_BUFFER_COMMAND_NUM) {
+            sendBuffer = null;
+            smallCommandNum = 0;
+        }
+    }
+
+    private void writeHeader(int length) throws IOException {
+        ensureSendBuffer(4);
 
         long newLen = length;
         for (int i = 0; i < 3; ++i) {
@@ -226,20 +273,14 @@ public class MysqlChannel {
     }
 
     private void writeBuffer(ByteBuffer buffer) throws IOException {
-        if (null == sendBuffer) {
-            return;
-        }
-        long leftLength = sendBuffer.capacity() - sendBuffer.position();
-        // If too long for buffer, send buffered data.
-        if (leftLength < buffer.remaining()) {
+        // Send this buffer if large enough
+        if (buffer.remaining() > MAX_SEND_BUFFER_SIZE) {
             // Flush data in buffer.
             flush();
-        }
-        // Send this buffer if large enough
-        if (buffer.remaining() > sendBuffer.capacity()) {
             realNetSend(buffer);
             return;
         }
+        ensureSendBuffer(buffer.remaining());
         // Put it to
         sendBuffer.put(buffer);
     }
@@ -260,6 +301,61 @@ public class MysqlChannel {
         accSequenceId();
     }
 
+    /**
+     * Send the rows of a result batch fetched from BE, each row is one packet.
+     * The rows deserialized from TResultBatch are slices of the same byte array, and each row is right after
+     * its 4 bytes length in thrift binary format. The length has been read, so it is overwritten by the mysql
+     * packet header in place, then all the rows are sent as one buffer, instead of copying rows one by one.
+     * If the rows are not laid out like this, send them one by one.
+     */
+    public void sendRows(List<ByteBuffer> rows) throws IOException {
+        if (!canFrameInPlace(rows)) {
+            for (ByteBuffer row : rows) {
+                sendOnePacket(row);
+            }
+            return;
+        }
+        byte[] array = rows.get(0).array();
+        for (ByteBuffer row : rows) {
+            int headerOffset = row.arrayOffset() + row.position() - PACKET_HEADER_LEN;
+            int length = row.remaining();
+            array[headerOffset] = (byte) length;
+            array[headerOffset + 1] = (byte) (length >> 8);
+            array[headerOffset + 2] = (byte) (length >> 16);
+            array[headerOffset + 3] = (byte) sequenceId;
+            accSequenceId();
+        }
+        ByteBuffer first = rows.get(0);
+        ByteBuffer last = rows.get(rows.size() - 1);
+        int start = first.arrayOffset() + first.position() - PACKET_HEADER_LEN;
+        int end = last.arrayOffset() + last.limit();
+        writeBuffer(ByteBuffer.wrap(array, start, end - start));
+    }
+
+    private boolean canFrameInPlace(List<ByteBuffer> rows) {
+        if (rows.isEmpty()) {
+            return false;
+        }
+        byte[] array = null;
+        int nextStart = 0;
+        for (ByteBuffer row : rows) {
+            if (!row.hasArray() || row.remaining() >= MAX_PHYSICAL_PACKET_LENGTH) {
+                return false;
+            }
+            int start = row.arrayOffset() + row.position();
+            if (array == null) {
+                if (start < PACKET_HEADER_LEN) {
+                    return false;
+                }
+                array = row.array();
+            } else if (row.array() != array || start != nextStart) {
+                return false;
+            }
+            nextStart = row.arrayOffset() + row.limit() + PACKET_HEADER_LEN;
+        }
+        return true;
+    }
+
     public void sendAndFlush(ByteBuffer packet) throws IOException {
         sendOnePacket(packet);
         flush();
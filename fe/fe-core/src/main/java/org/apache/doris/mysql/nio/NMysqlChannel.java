@@ -36,6 +36,18 @@ public class NMysqlChannel extends MysqlChannel {
     protected static final Logger LOG = LogManager.getLogger(NMysqlChannel.class);
     private StreamConnection conn;
 
+    // The command packet is framed by io thread without blocking, and then handed to the task thread.
+    // See readPacketNonBlocking().
+    private final ByteBuffer framingHeader = ByteBuffer.allocate(PACKET_HEADER_LEN);
+    private ByteBuffer framingPacket = null;
+    private int framingPacketLen = 0;
+    private int framingSequenceId = 0;
+    // the result of framing, consumed by fetchOnePacket()
+    private boolean hasFramedPacket = false;
+    private ByteBuffer framedPacket = null;
+    private int framedSequenceId = 0;
+    private IOException framedException = null;
+
     public NMysqlChannel(StreamConnection connection) {
         super();
         this.conn = connection;
@@ -76,6 +88,96 @@ public class NMysqlChannel extends MysqlChannel {
         return readLen;
     }
 
+    /**
+     * Read the command packet from the channel without blocking, called by io thread when the channel is readable.
+     * Return false if the packet is not complete, and it should be called again when the channel is readable.
+     * Return true if the packet is complete, or the channel is closed, or the packet is bad.
+     * Then the task thread gets the result by fetchOnePacket().
+     */
+    public boolean readPacketNonBlocking() {
+        try {
+            while (true) {
+                if (framingHeader.hasRemaining()) {
+                    if (conn.getSourceChannel().read(framingHeader) < 0) {
+                        // remote has close this channel
+                        return finishFraming(null, null);
+                    }
+                    if (framingHeader.hasRemaining()) {
+                        return false;
+                    }
+                    byte[] header = framingHeader.array();
+                    int packetId = header[3] & 0xFF;
+                    if (packetId != framingSequenceId) {
+                        LOG.warn("receive packet sequence id[" + packetId + "] want to get[" + framingSequenceId + "]");
+                        return finishFraming(null, new IOException("Bad packet sequence."));
+                    }
+                    framingPacketLen = (header[0] & 0xFF) | ((header[1] & 0XFF) << 8) | ((header[2] & 0XFF) << 16);
+                    if (framingPacket == null) {
+                        framingPacket = framingPacketLen <= defaultBuffer.capacity()
+                                ? defaultBuffer : ByteBuffer.allocate(framingPacketLen);
+                        framingPacket.clear();
+                    } else if (framingPacket.capacity() - framingPacket.position() < framingPacketLen) {
+                        // already have packet, to allocate two packet.
+                        ByteBuffer tmp = ByteBuffer.allocate(2 * framingPacketLen + framingPacket.position());
+                        tmp.put(framingPacket.array(), 0, framingPacket.position());
+                        framingPacket = tmp;
+                    }
+                    // read only one physical packet
+                    framingPacket.limit(framingPacket.position() + framingPacketLen);
+                }
+                if (framingPacket.hasRemaining()) {
+                    if (conn.getSourceChannel().read(framingPacket) < 0) {
+                        return finishFraming(null, null);
+                    }
+                    if (framingPacket.hasRemaining()) {
+                        return false;
+                    }
+                }
+                framingHeader.clear();
+                framingSequenceId = (framingSequenceId + 1) & 0xFF;
+                if (framingPacketLen != MAX_PHYSICAL_PACKET_LENGTH) {
+                    framingPacket.flip();
+                    return finishFraming(framingPacket, null);
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Read channel exception, ignore.", e);
+            return finishFraming(null, null);
+        }
+    }
+
+    private boolean finishFraming(ByteBuffer packet, IOException exception) {
+        hasFramedPacket = true;
+        framedPacket = packet;
+        framedSequenceId = framingSequenceId;
+        framedException = exception;
+        framingHeader.clear();
+        framingPacket = null;
+        framingSequenceId = 0;
+        return true;
+    }
+
+    /**
+     * Return the packet framed by io thread if any, otherwise read the packet blocking,
+     * eg, reading the file content of "load data local infile" during a command.
+     */
+    @Override
+    public ByteBuffer fetchOnePacket() throws IOException {
+        if (!hasFramedPacket) {
+            return super.fetchOnePacket();
+        }
+        hasFramedPacket = false;
+        ByteBuffer packet = framedPacket;
+        framedPacket = null;
+        if (framedException != null) {
+            IOException e = framedException;
+            framedException = null;
+            throw e;
+        }
+        sequenceId = framedSequenceId;
+        return packet;
+    }
+
     /**
      * write packet until no data is remained, unless block.
      *
@@ -50,8 +50,7 @@ public class NMysqlServer {
     private AcceptingChannel<StreamConnection> server;
 
     // default task service.
-    private ExecutorService taskService = ThreadPoolManager.newDaemonCacheThreadPool(
-            Config.max_mysql_service_task_threads_num, "mysql-nio-pool", true);
+    private ExecutorService taskService = newTaskService();
 
     public NMysqlServer(int port, ConnectScheduler connectScheduler) {
         this.port = port;
@@ -63,6 +62,21 @@ public class NMysqlServer {
         this.acceptListener = new AcceptListener(connectScheduler);
     }
 
+    // The handshake and each query are handled in task service. With virtual threads, a query blocked
+    // on rpc or network does not occupy a platform thread.
+    private static ExecutorService newTaskService() {
+        if (Config.enable_connection_virtual_thread) {
+            ExecutorService executor = ThreadPoolManager.newVirtualThreadPerTaskExecutor("mysql-nio-pool");
+            if (executor != null) {
+                LOG.info("use virtual threads to handle mysql requests");
+                return executor;
+            }
+            LOG.warn("virtual thread is not supported by current jdk, use platform threads to handle requests");
+        }
+        return ThreadPoolManager.newDaemonCacheThreadPool(
+                Config.max_mysql_service_task_threads_num, "mysql-nio-pool", true);
+    }
+
     // start MySQL protocol service
     // return true if success, otherwise false
     public boolean start() {
@@ -44,6 +44,10 @@ public class ReadListener implements ChannelListener<ConduitStreamSourceChannel>
         // suspend must be call sync in current thread (the IO-Thread notify the read event),
         // otherwise multi handler(task thread) would be waked up by once query.
         XnioIoThread.requireCurrentThread();
+        // read the command packet in io thread, so that the task thread will not block on a partial packet.
+        if (!ctx.getMysqlChannel().readPacketNonBlocking()) {
+            return;
+        }
         ctx.suspendAcceptQuery();
         // start async query handle in task thread.
         channel.getWorker().execute(() -> {
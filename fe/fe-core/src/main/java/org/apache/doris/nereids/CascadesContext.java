@@ -75,6 +75,8 @@ public class CascadesContext {
     private final RuntimeFilterContext runtimeFilterContext;
 
     private List<Table> tables = null;
+    // the read locks of the tables, null if the plan is not planned under the locks
+    private Lock lock = null;
 
     public CascadesContext(Memo memo, StatementContext statementContext, PhysicalProperties requestProperties) {
         this(memo, statementContext, new CTEContext(), requestProperties);
@@ -124,6 +126,21 @@ public class CascadesContext {
         return statementContext.getConnectContext();
     }
 
+    public List<Table> getTables() {
+        return tables;
+    }
+
+    /**
+     * Acquire the read lock of a table which the rewritten plan reads but is not resolved from the statement,
+     * e.g. a materialized view. It is released with the locks of the resolved tables.
+     * The table is not locked if the plan is not planned under the locks.
+     *
+     * @return false if failed to acquire the read lock
+     */
+    public boolean tryLockTable(Table table) {
+        return lock == null || lock.tryLock(table);
+    }
+
     public StatementContext getStatementContext() {
         return statementContext;
     }
@@ -314,15 +331,24 @@ public class CascadesContext {
             this.cascadesContext = cascadesContext;
             cascadesContext.extractTables(plan);
             for (Table table : cascadesContext.tables) {
-                if (!table.tryReadLock(1, TimeUnit.MINUTES)) {
+                if (!tryLock(table)) {
                     throw new RuntimeException(String.format("Failed to get read lock on table: %s", table.getName()));
                 }
-                locked.push(table);
             }
+            cascadesContext.lock = this;
+        }
+
+        private boolean tryLock(Table table) {
+            if (!table.tryReadLock(1, TimeUnit.MINUTES)) {
+                return false;
+            }
+            locked.push(table);
+            return true;
         }
 
         @Override
         public void close() {
+            cascadesContext.lock = null;
             while (!locked.empty()) {
                 locked.pop().readUnlock();
             }
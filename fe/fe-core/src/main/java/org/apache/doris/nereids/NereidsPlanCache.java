@@ -0,0 +1,315 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.nereids;
+
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.common.Config;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.mysql.privilege.PrivPredicate;
+import org.apache.doris.nereids.trees.expressions.ExprId;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.NamedExpression;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.functions.Nondeterministic;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.ConnectionId;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.UnixTimestamp;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.User;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.commands.Command;
+import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOlapScan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOneRowRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalStorageLayerAggregate;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.OriginStatement;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The optimized physical plans of Nereids, shared by all connections.
+ * A plan is cached by the statement text, the current catalog, database and user, and the values of all
+ * session variables. It is reused only if the tables resolved from the statement are still the same
+ * table objects, and their indexes, schema versions, partitions and visible versions have not changed.
+ * Only the plans which read nothing but olap tables, have no nondeterministic or connection dependent function
+ * and no row policy are cached, because the other plans may change without any change of the olap tables.
+ */
+public class NereidsPlanCache {
+    public static final NereidsPlanCache INSTANCE = new NereidsPlanCache(Config.nereids_plan_cache_num);
+
+    /**
+     * The key of a cached plan. The statement text is compared exactly, literals included, so the statements
+     * which differ only in literals are cached separately. Literals are not parameterized because the rewrite
+     * rules, e.g. constant folding, partition pruning, tablet pruning and the point query short path, consume
+     * the values of literals, so the optimized plan of one value is not valid for another one.
+     */
+    public static class Key {
+        private final String originStmt;
+        private final int idx;
+        private final String catalog;
+        private final String database;
+        private final UserIdentity user;
+        private final List<String> variables;
+
+        private Key(String originStmt, int idx, String catalog, String database, UserIdentity user,
+                List<String> variables) {
+            this.originStmt = originStmt;
+            this.idx = idx;
+            this.catalog = catalog;
+            this.database = database;
+            this.user = user;
+            this.variables = variables;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return idx == key.idx
+                    && originStmt.equals(key.originStmt)
+                    && Objects.equals(catalog, key.catalog)
+                    && Objects.equals(database, key.database)
+                    && Objects.equals(user, key.user)
+                    && variables.equals(key.variables);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(originStmt, idx, catalog, database, user, variables);
+        }
+    }
+
+    private static class ScannedTable {
+        private final OlapTable table;
+        private final String dbName;
+        private final List<Long> signature;
+
+        private ScannedTable(OlapTable table, String dbName) {
+            this.table = table;
+            this.dbName = dbName;
+            this.signature = getSignature(table);
+        }
+    }
+
+    private static class CachedPlan {
+        private final PhysicalPlan plan;
+        // the translator generates ExprIds for the plan, they must not be the same as the ExprIds in the plan
+        private final ExprId maxExprId;
+        private final List<ScannedTable> scannedTables;
+        private final long planTimeNs;
+
+        private CachedPlan(PhysicalPlan plan, List<ScannedTable> scannedTables, long planTimeNs) {
+            this.plan = plan;
+            this.maxExprId = getMaxExprId(plan);
+            this.scannedTables = scannedTables;
+            this.planTimeNs = planTimeNs;
+        }
+    }
+
+    private final Cache<Key, CachedPlan> cache;
+
+    @VisibleForTesting
+    NereidsPlanCache(int capacity) {
+        cache = Caffeine.newBuilder().maximumSize(capacity).build();
+    }
+
+    /**
+     * Create the key of the statement, return null if the plan of the statement should not be cached.
+     */
+    public static Key createKey(StatementContext statementContext, LogicalPlan parsedPlan) {
+        ConnectContext ctx = statementContext.getConnectContext();
+        OriginStatement originStatement = statementContext.getOriginStatement();
+        if (ctx == null || originStatement == null || parsedPlan instanceof Command
+                || !ctx.getSessionVariable().isEnableNereidsPlanCache() || hasRowPolicy(ctx)) {
+            return null;
+        }
+        return new Key(originStatement.originStmt, originStatement.idx, ctx.getDefaultCatalog(), ctx.getDatabase(),
+                ctx.getCurrentUserIdentity(), ctx.getSessionVariable().getAllVariableValues());
+    }
+
+    /**
+     * Whether the analyzed plan can be cached. The results of the functions which vary per execution, e.g. now(),
+     * current_timestamp(), unix_timestamp() and random(), and of the session functions which depend on more than
+     * the key, e.g. connection_id() and user() with the client host, may be folded into literals by FE or BE
+     * constant folding, so the plan can not be reused by other executions.
+     */
+    public static boolean canCache(Plan analyzedPlan) {
+        return !analyzedPlan.anyMatch(p -> ((Plan) p).getExpressions().stream()
+                .anyMatch(e -> e.containsType(Nondeterministic.class, ConnectionId.class, User.class)
+                        || e.anyMatch(NereidsPlanCache::isCurrentUnixTimestamp)));
+    }
+
+    // unix_timestamp() without argument returns the current time, it is deterministic with a date argument
+    private static boolean isCurrentUnixTimestamp(Object expr) {
+        return expr instanceof UnixTimestamp && ((UnixTimestamp) expr).arity() == 0;
+    }
+
+    /**
+     * Get the cached plan of the key, the ExprIds generated by the statement later are greater than
+     * the ExprIds in the cached plan.
+     * The caller should hold the read locks of the tables, which are resolved from the statement.
+     *
+     * @param tables tables resolved from the statement
+     * @return the cached physical plan before post processing
+     */
+    public Optional<PhysicalPlan> get(Key key, List<Table> tables, StatementContext statementContext) {
+        CachedPlan cachedPlan = cache.getIfPresent(key);
+        if (cachedPlan != null && !isValid(cachedPlan, tables, statementContext.getConnectContext())) {
+            cache.asMap().remove(key, cachedPlan);
+            cachedPlan = null;
+        }
+        if (cachedPlan == null) {
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_NEREIDS_PLAN_CACHE_MISS.increase(1L);
+            }
+            return Optional.empty();
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_NEREIDS_PLAN_CACHE_HIT.increase(1L);
+            MetricRepo.COUNTER_NEREIDS_PLAN_CACHE_SAVED_TIME_MS.increase(
+                    TimeUnit.NANOSECONDS.toMillis(cachedPlan.planTimeNs));
+        }
+        statementContext.generateExprIdsAfter(cachedPlan.maxExprId);
+        return Optional.of(cachedPlan.plan);
+    }
+
+    /**
+     * Cache the plan of the key if it only reads the tables resolved from the statement.
+     * The caller should hold the read locks of the tables.
+     *
+     * @param plan the physical plan before post processing
+     * @param tables tables resolved from the statement
+     * @param planTimeNs the time spent to get the plan
+     */
+    public void put(Key key, PhysicalPlan plan, List<Table> tables, long planTimeNs) {
+        Set<PhysicalRelation> relations = plan.collect(PhysicalRelation.class::isInstance);
+        Map<OlapTable, String> scanned = new IdentityHashMap<>();
+        for (PhysicalRelation relation : relations) {
+            if (relation instanceof PhysicalStorageLayerAggregate) {
+                relation = ((PhysicalStorageLayerAggregate) relation).getRelation();
+            }
+            if (relation instanceof PhysicalOneRowRelation) {
+                continue;
+            }
+            if (!(relation instanceof PhysicalOlapScan)) {
+                return;
+            }
+            List<String> qualifier = relation.getQualifier();
+            scanned.put(((PhysicalOlapScan) relation).getTable(), qualifier.isEmpty() ? null : qualifier.get(0));
+        }
+        if (!isSameTables(scanned.keySet(), tables)) {
+            return;
+        }
+        List<ScannedTable> scannedTables = Lists.newArrayListWithCapacity(scanned.size());
+        scanned.forEach((table, dbName) -> scannedTables.add(new ScannedTable(table, dbName)));
+        cache.put(key, new CachedPlan(plan, ImmutableList.copyOf(scannedTables), planTimeNs));
+    }
+
+    @VisibleForTesting
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @VisibleForTesting
+    static ExprId getMaxExprId(Plan plan) {
+        int[] maxExprId = {0};
+        plan.foreach(node -> {
+            for (Slot slot : ((Plan) node).getOutput()) {
+                maxExprId[0] = Math.max(maxExprId[0], slot.getExprId().asInt());
+            }
+            for (Expression expression : ((Plan) node).getExpressions()) {
+                expression.foreach(e -> {
+                    if (e instanceof NamedExpression) {
+                        maxExprId[0] = Math.max(maxExprId[0], ((NamedExpression) e).getExprId().asInt());
+                    }
+                });
+            }
+        });
+        return new ExprId(maxExprId[0]);
+    }
+
+    private static boolean isValid(CachedPlan cachedPlan, List<Table> tables, ConnectContext ctx) {
+        Set<Table> cachedTables = Sets.newIdentityHashSet();
+        for (ScannedTable scannedTable : cachedPlan.scannedTables) {
+            cachedTables.add(scannedTable.table);
+        }
+        if (!isSameTables(cachedTables, tables)) {
+            return false;
+        }
+        for (ScannedTable scannedTable : cachedPlan.scannedTables) {
+            if (!scannedTable.signature.equals(getSignature(scannedTable.table))
+                    || !ctx.getEnv().getAuth().checkTblPriv(ctx, scannedTable.dbName,
+                            scannedTable.table.getName(), PrivPredicate.SELECT)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameTables(Set<? extends Table> scannedTables, List<Table> tables) {
+        Set<Table> resolvedTables = Sets.newIdentityHashSet();
+        resolvedTables.addAll(tables);
+        return resolvedTables.size() == scannedTables.size() && resolvedTables.containsAll(scannedTables);
+    }
+
+    private static List<Long> getSignature(OlapTable table) {
+        List<Long> signature = Lists.newArrayList();
+        for (Map.Entry<Long, MaterializedIndexMeta> entry : table.getIndexIdToMeta().entrySet()) {
+            signature.add(entry.getKey());
+            signature.add((long) entry.getValue().getSchemaVersion());
+        }
+        for (Partition partition : table.getPartitions()) {
+            signature.add(partition.getId());
+            signature.add(partition.getVisibleVersion());
+        }
+        return signature;
+    }
+
+    private static boolean hasRowPolicy(ConnectContext ctx) {
+        UserIdentity currentUserIdentity = ctx.getCurrentUserIdentity();
+        if (currentUserIdentity == null || currentUserIdentity.isRootUser() || currentUserIdentity.isAdminUser()) {
+            return false;
+        }
+        return ctx.getEnv().getPolicyMgr().existPolicy(ctx.getQualifiedUser());
+    }
+}
@@ -59,6 +59,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -153,8 +154,25 @@ public class NereidsPlanner extends Planner {
         initCascadesContext(plan, requireProperties);
 
         try (Lock lock = new Lock(plan, cascadesContext)) {
+            NereidsPlanCache.Key planCacheKey = null;
+            if (explainLevel == ExplainLevel.NONE) {
+                planCacheKey = NereidsPlanCache.createKey(statementContext, plan);
+            }
+            if (planCacheKey != null) {
+                Optional<PhysicalPlan> cachedPlan = NereidsPlanCache.INSTANCE.get(
+                        planCacheKey, cascadesContext.getTables(), statementContext);
+                if (cachedPlan.isPresent()) {
+                    // runtime filters are generated into the cascades context of this statement
+                    return postProcess(cachedPlan.get());
+                }
+            }
+            long planStartTime = System.nanoTime();
+
             // resolve column, table and function
             analyze();
+            if (planCacheKey != null && !NereidsPlanCache.canCache(cascadesContext.getMemo().copyOut(false))) {
+                planCacheKey = null;
+            }
             if (explainLevel == ExplainLevel.ANALYZED_PLAN || explainLevel == ExplainLevel.ALL_PLAN) {
                 analyzedPlan = cascadesContext.getMemo().copyOut(false);
                 if (explainLevel == ExplainLevel.ANALYZED_PLAN) {
@@ -181,6 +199,10 @@ public class NereidsPlanner extends Planner {
             }
 
             PhysicalPlan physicalPlan = chooseBestPlan(getRoot(), requireProperties);
+            if (planCacheKey != null) {
+                NereidsPlanCache.INSTANCE.put(planCacheKey, physicalPlan, cascadesContext.getTables(),
+                        System.nanoTime() - planStartTime);
+            }
 
             // post-process physical plan out of memo, just for future use.
             physicalPlan = postProcess(physicalPlan);
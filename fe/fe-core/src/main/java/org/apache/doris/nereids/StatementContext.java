@@ -82,6 +82,14 @@ public class StatementContext {
         return exprIdGenerator.getNextId();
     }
 
+    /**
+     * Generate the ExprIds greater than the given one from now on, so that they do not conflict with the ExprIds
+     * of a plan which is not generated by this statement, e.g. a cached plan.
+     */
+    public void generateExprIdsAfter(ExprId exprId) {
+        exprIdGenerator.setNextIdAtLeast(exprId.asInt() + 1);
+    }
+
     public RelationId getNextRelationId() {
         return relationIdGenerator.getNextId();
     }
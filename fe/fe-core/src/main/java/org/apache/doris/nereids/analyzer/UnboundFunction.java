@@ -99,7 +99,7 @@ public class UnboundFunction extends Function implements Unbound, PropagateNulla
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(name, isDistinct);
     }
 }
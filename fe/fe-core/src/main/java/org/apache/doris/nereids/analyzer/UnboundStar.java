@@ -71,8 +71,8 @@ public class UnboundStar extends NamedExpression implements LeafExpression, Unbo
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), qualifier);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), qualifier);
     }
 
     @Override
@@ -43,13 +43,12 @@ import com.google.common.collect.ImmutableSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Abstract class for all job using for analyze and optimize query plan in Nereids.
@@ -100,10 +99,17 @@ public abstract class Job implements TracerSupplier {
      * @return all rules that can be applied on this group expression
      */
     public List<Rule> getValidRules(GroupExpression groupExpression, List<Rule> candidateRules) {
-        return candidateRules.stream()
-                .filter(rule -> !disableRules.contains(rule.getRuleType().name().toUpperCase(Locale.ROOT)))
-                .filter(rule -> Objects.nonNull(rule) && rule.getPattern().matchRoot(groupExpression.getPlan())
-                        && groupExpression.notApplied(rule)).collect(Collectors.toList());
+        // called for every group expression, so check the cheap conditions first without stream.
+        // names of RuleType and disableRules are both upper case.
+        List<Rule> validRules = new ArrayList<>();
+        for (Rule rule : candidateRules) {
+            if (Objects.nonNull(rule) && rule.getPattern().matchRoot(groupExpression.getPlan())
+                    && groupExpression.notApplied(rule)
+                    && !disableRules.contains(rule.getRuleType().name())) {
+                validRules.add(rule);
+            }
+        }
+        return validRules;
     }
 
     public abstract void execute() throws AnalysisException;
@@ -21,32 +21,26 @@ import org.apache.doris.nereids.CascadesContext;
 import org.apache.doris.nereids.jobs.Job;
 import org.apache.doris.nereids.rules.RuleSet;
 import org.apache.doris.nereids.rules.RuleType;
-import org.apache.doris.nereids.rules.analysis.AdjustAggregateNullableForEmptySet;
 import org.apache.doris.nereids.rules.analysis.CheckAfterRewrite;
-import org.apache.doris.nereids.rules.analysis.LogicalSubQueryAliasToLogicalProject;
-import org.apache.doris.nereids.rules.expression.rewrite.ExpressionNormalization;
-import org.apache.doris.nereids.rules.expression.rewrite.ExpressionOptimization;
 import org.apache.doris.nereids.rules.expression.rewrite.ExpressionRewrite;
 import org.apache.doris.nereids.rules.mv.SelectMaterializedIndexWithAggregate;
 import org.apache.doris.nereids.rules.mv.SelectMaterializedIndexWithoutAggregate;
+import org.apache.doris.nereids.rules.mv.SelectMultiTableMaterializedView;
 import org.apache.doris.nereids.rules.rewrite.logical.AdjustNullable;
 import org.apache.doris.nereids.rules.rewrite.logical.BuildAggForUnion;
 import org.apache.doris.nereids.rules.rewrite.logical.ColumnPruning;
 import org.apache.doris.nereids.rules.rewrite.logical.CountDistinctRewrite;
 import org.apache.doris.nereids.rules.rewrite.logical.EliminateAggregate;
 import org.apache.doris.nereids.rules.rewrite.logical.EliminateFilter;
-import org.apache.doris.nereids.rules.rewrite.logical.EliminateGroupByConstant;
 import org.apache.doris.nereids.rules.rewrite.logical.EliminateLimit;
 import org.apache.doris.nereids.rules.rewrite.logical.EliminateOrderByConstant;
 import org.apache.doris.nereids.rules.rewrite.logical.EliminateUnnecessaryProject;
 import org.apache.doris.nereids.rules.rewrite.logical.ExtractFilterFromCrossJoin;
-import org.apache.doris.nereids.rules.rewrite.logical.ExtractSingleTableExpressionFromDisjunction;
 import org.apache.doris.nereids.rules.rewrite.logical.FindHashConditionForJoin;
 import org.apache.doris.nereids.rules.rewrite.logical.InferPredicates;
 import org.apache.doris.nereids.rules.rewrite.logical.InnerToCrossJoin;
 import org.apache.doris.nereids.rules.rewrite.logical.LimitPushDown;
 import org.apache.doris.nereids.rules.rewrite.logical.MergeFilters;
-import org.apache.doris.nereids.rules.rewrite.logical.MergeProjects;
 import org.apache.doris.nereids.rules.rewrite.logical.MergeSetOperations;
 import org.apache.doris.nereids.rules.rewrite.logical.NormalizeAggregate;
 import org.apache.doris.nereids.rules.rewrite.logical.PruneOlapScanPartition;
@@ -69,26 +63,10 @@ public class NereidsRewriteJobExecutor extends BatchRulesJob {
     public NereidsRewriteJobExecutor(CascadesContext cascadesContext) {
         super(cascadesContext);
         ImmutableList<Job> jobs = new ImmutableList.Builder<Job>()
-                .addAll(new EliminateSpecificPlanUnderApplyJob(cascadesContext).rulesJob)
-                // MergeProjects depends on this rule
-                .add(bottomUpBatch(ImmutableList.of(new LogicalSubQueryAliasToLogicalProject())))
-                // AdjustApplyFromCorrelateToUnCorrelateJob and ConvertApplyToJoinJob
-                // and SelectMaterializedIndexWithAggregate depends on this rule
-                .add(topDownBatch(ImmutableList.of(new MergeProjects())))
-                .add(topDownBatch(ImmutableList.of(new ExpressionNormalization(cascadesContext.getConnectContext()))))
-                .add(topDownBatch(ImmutableList.of(new ExpressionOptimization())))
-                .add(topDownBatch(ImmutableList.of(new ExtractSingleTableExpressionFromDisjunction())))
-                /*
-                 * Subquery unnesting.
-                 * 1. Adjust the plan in correlated logicalApply
-                 *    so that there are no correlated columns in the subquery.
-                 * 2. Convert logicalApply to a logicalJoin.
-                 *  TODO: group these rules to make sure the result plan is what we expected.
-                 */
-                .addAll(new AdjustApplyFromCorrelateToUnCorrelateJob(cascadesContext).rulesJob)
-                .addAll(new ConvertApplyToJoinJob(cascadesContext).rulesJob)
-                .add(bottomUpBatch(ImmutableList.of(new AdjustAggregateNullableForEmptySet())))
-                .add(topDownBatch(ImmutableList.of(new EliminateGroupByConstant())))
+                .addAll(new NormalizeQueryJob(cascadesContext).rulesJob)
+                // match the query before aggregates are normalized and filters are pushed down,
+                // the same shape the materialized view definitions are normalized to.
+                .add(visitorJob(RuleType.SELECT_MULTI_TABLE_MATERIALIZED_VIEW, new SelectMultiTableMaterializedView()))
                 .add(topDownBatch(ImmutableList.of(new NormalizeAggregate())))
                 .add(topDownBatch(RuleSet.PUSH_DOWN_FILTERS, false))
                 .add(visitorJob(RuleType.INFER_PREDICATES, new InferPredicates()))
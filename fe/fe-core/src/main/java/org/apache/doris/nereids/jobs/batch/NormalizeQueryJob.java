@@ -0,0 +1,68 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.nereids.jobs.batch;
+
+import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.nereids.rules.analysis.AdjustAggregateNullableForEmptySet;
+import org.apache.doris.nereids.rules.analysis.LogicalSubQueryAliasToLogicalProject;
+import org.apache.doris.nereids.rules.expression.rewrite.ExpressionNormalization;
+import org.apache.doris.nereids.rules.expression.rewrite.ExpressionOptimization;
+import org.apache.doris.nereids.rules.rewrite.logical.EliminateGroupByConstant;
+import org.apache.doris.nereids.rules.rewrite.logical.ExtractSingleTableExpressionFromDisjunction;
+import org.apache.doris.nereids.rules.rewrite.logical.MergeProjects;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The first steps of the rewrite: normalize expressions and unnest subqueries,
+ * but leave aggregates, filters and joins where the query put them.
+ * The definitions of multi-table materialized views go through the same steps,
+ * so that they can be matched against the query structurally.
+ */
+public class NormalizeQueryJob extends BatchRulesJob {
+    /**
+     * Constructor.
+     */
+    public NormalizeQueryJob(CascadesContext cascadesContext) {
+        super(cascadesContext);
+        rulesJob.addAll(new ImmutableList.Builder<Job>()
+                .addAll(new EliminateSpecificPlanUnderApplyJob(cascadesContext).rulesJob)
+                // MergeProjects depends on this rule
+                .add(bottomUpBatch(ImmutableList.of(new LogicalSubQueryAliasToLogicalProject())))
+                // AdjustApplyFromCorrelateToUnCorrelateJob and ConvertApplyToJoinJob
+                // and SelectMaterializedIndexWithAggregate depends on this rule
+                .add(topDownBatch(ImmutableList.of(new MergeProjects())))
+                .add(topDownBatch(ImmutableList.of(new ExpressionNormalization(cascadesContext.getConnectContext()))))
+                .add(topDownBatch(ImmutableList.of(new ExpressionOptimization())))
+                .add(topDownBatch(ImmutableList.of(new ExtractSingleTableExpressionFromDisjunction())))
+                /*
+                 * Subquery unnesting.
+                 * 1. Adjust the plan in correlated logicalApply
+                 *    so that there are no correlated columns in the subquery.
+                 * 2. Convert logicalApply to a logicalJoin.
+                 *  TODO: group these rules to make sure the result plan is what we expected.
+                 */
+                .addAll(new AdjustApplyFromCorrelateToUnCorrelateJob(cascadesContext).rulesJob)
+                .addAll(new ConvertApplyToJoinJob(cascadesContext).rulesJob)
+                .add(bottomUpBatch(ImmutableList.of(new AdjustAggregateNullableForEmptySet())))
+                .add(topDownBatch(ImmutableList.of(new EliminateGroupByConstant())))
+                .build());
+    }
+}
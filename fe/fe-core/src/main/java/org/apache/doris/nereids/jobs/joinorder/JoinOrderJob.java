@@ -34,18 +34,27 @@ import org.apache.doris.nereids.trees.expressions.NamedExpression;
 import org.apache.doris.nereids.trees.plans.Plan;
 import org.apache.doris.nereids.trees.plans.logical.LogicalProject;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Join Order job with DPHyp
  */
 public class JoinOrderJob extends Job {
+    // DPHyp represents the nodes of hyper graph by LongBitmap, so it can only enumerate 64 nodes
+    private static final int MAX_HYPER_GRAPH_NODES = Long.SIZE;
+
     private final Group group;
     private final Set<NamedExpression> otherProject = new HashSet<>();
+    // sub joins which are optimized separately, and added to the hyper graph as one node
+    private final Map<Group, Group> collapsedJoins = new HashMap<>();
 
     public JoinOrderJob(Group group, JobContext context) {
         super(JobType.JOIN_ORDER, context);
@@ -78,6 +87,7 @@ public class JoinOrderJob extends Job {
     }
 
     private Group optimizeJoin(Group group) {
+        collapseLargeJoin(group);
         HyperGraph hyperGraph = new HyperGraph();
         buildGraph(group, hyperGraph);
         // TODO: Right now, we just hardcode the limit with 10000, maybe we need a better way to set it
@@ -105,6 +115,97 @@ public class JoinOrderJob extends Job {
         return optimized;
     }
 
+    @VisibleForTesting
+    public int getCollapsedJoinNum() {
+        return collapsedJoins.size();
+    }
+
+    /**
+     * For a join of more relations than the hyper graph can hold, optimize the smallest sub join which
+     * removes enough nodes separately, and take it as one node, until the join fits in the hyper graph.
+     * If no sub join is large enough, take the largest one and repeat.
+     */
+    private void collapseLargeJoin(Group group) {
+        int relationNum = countRelations(group);
+        while (relationNum > MAX_HYPER_GRAPH_NODES) {
+            // collapsing a sub join of n relations removes n - 1 nodes
+            int minRelationNum = relationNum - MAX_HYPER_GRAPH_NODES + 1;
+            Map<Group, Integer> subJoins = new LinkedHashMap<>();
+            collectSubJoins(group, subJoins);
+            subJoins.remove(group);
+            Group subJoin = null;
+            int subJoinRelationNum = Integer.MAX_VALUE;
+            for (Map.Entry<Group, Integer> entry : subJoins.entrySet()) {
+                if (entry.getValue() >= minRelationNum && entry.getValue() < subJoinRelationNum) {
+                    subJoin = entry.getKey();
+                    subJoinRelationNum = entry.getValue();
+                }
+            }
+            if (subJoin == null) {
+                subJoinRelationNum = 0;
+                for (Map.Entry<Group, Integer> entry : subJoins.entrySet()) {
+                    if (entry.getValue() > subJoinRelationNum) {
+                        subJoin = entry.getKey();
+                        subJoinRelationNum = entry.getValue();
+                    }
+                }
+            }
+            if (subJoin == null) {
+                break;
+            }
+            collapseJoin(subJoin);
+            relationNum = countRelations(group);
+        }
+    }
+
+    private void collapseJoin(Group subJoin) {
+        // the other projects of the sub join are added above its optimized plan
+        Set<NamedExpression> outerProject = new HashSet<>(otherProject);
+        otherProject.clear();
+        Group optimized = optimizeJoin(subJoin);
+        otherProject.clear();
+        otherProject.addAll(outerProject);
+        if (optimized.isJoinGroup()) {
+            // the node of hyper graph can't be a join, add a project above it
+            Plan plan = optimized.getLogicalExpression().getPlan();
+            LogicalProject<Plan> logicalProject = new LogicalProject<>(new ArrayList<>(plan.getOutput()), plan);
+            GroupExpression groupExpression = new GroupExpression(logicalProject, Lists.newArrayList(optimized));
+            optimized = context.getCascadesContext().getMemo().copyInGroupExpression(groupExpression);
+        }
+        collapsedJoins.put(subJoin, optimized);
+    }
+
+    // count the relations the same way as buildGraph adds nodes
+    private int countRelations(Group group) {
+        if (collapsedJoins.containsKey(group)) {
+            return 1;
+        }
+        if (group.isProjectGroup()) {
+            return countRelations(group.getLogicalExpression().child(0));
+        }
+        if (!group.isJoinGroup()) {
+            return 1;
+        }
+        return countRelations(group.getLogicalExpression().child(0))
+                + countRelations(group.getLogicalExpression().child(1));
+    }
+
+    private void collectSubJoins(Group group, Map<Group, Integer> subJoins) {
+        if (collapsedJoins.containsKey(group)) {
+            return;
+        }
+        if (group.isProjectGroup()) {
+            collectSubJoins(group.getLogicalExpression().child(0), subJoins);
+            return;
+        }
+        if (!group.isJoinGroup()) {
+            return;
+        }
+        subJoins.put(group, countRelations(group));
+        collectSubJoins(group.getLogicalExpression().child(0), subJoins);
+        collectSubJoins(group.getLogicalExpression().child(1), subJoins);
+    }
+
     /**
      * build a hyperGraph for the root group
      *
@@ -112,6 +213,10 @@ public class JoinOrderJob extends Job {
      * @param hyperGraph build hyperGraph
      */
     public void buildGraph(Group group, HyperGraph hyperGraph) {
+        if (collapsedJoins.containsKey(group)) {
+            hyperGraph.addNode(collapsedJoins.get(group));
+            return;
+        }
         if (group.isProjectGroup()) {
             buildGraph(group.getLogicalExpression().child(0), hyperGraph);
             processProjectPlan(hyperGraph, group);
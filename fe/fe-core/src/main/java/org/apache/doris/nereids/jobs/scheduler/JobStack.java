@@ -19,13 +19,15 @@ package org.apache.doris.nereids.jobs.scheduler;
 
 import org.apache.doris.nereids.jobs.Job;
 
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 /**
  * LIFO implementation of {@link JobPool}.
  */
 public class JobStack implements JobPool {
-    Stack<Job> stack = new Stack<>();
+    // only used by the planner thread, so no need for the synchronized java.util.Stack
+    Deque<Job> stack = new ArrayDeque<>();
 
     @Override
     public void push(Job job) {
@@ -18,6 +18,7 @@
 package org.apache.doris.nereids.rules.expression.rewrite.rules;
 
 import org.apache.doris.cluster.ClusterNamespace;
+import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.nereids.rules.expression.rewrite.AbstractExpressionRewriteRule;
 import org.apache.doris.nereids.rules.expression.rewrite.ExpressionRewriteContext;
 import org.apache.doris.nereids.trees.expressions.AggregateExpression;
@@ -47,20 +48,27 @@ import org.apache.doris.nereids.trees.expressions.functions.agg.AggregateFunctio
 import org.apache.doris.nereids.trees.expressions.functions.agg.NullableAggregateFunction;
 import org.apache.doris.nereids.trees.expressions.functions.scalar.Array;
 import org.apache.doris.nereids.trees.expressions.functions.scalar.ConnectionId;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.CurrentDate;
 import org.apache.doris.nereids.trees.expressions.functions.scalar.CurrentUser;
 import org.apache.doris.nereids.trees.expressions.functions.scalar.Database;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Now;
 import org.apache.doris.nereids.trees.expressions.functions.scalar.User;
 import org.apache.doris.nereids.trees.expressions.literal.ArrayLiteral;
 import org.apache.doris.nereids.trees.expressions.literal.BigIntLiteral;
 import org.apache.doris.nereids.trees.expressions.literal.BooleanLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.DateLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.DateTimeLiteral;
 import org.apache.doris.nereids.trees.expressions.literal.Literal;
 import org.apache.doris.nereids.trees.expressions.literal.NullLiteral;
 import org.apache.doris.nereids.trees.expressions.literal.VarcharLiteral;
 import org.apache.doris.nereids.types.BooleanType;
 import org.apache.doris.nereids.util.ExpressionUtils;
+import org.apache.doris.qe.ConnectContext;
 
 import com.google.common.collect.ImmutableList;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -194,6 +202,26 @@ public class FoldConstantRuleOnFE extends AbstractExpressionRewriteRule {
         return new BigIntLiteral(context.connectContext.get().getConnectionId());
     }
 
+    @Override
+    public Expression visitNow(Now now, ExpressionRewriteContext context) {
+        // now(precision) returns datetimev2 with fractional seconds, leave it to BE
+        if (now.arity() != 0 || context.connectContext == null) {
+            return now;
+        }
+        LocalDateTime time = statementStartTime(context.connectContext);
+        return new DateTimeLiteral(time.getYear(), time.getMonthValue(), time.getDayOfMonth(),
+                time.getHour(), time.getMinute(), time.getSecond());
+    }
+
+    @Override
+    public Expression visitCurrentDate(CurrentDate currentDate, ExpressionRewriteContext context) {
+        if (context.connectContext == null) {
+            return currentDate;
+        }
+        LocalDateTime time = statementStartTime(context.connectContext);
+        return new DateLiteral(time.getYear(), time.getMonthValue(), time.getDayOfMonth());
+    }
+
     @Override
     public Expression visitAnd(And and, ExpressionRewriteContext context) {
         if (and.getArguments().stream().anyMatch(BooleanLiteral.FALSE::equals)) {
@@ -385,6 +413,19 @@ public class FoldConstantRuleOnFE extends AbstractExpressionRewriteRule {
         return ExpressionUtils.isAllLiteral(expression.getArguments());
     }
 
+    /**
+     * the start time of the statement in the session time zone, so that all the now() in one statement
+     * are folded to the same value, as BE does with the timestamp in query globals.
+     */
+    private LocalDateTime statementStartTime(ConnectContext connectContext) {
+        long startTime = connectContext.getStartTime();
+        if (startTime <= 0) {
+            startTime = System.currentTimeMillis();
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(startTime),
+                TimeUtils.getOrSystemTimeZone(connectContext.getSessionVariable().getTimeZone()).toZoneId());
+    }
+
     private boolean argsHasNullLiteral(Expression expression) {
         return ExpressionUtils.hasNullLiteral(expression.getArguments());
     }
@@ -0,0 +1,448 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.nereids.rules.mv;
+
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.KeysType;
+import org.apache.doris.catalog.MaterializedView;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.OlapTable.OlapTableState;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Pair;
+import org.apache.doris.mtmv.MTMVPartitionRefreshPlanner;
+import org.apache.doris.mtmv.metadata.MTMVRefreshSnapshot;
+import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.jobs.JobContext;
+import org.apache.doris.nereids.jobs.batch.NormalizeQueryJob;
+import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.nereids.properties.PhysicalProperties;
+import org.apache.doris.nereids.trees.expressions.Alias;
+import org.apache.doris.nereids.trees.expressions.Cast;
+import org.apache.doris.nereids.trees.expressions.ComparisonPredicate;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.NamedExpression;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.functions.agg.AggregateFunction;
+import org.apache.doris.nereids.trees.expressions.functions.agg.Count;
+import org.apache.doris.nereids.trees.expressions.functions.agg.Max;
+import org.apache.doris.nereids.trees.expressions.functions.agg.Min;
+import org.apache.doris.nereids.trees.expressions.functions.agg.NullableAggregateFunction;
+import org.apache.doris.nereids.trees.expressions.functions.agg.Sum;
+import org.apache.doris.nereids.trees.plans.JoinType;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalAggregate;
+import org.apache.doris.nereids.trees.plans.logical.LogicalFilter;
+import org.apache.doris.nereids.trees.plans.logical.LogicalJoin;
+import org.apache.doris.nereids.trees.plans.logical.LogicalOlapScan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalProject;
+import org.apache.doris.nereids.trees.plans.logical.RelationUtil;
+import org.apache.doris.nereids.trees.plans.visitor.DefaultPlanRewriter;
+import org.apache.doris.nereids.util.ExpressionUtils;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Answer a select-project-join-aggregate part of the query from a multi-table materialized view.
+ * <p>
+ * The query part and the definition of the materialized view are both flattened into the scanned tables,
+ * the conjuncts of all filters and inner joins, the group by expressions and the output expressions,
+ * written over the columns of the scanned tables. The materialized view can replace the query part if:
+ * <ul>
+ *     <li>both scan the same tables, each of them once;</li>
+ *     <li>the conjuncts of the materialized view are a subset of those of the query, the rest of the query
+ *     conjuncts are evaluated on the materialized view;</li>
+ *     <li>every expression of the query can be computed from the output columns of the materialized view,
+ *     if the materialized view is aggregated, the query aggregates are rolled up from its aggregates;</li>
+ *     <li>the materialized view is fresh: none of the base tables got a new version since its last refresh,
+ *     and the materialized view itself has not been changed by anything but the refresh.</li>
+ * </ul>
+ * Among the materialized views that can replace the query part the one with the least rows is used, as long as
+ * it has fewer rows than the base tables. The materialized view is read locked with the tables of the statement.
+ */
+public class SelectMultiTableMaterializedView extends DefaultPlanRewriter<JobContext> {
+    private static final Logger LOG = LogManager.getLogger(SelectMultiTableMaterializedView.class);
+
+    // the flattened definitions of the materialized views considered for this query, by table id
+    private final Map<Long, Optional<StructInfo>> viewStructInfos = Maps.newHashMap();
+
+    @Override
+    public Plan visit(Plan plan, JobContext context) {
+        CascadesContext cascadesContext = context.getCascadesContext();
+        if ((plan instanceof LogicalAggregate || plan instanceof LogicalProject)
+                && cascadesContext.getConnectContext().getSessionVariable().isEnableMaterializedViewRewrite()) {
+            Optional<Plan> rewritten = rewrite(plan, cascadesContext);
+            if (rewritten.isPresent()) {
+                return rewritten.get();
+            }
+        }
+        return super.visit(plan, context);
+    }
+
+    private Optional<Plan> rewrite(Plan plan, CascadesContext cascadesContext) {
+        StructInfo query = StructInfo.of(plan);
+        if (query == null || hasRowPolicy(cascadesContext.getConnectContext())) {
+            return Optional.empty();
+        }
+        long baseRowCount = query.scans.values().stream().mapToLong(scan -> scan.getTable().getRowCount()).sum();
+        List<Pair<Database, MaterializedView>> candidates = getFreshMaterializedViews(query).stream()
+                .filter(candidate -> candidate.second.getRowCount() < baseRowCount)
+                .sorted(Comparator.comparingLong(candidate -> candidate.second.getRowCount()))
+                .collect(Collectors.toList());
+        for (Pair<Database, MaterializedView> candidate : candidates) {
+            Database db = candidate.first;
+            MaterializedView mv = candidate.second;
+            Optional<StructInfo> view = viewStructInfos.computeIfAbsent(mv.getId(),
+                    id -> Optional.ofNullable(planDefinition(db, mv, cascadesContext)));
+            if (!view.isPresent()) {
+                continue;
+            }
+            Optional<Plan> rewritten = rewriteWithView(query, view.get(), db, mv);
+            // the plan reads the materialized view from now on, check it again under its read lock
+            if (rewritten.isPresent() && cascadesContext.tryLockTable(mv) && isFresh(db, mv, query)) {
+                LOG.debug("Rewrite the query with materialized view {}.", mv.getName());
+                return rewritten;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<Pair<Database, MaterializedView>> getFreshMaterializedViews(StructInfo query) {
+        Set<Database> databases = Sets.newHashSet();
+        for (LogicalOlapScan scan : query.scans.values()) {
+            try {
+                databases.add(scan.getDatabase());
+            } catch (AnalysisException e) {
+                return ImmutableList.of();
+            }
+        }
+        List<Pair<Database, MaterializedView>> materializedViews = Lists.newArrayList();
+        for (Database db : databases) {
+            for (Table table : db.getTables()) {
+                if (!(table instanceof MaterializedView)) {
+                    continue;
+                }
+                MaterializedView mv = (MaterializedView) table;
+                // rows of the other models are merged by keys, they may differ from the result of the query
+                if (mv.getKeysType() != KeysType.DUP_KEYS || mv.hasDeleteSign()
+                        || mv.getState() != OlapTableState.NORMAL) {
+                    continue;
+                }
+                if (isFresh(db, mv, query)) {
+                    materializedViews.add(Pair.of(db, mv));
+                }
+            }
+        }
+        return materializedViews;
+    }
+
+    private boolean isFresh(Database db, MaterializedView mv, StructInfo query) {
+        MTMVRefreshSnapshot snapshot = Env.getCurrentEnv().getMTMVJobManager()
+                .getLastRefreshSnapshot(db.getFullName(), mv.getName());
+        if (snapshot == null || !snapshot.getTableVersions().keySet().equals(query.scans.keySet())) {
+            return false;
+        }
+        for (LogicalOlapScan scan : query.scans.values()) {
+            OlapTable table = scan.getTable();
+            if (!MTMVPartitionRefreshPlanner.getPartitionVersions(table)
+                    .equals(snapshot.getTableVersions().get(table.getId()))) {
+                return false;
+            }
+        }
+        return MTMVPartitionRefreshPlanner.getPartitionVersions(mv).keySet().equals(snapshot.getMvPartitionIds());
+    }
+
+    /**
+     * Plan the definition of the materialized view up to the point the query is matched.
+     */
+    private StructInfo planDefinition(Database db, MaterializedView mv, CascadesContext cascadesContext) {
+        ConnectContext connectContext = cascadesContext.getConnectContext();
+        String currentDb = connectContext.getDatabase();
+        try {
+            // the definition is written with the names of the database of the materialized view
+            connectContext.setDatabase(db.getFullName());
+            LogicalPlan parsed = new NereidsParser().parseSingle(mv.getQuery());
+            CascadesContext viewContext = CascadesContext.newContext(cascadesContext.getStatementContext(),
+                    parsed, PhysicalProperties.ANY);
+            viewContext.newAnalyzer().analyze();
+            new NormalizeQueryJob(viewContext).execute();
+            return StructInfo.of(viewContext.getMemo().copyOut(false));
+        } catch (Exception e) {
+            LOG.debug("Failed to plan the definition of materialized view {}.", mv.getName(), e);
+            return null;
+        } finally {
+            connectContext.setDatabase(currentDb);
+        }
+    }
+
+    private Optional<Plan> rewriteWithView(StructInfo query, StructInfo view, Database db, MaterializedView mv) {
+        if (!query.scans.keySet().equals(view.scans.keySet()) || view.groupBy != null && query.groupBy == null) {
+            return Optional.empty();
+        }
+        // map the columns of the query to the same columns of the materialized view definition
+        Map<Expression, Expression> slotMapping = Maps.newHashMap();
+        for (Map.Entry<Long, LogicalOlapScan> entry : query.scans.entrySet()) {
+            Map<String, Slot> viewSlots = view.scans.get(entry.getKey()).getOutput().stream()
+                    .collect(Collectors.toMap(Slot::getName, slot -> slot, (a, b) -> a));
+            for (Slot slot : entry.getValue().getOutput()) {
+                Slot viewSlot = viewSlots.get(slot.getName());
+                if (viewSlot == null) {
+                    return Optional.empty();
+                }
+                slotMapping.put(slot, viewSlot);
+            }
+        }
+        Set<Expression> queryConjuncts = query.conjuncts.stream()
+                .map(conjunct -> normalize(ExpressionUtils.replace(conjunct, slotMapping)))
+                .collect(Collectors.toSet());
+        Set<Expression> viewConjuncts = view.conjuncts.stream()
+                .map(SelectMultiTableMaterializedView::normalize)
+                .collect(Collectors.toSet());
+        if (!queryConjuncts.containsAll(viewConjuncts)) {
+            return Optional.empty();
+        }
+        queryConjuncts.removeAll(viewConjuncts);
+
+        // the output columns of the materialized view are named after the outputs of its definition
+        LogicalOlapScan mvScan = new LogicalOlapScan(RelationUtil.newRelationId(), mv,
+                ImmutableList.of(db.getFullName()));
+        Map<String, Slot> mvSlots = mvScan.getOutput().stream()
+                .collect(Collectors.toMap(slot -> slot.getName().toLowerCase(), slot -> slot, (a, b) -> a));
+        Set<Slot> mvOutput = ImmutableSet.copyOf(mvScan.getOutput());
+        Map<Expression, Expression> keyMapping = Maps.newHashMap();
+        Map<Expression, Slot> aggregateMapping = Maps.newHashMap();
+        for (int i = 0; i < view.outputs.size(); i++) {
+            Slot mvSlot = mvSlots.get(view.outputSlots.get(i).getName().toLowerCase());
+            Expression output = view.outputs.get(i);
+            if (mvSlot == null) {
+                continue;
+            }
+            if (output instanceof AggregateFunction) {
+                aggregateMapping.put(withoutAlwaysNullable((AggregateFunction) output), mvSlot);
+            } else if (!output.containsType(AggregateFunction.class)) {
+                keyMapping.put(output, mvSlot);
+            }
+        }
+
+        Map<Expression, Expression> mapping = Maps.newHashMap(keyMapping);
+        if (view.groupBy != null) {
+            boolean global = query.groupBy.isEmpty();
+            for (Expression output : query.outputs) {
+                Set<AggregateFunction> functions = ExpressionUtils.replace(output, slotMapping)
+                        .collect(AggregateFunction.class::isInstance);
+                for (AggregateFunction function : functions) {
+                    Optional<Expression> rolledUp = rollUp(function, aggregateMapping, keyMapping, mvOutput, global);
+                    if (!rolledUp.isPresent()) {
+                        return Optional.empty();
+                    }
+                    mapping.put(function, rolledUp.get());
+                }
+            }
+        }
+
+        Set<Expression> residual = Sets.newHashSet();
+        for (Expression conjunct : queryConjuncts) {
+            Expression rewritten = ExpressionUtils.replace(conjunct, keyMapping);
+            if (!mvOutput.containsAll(rewritten.getInputSlots())) {
+                return Optional.empty();
+            }
+            residual.add(rewritten);
+        }
+        List<Expression> groupBy = Lists.newArrayList();
+        if (query.groupBy != null) {
+            for (Expression expression : query.groupBy) {
+                Expression rewritten = ExpressionUtils.replace(ExpressionUtils.replace(expression, slotMapping),
+                        keyMapping);
+                if (!mvOutput.containsAll(rewritten.getInputSlots())) {
+                    return Optional.empty();
+                }
+                groupBy.add(rewritten);
+            }
+        }
+        List<NamedExpression> outputs = Lists.newArrayList();
+        for (int i = 0; i < query.outputs.size(); i++) {
+            Slot slot = query.outputSlots.get(i);
+            Expression rewritten = ExpressionUtils.replace(ExpressionUtils.replace(query.outputs.get(i),
+                    slotMapping), mapping);
+            if (!mvOutput.containsAll(rewritten.getInputSlots())) {
+                return Optional.empty();
+            }
+            if (!rewritten.getDataType().equals(slot.getDataType())) {
+                rewritten = new Cast(rewritten, slot.getDataType());
+            }
+            // keep the expr ids, they are referenced by the rest of the plan
+            outputs.add(new Alias(slot.getExprId(), rewritten, slot.getName()));
+        }
+
+        Plan child = residual.isEmpty() ? mvScan : new LogicalFilter<>(residual, mvScan);
+        if (query.groupBy != null) {
+            return Optional.of(new LogicalAggregate<>(groupBy, outputs, child));
+        }
+        return Optional.of(new LogicalProject<>(outputs, child));
+    }
+
+    /**
+     * Compute an aggregate function of the query from the rows of an aggregated materialized view.
+     */
+    private Optional<Expression> rollUp(AggregateFunction function, Map<Expression, Slot> aggregateMapping,
+            Map<Expression, Expression> keyMapping, Set<Slot> mvOutput, boolean global) {
+        Slot slot = function.isDistinct() ? null : aggregateMapping.get(withoutAlwaysNullable(function));
+        if (slot != null) {
+            Expression rolledUp;
+            if (function instanceof Sum) {
+                rolledUp = new Sum(slot).withAlwaysNullable(global);
+            } else if (function instanceof Min) {
+                rolledUp = new Min(slot).withAlwaysNullable(global);
+            } else if (function instanceof Max) {
+                rolledUp = new Max(slot).withAlwaysNullable(global);
+            } else if (function instanceof Count && !global) {
+                // the sum of no rows is null rather than 0
+                rolledUp = new Sum(slot);
+            } else {
+                return Optional.empty();
+            }
+            return rolledUp.getDataType().equals(function.getDataType()) ? Optional.of(rolledUp) : Optional.empty();
+        }
+        // the distinct values and the extremes of the group by columns are kept by the aggregation
+        if (function.isDistinct() || function instanceof Min || function instanceof Max) {
+            Expression rewritten = ExpressionUtils.replace(function, keyMapping);
+            if (mvOutput.containsAll(rewritten.getInputSlots())) {
+                return Optional.of(rewritten);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Expression withoutAlwaysNullable(AggregateFunction function) {
+        return function instanceof NullableAggregateFunction
+                ? ((NullableAggregateFunction) function).withAlwaysNullable(false) : function;
+    }
+
+    // a = b and b = a are the same conjunct
+    private static Expression normalize(Expression conjunct) {
+        if (conjunct instanceof ComparisonPredicate
+                && conjunct.child(0).toSql().compareTo(conjunct.child(1).toSql()) > 0) {
+            return ((ComparisonPredicate) conjunct).commute();
+        }
+        return conjunct;
+    }
+
+    // the materialized view is refreshed without row policies, it must not be read by users who have one
+    private static boolean hasRowPolicy(ConnectContext ctx) {
+        UserIdentity currentUserIdentity = ctx.getCurrentUserIdentity();
+        if (currentUserIdentity == null || currentUserIdentity.isRootUser() || currentUserIdentity.isAdminUser()) {
+            return false;
+        }
+        return ctx.getEnv().getPolicyMgr().existPolicy(ctx.getQualifiedUser());
+    }
+
+    /**
+     * A select-project-join-aggregate plan flattened over the columns of the scanned tables.
+     */
+    private static class StructInfo {
+        private final Map<Long, LogicalOlapScan> scans = Maps.newHashMap();
+        private final Set<Expression> conjuncts = Sets.newHashSet();
+        private final Map<Expression, Expression> slotToExpression = Maps.newHashMap();
+        // null if there is no aggregate
+        private List<Expression> groupBy;
+        private List<Slot> outputSlots;
+        private List<Expression> outputs;
+
+        private static StructInfo of(Plan plan) {
+            StructInfo structInfo = new StructInfo();
+            if (!structInfo.collect(plan)) {
+                return null;
+            }
+            structInfo.outputSlots = plan.getOutput();
+            structInfo.outputs = structInfo.outputSlots.stream()
+                    .map(slot -> structInfo.slotToExpression.getOrDefault(slot, slot))
+                    .collect(Collectors.toList());
+            return structInfo;
+        }
+
+        private boolean collect(Plan plan) {
+            if (plan instanceof LogicalOlapScan) {
+                LogicalOlapScan scan = (LogicalOlapScan) plan;
+                return scan.getManuallySpecifiedPartitions().isEmpty()
+                        && scans.putIfAbsent(scan.getTable().getId(), scan) == null;
+            } else if (plan instanceof LogicalProject) {
+                if (!collect(plan.child(0))) {
+                    return false;
+                }
+                for (NamedExpression project : ((LogicalProject<?>) plan).getProjects()) {
+                    addOutput(project);
+                }
+                return true;
+            } else if (plan instanceof LogicalFilter) {
+                if (!collect(plan.child(0)) || groupBy != null) {
+                    return false;
+                }
+                ((LogicalFilter<?>) plan).getConjuncts().forEach(conjunct -> conjuncts.add(substitute(conjunct)));
+                return true;
+            } else if (plan instanceof LogicalJoin) {
+                LogicalJoin<?, ?> join = (LogicalJoin<?, ?>) plan;
+                if (join.getJoinType() != JoinType.INNER_JOIN && join.getJoinType() != JoinType.CROSS_JOIN
+                        || !collect(join.left()) || !collect(join.right()) || groupBy != null) {
+                    return false;
+                }
+                join.getHashJoinConjuncts().forEach(conjunct -> conjuncts.add(substitute(conjunct)));
+                join.getOtherJoinConjuncts().forEach(conjunct -> conjuncts.add(substitute(conjunct)));
+                return true;
+            } else if (plan instanceof LogicalAggregate) {
+                LogicalAggregate<?> aggregate = (LogicalAggregate<?>) plan;
+                if (aggregate.getSourceRepeat().isPresent() || !collect(aggregate.child()) || groupBy != null) {
+                    return false;
+                }
+                groupBy = aggregate.getGroupByExpressions().stream().map(this::substitute)
+                        .collect(Collectors.toList());
+                for (NamedExpression output : aggregate.getOutputExpressions()) {
+                    addOutput(output);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private void addOutput(NamedExpression output) {
+            Expression expression = output instanceof Alias ? ((Alias) output).child() : output;
+            slotToExpression.put(output.toSlot(), substitute(expression));
+        }
+
+        private Expression substitute(Expression expression) {
+            return ExpressionUtils.replace(expression, slotToExpression);
+        }
+    }
+}
@@ -112,7 +112,7 @@ public class Alias extends NamedExpression implements UnaryExpression {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(exprId, name, qualifier, children());
     }
 
@@ -100,7 +100,7 @@ public class AssertNumRowsElement extends Expression implements LeafExpression,
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(desiredNumOfRows, subqueryString, assertion);
     }
 
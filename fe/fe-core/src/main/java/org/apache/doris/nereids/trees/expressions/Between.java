@@ -110,7 +110,7 @@ public class Between extends Expression implements TernaryExpression {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(compareExpr, lowerBound, upperBound);
     }
 }
@@ -56,7 +56,7 @@ public abstract class BinaryOperator extends Expression implements BinaryExpress
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(symbol, left(), right());
     }
 
@@ -87,7 +87,7 @@ public class Cast extends Expression implements UnaryExpression {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), targetType);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), targetType);
     }
 }
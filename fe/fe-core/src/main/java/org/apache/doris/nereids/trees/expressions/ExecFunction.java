@@ -43,4 +43,9 @@ public @interface ExecFunction {
      * return type
      */
     String returnType();
+
+    /**
+     * whether the last arg type can be repeated
+     */
+    boolean varArgs() default false;
 }
@@ -89,7 +89,7 @@ public class Exists extends SubqueryExpr implements LeafExpression {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(this.queryPlan, this.isNot);
     }
 }
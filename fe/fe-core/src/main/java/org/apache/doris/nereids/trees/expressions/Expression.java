@@ -48,6 +48,10 @@ public abstract class Expression extends AbstractTreeNode<Expression> implements
 
     private static final String INPUT_CHECK_ERROR_MESSAGE = "argument %d requires %s type, however '%s' is of %s type";
 
+    // expressions are immutable, so the recursive structural hash is computed once and reused.
+    // 0 means not computed yet, the same trick as java.lang.String
+    private int hash;
+
     public Expression(Expression... children) {
         super(children);
     }
@@ -185,8 +189,21 @@ public abstract class Expression extends AbstractTreeNode<Expression> implements
     }
 
     @Override
-    public int hashCode() {
-        return 0;
+    public final int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = computeHashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Compute the structural hash code of this expression, it is called at most once for each
+     * expression unless the result is 0. Subclasses override this instead of hashCode().
+     */
+    protected int computeHashCode() {
+        return children().hashCode();
     }
 
     /**
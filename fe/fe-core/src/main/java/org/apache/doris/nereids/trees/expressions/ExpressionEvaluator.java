@@ -19,14 +19,25 @@ package org.apache.doris.nereids.trees.expressions;
 
 import org.apache.doris.catalog.Env;
 import org.apache.doris.common.AnalysisException;
+import org.apache.doris.nereids.trees.expressions.functions.BoundFunction;
 import org.apache.doris.nereids.trees.expressions.functions.ExecutableFunctions;
 import org.apache.doris.nereids.trees.expressions.functions.agg.AggregateFunction;
+import org.apache.doris.nereids.trees.expressions.functions.executable.DateTimeExtractAndTransform;
+import org.apache.doris.nereids.trees.expressions.functions.executable.NumericArithmetic;
+import org.apache.doris.nereids.trees.expressions.functions.executable.StringArithmetic;
 import org.apache.doris.nereids.trees.expressions.literal.Literal;
 import org.apache.doris.nereids.trees.expressions.literal.NullLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.StringLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.VarcharLiteral;
 import org.apache.doris.nereids.types.DataType;
+import org.apache.doris.nereids.types.DateTimeV2Type;
+import org.apache.doris.nereids.types.StringType;
+import org.apache.doris.nereids.types.coercion.CharacterType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -64,12 +75,20 @@ public enum ExpressionEvaluator {
             TimestampArithmetic arithmetic = (TimestampArithmetic) expression;
             fnName = arithmetic.getFuncName();
             args = new DataType[]{arithmetic.left().getDataType(), arithmetic.right().getDataType()};
+        } else if (expression instanceof BoundFunction) {
+            BoundFunction function = (BoundFunction) expression;
+            fnName = function.getName();
+            args = function.children().stream().map(Expression::getDataType).toArray(DataType[]::new);
+        }
+        if (fnName == null) {
+            return expression;
         }
 
         if ((Env.getCurrentEnv().isNullResultWithOneNullParamFunction(fnName))) {
             for (Expression e : expression.children()) {
                 if (e instanceof NullLiteral) {
-                    return Literal.of(null);
+                    return expression instanceof BoundFunction
+                            ? new NullLiteral(expression.getDataType()) : Literal.of(null);
                 }
             }
         }
@@ -82,7 +101,11 @@ public enum ExpressionEvaluator {
         FunctionInvoker invoker = getFunction(signature);
         if (invoker != null) {
             try {
-                return invoker.invoke(expression.children());
+                Literal result = invoker.invoke(expression.children());
+                if (expression instanceof BoundFunction) {
+                    return castToFunctionType(result, expression);
+                }
+                return result;
             } catch (AnalysisException e) {
                 return expression;
             }
@@ -90,6 +113,34 @@ public enum ExpressionEvaluator {
         return expression;
     }
 
+    /**
+     * The executable functions return literals of the widest type they can produce, e.g. varchar for
+     * both varchar and string inputs. Adapt the result to the type the function has been bound to, and
+     * give up folding if the types still disagree, so that a folded literal never changes the plan types.
+     */
+    private Expression castToFunctionType(Literal result, Expression function) {
+        DataType expectedType = function.getDataType();
+        if (result instanceof NullLiteral) {
+            return new NullLiteral(expectedType);
+        }
+        if (result instanceof VarcharLiteral && expectedType instanceof StringType) {
+            return new StringLiteral(((VarcharLiteral) result).getValue());
+        }
+        if (!isCompatible(result.getDataType(), expectedType)) {
+            return function;
+        }
+        return result;
+    }
+
+    private static boolean isCompatible(DataType candidate, DataType expected) {
+        if (candidate.equals(expected)) {
+            return true;
+        }
+        // length of character types and scale of datetimev2 do not change the evaluation
+        return (candidate instanceof CharacterType && expected instanceof CharacterType)
+                || (candidate instanceof DateTimeV2Type && expected instanceof DateTimeV2Type);
+    }
+
     private FunctionInvoker getFunction(FunctionSignature signature) {
         Collection<FunctionInvoker> functionInvokers = functions.get(signature.getName());
         if (functionInvokers == null) {
@@ -99,12 +150,15 @@ public enum ExpressionEvaluator {
             DataType[] candidateTypes = candidate.getSignature().getArgTypes();
             DataType[] expectedTypes = signature.getArgTypes();
 
-            if (candidateTypes.length != expectedTypes.length) {
+            boolean varArgs = candidate.getSignature().hasVarArgs();
+            if (varArgs ? expectedTypes.length < candidateTypes.length
+                    : candidateTypes.length != expectedTypes.length) {
                 continue;
             }
             boolean match = true;
-            for (int i = 0; i < candidateTypes.length; i++) {
-                if (!candidateTypes[i].equals(expectedTypes[i])) {
+            for (int i = 0; i < expectedTypes.length; i++) {
+                DataType candidateType = candidateTypes[Math.min(i, candidateTypes.length - 1)];
+                if (!isCompatible(candidateType, expectedTypes[i])) {
                     match = false;
                     break;
                 }
@@ -122,15 +176,18 @@ public enum ExpressionEvaluator {
         }
         ImmutableMultimap.Builder<String, FunctionInvoker> mapBuilder =
                 new ImmutableMultimap.Builder<String, FunctionInvoker>();
-        Class clazz = ExecutableFunctions.class;
-        for (Method method : clazz.getDeclaredMethods()) {
-            ExecFunctionList annotationList = method.getAnnotation(ExecFunctionList.class);
-            if (annotationList != null) {
-                for (ExecFunction f : annotationList.value()) {
-                    registerFEFunction(mapBuilder, method, f);
+        List<Class<?>> classes = ImmutableList.of(ExecutableFunctions.class, StringArithmetic.class,
+                NumericArithmetic.class, DateTimeExtractAndTransform.class);
+        for (Class<?> clazz : classes) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                ExecFunctionList annotationList = method.getAnnotation(ExecFunctionList.class);
+                if (annotationList != null) {
+                    for (ExecFunction f : annotationList.value()) {
+                        registerFEFunction(mapBuilder, method, f);
+                    }
                 }
+                registerFEFunction(mapBuilder, method, method.getAnnotation(ExecFunction.class));
             }
-            registerFEFunction(mapBuilder, method, method.getAnnotation(ExecFunction.class));
         }
         this.functions = mapBuilder.build();
     }
@@ -145,7 +202,7 @@ public enum ExpressionEvaluator {
                 argTypes.add(DataType.convertFromString(type));
             }
             FunctionSignature signature = new FunctionSignature(name,
-                    argTypes.toArray(new DataType[argTypes.size()]), returnType);
+                    argTypes.toArray(new DataType[argTypes.size()]), returnType, annotation.varArgs());
             mapBuilder.put(name, new FunctionInvoker(method, signature));
         }
     }
@@ -172,11 +229,30 @@ public enum ExpressionEvaluator {
 
         public Literal invoke(List<Expression> args) throws AnalysisException {
             try {
+                if (signature.hasVarArgs()) {
+                    return (Literal) method.invoke(null, packVarArgs(args));
+                }
                 return (Literal) method.invoke(null, args.toArray());
             } catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
                 throw new AnalysisException(e.getLocalizedMessage());
             }
         }
+
+        private Object[] packVarArgs(List<Expression> args) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            int fixedCount = parameterTypes.length - 1;
+            Object[] packed = new Object[parameterTypes.length];
+            for (int i = 0; i < fixedCount; i++) {
+                packed[i] = args.get(i);
+            }
+            Object varArgs = Array.newInstance(parameterTypes[fixedCount].getComponentType(),
+                    args.size() - fixedCount);
+            for (int i = fixedCount; i < args.size(); i++) {
+                Array.set(varArgs, i - fixedCount, args.get(i));
+            }
+            packed[fixedCount] = varArgs;
+            return packed;
+        }
     }
 
     /**
@@ -186,11 +262,17 @@ public enum ExpressionEvaluator {
         private final String name;
         private final DataType[] argTypes;
         private final DataType returnType;
+        private final boolean varArgs;
 
         public FunctionSignature(String name, DataType[] argTypes, DataType returnType) {
+            this(name, argTypes, returnType, false);
+        }
+
+        public FunctionSignature(String name, DataType[] argTypes, DataType returnType, boolean varArgs) {
             this.name = name;
             this.argTypes = argTypes;
             this.returnType = returnType;
+            this.varArgs = varArgs;
         }
 
         public DataType[] getArgTypes() {
@@ -204,6 +286,10 @@ public enum ExpressionEvaluator {
         public String getName() {
             return name;
         }
+
+        public boolean hasVarArgs() {
+            return varArgs;
+        }
     }
 
 }
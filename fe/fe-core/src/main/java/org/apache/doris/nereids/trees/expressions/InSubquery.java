@@ -108,7 +108,7 @@ public class InSubquery extends SubqueryExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(this.compareExpr, this.listQuery, this.isNot);
     }
 }
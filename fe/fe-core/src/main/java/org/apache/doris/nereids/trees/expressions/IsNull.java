@@ -73,7 +73,7 @@ public class IsNull extends Expression implements UnaryExpression {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return child().hashCode();
     }
 
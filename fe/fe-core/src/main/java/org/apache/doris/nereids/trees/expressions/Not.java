@@ -71,7 +71,7 @@ public class Not extends Expression implements UnaryExpression, ExpectsInputType
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return child().hashCode();
     }
 
@@ -94,7 +94,7 @@ public class OrderExpression extends Expression implements UnaryExpression, Prop
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), orderKey);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), orderKey);
     }
 }
@@ -147,7 +147,7 @@ public class SlotReference extends Slot {
 
     // The contains method needs to use hashCode, so similar to equals, it only compares exprId
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(exprId);
     }
 
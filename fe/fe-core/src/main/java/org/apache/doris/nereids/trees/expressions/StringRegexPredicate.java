@@ -85,7 +85,7 @@ public abstract class StringRegexPredicate extends Expression implements BinaryE
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(symbol, left(), right());
     }
 
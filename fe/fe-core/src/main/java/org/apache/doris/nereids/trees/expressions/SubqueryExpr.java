@@ -122,7 +122,7 @@ public abstract class SubqueryExpr extends Expression {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(queryPlan, correlateSlots);
     }
 
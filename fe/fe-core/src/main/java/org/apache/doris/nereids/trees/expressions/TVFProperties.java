@@ -82,8 +82,8 @@ public class TVFProperties extends Expression implements LeafExpression {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), keyValues);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), keyValues);
     }
 
     @Override
@@ -56,7 +56,7 @@ public abstract class UnaryOperator extends Expression implements UnaryExpressio
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(symbol, child());
     }
 
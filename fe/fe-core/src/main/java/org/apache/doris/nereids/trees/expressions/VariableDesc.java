@@ -81,7 +81,7 @@ public class VariableDesc extends Expression implements LeafExpression {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isSystemVariable, setType, name);
     }
 
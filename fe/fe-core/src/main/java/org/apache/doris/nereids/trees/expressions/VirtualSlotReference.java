@@ -111,7 +111,7 @@ public class VirtualSlotReference extends SlotReference {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(realExpressions, originExpression, getExprId());
     }
 
@@ -76,7 +76,7 @@ public abstract class BoundFunction extends Function implements ComputeSignature
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(name, children);
     }
 
@@ -92,7 +92,7 @@ public abstract class AggregateFunction extends BoundFunction implements Expects
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(distinct, getName(), children);
     }
 
@@ -86,7 +86,7 @@ public abstract class NullableAggregateFunction extends AggregateFunction implem
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), alwaysNullable);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), alwaysNullable);
     }
 }
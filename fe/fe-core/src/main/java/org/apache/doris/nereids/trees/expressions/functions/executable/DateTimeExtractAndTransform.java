@@ -0,0 +1,153 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.nereids.trees.expressions.functions.executable;
+
+import org.apache.doris.nereids.trees.expressions.ExecFunction;
+import org.apache.doris.nereids.trees.expressions.ExecFunctionList;
+import org.apache.doris.nereids.trees.expressions.literal.DateLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.DateTimeLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.DateV2Literal;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+
+import java.time.LocalDate;
+
+/**
+ * executable functions that extract fields from or transform date and datetime values.
+ * DateV2Literal and DateTimeLiteral both extend DateLiteral, so one method serves all the date like types.
+ */
+public class DateTimeExtractAndTransform {
+
+    /**
+     * Executable datetime extract functions
+     */
+    @ExecFunctionList({
+            @ExecFunction(name = "year", argTypes = {"DATEV2"}, returnType = "INT"),
+            @ExecFunction(name = "year", argTypes = {"DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "year", argTypes = {"DATETIMEV2"}, returnType = "INT")
+    })
+    public static Literal year(DateLiteral date) {
+        return new IntegerLiteral((int) date.getYear());
+    }
+
+    @ExecFunctionList({
+            @ExecFunction(name = "quarter", argTypes = {"DATEV2"}, returnType = "INT"),
+            @ExecFunction(name = "quarter", argTypes = {"DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "quarter", argTypes = {"DATETIMEV2"}, returnType = "INT")
+    })
+    public static Literal quarter(DateLiteral date) {
+        return new IntegerLiteral(((int) date.getMonth() - 1) / 3 + 1);
+    }
+
+    @ExecFunctionList({
+            @ExecFunction(name = "month", argTypes = {"DATEV2"}, returnType = "INT"),
+            @ExecFunction(name = "month", argTypes = {"DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "month", argTypes = {"DATETIMEV2"}, returnType = "INT")
+    })
+    public static Literal month(DateLiteral date) {
+        return new IntegerLiteral((int) date.getMonth());
+    }
+
+    @ExecFunctionList({
+            @ExecFunction(name = "dayofmonth", argTypes = {"DATEV2"}, returnType = "INT"),
+            @ExecFunction(name = "dayofmonth", argTypes = {"DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "dayofmonth", argTypes = {"DATETIMEV2"}, returnType = "INT")
+    })
+    public static Literal dayOfMonth(DateLiteral date) {
+        return new IntegerLiteral((int) date.getDay());
+    }
+
+    @ExecFunctionList({
+            @ExecFunction(name = "dayofyear", argTypes = {"DATEV2"}, returnType = "INT"),
+            @ExecFunction(name = "dayofyear", argTypes = {"DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "dayofyear", argTypes = {"DATETIMEV2"}, returnType = "INT")
+    })
+    public static Literal dayOfYear(DateLiteral date) {
+        return new IntegerLiteral(toLocalDate(date).getDayOfYear());
+    }
+
+    /**
+     * 1 for Sunday, 2 for Monday, ..., 7 for Saturday, the same as BE and mysql.
+     */
+    @ExecFunctionList({
+            @ExecFunction(name = "dayofweek", argTypes = {"DATEV2"}, returnType = "INT"),
+            @ExecFunction(name = "dayofweek", argTypes = {"DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "dayofweek", argTypes = {"DATETIMEV2"}, returnType = "INT")
+    })
+    public static Literal dayOfWeek(DateLiteral date) {
+        return new IntegerLiteral(toLocalDate(date).getDayOfWeek().getValue() % 7 + 1);
+    }
+
+    @ExecFunctionList({
+            @ExecFunction(name = "hour", argTypes = {"DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "hour", argTypes = {"DATETIMEV2"}, returnType = "INT")
+    })
+    public static Literal hour(DateTimeLiteral date) {
+        return new IntegerLiteral((int) date.getHour());
+    }
+
+    @ExecFunctionList({
+            @ExecFunction(name = "minute", argTypes = {"DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "minute", argTypes = {"DATETIMEV2"}, returnType = "INT")
+    })
+    public static Literal minute(DateTimeLiteral date) {
+        return new IntegerLiteral((int) date.getMinute());
+    }
+
+    @ExecFunctionList({
+            @ExecFunction(name = "second", argTypes = {"DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "second", argTypes = {"DATETIMEV2"}, returnType = "INT")
+    })
+    public static Literal second(DateTimeLiteral date) {
+        return new IntegerLiteral((int) date.getSecond());
+    }
+
+    /**
+     * Executable datetime transform functions
+     */
+    @ExecFunction(name = "to_date", argTypes = {"DATETIME"}, returnType = "DATE")
+    public static Literal toDate(DateTimeLiteral date) {
+        return new DateLiteral(date.getYear(), date.getMonth(), date.getDay());
+    }
+
+    @ExecFunction(name = "to_date", argTypes = {"DATETIMEV2"}, returnType = "DATEV2")
+    public static Literal toDateV2(DateTimeLiteral date) {
+        return new DateV2Literal(date.getYear(), date.getMonth(), date.getDay());
+    }
+
+    /**
+     * the time part is ignored, only the days between the two dates are counted.
+     */
+    @ExecFunctionList({
+            @ExecFunction(name = "datediff", argTypes = {"DATETIME", "DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "datediff", argTypes = {"DATETIMEV2", "DATETIMEV2"}, returnType = "INT"),
+            @ExecFunction(name = "datediff", argTypes = {"DATETIMEV2", "DATEV2"}, returnType = "INT"),
+            @ExecFunction(name = "datediff", argTypes = {"DATEV2", "DATETIMEV2"}, returnType = "INT"),
+            @ExecFunction(name = "datediff", argTypes = {"DATEV2", "DATEV2"}, returnType = "INT"),
+            @ExecFunction(name = "datediff", argTypes = {"DATETIMEV2", "DATETIME"}, returnType = "INT"),
+            @ExecFunction(name = "datediff", argTypes = {"DATEV2", "DATETIME"}, returnType = "INT")
+    })
+    public static Literal dateDiff(DateLiteral first, DateLiteral second) {
+        return new IntegerLiteral((int) (toLocalDate(first).toEpochDay() - toLocalDate(second).toEpochDay()));
+    }
+
+    private static LocalDate toLocalDate(DateLiteral date) {
+        return LocalDate.of((int) date.getYear(), (int) date.getMonth(), (int) date.getDay());
+    }
+}
@@ -0,0 +1,81 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.nereids.trees.expressions.functions.executable;
+
+import org.apache.doris.nereids.trees.expressions.ExecFunction;
+import org.apache.doris.nereids.trees.expressions.literal.BigIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.DoubleLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.FloatLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.LargeIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.SmallIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.TinyIntLiteral;
+
+import java.math.BigInteger;
+
+/**
+ * executable functions on numbers.
+ * Functions whose result depends on the math library of BE, e.g. sqrt or ln, are not executed in FE.
+ */
+public class NumericArithmetic {
+
+    /**
+     * Executable numeric functions
+     */
+    @ExecFunction(name = "abs", argTypes = {"TINYINT"}, returnType = "SMALLINT")
+    public static Literal abs(TinyIntLiteral first) {
+        return new SmallIntLiteral((short) Math.abs(first.getValue()));
+    }
+
+    @ExecFunction(name = "abs", argTypes = {"SMALLINT"}, returnType = "INT")
+    public static Literal abs(SmallIntLiteral first) {
+        return new IntegerLiteral(Math.abs(first.getValue()));
+    }
+
+    @ExecFunction(name = "abs", argTypes = {"INT"}, returnType = "BIGINT")
+    public static Literal abs(IntegerLiteral first) {
+        return new BigIntLiteral(Math.abs((long) first.getValue()));
+    }
+
+    @ExecFunction(name = "abs", argTypes = {"BIGINT"}, returnType = "LARGEINT")
+    public static Literal abs(BigIntLiteral first) {
+        return new LargeIntLiteral(BigInteger.valueOf(first.getValue()).abs());
+    }
+
+    @ExecFunction(name = "abs", argTypes = {"FLOAT"}, returnType = "FLOAT")
+    public static Literal abs(FloatLiteral first) {
+        return new FloatLiteral(Math.abs(first.getValue()));
+    }
+
+    @ExecFunction(name = "abs", argTypes = {"DOUBLE"}, returnType = "DOUBLE")
+    public static Literal abs(DoubleLiteral first) {
+        return new DoubleLiteral(Math.abs(first.getValue()));
+    }
+
+    @ExecFunction(name = "ceil", argTypes = {"DOUBLE"}, returnType = "DOUBLE")
+    public static Literal ceil(DoubleLiteral first) {
+        return new DoubleLiteral(Math.ceil(first.getValue()));
+    }
+
+    @ExecFunction(name = "floor", argTypes = {"DOUBLE"}, returnType = "DOUBLE")
+    public static Literal floor(DoubleLiteral first) {
+        return new DoubleLiteral(Math.floor(first.getValue()));
+    }
+}
@@ -0,0 +1,208 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.nereids.trees.expressions.functions.executable;
+
+import org.apache.doris.nereids.trees.expressions.ExecFunction;
+import org.apache.doris.nereids.trees.expressions.literal.BooleanLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.NullLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.StringLikeLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.VarcharLiteral;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * executable functions on strings.
+ * The result must be the same as the one computed by BE, so operations work on utf-8 bytes
+ * where BE does, and only ascii letters are converted by upper and lower.
+ */
+public class StringArithmetic {
+
+    /**
+     * Executable string functions
+     */
+    @ExecFunction(name = "concat", argTypes = {"VARCHAR"}, returnType = "VARCHAR", varArgs = true)
+    public static Literal concat(StringLikeLiteral... values) {
+        StringBuilder builder = new StringBuilder();
+        for (StringLikeLiteral value : values) {
+            builder.append(value.getStringValue());
+        }
+        return new VarcharLiteral(builder.toString());
+    }
+
+    @ExecFunction(name = "upper", argTypes = {"VARCHAR"}, returnType = "VARCHAR")
+    public static Literal upper(StringLikeLiteral first) {
+        char[] chars = first.getStringValue().toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'a' && chars[i] <= 'z') {
+                chars[i] = (char) (chars[i] - 'a' + 'A');
+            }
+        }
+        return new VarcharLiteral(new String(chars));
+    }
+
+    @ExecFunction(name = "lower", argTypes = {"VARCHAR"}, returnType = "VARCHAR")
+    public static Literal lower(StringLikeLiteral first) {
+        char[] chars = first.getStringValue().toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] - 'A' + 'a');
+            }
+        }
+        return new VarcharLiteral(new String(chars));
+    }
+
+    @ExecFunction(name = "length", argTypes = {"VARCHAR"}, returnType = "INT")
+    public static Literal length(StringLikeLiteral first) {
+        return new IntegerLiteral(first.getStringValue().getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @ExecFunction(name = "trim", argTypes = {"VARCHAR"}, returnType = "VARCHAR")
+    public static Literal trim(StringLikeLiteral first) {
+        return new VarcharLiteral(trimSpace(first.getStringValue(), true, true));
+    }
+
+    @ExecFunction(name = "ltrim", argTypes = {"VARCHAR"}, returnType = "VARCHAR")
+    public static Literal ltrim(StringLikeLiteral first) {
+        return new VarcharLiteral(trimSpace(first.getStringValue(), true, false));
+    }
+
+    @ExecFunction(name = "rtrim", argTypes = {"VARCHAR"}, returnType = "VARCHAR")
+    public static Literal rtrim(StringLikeLiteral first) {
+        return new VarcharLiteral(trimSpace(first.getStringValue(), false, true));
+    }
+
+    @ExecFunction(name = "reverse", argTypes = {"VARCHAR"}, returnType = "VARCHAR")
+    public static Literal reverse(StringLikeLiteral first) {
+        // StringBuilder keeps surrogate pairs in order, so the characters are reversed as BE does on utf-8
+        return new VarcharLiteral(new StringBuilder(first.getStringValue()).reverse().toString());
+    }
+
+    @ExecFunction(name = "replace", argTypes = {"VARCHAR", "VARCHAR", "VARCHAR"}, returnType = "VARCHAR")
+    public static Literal replace(StringLikeLiteral first, StringLikeLiteral second, StringLikeLiteral third) {
+        if (second.getStringValue().isEmpty()) {
+            return new VarcharLiteral(first.getStringValue());
+        }
+        return new VarcharLiteral(first.getStringValue().replace(second.getStringValue(), third.getStringValue()));
+    }
+
+    @ExecFunction(name = "starts_with", argTypes = {"VARCHAR", "VARCHAR"}, returnType = "BOOLEAN")
+    public static Literal startsWith(StringLikeLiteral first, StringLikeLiteral second) {
+        return BooleanLiteral.of(first.getStringValue().startsWith(second.getStringValue()));
+    }
+
+    @ExecFunction(name = "ends_with", argTypes = {"VARCHAR", "VARCHAR"}, returnType = "BOOLEAN")
+    public static Literal endsWith(StringLikeLiteral first, StringLikeLiteral second) {
+        return BooleanLiteral.of(first.getStringValue().endsWith(second.getStringValue()));
+    }
+
+    @ExecFunction(name = "substring", argTypes = {"VARCHAR", "INT"}, returnType = "VARCHAR")
+    public static Literal substring(StringLikeLiteral first, IntegerLiteral second) {
+        byte[] bytes = first.getStringValue().getBytes(StandardCharsets.UTF_8);
+        return substringImpl(bytes, second.getValue(), bytes.length);
+    }
+
+    @ExecFunction(name = "substring", argTypes = {"VARCHAR", "INT", "INT"}, returnType = "VARCHAR")
+    public static Literal substring(StringLikeLiteral first, IntegerLiteral second, IntegerLiteral third) {
+        byte[] bytes = first.getStringValue().getBytes(StandardCharsets.UTF_8);
+        return substringImpl(bytes, second.getValue(), third.getValue());
+    }
+
+    @ExecFunction(name = "left", argTypes = {"VARCHAR", "INT"}, returnType = "VARCHAR")
+    public static Literal left(StringLikeLiteral first, IntegerLiteral second) {
+        byte[] bytes = first.getStringValue().getBytes(StandardCharsets.UTF_8);
+        return substringImpl(bytes, 1, second.getValue());
+    }
+
+    @ExecFunction(name = "right", argTypes = {"VARCHAR", "INT"}, returnType = "VARCHAR")
+    public static Literal right(StringLikeLiteral first, IntegerLiteral second) {
+        byte[] bytes = first.getStringValue().getBytes(StandardCharsets.UTF_8);
+        // int arithmetic on purpose, negating Integer.MIN_VALUE overflows the same way as in BE
+        int start = Math.max(-second.getValue(), -bytes.length);
+        return substringImpl(bytes, start, bytes.length);
+    }
+
+    private static String trimSpace(String value, boolean left, boolean right) {
+        int begin = 0;
+        int end = value.length();
+        while (left && begin < end && value.charAt(begin) == ' ') {
+            begin++;
+        }
+        while (right && end > begin && value.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return value.substring(begin, end);
+    }
+
+    /**
+     * the same algorithm as SubstringUtil::substring_execute of BE, start and len count utf-8 characters
+     * while the bounds are checked against the byte size.
+     */
+    private static Literal substringImpl(byte[] bytes, long start, long len) {
+        int size = bytes.length;
+        if (start > size || size == 0 || start == 0 || len <= 0) {
+            return new VarcharLiteral("");
+        }
+        List<Integer> index = new ArrayList<>();
+        for (int i = 0; i < size; i += utf8ByteLength(bytes[i])) {
+            index.add(i);
+            if (start > 0 && index.size() > start + len) {
+                break;
+            }
+        }
+        long pos = start;
+        if (pos < -index.size()) {
+            return new VarcharLiteral("");
+        }
+        if (pos < 0) {
+            pos = index.size() + pos + 1;
+        }
+        if (pos > index.size()) {
+            return new NullLiteral();
+        }
+        int bytePos = index.get((int) pos - 1);
+        int byteLen = size - bytePos;
+        if (pos + len <= index.size()) {
+            byteLen = index.get((int) (pos + len - 1)) - bytePos;
+        }
+        if (byteLen <= 0) {
+            return new VarcharLiteral("");
+        }
+        return new VarcharLiteral(new String(bytes, bytePos, byteLen, StandardCharsets.UTF_8));
+    }
+
+    private static int utf8ByteLength(byte first) {
+        int b = first & 0xFF;
+        if (b < 0xC0) {
+            return 1;
+        } else if (b < 0xE0) {
+            return 2;
+        } else if (b < 0xF0) {
+            return 3;
+        } else if (b < 0xF8) {
+            return 4;
+        } else if (b < 0xFC) {
+            return 5;
+        }
+        return 6;
+    }
+}
@@ -49,8 +49,11 @@ import org.apache.doris.datasource.InitCatalogLog;
 import org.apache.doris.datasource.InitDatabaseLog;
 import org.apache.doris.ha.MasterInfo;
 import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
 import org.apache.doris.journal.JournalCursor;
 import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.journal.JournalTask;
+import org.apache.doris.journal.JournalWriter;
 import org.apache.doris.journal.bdbje.BDBJEJournal;
 import org.apache.doris.journal.bdbje.Timestamp;
 import org.apache.doris.journal.local.LocalJournal;
@@ -104,6 +107,8 @@ public class EditLog {
     private long totalTimeTransactions;
 
     private Journal journal;
+    // not null only if edit logs are written in group commit mode
+    private JournalWriter journalWriter;
 
     /**
      * The constructor.
@@ -117,6 +122,9 @@ public class EditLog {
         } else {
             throw new IllegalArgumentException("Unknown edit log type: " + journalType);
         }
+        if (Config.enable_journal_group_commit) {
+            journalWriter = new JournalWriter(journal, this::onJournalBatchWritten);
+        }
     }
 
     public long getMaxJournalId() {
@@ -1017,6 +1025,9 @@ public class EditLog {
 
     public void open() {
         journal.open();
+        if (journalWriter != null) {
+            journalWriter.start();
+        }
     }
 
     /**
@@ -1027,9 +1038,73 @@ public class EditLog {
     }
 
     /**
-     * Write an operation to the edit log. Do not sync to persistent store yet.
+     * Write an operation to the edit log and wait until it is persisted.
+     */
+    private void logEdit(short op, Writable writable) {
+        if (journalWriter != null) {
+            logEditWithQueue(op, writable);
+        } else {
+            logEditDirectly(op, writable);
+        }
+    }
+
+    /**
+     * Put the operation into the queue of journal writer, and wait until the batch containing it is committed.
+     * The journal is serialized in the caller thread, so that the writer thread only needs to write bytes.
+     */
+    private void logEditWithQueue(short op, Writable writable) {
+        long start = System.currentTimeMillis();
+        long journalId = -1;
+        try {
+            JournalBatch batch = new JournalBatch(1);
+            batch.addJournal(op, writable);
+            JournalTask task = new JournalTask(batch.getJournalEntities().get(0));
+            journalWriter.submit(task);
+            journalId = task.get();
+        } catch (Throwable t) {
+            // Throwable contains all Exception and Error, such as IOException and
+            // OutOfMemoryError
+            LOG.error("Fatal Error : write stream Exception", t);
+            System.exit(-1);
+        }
+
+        long end = System.currentTimeMillis();
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((end - start));
+            MetricRepo.COUNTER_EDIT_LOG_CURRENT.increase(1L);
+            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase(1L);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("journal id = {}, op = {}, cost = {}ms", journalId, op, end - start);
+        }
+    }
+
+    /**
+     * Called by the journal writer after a batch is written, keep the same statistics and edit log rolling
+     * as writing the journals one by one.
      */
-    private synchronized void logEdit(short op, Writable writable) {
+    private synchronized void onJournalBatchWritten(int journalNum, long costMs) {
+        txId += journalNum;
+        numTransactions += journalNum;
+        totalTimeTransactions += costMs;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, batch size = {}", txId,
+                    numTransactions, totalTimeTransactions, journalNum);
+        }
+        rollEditLogIfNeeded();
+    }
+
+    private void rollEditLogIfNeeded() {
+        if (txId >= Config.edit_log_roll_num) {
+            LOG.info("txId {} is equal to or larger than edit_log_roll_num {}, will roll edit.", txId,
+                    Config.edit_log_roll_num);
+            rollEditLog();
+            txId = 0;
+        }
+    }
+
+    private synchronized void logEditDirectly(short op, Writable writable) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
@@ -1063,12 +1138,7 @@ public class EditLog {
                     totalTimeTransactions, op);
         }
 
-        if (txId >= Config.edit_log_roll_num) {
-            LOG.info("txId {} is equal to or larger than edit_log_roll_num {}, will roll edit.", txId,
-                    Config.edit_log_roll_num);
-            rollEditLog();
-            txId = 0;
-        }
+        rollEditLogIfNeeded();
 
         if (MetricRepo.isInit) {
             MetricRepo.COUNTER_EDIT_LOG_WRITE.increase(1L);
@@ -0,0 +1,185 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.persist.OperationType;
+import org.apache.doris.persist.ReplicaPersistInfo;
+import org.apache.doris.transaction.TransactionState;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Used by the checkpoint to reuse the serialized databases of the base image.
+ *
+ * The "db" module is the largest part of an image, but usually only a few databases are changed
+ * between two checkpoints. The checkpoint records the databases changed by the replayed journals,
+ * and when saving the new image, the databases which are not changed are copied from the base image
+ * instead of being serialized again.
+ *
+ * Only the journals listed in markDirty() are known to change no database or only one database.
+ * Any other journal marks all databases as dirty, so that a database is never reused by mistake.
+ */
+public class IncrementalImageContext implements Closeable {
+    private static final Logger LOG = LogManager.getLogger(IncrementalImageContext.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // only the checkpoint thread sets and uses it.
+    private static volatile IncrementalImageContext current = null;
+
+    private final File baseImage;
+    // db id -> [start, end) of the serialized db in base image
+    private final Map<Long, long[]> dbRanges;
+    private final Set<Long> dirtyDbIds = Sets.newHashSet();
+    private boolean allDbsDirty = false;
+    private RandomAccessFile baseImageFile = null;
+    private int reusedDbNum = 0;
+
+    private IncrementalImageContext(File baseImage, Map<Long, long[]> dbRanges) {
+        this.baseImage = baseImage;
+        this.dbRanges = dbRanges;
+    }
+
+    /*
+     * Return null if the base image does not have db indices, eg, it is written by an old version.
+     */
+    public static IncrementalImageContext create(File baseImage) throws IOException {
+        MetaFooter metaFooter = MetaFooter.read(baseImage);
+        List<MetaIndex> metaIndices = metaFooter.metaIndices;
+        List<MetaIndex> dbIndices = metaFooter.dbIndices;
+        if (dbIndices.isEmpty()) {
+            return null;
+        }
+        long dbModuleStart = -1;
+        long dbModuleEnd = metaFooter.getStartOffset(baseImage.length());
+        for (int i = 0; i < metaIndices.size(); i++) {
+            if (metaIndices.get(i).name.equals("db")) {
+                dbModuleStart = metaIndices.get(i).offset;
+                if (i < metaIndices.size() - 1) {
+                    dbModuleEnd = metaIndices.get(i + 1).offset;
+                }
+                break;
+            }
+        }
+        if (dbModuleStart < 0) {
+            return null;
+        }
+        Map<Long, long[]> dbRanges = Maps.newHashMap();
+        for (int i = 0; i < dbIndices.size(); i++) {
+            long start = dbModuleStart + dbIndices.get(i).offset;
+            long end = i < dbIndices.size() - 1 ? dbModuleStart + dbIndices.get(i + 1).offset : dbModuleEnd;
+            dbRanges.put(Long.parseLong(dbIndices.get(i).name), new long[] {start, end});
+        }
+        return new IncrementalImageContext(baseImage, dbRanges);
+    }
+
+    public static IncrementalImageContext get() {
+        return current;
+    }
+
+    public static void set(IncrementalImageContext context) {
+        current = context;
+    }
+
+    public void markDirty(JournalEntity journal) {
+        if (allDbsDirty) {
+            return;
+        }
+        switch (journal.getOpCode()) {
+            case OperationType.OP_TIMESTAMP:
+            case OperationType.OP_SAVE_NEXTID:
+            case OperationType.OP_SAVE_TRANSACTION_ID:
+            case OperationType.OP_BATCH_REMOVE_TXNS:
+            case OperationType.OP_DELETE_TRANSACTION_STATE:
+            case OperationType.OP_CREATE_LOAD_JOB:
+            case OperationType.OP_END_LOAD_JOB:
+            case OperationType.OP_UPDATE_LOAD_JOB:
+            case OperationType.OP_CLEAN_LABEL:
+            case OperationType.OP_CREATE_ROUTINE_LOAD_JOB:
+            case OperationType.OP_CHANGE_ROUTINE_LOAD_JOB:
+            case OperationType.OP_REMOVE_ROUTINE_LOAD_JOB:
+            case OperationType.OP_FETCH_STREAM_LOAD_RECORD:
+            case OperationType.OP_BACKEND_STATE_CHANGE:
+            case OperationType.OP_GLOBAL_VARIABLE_V2:
+                break;
+            case OperationType.OP_UPSERT_TRANSACTION_STATE:
+                dirtyDbIds.add(((TransactionState) journal.getData()).getDbId());
+                break;
+            case OperationType.OP_ADD_REPLICA:
+            case OperationType.OP_UPDATE_REPLICA:
+            case OperationType.OP_DELETE_REPLICA:
+                dirtyDbIds.add(((ReplicaPersistInfo) journal.getData()).getDbId());
+                break;
+            default:
+                allDbsDirty = true;
+                break;
+        }
+    }
+
+    /*
+     * Copy the serialized db from base image to the output stream if the db is not changed.
+     * Return false if the db should be serialized again.
+     */
+    public boolean copyDb(long dbId, DataOutputStream out) throws IOException {
+        long[] range = dbRanges.get(dbId);
+        if (allDbsDirty || range == null || dirtyDbIds.contains(dbId)) {
+            return false;
+        }
+        if (baseImageFile == null) {
+            baseImageFile = new RandomAccessFile(baseImage, "r");
+        }
+        baseImageFile.seek(range[0]);
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long remaining = range[1] - range[0];
+        while (remaining > 0) {
+            int len = (int) Math.min(buffer.length, remaining);
+            baseImageFile.readFully(buffer, 0, len);
+            out.write(buffer, 0, len);
+            remaining -= len;
+        }
+        reusedDbNum++;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        LOG.info("incremental image reused {} of {} dbs from {}, all dbs dirty: {}, dirty dbs: {}",
+                reusedDbNum, dbRanges.size(), baseImage.getName(), allDbsDirty, dirtyDbIds.size());
+        if (baseImageFile != null) {
+            try {
+                baseImageFile.close();
+            } catch (IOException e) {
+                LOG.warn("failed to close base image {}", baseImage.getName(), e);
+            }
+            baseImageFile = null;
+        }
+    }
+}
@@ -36,6 +36,11 @@ import java.util.List;
  * | | - index b                   |      |
  * | | ...                         |      |
  * | |-----------------------------|      |
+ * | |- db index ------------------|      |
+ * | | - db a                      |      |
+ * | | - db b                      |      |
+ * | | ...                         |      |
+ * | |-----------------------------|      |
  * | - other value(undecided)             |
  * |--------------------------------------|
  * - Footer Length (8 bytes)
@@ -54,6 +59,9 @@ public class MetaFooter {
     public long length;
     // meta indices
     public List<MetaIndex> metaIndices;
+    // the name of db index is the db id, and the offset is relative to the start of the "db" module.
+    // it is empty if the image is written by an old version.
+    public List<MetaIndex> dbIndices;
 
     public static MetaFooter read(File imageFile) throws IOException {
         try (RandomAccessFile raf = new RandomAccessFile(imageFile, "r")) {
@@ -81,12 +89,21 @@ public class MetaFooter {
                 MetaIndex index = MetaIndex.read(raf);
                 metaIndices.add(index);
             }
-            LOG.info("Image footer length: {}, indices: {}", footerLength, metaIndices.toArray());
-            return new MetaFooter(metaIndices, checksum, footerLength);
+            List<MetaIndex> dbIndices = Lists.newArrayList();
+            if (raf.getFilePointer() < footerLengthIndex) {
+                int dbIndexNum = raf.readInt();
+                for (int i = 0; i < dbIndexNum; i++) {
+                    dbIndices.add(MetaIndex.read(raf));
+                }
+            }
+            LOG.info("Image footer length: {}, indices: {}, db indices: {}", footerLength, metaIndices.toArray(),
+                    dbIndices.size());
+            return new MetaFooter(metaIndices, dbIndices, checksum, footerLength);
         }
     }
 
-    public static void write(File imageFile, List<MetaIndex> metaIndices, long checksum) throws IOException {
+    public static void write(File imageFile, List<MetaIndex> metaIndices, List<MetaIndex> dbIndices, long checksum)
+            throws IOException {
         try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
             long startIndex = raf.length();
             raf.seek(startIndex);
@@ -95,6 +112,10 @@ public class MetaFooter {
             for (MetaIndex metaIndex : metaIndices) {
                 MetaIndex.write(raf, metaIndex);
             }
+            raf.writeInt(dbIndices.size());
+            for (MetaIndex dbIndex : dbIndices) {
+                MetaIndex.write(raf, dbIndex);
+            }
             long endIndex = raf.length();
             raf.writeLong(endIndex - startIndex);
             MetaMagicNumber.write(raf);
@@ -102,9 +123,19 @@ public class MetaFooter {
         }
     }
 
+    // Return the offset where the footer starts, which is also the end of the image body.
+    public long getStartOffset(long imageFileLength) {
+        return imageFileLength - FOOTER_LENGTH_SIZE - MetaMagicNumber.MAGIC_STR.length() - length;
+    }
+
     public MetaFooter(List<MetaIndex> metaIndices, long checksum, long length) {
+        this(metaIndices, Lists.newArrayList(), checksum, length);
+    }
+
+    public MetaFooter(List<MetaIndex> metaIndices, List<MetaIndex> dbIndices, long checksum, long length) {
         this.checksum = checksum;
         this.metaIndices = metaIndices;
+        this.dbIndices = dbIndices;
         this.length = length;
     }
 
@@ -117,6 +148,7 @@ public class MetaFooter {
         for (MetaIndex metaIndex : metaIndices) {
             sb.append("\n\t").append(metaIndex.toString());
         }
+        sb.append("\ndb indices: ").append(dbIndices.size());
         return sb.toString();
     }
 }
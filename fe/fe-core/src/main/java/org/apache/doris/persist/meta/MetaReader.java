@@ -18,10 +18,14 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -31,6 +35,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Image Format:
@@ -74,6 +84,11 @@ public class MetaReader {
         MetaFooter metaFooter = MetaFooter.read(imageFile);
 
         long checksum = 0;
+        if (Config.metadata_image_parallelism > 1 && !metaFooter.metaIndices.isEmpty()) {
+            checksum = readInParallel(imageFile, env, metaHeader, metaFooter);
+            checkAndLog(metaFooter, checksum, loadImageStartTime);
+            return;
+        }
         try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(imageFile)))) {
             // 1. Skip image file header
             IOUtils.skipFully(dis, metaHeader.getEnd());
@@ -106,10 +121,89 @@ public class MetaReader {
             throw new IOException(e);
         }
 
+        checkAndLog(metaFooter, checksum, loadImageStartTime);
+    }
+
+    private static void checkAndLog(MetaFooter metaFooter, long checksum, long loadImageStartTime) {
         long remoteChecksum = metaFooter.checksum;
         Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
 
         long loadImageEndTime = System.currentTimeMillis();
         LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
     }
+
+    /*
+     * Read the header first, then read each module section from its own offset recorded in the footer.
+     * A module is read after the modules it depends on in PersistMetaModules.PARALLEL_LOAD_DEPENDENCIES,
+     * or after all the modules before it if it is not in the map.
+     * The checksum of each module is computed from 0 and XOR-ed together, same as the sequential reading.
+     */
+    private static long readInParallel(File imageFile, Env env, MetaHeader metaHeader, MetaFooter metaFooter)
+            throws IOException, DdlException {
+        List<MetaIndex> metaIndices = metaFooter.metaIndices;
+        long checksum = 0;
+        // 1. Read meta header first, which sets the meta version used by other modules.
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(imageFile)))) {
+            IOUtils.skipFully(dis, metaHeader.getEnd());
+            checksum = env.loadHeader(dis, metaHeader, checksum);
+        }
+
+        // 2. Read other meta modules in parallel
+        long bodyEnd = metaFooter.getStartOffset(imageFile.length());
+        List<CompletableFuture<Long>> futures = Lists.newArrayList();
+        List<String> names = Lists.newArrayList();
+        Map<String, CompletableFuture<Long>> nameToFuture = Maps.newHashMap();
+        try (MetaSectionExecutor executor = new MetaSectionExecutor(Config.metadata_image_parallelism,
+                "image-section-reader")) {
+            for (int i = 0; i < metaIndices.size(); ++i) {
+                MetaIndex metaIndex = metaIndices.get(i);
+                if (metaIndex.name.equals("header")) {
+                    continue;
+                }
+                if (metaIndex.name.equals("loadJob") || metaIndex.name.equals("cooldownJob")) {
+                    LOG.info("Skip {} module", metaIndex.name);
+                    continue;
+                }
+                MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
+                if (persistMethod == null) {
+                    throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
+                            + PersistMetaModules.MODULE_NAMES);
+                }
+
+                List<CompletableFuture<?>> dependencies = Lists.newArrayList();
+                Set<String> dependencyNames = PersistMetaModules.PARALLEL_LOAD_DEPENDENCIES.get(metaIndex.name);
+                if (dependencyNames == null) {
+                    dependencies.addAll(futures);
+                } else {
+                    // the modules not in the image, e.g. of an older version, are not waited
+                    dependencyNames.stream().map(nameToFuture::get).filter(Objects::nonNull)
+                            .forEach(dependencies::add);
+                }
+
+                long offset = metaIndex.offset;
+                long end = i < metaIndices.size() - 1 ? metaIndices.get(i + 1).offset : bodyEnd;
+                CompletableFuture<Long> future = executor.submitAfter(dependencies, () -> {
+                    try (FileInputStream fis = new FileInputStream(imageFile)) {
+                        fis.getChannel().position(offset);
+                        DataInputStream dis = new DataInputStream(new BufferedInputStream(
+                                new BoundedInputStream(fis, end - offset)));
+                        return (long) persistMethod.readMethod.invoke(env, dis, 0L);
+                    }
+                });
+                futures.add(future);
+                names.add(metaIndex.name);
+                nameToFuture.put(metaIndex.name, future);
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    checksum ^= futures.get(i).join();
+                } catch (CompletionException e) {
+                    LOG.warn("failed to read meta module: {}", names.get(i), e);
+                    throw new IOException("failed to read meta module: " + names.get(i), e.getCause());
+                }
+            }
+        }
+        return checksum;
+    }
 }
@@ -0,0 +1,96 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.meta.MetaContext;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run the save or load of image sections in parallel.
+ * The worker threads inherit the meta context of the caller, and are treated as checkpoint thread
+ * if the caller is the checkpoint thread, so that they visit the same Env as the caller.
+ */
+public class MetaSectionExecutor implements AutoCloseable {
+    private final ThreadPoolExecutor executor;
+    private final MetaContext metaContext;
+    private final boolean isCheckpoint;
+
+    public MetaSectionExecutor(int parallelism, String name) {
+        this.executor = ThreadPoolManager.newDaemonFixedThreadPool(parallelism, Integer.MAX_VALUE, name, false);
+        this.metaContext = MetaContext.get();
+        this.isCheckpoint = Env.isCheckpointThread();
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> call(task), executor);
+    }
+
+    // Run the task after all the dependencies are done. It fails if any of the dependencies fails.
+    public <T> CompletableFuture<T> submitAfter(List<CompletableFuture<?>> dependencies, Callable<T> task) {
+        return CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+                .thenApplyAsync(v -> call(task), executor);
+    }
+
+    private <T> T call(Callable<T> task) {
+        if (metaContext != null) {
+            metaContext.setThreadLocalInfo();
+        }
+        if (isCheckpoint) {
+            Env.registerCheckpointWorkerThread();
+        }
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            if (isCheckpoint) {
+                Env.unregisterCheckpointWorkerThread();
+            }
+            MetaContext.remove();
+        }
+    }
+
+    // Cancel the tasks not started yet, and wait for the running ones to finish, because they may still visit Env
+    // or the section files. So the caller can clean up the section files after it returns.
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
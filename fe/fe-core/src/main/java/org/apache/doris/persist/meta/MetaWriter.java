@@ -18,6 +18,7 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Reference;
 import org.apache.doris.common.io.CountingDataOutputStream;
 
@@ -30,7 +31,10 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Image Format:
@@ -79,6 +83,9 @@ public class MetaWriter {
 
     private Delegate delegate;
 
+    // db indices of the image being written, see MetaFooter.
+    private final List<MetaIndex> dbIndices = Lists.newArrayList();
+
     public void setDelegate(CountingDataOutputStream dos, List<MetaIndex> indices) {
         this.delegate = (name, method) -> {
             indices.add(new MetaIndex(name, dos.getCount()));
@@ -86,6 +93,10 @@ public class MetaWriter {
         };
     }
 
+    public void addDbIndex(long dbId, long offsetInModule) {
+        dbIndices.add(new MetaIndex(String.valueOf(dbId), offsetInModule));
+    }
+
     public long doWork(String name, WriteMethod method) throws IOException {
         if (delegate == null) {
             return method.write();
@@ -102,6 +113,7 @@ public class MetaWriter {
         // MetaHeader should use output stream in the future.
         long startPosition = MetaHeader.write(imageFile);
         List<MetaIndex> metaIndices = Lists.newArrayList();
+        writer.dbIndices.clear();
         FileOutputStream imageFileOut = new FileOutputStream(imageFile, true);
         try (CountingDataOutputStream dos = new CountingDataOutputStream(new BufferedOutputStream(imageFileOut),
                 startPosition)) {
@@ -111,24 +123,76 @@ public class MetaWriter {
             checksum.setRef(
                     writer.doWork("header", () -> env.saveHeader(dos, replayedJournalId, checksum.getRef())));
             // 2. write other modules
-            for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
-                checksum.setRef(writer.doWork(m.name, () -> {
-                    try {
-                        return (long) m.writeMethod.invoke(env, dos, checksum.getRef());
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        LOG.warn("failed to write meta module: {}", m.name, e);
-                        throw new RuntimeException(e);
-                    }
-                }));
+            if (Config.metadata_image_parallelism > 1) {
+                checksum.setRef(writeModulesInParallel(imageFile, env, dos, metaIndices, checksum.getRef()));
+            } else {
+                for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+                    checksum.setRef(writer.doWork(m.name, () -> {
+                        try {
+                            return (long) m.writeMethod.invoke(env, dos, checksum.getRef());
+                        } catch (IllegalAccessException | InvocationTargetException e) {
+                            LOG.warn("failed to write meta module: {}", m.name, e);
+                            throw new RuntimeException(e);
+                        }
+                    }));
+                }
             }
             // 3. force sync to disk
             imageFileOut.getChannel().force(true);
         }
-        MetaFooter.write(imageFile, metaIndices, checksum.getRef());
+        MetaFooter.write(imageFile, metaIndices, writer.dbIndices, checksum.getRef());
 
         long saveImageEndTime = System.currentTimeMillis();
         LOG.info("finished save image {} in {} ms. checksum is {}", imageFile.getAbsolutePath(),
                 (saveImageEndTime - saveImageStartTime), checksum.getRef());
     }
 
+    /*
+     * Each module is written to its own temp section file in parallel, and then the section files are
+     * appended to the image in the same order as the sequential writing, so the image format is not changed.
+     * The checksum of each module is computed from 0. Since all modules update the checksum by XOR,
+     * XOR-ing them together gets the same checksum as the sequential writing.
+     */
+    private static long writeModulesInParallel(File imageFile, Env env, CountingDataOutputStream dos,
+            List<MetaIndex> metaIndices, long checksum) throws IOException {
+        List<MetaPersistMethod> modules = PersistMetaModules.MODULES_IN_ORDER;
+        List<File> sectionFiles = Lists.newArrayList();
+        List<CompletableFuture<Long>> futures = Lists.newArrayList();
+        try (MetaSectionExecutor executor = new MetaSectionExecutor(Config.metadata_image_parallelism,
+                "image-section-writer")) {
+            for (MetaPersistMethod m : modules) {
+                File sectionFile = new File(imageFile.getParentFile(), imageFile.getName() + ".section." + m.name);
+                sectionFiles.add(sectionFile);
+                futures.add(executor.submit(() -> {
+                    try (FileOutputStream sectionOut = new FileOutputStream(sectionFile);
+                            CountingDataOutputStream sectionDos = new CountingDataOutputStream(
+                                    new BufferedOutputStream(sectionOut))) {
+                        long sectionChecksum = (long) m.writeMethod.invoke(env, sectionDos, 0L);
+                        sectionDos.flush();
+                        return sectionChecksum;
+                    }
+                }));
+            }
+
+            for (int i = 0; i < modules.size(); i++) {
+                String name = modules.get(i).name;
+                try {
+                    checksum ^= futures.get(i).join();
+                } catch (CompletionException e) {
+                    LOG.warn("failed to write meta module: {}", name, e);
+                    throw new IOException("failed to write meta module: " + name, e.getCause());
+                }
+                metaIndices.add(new MetaIndex(name, dos.getCount()));
+                Files.copy(sectionFiles.get(i).toPath(), dos);
+                Files.delete(sectionFiles.get(i).toPath());
+            }
+        } finally {
+            // the executor is closed before, which waits for all the running writers
+            for (File sectionFile : sectionFiles) {
+                Files.deleteIfExists(sectionFile.toPath());
+            }
+        }
+        return checksum;
+    }
+
 }
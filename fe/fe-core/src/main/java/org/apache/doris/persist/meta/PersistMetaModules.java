@@ -18,6 +18,8 @@
 package org.apache.doris.persist.meta;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -40,6 +42,50 @@ public class PersistMetaModules {
             "paloAuth", "transactionState", "colocateTableIndex", "routineLoadJobs", "loadJobV2", "smallFiles",
             "plugins", "deleteHandler", "sqlBlockRule", "policy", "mtmvJobManager");
 
+    // The modules each module depends on when the image is loaded in parallel. A module is loaded after the
+    // modules it depends on, and in parallel with the others. The dependencies of a module are the modules whose
+    // state its load reads or changes, other than the meta version and the managers with their own locks:
+    // - datasource: CatalogMgr.read() replaces the catalog manager, including the internal catalog.
+    // - db: the databases are added to the internal catalog, the transaction managers of the databases are
+    //   created, and the tablets are added to TabletInvertedIndex.
+    // - alterJob: the pending alter jobs add the tablets of their shadow indexes to the tables and the index.
+    // - recycleBin: the tablets in the recycle bin are added to the index, and the transaction managers of
+    //   the dbs in the recycle bin are created.
+    // - cluster: the databases and the backends are added to the default cluster.
+    // - syncJob, backupHandler: the jobs refer to the databases and tables.
+    // - transactionState: the transactions are added to the transaction managers of their dbs.
+    // - loadJobV2: a pending mini load job is dropped if its transaction is not found.
+    // The other modules in this map only deserialize their own managers, parse their own statements, or
+    // register callbacks in the synchronized TxnStateCallbackFactory, so they depend on nothing.
+    // A module not in this map, e.g. plugins which loads plugin classes, depends on all the modules before it,
+    // which means it is loaded after all of them, as the sequential loading does.
+    public static final ImmutableMap<String, ImmutableSet<String>> PARALLEL_LOAD_DEPENDENCIES
+            = ImmutableMap.<String, ImmutableSet<String>>builder()
+            .put("masterInfo", ImmutableSet.of())
+            .put("frontends", ImmutableSet.of())
+            .put("backends", ImmutableSet.of())
+            .put("datasource", ImmutableSet.of())
+            .put("db", ImmutableSet.of("datasource"))
+            .put("alterJob", ImmutableSet.of("db"))
+            .put("recycleBin", ImmutableSet.of("db"))
+            .put("globalVariable", ImmutableSet.of())
+            .put("cluster", ImmutableSet.of("db", "backends"))
+            .put("broker", ImmutableSet.of())
+            .put("resources", ImmutableSet.of())
+            .put("exportJob", ImmutableSet.of())
+            .put("syncJob", ImmutableSet.of("db"))
+            .put("backupHandler", ImmutableSet.of("db"))
+            .put("paloAuth", ImmutableSet.of())
+            .put("transactionState", ImmutableSet.of("db", "recycleBin"))
+            .put("colocateTableIndex", ImmutableSet.of())
+            .put("routineLoadJobs", ImmutableSet.of())
+            .put("loadJobV2", ImmutableSet.of("transactionState"))
+            .put("smallFiles", ImmutableSet.of())
+            .put("deleteHandler", ImmutableSet.of())
+            .put("sqlBlockRule", ImmutableSet.of())
+            .put("policy", ImmutableSet.of())
+            .build();
+
     static {
         MODULES_MAP = Maps.newHashMap();
         MODULES_IN_ORDER = Lists.newArrayList();
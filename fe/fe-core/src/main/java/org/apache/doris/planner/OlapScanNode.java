@@ -26,6 +26,7 @@ import org.apache.doris.analysis.DescriptorTable;
 import org.apache.doris.analysis.Expr;
 import org.apache.doris.analysis.InPredicate;
 import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
 import org.apache.doris.analysis.PartitionNames;
 import org.apache.doris.analysis.SlotDescriptor;
 import org.apache.doris.analysis.SlotRef;
@@ -81,6 +82,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -176,8 +178,8 @@ public class OlapScanNode extends ScanNode {
     public ArrayListMultimap<Integer, TScanRangeLocations> bucketSeq2locations = ArrayListMultimap.create();
 
     boolean isFromPrepareStmt = false;
-    // For point query
-    private Map<SlotRef, Expr> pointQueryEqualPredicats;
+    // For point query, values of key columns sorted by column unique id
+    private Map<SlotRef, List<Expr>> pointQueryKeyValues;
     private DescriptorTable descTable;
 
     // Constructs node to scan given data files of table 'tbl'.
@@ -602,7 +604,6 @@ public class OlapScanNode extends ScanNode {
 
     private Collection<Long> partitionPrune(PartitionInfo partitionInfo,
             PartitionNames partitionNames) throws AnalysisException {
-        PartitionPruner partitionPruner = null;
         Map<Long, PartitionItem> keyItemMap;
         if (partitionNames != null) {
             keyItemMap = Maps.newHashMap();
@@ -617,19 +618,26 @@ public class OlapScanNode extends ScanNode {
             keyItemMap = partitionInfo.getIdToItem(false);
         }
 
+        return createPartitionPruner(partitionInfo, keyItemMap, columnNameToRange).prune();
+    }
+
+    private PartitionPruner createPartitionPruner(PartitionInfo partitionInfo, Map<Long, PartitionItem> keyItemMap,
+            Map<String, ColumnRange> columnRanges) {
+        PartitionPruner partitionPruner = null;
         if (partitionInfo.getType() == PartitionType.RANGE) {
             partitionPruner = new RangePartitionPrunerV2(keyItemMap,
-                    partitionInfo.getPartitionColumns(), columnNameToRange);
+                    partitionInfo.getPartitionColumns(), columnRanges);
         } else if (partitionInfo.getType() == PartitionType.LIST) {
             partitionPruner = new ListPartitionPrunerV2(keyItemMap, partitionInfo.getPartitionColumns(),
-                    columnNameToRange);
+                    columnRanges);
         }
-        return partitionPruner.prune();
+        return partitionPruner;
     }
 
     private Collection<Long> distributionPrune(
             MaterializedIndex table,
-            DistributionInfo distributionInfo) throws AnalysisException {
+            DistributionInfo distributionInfo,
+            Map<String, PartitionColumnFilter> columnFilters) throws AnalysisException {
         DistributionPruner distributionPruner = null;
         switch (distributionInfo.getType()) {
             case HASH: {
@@ -885,16 +893,16 @@ public class OlapScanNode extends ScanNode {
         return this.isFromPrepareStmt;
     }
 
-    public void setPointQueryEqualPredicates(Map<SlotRef, Expr> predicates) {
-        this.pointQueryEqualPredicats = predicates;
+    public void setPointQueryKeyValues(Map<SlotRef, List<Expr>> keyValues) {
+        this.pointQueryKeyValues = keyValues;
     }
 
-    public Map<SlotRef, Expr> getPointQueryEqualPredicates() {
-        return this.pointQueryEqualPredicats;
+    public Map<SlotRef, List<Expr>> getPointQueryKeyValues() {
+        return this.pointQueryKeyValues;
     }
 
     public boolean isPointQuery() {
-        return this.pointQueryEqualPredicats != null;
+        return this.pointQueryKeyValues != null;
     }
 
     private void computeTabletInfo() throws UserException {
@@ -908,7 +916,8 @@ public class OlapScanNode extends ScanNode {
             final Partition partition = olapTable.getPartition(partitionId);
             final MaterializedIndex selectedTable = partition.getIndex(selectedIndexId);
             final List<Tablet> tablets = Lists.newArrayList();
-            final Collection<Long> tabletIds = distributionPrune(selectedTable, partition.getDistributionInfo());
+            final Collection<Long> tabletIds = distributionPrune(selectedTable, partition.getDistributionInfo(),
+                    columnFilters);
             LOG.debug("distribution prune tablets: {}", tabletIds);
             if (sampleTabletIds.size() != 0) {
                 tabletIds.retainAll(sampleTabletIds);
@@ -998,6 +1007,55 @@ public class OlapScanNode extends ScanNode {
         return result;
     }
 
+    /**
+     * Only called when Coordinator exec in point query, after lazyEvaluateRangeLocations().
+     * Returns the tablet of each key, the values of a key are in the order of getPointQueryKeyValues().
+     * The tablet is -1 if the key is in none of the selected partitions.
+     */
+    public List<Long> lazyEvaluateKeyTablets(List<List<LiteralExpr>> keys) throws UserException {
+        List<Column> keyColumns = Lists.newArrayList();
+        for (SlotRef slot : pointQueryKeyValues.keySet()) {
+            keyColumns.add(slot.getColumn());
+        }
+        PartitionInfo partitionInfo = olapTable.getPartitionInfo();
+        Map<Long, PartitionItem> keyItemMap = Maps.newHashMap();
+        for (Long partitionId : selectedPartitionIds) {
+            keyItemMap.put(partitionId, partitionInfo.getItem(partitionId));
+        }
+        List<Long> keyTablets = Lists.newArrayListWithCapacity(keys.size());
+        for (List<LiteralExpr> key : keys) {
+            // prune with the equal filters of the key, the same as getScanRangeLocations()
+            Map<String, PartitionColumnFilter> keyFilters = Maps.newHashMap();
+            Map<String, ColumnRange> keyRanges = Maps.newHashMap();
+            for (int i = 0; i < keyColumns.size(); i++) {
+                PartitionColumnFilter filter = new PartitionColumnFilter();
+                filter.setLowerBound(key.get(i), true);
+                filter.setUpperBound(key.get(i), true);
+                keyFilters.put(keyColumns.get(i).getName(), filter);
+                ColumnRange columnRange = ColumnRange.create();
+                columnRange.intersect(Lists.newArrayList(Range.singleton(ColumnBound.of(key.get(i)))));
+                keyRanges.put(keyColumns.get(i).getName(), columnRange);
+            }
+            Collection<Long> partitionIds = selectedPartitionIds;
+            if (selectedPartitionIds.size() > 1) {
+                partitionIds = createPartitionPruner(partitionInfo, keyItemMap, keyRanges).prune();
+            }
+            if (partitionIds == null || partitionIds.size() != 1) {
+                keyTablets.add(-1L);
+                continue;
+            }
+            Partition partition = olapTable.getPartition(partitionIds.iterator().next());
+            Collection<Long> tabletIds = distributionPrune(partition.getIndex(selectedIndexId),
+                    partition.getDistributionInfo(), keyFilters);
+            if (tabletIds == null) {
+                throw new UserException("point query only supports hash distributed table");
+            }
+            Preconditions.checkState(tabletIds.size() == 1, "key " + key + " is in " + tabletIds.size() + " tablets");
+            keyTablets.add(tabletIds.iterator().next());
+        }
+        return keyTablets;
+    }
+
     public void setDescTable(DescriptorTable descTable) {
         this.descTable = descTable;
     }
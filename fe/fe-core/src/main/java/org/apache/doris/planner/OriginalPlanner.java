@@ -267,14 +267,14 @@ public class OriginalPlanner extends Planner {
                 // Optimize for point query like: SELECT * FROM t1 WHERE pk1 = 1 and pk2 = 2
                 // such query will use direct RPC to do point query
                 LOG.debug("it's a point query");
-                Map<SlotRef, Expr> eqConjuncts = ((SelectStmt) selectStmt).getPointQueryEQPredicates();
+                Map<SlotRef, List<Expr>> keyValues = ((SelectStmt) selectStmt).getPointQueryKeyValues();
                 OlapScanNode olapScanNode = (OlapScanNode) singleNodePlan;
                 olapScanNode.setDescTable(analyzer.getDescTbl());
-                olapScanNode.setPointQueryEqualPredicates(eqConjuncts);
+                olapScanNode.setPointQueryKeyValues(keyValues);
                 if (analyzer.getPrepareStmt() != null) {
                     // Cache them for later request better performance
-                    analyzer.getPrepareStmt().cacheSerializedDescriptorTable(olapScanNode.getDescTable());
-                    analyzer.getPrepareStmt().cacheSerializedOutputExprs(rootFragment.getOutputExprs());
+                    analyzer.getPrepareStmt().cacheSerializedContext(olapScanNode.getDescTable(),
+                            rootFragment.getOutputExprs());
                 }
             } else if (selectStmt.isTwoPhaseReadOptEnabled()) {
                 // Optimize query like `SELECT ... FROM <tbl> WHERE ... ORDER BY ... LIMIT ...`
@@ -26,21 +26,50 @@ import org.apache.doris.resource.Tag;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.BeSelectionPolicy;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import org.apache.hadoop.mapred.FileSplit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 public class BackendPolicy {
     private static final Logger LOG = LogManager.getLogger(BackendPolicy.class);
+    // virtual nodes of each backend on the consistent hash ring
+    private static final int VIRTUAL_NODES = 32;
+    // a backend takes the splits hashed to it until its bytes exceed the average bytes of backends by this ratio
+    private static final double MAX_SKEW_RATIO = 0.2;
+
     private final List<Backend> backends = Lists.newArrayList();
+    // hash -> backend, the consistent hash ring to find the backend of a split
+    private final TreeMap<Long, Backend> hashRing = new TreeMap<>();
+    private final Map<Long, Backend> idToBackend = Maps.newHashMap();
 
     private int nextBe = 0;
 
     public void init() throws UserException {
+        init(null);
+    }
+
+    /**
+     * Selects the candidate backends for the scan of the table. The same backends are selected for the table by
+     * every query, so that the splits of the table are assigned to the same backends and hit their file cache.
+     */
+    public void init(long tableId) throws UserException {
+        init(Long.valueOf(tableId));
+    }
+
+    private void init(Long tableId) throws UserException {
         Set<Tag> tags = Sets.newHashSet();
         if (ConnectContext.get() != null && ConnectContext.get().getCurrentUserIdentity() != null) {
             String qualifiedUser = ConnectContext.get().getCurrentUserIdentity().getQualifiedUser();
@@ -53,17 +82,30 @@ public class BackendPolicy {
         }
 
         // scan node is used for query
-        BeSelectionPolicy policy = new BeSelectionPolicy.Builder()
+        BeSelectionPolicy.Builder builder = new BeSelectionPolicy.Builder()
                 .needQueryAvailable()
                 .needLoadAvailable()
                 .addTags(tags)
                 .preferComputeNode()
-                .assignCandidateNum(Config.backend_num_for_federation)
-                .build();
-        backends.addAll(policy.getCandidateBackends(Env.getCurrentSystemInfo().getIdToBackend().values()));
+                .assignCandidateNum(Config.backend_num_for_federation);
+        if (tableId != null) {
+            builder.assignAffinityKey(tableId);
+        }
+        BeSelectionPolicy policy = builder.build();
+        init(policy.getCandidateBackends(Env.getCurrentSystemInfo().getIdToBackend().values()));
+    }
+
+    void init(List<Backend> candidateBackends) throws UserException {
+        backends.addAll(candidateBackends);
         if (backends.isEmpty()) {
             throw new UserException("No available backends");
         }
+        for (Backend backend : backends) {
+            idToBackend.put(backend.getId(), backend);
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                hashRing.put(hash(backend.getId() + "::" + i), backend);
+            }
+        }
     }
 
     public Backend getNextBe() {
@@ -75,4 +117,63 @@ public class BackendPolicy {
     public int numBackends() {
         return backends.size();
     }
+
+    public Backend getBackend(long backendId) {
+        return idToBackend.get(backendId);
+    }
+
+    /**
+     * Assigns the splits to the backends. A split goes to the backend found by consistent hashing on its path and
+     * start, so that repeated queries read it on the same backend and hit the file cache there. If that backend
+     * already has too many bytes, the next backend on the hash ring is tried, and at last the backend with the
+     * least bytes is chosen, so that the total bytes of backends are balanced.
+     * The splits are returned by backend id, because the equality of a Backend changes with its alive state.
+     */
+    public Map<Long, List<FileSplit>> assignSplits(List<FileSplit> splits) {
+        Map<Long, List<FileSplit>> assignment = Maps.newLinkedHashMap();
+        Map<Long, Long> assignedBytes = Maps.newHashMap();
+        for (Backend backend : backends) {
+            assignment.put(backend.getId(), Lists.newArrayList());
+            assignedBytes.put(backend.getId(), 0L);
+        }
+        long totalBytes = 0;
+        long maxSplitBytes = 0;
+        for (FileSplit split : splits) {
+            totalBytes += split.getLength();
+            maxSplitBytes = Math.max(maxSplitBytes, split.getLength());
+        }
+        long maxBytesPerBackend = Math.max((long) (totalBytes / backends.size() * (1 + MAX_SKEW_RATIO)),
+                maxSplitBytes);
+        // assign the large splits first, so that the small ones fill up the gaps between backends
+        List<FileSplit> sortedSplits = splits.stream()
+                .sorted(Comparator.comparingLong(FileSplit::getLength).reversed())
+                .collect(Collectors.toList());
+        for (FileSplit split : sortedSplits) {
+            long backendId = findBackend(split, assignedBytes, maxBytesPerBackend);
+            assignment.get(backendId).add(split);
+            assignedBytes.put(backendId, assignedBytes.get(backendId) + split.getLength());
+        }
+        return assignment;
+    }
+
+    private long findBackend(FileSplit split, Map<Long, Long> assignedBytes, long maxBytesPerBackend) {
+        long hash = hash(split.getPath().toString() + ":" + split.getStart());
+        Set<Long> visited = Sets.newHashSet();
+        for (Backend backend : Iterables.concat(hashRing.tailMap(hash).values(), hashRing.headMap(hash).values())) {
+            if (!visited.add(backend.getId())) {
+                continue;
+            }
+            if (assignedBytes.get(backend.getId()) + split.getLength() <= maxBytesPerBackend) {
+                return backend.getId();
+            }
+            if (visited.size() == backends.size()) {
+                break;
+            }
+        }
+        return backends.stream().map(Backend::getId).min(Comparator.comparingLong(assignedBytes::get)).get();
+    }
+
+    private static long hash(String key) {
+        return Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asLong();
+    }
 }
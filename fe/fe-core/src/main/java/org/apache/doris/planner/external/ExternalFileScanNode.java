@@ -195,7 +195,12 @@ public class ExternalFileScanNode extends ExternalScanNode {
                 throw new UserException("Unknown type: " + type);
         }
 
-        backendPolicy.init();
+        if (type == Type.QUERY) {
+            // the same backends scan the files of the table in every query, to hit their file cache
+            backendPolicy.init(desc.getTable().getId());
+        } else {
+            backendPolicy.init();
+        }
         numNodes = backendPolicy.numBackends();
 
         initParamCreateContexts(analyzer);
@@ -229,7 +234,7 @@ public class ExternalFileScanNode extends ExternalScanNode {
                 throw new UserException("Unknown type: " + type);
         }
 
-        backendPolicy.init();
+        backendPolicy.init(desc.getTable().getId());
         numNodes = backendPolicy.numBackends();
         for (FileScanProviderIf scanProvider : scanProviders) {
             ParamCreateContext context = scanProvider.createContext(analyzer);
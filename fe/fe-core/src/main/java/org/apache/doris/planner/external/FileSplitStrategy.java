@@ -18,25 +18,45 @@
 package org.apache.doris.planner.external;
 
 import org.apache.doris.common.Config;
+import org.apache.doris.qe.ConnectContext;
 
 import org.apache.hadoop.mapred.FileSplit;
 
 public class FileSplitStrategy {
+    // the smallest target size of a scan range, so that small files are not scattered into too many tiny ranges
+    private static final long MIN_TARGET_SPLIT_SIZE = 32 * 1024 * 1024; // 32mb
+
+    private final long targetSplitSize;
     private long totalSplitSize;
     private int splitNum;
 
-    FileSplitStrategy() {
+    FileSplitStrategy(long targetSplitSize) {
+        this.targetSplitSize = targetSplitSize;
         this.totalSplitSize = 0;
         this.splitNum = 0;
     }
 
+    /**
+     * Returns the target size of a scan range, which is the bytes of a backend divided by the parallel instances
+     * on it, within [32mb, file_scan_node_split_size]. So the files of a small table are coalesced into a few
+     * ranges, and a large table still gets enough ranges to be scanned by all instances.
+     */
+    public static long getTargetSplitSize(long totalBytes, int numBackends) {
+        int parallelInstanceNum = 1;
+        if (ConnectContext.get() != null) {
+            parallelInstanceNum = Math.max(1, ConnectContext.get().getSessionVariable().getParallelExecInstanceNum());
+        }
+        long targetSplitSize = totalBytes / Math.max(1, numBackends) / parallelInstanceNum;
+        return Math.min(Config.file_scan_node_split_size, Math.max(MIN_TARGET_SPLIT_SIZE, targetSplitSize));
+    }
+
     public void update(FileSplit split) {
         totalSplitSize += split.getLength();
         splitNum++;
     }
 
     public boolean hasNext() {
-        return totalSplitSize > Config.file_scan_node_split_size || splitNum > Config.file_scan_node_split_num;
+        return totalSplitSize > targetSplitSize || splitNum > Config.file_scan_node_split_num;
     }
 
     public void next() {
@@ -42,6 +42,7 @@ import org.apache.doris.thrift.TScanRangeLocation;
 import org.apache.doris.thrift.TScanRangeLocations;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
 import org.apache.hadoop.hive.ql.io.orc.OrcSplit;
 import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputSplit;
@@ -106,45 +107,54 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
             } else if (locationType == TFileType.FILE_S3) {
                 context.params.setProperties(locationProperties);
             }
-            TScanRangeLocations curLocations = newLocations(context.params, backendPolicy);
-
-            FileSplitStrategy fileSplitStrategy = new FileSplitStrategy();
-
+            List<FileSplit> fileSplits = Lists.newArrayListWithCapacity(inputSplits.size());
+            long totalFileSize = 0;
             for (InputSplit split : inputSplits) {
-                FileSplit fileSplit = (FileSplit) split;
-                List<String> pathPartitionKeys = getPathPartitionKeys();
-                List<String> partitionValuesFromPath = BrokerUtil.parseColumnsFromPath(fileSplit.getPath().toString(),
-                        pathPartitionKeys, false);
-
-                TFileRangeDesc rangeDesc = createFileRangeDesc(fileSplit, partitionValuesFromPath, pathPartitionKeys);
-                // external data lake table
-                if (split instanceof IcebergSplit) {
-                    IcebergScanProvider.setIcebergParams(rangeDesc, (IcebergSplit) split);
-                }
-
-                // file size of orc files is not correct get by FileSplit.getLength(),
-                // broker reader needs correct file size
-                if (locationType == TFileType.FILE_BROKER && fileFormatType == TFileFormatType.FORMAT_ORC) {
-                    rangeDesc.setFileSize(((OrcSplit) fileSplit).getFileLength());
-                }
+                fileSplits.add((FileSplit) split);
+                totalFileSize += split.getLength();
+            }
+            long targetSplitSize = FileSplitStrategy.getTargetSplitSize(totalFileSize, backendPolicy.numBackends());
+            List<String> pathPartitionKeys = getPathPartitionKeys();
+            // the splits of a backend are coalesced into scan ranges of about the target size
+            for (Map.Entry<Long, List<FileSplit>> entry : backendPolicy.assignSplits(fileSplits).entrySet()) {
+                Backend backend = backendPolicy.getBackend(entry.getKey());
+                TScanRangeLocations curLocations = newLocations(context.params, backend);
+                FileSplitStrategy fileSplitStrategy = new FileSplitStrategy(targetSplitSize);
+                for (FileSplit fileSplit : entry.getValue()) {
+                    List<String> partitionValuesFromPath = BrokerUtil.parseColumnsFromPath(
+                            fileSplit.getPath().toString(), pathPartitionKeys, false);
+
+                    TFileRangeDesc rangeDesc = createFileRangeDesc(fileSplit, partitionValuesFromPath,
+                            pathPartitionKeys);
+                    // external data lake table
+                    if (fileSplit instanceof IcebergSplit) {
+                        IcebergScanProvider.setIcebergParams(rangeDesc, (IcebergSplit) fileSplit);
+                    }
 
-                curLocations.getScanRange().getExtScanRange().getFileScanRange().addToRanges(rangeDesc);
-                LOG.debug("assign to backend {} with table split: {} ({}, {}), location: {}",
-                        curLocations.getLocations().get(0).getBackendId(), fileSplit.getPath(), fileSplit.getStart(),
-                        fileSplit.getLength(), Joiner.on("|").join(split.getLocations()));
+                    // file size of orc files is not correct get by FileSplit.getLength(),
+                    // broker reader needs correct file size
+                    if (locationType == TFileType.FILE_BROKER && fileFormatType == TFileFormatType.FORMAT_ORC) {
+                        rangeDesc.setFileSize(((OrcSplit) fileSplit).getFileLength());
+                    }
 
-                fileSplitStrategy.update(fileSplit);
-                // Add a new location when it's can be split
-                if (fileSplitStrategy.hasNext()) {
+                    curLocations.getScanRange().getExtScanRange().getFileScanRange().addToRanges(rangeDesc);
+                    LOG.debug("assign to backend {} with table split: {} ({}, {}), location: {}",
+                            backend.getId(), fileSplit.getPath(), fileSplit.getStart(), fileSplit.getLength(),
+                            Joiner.on("|").join(fileSplit.getLocations()));
+
+                    fileSplitStrategy.update(fileSplit);
+                    // Add a new location when it's can be split
+                    if (fileSplitStrategy.hasNext()) {
+                        scanRangeLocations.add(curLocations);
+                        curLocations = newLocations(context.params, backend);
+                        fileSplitStrategy.next();
+                    }
+                }
+                if (curLocations.getScanRange().getExtScanRange().getFileScanRange().getRangesSize() > 0) {
                     scanRangeLocations.add(curLocations);
-                    curLocations = newLocations(context.params, backendPolicy);
-                    fileSplitStrategy.next();
                 }
-                this.inputFileSize += fileSplit.getLength();
-            }
-            if (curLocations.getScanRange().getExtScanRange().getFileScanRange().getRangesSize() > 0) {
-                scanRangeLocations.add(curLocations);
             }
+            this.inputFileSize += totalFileSize;
             LOG.debug("create #{} ScanRangeLocations cost: {} ms",
                     scanRangeLocations.size(), (System.currentTimeMillis() - start));
         } catch (IOException e) {
@@ -162,7 +172,7 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
         return this.inputFileSize;
     }
 
-    private TScanRangeLocations newLocations(TFileScanRangeParams params, BackendPolicy backendPolicy) {
+    private TScanRangeLocations newLocations(TFileScanRangeParams params, Backend selectedBackend) {
         // Generate on file scan range
         TFileScanRange fileScanRange = new TFileScanRange();
         fileScanRange.setParams(params);
@@ -178,7 +188,6 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
         locations.setScanRange(scanRange);
 
         TScanRangeLocation location = new TScanRangeLocation();
-        Backend selectedBackend = backendPolicy.getNextBe();
         location.setBackendId(selectedBackend.getId());
         location.setServer(new TNetworkAddress(selectedBackend.getHost(), selectedBackend.getBePort()));
         locations.addToLocations(location);
@@ -20,6 +20,7 @@ package org.apache.doris.planner.external.iceberg;
 import org.apache.doris.analysis.Analyzer;
 import org.apache.doris.analysis.Expr;
 import org.apache.doris.analysis.TableSnapshot;
+import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.FeConstants;
@@ -47,11 +48,15 @@ import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.HistoryEntry;
 import org.apache.iceberg.MetadataColumns;
 import org.apache.iceberg.PartitionField;
+import org.apache.iceberg.TableProperties;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.exceptions.NotFoundException;
 import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.util.PropertyUtil;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -149,7 +154,10 @@ public class IcebergScanProvider extends QueryScanProvider {
                 expressions.add(expression);
             }
         }
-        TableScan scan = table.newScan();
+        // read the manifests in parallel, the partition and metrics of the files are pruned by the filters
+        // while reading them, before the files are split
+        TableScan scan = table.newScan()
+                .planWith(Env.getCurrentEnv().getExtMetaCacheMgr().getIcebergPlanningExecutor());
         TableSnapshot tableSnapshot = icebergSource.getDesc().getRef().getTableSnapshot();
         if (tableSnapshot != null) {
             TableSnapshot.VersionType type = tableSnapshot.getType();
@@ -169,19 +177,26 @@ public class IcebergScanProvider extends QueryScanProvider {
         }
         List<InputSplit> splits = new ArrayList<>();
         int formatVersion = ((BaseTable) table).operations().current().formatVersion();
-        for (FileScanTask task : scan.planFiles()) {
-            for (FileScanTask splitTask : task.split(128 * 1024 * 1024)) {
-                String dataFilePath = splitTask.file().path().toString();
-                IcebergSplit split = new IcebergSplit(new Path(dataFilePath), splitTask.start(),
-                        splitTask.length(), new String[0]);
-                split.setFormatVersion(formatVersion);
-                if (formatVersion >= MIN_DELETE_FILE_SUPPORT_VERSION) {
-                    split.setDeleteFileFilters(getDeleteFileFilters(splitTask));
+        // large files are split on the offsets of their row groups or stripes recorded in the manifests
+        long splitSize = PropertyUtil.propertyAsLong(table.properties(), TableProperties.SPLIT_SIZE,
+                TableProperties.SPLIT_SIZE_DEFAULT);
+        try (CloseableIterable<FileScanTask> tasks = scan.planFiles()) {
+            for (FileScanTask task : tasks) {
+                for (FileScanTask splitTask : task.split(splitSize)) {
+                    String dataFilePath = splitTask.file().path().toString();
+                    IcebergSplit split = new IcebergSplit(new Path(dataFilePath), splitTask.start(),
+                            splitTask.length(), new String[0]);
+                    split.setFormatVersion(formatVersion);
+                    if (formatVersion >= MIN_DELETE_FILE_SUPPORT_VERSION) {
+                        split.setDeleteFileFilters(getDeleteFileFilters(splitTask));
+                    }
+                    split.setTableFormatType(TableFormatType.ICEBERG);
+                    split.setAnalyzer(analyzer);
+                    splits.add(split);
                 }
-                split.setTableFormatType(TableFormatType.ICEBERG);
-                split.setAnalyzer(analyzer);
-                splits.add(split);
             }
+        } catch (IOException e) {
+            throw new UserException("failed to plan the scan of iceberg table " + table.name(), e);
         }
         return splits;
     }
@@ -792,6 +792,7 @@ public class ConnectProcessor {
         dispatch();
         // finalize
         finalizeCommand();
+        channel.shrinkSendBuffer();
 
         ctx.setCommand(MysqlCommand.COM_SLEEP);
     }
@@ -50,8 +50,7 @@ public class ConnectScheduler {
     private final AtomicInteger nextConnectionId;
     private final Map<Integer, ConnectContext> connectionMap = Maps.newConcurrentMap();
     private final Map<String, AtomicInteger> connByUser = Maps.newConcurrentMap();
-    private final ExecutorService executor = ThreadPoolManager.newDaemonCacheThreadPool(
-            Config.max_connection_scheduler_threads_num, "connect-scheduler-pool", true);
+    private final ExecutorService executor = newConnectionExecutor();
 
     // valid trace id -> query id
     private final Map<String, TUniqueId> traceId2QueryId = Maps.newConcurrentMap();
@@ -70,6 +69,22 @@ public class ConnectScheduler {
         checkTimer.scheduleAtFixedRate(new TimeoutChecker(), 0, 1000L, TimeUnit.MILLISECONDS);
     }
 
+    // Each connection occupies one thread for its whole life. With virtual threads, idle connections
+    // only hold a small stack on heap instead of a platform thread, so the number of connections is not
+    // limited by max_connection_scheduler_threads_num.
+    private static ExecutorService newConnectionExecutor() {
+        if (Config.enable_connection_virtual_thread) {
+            ExecutorService executor = ThreadPoolManager.newVirtualThreadPerTaskExecutor("connect-scheduler-pool");
+            if (executor != null) {
+                LOG.info("use virtual threads to handle mysql connections");
+                return executor;
+            }
+            LOG.warn("virtual thread is not supported by current jdk, use platform threads to handle connections");
+        }
+        return ThreadPoolManager.newDaemonCacheThreadPool(
+                Config.max_connection_scheduler_threads_num, "connect-scheduler-pool", true);
+    }
+
     private class TimeoutChecker extends TimerTask {
         @Override
         public void run() {
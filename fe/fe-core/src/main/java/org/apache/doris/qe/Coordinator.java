@@ -19,6 +19,7 @@ package org.apache.doris.qe;
 
 import org.apache.doris.analysis.Analyzer;
 import org.apache.doris.analysis.DescriptorTable;
+import org.apache.doris.analysis.LiteralExpr;
 import org.apache.doris.analysis.PrepareStmt;
 import org.apache.doris.analysis.StorageBackend;
 import org.apache.doris.catalog.Env;
@@ -28,6 +29,7 @@ import org.apache.doris.common.MarkedCountDownLatch;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.Reference;
 import org.apache.doris.common.Status;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.telemetry.ScopedSpan;
 import org.apache.doris.common.telemetry.Telemetry;
@@ -95,7 +97,9 @@ import org.apache.doris.thrift.TScanRangeParams;
 import org.apache.doris.thrift.TStatusCode;
 import org.apache.doris.thrift.TTabletCommitInfo;
 import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.thrift.TUnit;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.HashMultiset;
@@ -104,6 +108,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
@@ -128,8 +133,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
@@ -145,6 +153,17 @@ public class Coordinator {
     // Random is used to shuffle instances of partitioned
     private static final Random instanceRandom = new Random();
 
+    // Serialize and send the fragments of different BEs in parallel. The tasks are never queued behind those of
+    // other queries, the query thread serializes and sends the fragments itself if all the threads are busy.
+    private static final ExecutorService SEND_FRAGMENT_EXECUTOR = Config.max_send_fragment_threads_num > 1
+            ? ThreadPoolManager.newDaemonCallerRunsThreadPool(Config.max_send_fragment_threads_num,
+                    "send-fragment-pool", true)
+            : null;
+
+    private static final String FRAGMENT_SERIALIZE_TIME = "Fragment Serialize Time";
+    private static final String FRAGMENT_SEND_TIME = "Fragment Send Time";
+    private static final String FRAGMENT_WAIT_TIME = "Fragment Wait Time";
+
     // Overall status of the entire query; set to the first reported fragment error
     // status or to CANCELLED, if Cancel() is called.
     Status queryStatus = new Status();
@@ -262,7 +281,7 @@ public class Coordinator {
                 LOG.debug("execPointGet fragment {}", fragment);
                 OlapScanNode planRoot = (OlapScanNode) fragment.getPlanRoot();
                 Preconditions.checkNotNull(planRoot);
-                pointExec = new PointQueryExec(planRoot.getPointQueryEqualPredicates(),
+                pointExec = new PointQueryExec(planRoot.getPointQueryKeyValues(),
                                                 planRoot.getDescTable(), fragment.getOutputExprs());
             }
         }
@@ -596,12 +615,25 @@ public class Coordinator {
             sendFragment();
         } else {
             OlapScanNode planRoot = (OlapScanNode) fragments.get(0).getPlanRoot();
-            Preconditions.checkState(planRoot.getScanTabletIds().size() == 1);
-            Long backendId = planRoot.getScanBackendIds().iterator().next();
-            Backend backend = this.idToBackend.get(backendId);
-            TNetworkAddress execBeAddr = new TNetworkAddress(backend.getHost(), backend.getBePort());
-            pointExec.setAddressAndBackendID(toBrpcHost(execBeAddr), backendId);
-            pointExec.setTabletId(planRoot.getScanTabletIds().get(0));
+            // the locations of tablets are shuffled, use the first one
+            Map<Long, TScanRangeLocation> tabletToLocation = Maps.newHashMap();
+            for (TScanRangeLocations locations : planRoot.getScanRangeLocations(0)) {
+                tabletToLocation.put(locations.getScanRange().getPaloScanRange().getTabletId(),
+                        locations.getLocations().get(0));
+            }
+            List<List<LiteralExpr>> keys = pointExec.getKeyTuples();
+            List<Long> keyTablets = planRoot.lazyEvaluateKeyTablets(keys);
+            for (int i = 0; i < keys.size(); i++) {
+                long tabletId = keyTablets.get(i);
+                if (tabletId < 0) {
+                    continue;
+                }
+                TScanRangeLocation location = tabletToLocation.get(tabletId);
+                Preconditions.checkNotNull(location, "no location of tablet " + tabletId);
+                Backend backend = this.idToBackend.get(location.getBackendId());
+                TNetworkAddress execBeAddr = new TNetworkAddress(backend.getHost(), backend.getBePort());
+                pointExec.addKeyTablet(keys.get(i), tabletId, toBrpcHost(execBeAddr), backend.getId());
+            }
         }
     }
 
@@ -713,24 +745,36 @@ public class Coordinator {
             } // end for fragments
 
             // 4. send and wait fragments rpc
+            long sendStartNs = System.nanoTime();
             List<Triple<BackendExecStates, BackendServiceProxy, Future<InternalService.PExecPlanFragmentResult>>>
                     futures = Lists.newArrayList();
             Context parentSpanContext = Context.current();
-            for (BackendExecStates states : beToExecStates.values()) {
+            List<BackendExecStates> statesList = Lists.newArrayList(beToExecStates.values());
+            for (BackendExecStates states : statesList) {
                 Span span = Telemetry.getNoopSpan();
                 if (ConnectContext.get() != null) {
                     span = ConnectContext.get().getTracer().spanBuilder("execRemoteFragmentsAsync")
                             .setParent(parentSpanContext).setSpanKind(SpanKind.CLIENT).startSpan();
                 }
                 states.scopedSpan = new ScopedSpan(span);
-                states.unsetFields();
-                BackendServiceProxy proxy = BackendServiceProxy.getInstance();
-                futures.add(ImmutableTriple.of(states, proxy, states.execRemoteFragmentsAsync(proxy)));
             }
+            BackendServiceProxy proxy = BackendServiceProxy.getInstance();
+            List<Future<PExecPlanFragmentResult>> rpcFutures = execRemoteFragmentsAsync(statesList, proxy);
+            for (int i = 0; i < statesList.size(); i++) {
+                futures.add(ImmutableTriple.of(statesList.get(i), proxy, rpcFutures.get(i)));
+            }
+            long sendTimeNs = System.nanoTime() - sendStartNs;
+            long serializeTimeNs = 0;
+            for (BackendExecStates states : statesList) {
+                serializeTimeNs += states.serializeTimeNs;
+            }
+            long waitStartNs = System.nanoTime();
             waitRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
+            long waitTimeNs = System.nanoTime() - waitStartNs;
 
             if (twoPhaseExecution) {
                 // 5. send and wait execution start rpc
+                sendStartNs = System.nanoTime();
                 futures.clear();
                 for (BackendExecStates states : beToExecStates.values()) {
                     Span span = Telemetry.getNoopSpan();
@@ -739,11 +783,17 @@ public class Coordinator {
                                 .setParent(parentSpanContext).setSpanKind(SpanKind.CLIENT).startSpan();
                     }
                     states.scopedSpan = new ScopedSpan(span);
-                    BackendServiceProxy proxy = BackendServiceProxy.getInstance();
                     futures.add(ImmutableTriple.of(states, proxy, states.execPlanFragmentStartAsync(proxy)));
                 }
+                sendTimeNs += System.nanoTime() - sendStartNs;
+                waitStartNs = System.nanoTime();
                 waitRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send execution start");
+                waitTimeNs += System.nanoTime() - waitStartNs;
             }
+            queryProfile.addInfoString(FRAGMENT_SERIALIZE_TIME,
+                    RuntimeProfile.printCounter(serializeTimeNs, TUnit.TIME_NS));
+            queryProfile.addInfoString(FRAGMENT_SEND_TIME, RuntimeProfile.printCounter(sendTimeNs, TUnit.TIME_NS));
+            queryProfile.addInfoString(FRAGMENT_WAIT_TIME, RuntimeProfile.printCounter(waitTimeNs, TUnit.TIME_NS));
 
             attachInstanceProfileToFragmentProfile();
         } finally {
@@ -751,6 +801,62 @@ public class Coordinator {
         }
     }
 
+    // Serialize and send the fragments of each BE, the BEs are dispatched in parallel if there are more than one,
+    // so that serializing the fragments of a BE overlaps with sending those of others.
+    private List<Future<PExecPlanFragmentResult>> execRemoteFragmentsAsync(List<BackendExecStates> statesList,
+            BackendServiceProxy proxy) throws TException, UserException {
+        List<Future<PExecPlanFragmentResult>> rpcFutures = Lists.newArrayListWithCapacity(statesList.size());
+        if (statesList.size() <= 1 || SEND_FRAGMENT_EXECUTOR == null) {
+            for (BackendExecStates states : statesList) {
+                states.unsetFields();
+                rpcFutures.add(states.execRemoteFragmentsAsync(proxy));
+            }
+            return rpcFutures;
+        }
+        List<Callable<Future<PExecPlanFragmentResult>>> tasks = Lists.newArrayListWithCapacity(statesList.size());
+        for (BackendExecStates states : statesList) {
+            tasks.add(() -> {
+                states.unsetFields();
+                return states.execRemoteFragmentsAsync(proxy);
+            });
+        }
+        return callInParallel(SEND_FRAGMENT_EXECUTOR, tasks);
+    }
+
+    // Call the tasks in parallel and return their results in order. The first task is called by the current thread,
+    // and so are the tasks rejected by the executor.
+    @VisibleForTesting
+    static <T> List<T> callInParallel(ExecutorService executor, List<Callable<T>> tasks)
+            throws TException, UserException {
+        List<Future<T>> futures = Lists.newArrayListWithCapacity(tasks.size());
+        FutureTask<T> first = new FutureTask<>(tasks.get(0));
+        futures.add(first);
+        for (Callable<T> task : tasks.subList(1, tasks.size())) {
+            futures.add(executor.submit(task));
+        }
+        first.run();
+        // wait all the tasks even if some of them fail, so that the initiated states are all known when cancelling
+        List<T> results = Lists.newArrayListWithCapacity(tasks.size());
+        Throwable failure = null;
+        for (Future<T> future : futures) {
+            try {
+                // keep waiting if interrupted, the interrupt flag is restored when it returns
+                results.add(Uninterruptibles.getUninterruptibly(future));
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if (failure == null && Thread.currentThread().isInterrupted()) {
+            failure = new InterruptedException("interrupted while sending fragments");
+        }
+        if (failure instanceof TException) {
+            throw (TException) failure;
+        } else if (failure != null) {
+            throw new UserException("failed to send fragments: " + failure.getMessage(), failure);
+        }
+        return results;
+    }
+
     private void waitRpc(List<Triple<BackendExecStates, BackendServiceProxy, Future<PExecPlanFragmentResult>>> futures,
                          long leftTimeMs,
             String operation) throws RpcException, UserException {
@@ -2325,6 +2431,7 @@ public class Coordinator {
         List<BackendExecState> states = Lists.newArrayList();
         boolean twoPhaseExecution = false;
         ScopedSpan scopedSpan = new ScopedSpan();
+        long serializeTimeNs = 0;
 
         public BackendExecStates(long beId, TNetworkAddress brpcAddr, boolean twoPhaseExecution) {
             this.beId = beId;
@@ -2360,7 +2467,11 @@ public class Coordinator {
                     state.initiated = true;
                     paramsList.addToParamsList(state.rpcParams);
                 }
-                return proxy.execPlanFragmentsAsync(brpcAddr, paramsList, twoPhaseExecution);
+                long startNs = System.nanoTime();
+                InternalService.PExecPlanFragmentRequest request =
+                        BackendServiceProxy.buildExecPlanFragmentRequest(paramsList);
+                serializeTimeNs = System.nanoTime() - startNs;
+                return proxy.execPlanFragmentsAsync(brpcAddr, request, twoPhaseExecution);
             } catch (RpcException e) {
                 // DO NOT throw exception here, return a complete future with error code,
                 // so that the following logic will cancel the fragment.
@@ -0,0 +1,156 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.DescriptorTable;
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.SlotDescriptor;
+import org.apache.doris.analysis.TupleDescriptor;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.TableIf;
+import org.apache.doris.common.Config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.protobuf.ByteString;
+import org.apache.thrift.TException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The serialized descriptor table and output exprs of point queries, shared by all connections.
+ * BE caches the prepared structure of a point query by its id. Point queries of the same plan get the same id
+ * and the same ByteString instances, so that the statements prepared by different connections, and the point
+ * queries which are not prepared, share one cache entry in BE instead of preparing it for each statement.
+ * The plan is identified before serializing, so only a cache miss serializes the descriptor table and output exprs.
+ * The identity contains the schema version of table, so a schema change leads to a new entry,
+ * and the old entry is evicted when it is not used any more.
+ */
+public class PointQueryContextCache {
+    public static final PointQueryContextCache INSTANCE = new PointQueryContextCache();
+
+    public static class Context {
+        private final UUID id;
+        private final ByteString serializedDescTable;
+        private final ByteString serializedOutputExpr;
+
+        private Context(ByteString serializedDescTable, ByteString serializedOutputExpr) {
+            this.id = UUID.randomUUID();
+            this.serializedDescTable = serializedDescTable;
+            this.serializedOutputExpr = serializedOutputExpr;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public ByteString getSerializedDescTable() {
+            return serializedDescTable;
+        }
+
+        public ByteString getSerializedOutputExpr() {
+            return serializedOutputExpr;
+        }
+    }
+
+    /**
+     * The identity of a point query plan. The descriptor table is identified by its slots and the tables
+     * with their schema versions, and the output exprs only refer to the slots.
+     */
+    public static class Key {
+        private final String plan;
+        private final boolean isBinaryProtocol;
+
+        Key(String plan, boolean isBinaryProtocol) {
+            this.plan = plan;
+            this.isBinaryProtocol = isBinaryProtocol;
+        }
+
+        public static Key of(DescriptorTable descTable, List<Expr> outputExprs, boolean isBinaryProtocol) {
+            StringBuilder plan = new StringBuilder();
+            descTable.getTupleDescs().stream().sorted(Comparator.comparingInt(tuple -> tuple.getId().asInt()))
+                    .forEach(tuple -> appendTuple(plan, tuple));
+            for (Expr expr : outputExprs) {
+                plan.append('|').append(expr.toSql()).append(':').append(expr.getType().toSql());
+            }
+            return new Key(plan.toString(), isBinaryProtocol);
+        }
+
+        private static void appendTuple(StringBuilder plan, TupleDescriptor tuple) {
+            plan.append('#').append(tuple.getId().asInt());
+            TableIf table = tuple.getTable();
+            if (table != null) {
+                plan.append('@').append(table.getId()).append(':').append(table.getName());
+                if (table instanceof OlapTable) {
+                    plan.append(':').append(((OlapTable) table).getBaseSchemaVersion());
+                }
+            }
+            for (SlotDescriptor slot : tuple.getSlots()) {
+                plan.append(',').append(slot.getId().asInt())
+                        .append(':').append(slot.getColumn() == null ? "" : slot.getColumn().getName())
+                        .append(':').append(slot.getType().toSql())
+                        .append(':').append(slot.isMaterialized())
+                        .append(':').append(slot.getIsNullable());
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return isBinaryProtocol == key.isBinaryProtocol && plan.equals(key.plan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(plan, isBinaryProtocol);
+        }
+    }
+
+    public interface Serializer {
+        ByteString serialize() throws TException;
+    }
+
+    private final Cache<Key, Context> cache = Caffeine.newBuilder()
+            .maximumSize(Config.point_query_context_cache_num)
+            .build();
+
+    /**
+     * Get the context of the point query plan, the descriptor table and output exprs are serialized only
+     * if the plan is not cached.
+     */
+    public Context getOrCreate(Key key, Serializer descTableSerializer, Serializer outputExprSerializer)
+            throws TException {
+        Context context = cache.getIfPresent(key);
+        if (context != null) {
+            return context;
+        }
+        // the concurrent misses of a plan may all serialize it, but they share the context put first
+        context = new Context(descTableSerializer.serialize(), outputExprSerializer.serialize());
+        Context existing = cache.asMap().putIfAbsent(key, context);
+        return existing == null ? context : existing;
+    }
+}
@@ -39,9 +39,14 @@ import org.apache.thrift.TDeserializer;
 import org.apache.thrift.TException;
 import org.apache.thrift.TSerializer;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -50,37 +55,47 @@ import java.util.concurrent.TimeoutException;
 
 public class PointQueryExec {
     private static final Logger LOG = LogManager.getLogger(PointQueryExec.class);
-    private TNetworkAddress address;
-    // SlotRef sorted by column id
-    private Map<SlotRef, Expr> equalPredicats;
+    // Values of key columns sorted by column id
+    private Map<SlotRef, List<Expr>> keyValues;
     // ByteString serialized for prepared statement
     private ByteString serializedDescTable;
     private ByteString serializedOutputExpr;
     private ArrayList<Expr> outputExprs;
     private DescriptorTable descriptorTable;
-    private long tabletID = 0;
     private long timeoutMs = 1000; // default 1s
 
     private boolean isCancel = false;
     private boolean isBinaryProtocol = false;
-    private long backendID;
     // For parepared statement cached structure,
     // there are some pre caculated structure in Backend TabletFetch service
     // using this ID to find for this prepared statement
     private UUID cacheID;
 
-    public PointQueryExec(Map<SlotRef, Expr> equalPredicats, DescriptorTable descTable,
+    // Keys to fetch, the cartesian product of values of key columns
+    private List<List<LiteralExpr>> keyTuples;
+    // Lookups of tablets, in the order of the first key of each tablet
+    private Map<Long, TabletLookup> tabletLookups = new LinkedHashMap<>();
+
+    private static class TabletLookup {
+        private final long tabletId;
+        private final TNetworkAddress address;
+        private final long backendId;
+        private final List<List<LiteralExpr>> keys = new ArrayList<>();
+
+        private TabletLookup(long tabletId, TNetworkAddress address, long backendId) {
+            this.tabletId = tabletId;
+            this.address = address;
+            this.backendId = backendId;
+        }
+    }
+
+    public PointQueryExec(Map<SlotRef, List<Expr>> keyValues, DescriptorTable descTable,
                     ArrayList<Expr> outputExprs) {
-        this.equalPredicats = equalPredicats;
+        this.keyValues = keyValues;
         this.descriptorTable = descTable;
         this.outputExprs = outputExprs;
     }
 
-    void setAddressAndBackendID(TNetworkAddress addr, long backendID) {
-        this.address = addr;
-        this.backendID = backendID;
-    }
-
     public void setSerializedDescTable(ByteString serializedDescTable) {
         this.serializedDescTable = serializedDescTable;
     }
@@ -93,10 +108,6 @@ public class PointQueryExec {
         this.cacheID = cacheID;
     }
 
-    public void setTabletId(long tabletID) {
-        this.tabletID = tabletID;
-    }
-
     public void setTimeout(long timeoutMs) {
         this.timeoutMs = timeoutMs;
     }
@@ -105,116 +116,238 @@ public class PointQueryExec {
         this.isBinaryProtocol = isBinaryProtocol;
     }
 
-    void addKeyTuples(
-                InternalService.PTabletKeyLookupRequest.Builder requestBuilder) {
-        // TODO handle IN predicates
-        KeyTuple.Builder kBuilder = KeyTuple.newBuilder();
-        for (Expr expr : equalPredicats.values()) {
-            LiteralExpr lexpr = (LiteralExpr) expr;
-            kBuilder.addKeyColumnRep(lexpr.getStringValue());
+    // Distinct keys in the order of IN predicates, values of a key are in the order of key columns
+    List<List<LiteralExpr>> getKeyTuples() {
+        if (keyTuples != null) {
+            return keyTuples;
         }
-        requestBuilder.addKeyTuples(kBuilder);
+        List<List<LiteralExpr>> tuples = new ArrayList<>();
+        tuples.add(new ArrayList<>());
+        for (List<Expr> values : keyValues.values()) {
+            List<List<LiteralExpr>> newTuples = new ArrayList<>(tuples.size() * values.size());
+            for (List<LiteralExpr> tuple : tuples) {
+                for (Expr value : values) {
+                    List<LiteralExpr> newTuple = new ArrayList<>(tuple);
+                    newTuple.add((LiteralExpr) value);
+                    newTuples.add(newTuple);
+                }
+            }
+            tuples = newTuples;
+        }
+        // IN predicates may have duplicated values, but each row should be returned once
+        Set<List<String>> distinctKeys = new LinkedHashSet<>();
+        keyTuples = new ArrayList<>(tuples.size());
+        for (List<LiteralExpr> tuple : tuples) {
+            if (distinctKeys.add(toKeyColumnReps(tuple))) {
+                keyTuples.add(tuple);
+            }
+        }
+        return keyTuples;
+    }
+
+    void addKeyTablet(List<LiteralExpr> key, long tabletId, TNetworkAddress addr, long backendId) {
+        tabletLookups.computeIfAbsent(tabletId, id -> new TabletLookup(id, addr, backendId)).keys.add(key);
+    }
+
+    private static List<String> toKeyColumnReps(List<LiteralExpr> key) {
+        List<String> reps = new ArrayList<>(key.size());
+        for (LiteralExpr value : key) {
+            reps.add(value.getStringValue());
+        }
+        return reps;
+    }
+
+    private static KeyTuple toKeyTuple(List<LiteralExpr> key) {
+        return KeyTuple.newBuilder().addAllKeyColumnRep(toKeyColumnReps(key)).build();
+    }
+
+    private ByteString serializeDescTable() throws TException {
+        return ByteString.copyFrom(new TSerializer().serialize(descriptorTable.toThrift()));
+    }
+
+    private ByteString serializeOutputExpr() throws TException {
+        List<TExpr> exprs = new ArrayList<>();
+        for (Expr expr : outputExprs) {
+            exprs.add(expr.treeToThrift());
+        }
+        return ByteString.copyFrom(new TSerializer().serialize(new TExprList(exprs)));
     }
 
     public RowBatch getNext(Status status) throws TException {
         long timeoutTs = System.currentTimeMillis() + timeoutMs;
         RowBatch rowBatch = new RowBatch();
-        InternalService.PTabletKeyLookupResponse pResult = null;
+        if (tabletLookups.isEmpty()) {
+            // none of keys in the selected partitions
+            rowBatch.setEos(true);
+            return rowBatch;
+        }
+        Map<Long, InternalService.PTabletKeyLookupResponse> pResults = new HashMap<>();
+        TabletLookup lookup = null;
         try {
-            if (serializedDescTable == null) {
-                serializedDescTable = ByteString.copyFrom(
-                        new TSerializer().serialize(descriptorTable.toThrift()));
-            }
-            if (serializedOutputExpr == null) {
-                List<TExpr> exprs = new ArrayList<>();
-                for (Expr expr : outputExprs) {
-                    exprs.add(expr.treeToThrift());
-                }
-                TExprList exprList = new TExprList(exprs);
-                serializedOutputExpr = ByteString.copyFrom(
-                        new TSerializer().serialize(exprList));
+            if (cacheID == null) {
+                // not a prepared statement, share the BE side cache with the same point queries,
+                // and serialize the plan only if it is not cached
+                PointQueryContextCache.Context context = PointQueryContextCache.INSTANCE.getOrCreate(
+                        PointQueryContextCache.Key.of(descriptorTable, outputExprs, isBinaryProtocol),
+                        this::serializeDescTable, this::serializeOutputExpr);
+                cacheID = context.getId();
+                serializedDescTable = context.getSerializedDescTable();
+                serializedOutputExpr = context.getSerializedOutputExpr();
             }
 
-            InternalService.PTabletKeyLookupRequest.Builder requestBuilder
-                        = InternalService.PTabletKeyLookupRequest.newBuilder()
-                            .setTabletId(tabletID)
-                            .setDescTbl(serializedDescTable)
-                            .setOutputExpr(serializedOutputExpr)
-                            .setIsBinaryRow(isBinaryProtocol);
-            if (cacheID != null) {
-                InternalService.UUID.Builder uuidBuilder = InternalService.UUID.newBuilder();
-                uuidBuilder.setUuidHigh(cacheID.getMostSignificantBits());
-                uuidBuilder.setUuidLow(cacheID.getLeastSignificantBits());
-                requestBuilder.setUuid(uuidBuilder);
+            // send one request to each backend at once, so that the lookups only cost one round trip
+            Map<Long, List<TabletLookup>> backendLookups = new LinkedHashMap<>();
+            for (TabletLookup tabletLookup : tabletLookups.values()) {
+                backendLookups.computeIfAbsent(tabletLookup.backendId, id -> new ArrayList<>()).add(tabletLookup);
             }
-            addKeyTuples(requestBuilder);
-            InternalService.PTabletKeyLookupRequest request = requestBuilder.build();
-            Future<InternalService.PTabletKeyLookupResponse> futureResponse =
-                    BackendServiceProxy.getInstance().fetchTabletDataAsync(address, request);
-            while (pResult == null) {
-                long currentTs = System.currentTimeMillis();
-                if (currentTs >= timeoutTs) {
-                    LOG.warn("fetch result timeout {}", address);
-                    status.setStatus("query timeout");
-                    return null;
+            List<Future<InternalService.PTabletKeyLookupResponse>> futureResponses = new ArrayList<>();
+            for (List<TabletLookup> lookups : backendLookups.values()) {
+                lookup = lookups.get(0);
+                InternalService.PTabletKeyLookupRequest.Builder requestBuilder
+                            = InternalService.PTabletKeyLookupRequest.newBuilder()
+                                .setTabletId(lookup.tabletId)
+                                .setDescTbl(serializedDescTable)
+                                .setOutputExpr(serializedOutputExpr)
+                                .setIsBinaryRow(isBinaryProtocol);
+                if (cacheID != null) {
+                    InternalService.UUID.Builder uuidBuilder = InternalService.UUID.newBuilder();
+                    uuidBuilder.setUuidHigh(cacheID.getMostSignificantBits());
+                    uuidBuilder.setUuidLow(cacheID.getLeastSignificantBits());
+                    requestBuilder.setUuid(uuidBuilder);
                 }
-                try {
-                    pResult = futureResponse.get(timeoutTs - currentTs, TimeUnit.MILLISECONDS);
-                } catch (InterruptedException e) {
-                    // continue to get result
-                    LOG.info("future get interrupted Exception");
-                    if (isCancel) {
-                        status.setStatus(Status.CANCELLED);
+                for (List<LiteralExpr> key : lookup.keys) {
+                    requestBuilder.addKeyTuples(toKeyTuple(key));
+                }
+                for (TabletLookup tabletLookup : lookups.subList(1, lookups.size())) {
+                    InternalService.PTabletKeys.Builder tabletKeysBuilder = InternalService.PTabletKeys.newBuilder()
+                            .setTabletId(tabletLookup.tabletId);
+                    for (List<LiteralExpr> key : tabletLookup.keys) {
+                        tabletKeysBuilder.addKeyTuples(toKeyTuple(key));
+                    }
+                    requestBuilder.addMoreTabletKeys(tabletKeysBuilder);
+                }
+                InternalService.PTabletKeyLookupRequest request = requestBuilder.build();
+                futureResponses.add(BackendServiceProxy.getInstance().fetchTabletDataAsync(lookup.address, request));
+            }
+            int i = 0;
+            for (List<TabletLookup> lookups : backendLookups.values()) {
+                lookup = lookups.get(0);
+                Future<InternalService.PTabletKeyLookupResponse> futureResponse = futureResponses.get(i++);
+                InternalService.PTabletKeyLookupResponse pResult = null;
+                while (pResult == null) {
+                    long currentTs = System.currentTimeMillis();
+                    if (currentTs >= timeoutTs) {
+                        LOG.warn("fetch result timeout {}", lookup.address);
+                        status.setStatus("query timeout");
                         return null;
                     }
+                    try {
+                        pResult = futureResponse.get(timeoutTs - currentTs, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        // continue to get result
+                        LOG.info("future get interrupted Exception");
+                        if (isCancel) {
+                            status.setStatus(Status.CANCELLED);
+                            return null;
+                        }
+                    }
+                }
+                // the status of the response covers the failures of all tablets in the request
+                pResults.put(lookup.tabletId, pResult);
+                for (int j = 1; j < lookups.size() && j <= pResult.getMoreResponsesCount(); j++) {
+                    pResults.put(lookups.get(j).tabletId, pResult.getMoreResponses(j - 1));
                 }
             }
         } catch (RpcException e) {
-            LOG.warn("fetch result rpc exception {}", address);
+            LOG.warn("fetch result rpc exception {}", lookup.address);
             status.setRpcStatus(e.getMessage());
-            SimpleScheduler.addToBlacklist(backendID, e.getMessage());
+            SimpleScheduler.addToBlacklist(lookup.backendId, e.getMessage());
             return null;
         } catch (ExecutionException e) {
-            LOG.warn("fetch result execution exception {}", address);
+            LOG.warn("fetch result execution exception {}", lookup.address);
             if (e.getMessage().contains("time out")) {
                 // if timeout, we set error code to TIMEOUT, and it will not retry querying.
                 status.setStatus(new Status(TStatusCode.TIMEOUT, e.getMessage()));
             } else {
                 status.setRpcStatus(e.getMessage());
-                SimpleScheduler.addToBlacklist(backendID, e.getMessage());
+                SimpleScheduler.addToBlacklist(lookup.backendId, e.getMessage());
             }
             return null;
         } catch (TimeoutException e) {
-            LOG.warn("fetch result timeout {}", address);
+            LOG.warn("fetch result timeout {}", lookup.address);
             status.setStatus("query timeout");
             return null;
         }
-        TStatusCode code = TStatusCode.findByValue(pResult.getStatus().getStatusCode());
-        if (code != TStatusCode.OK) {
-            status.setPstatus(pResult.getStatus());
-            return null;
-        }
 
-        if (pResult.hasEmptyBatch() && pResult.getEmptyBatch()) {
-            LOG.info("get empty rowbatch");
-            rowBatch.setEos(true);
-            return rowBatch;
-        } else if (pResult.hasRowBatch() && pResult.getRowBatch().size() > 0) {
-            byte[] serialResult = pResult.getRowBatch().toByteArray();
-            TResultBatch resultBatch = new TResultBatch();
-            TDeserializer deserializer = new TDeserializer();
-            deserializer.deserialize(resultBatch, serialResult);
-            rowBatch.setBatch(resultBatch);
-            rowBatch.setEos(true);
-            return rowBatch;
+        for (TabletLookup tabletLookup : tabletLookups.values()) {
+            InternalService.PTabletKeyLookupResponse pResult = pResults.get(tabletLookup.tabletId);
+            if (pResult == null) {
+                LOG.warn("no fetch result of tablet {} from {}", tabletLookup.tabletId, tabletLookup.address);
+                status.setStatus("no fetch result of tablet " + tabletLookup.tabletId);
+                return null;
+            }
+            TStatusCode code = TStatusCode.findByValue(pResult.getStatus().getStatusCode());
+            if (code != TStatusCode.OK) {
+                status.setPstatus(pResult.getStatus());
+                return null;
+            }
         }
-
+        TResultBatch mergedBatch = mergeRows(pResults);
         if (isCancel) {
             status.setStatus(Status.CANCELLED);
+            return rowBatch;
+        }
+        if (mergedBatch == null) {
+            LOG.info("get empty rowbatch");
+        } else {
+            rowBatch.setBatch(mergedBatch);
         }
+        rowBatch.setEos(true);
         return rowBatch;
     }
 
+    // Merge the rows of tablets in the order of keys, which is the order of IN predicates like a single tablet
+    TResultBatch mergeRows(Map<Long, InternalService.PTabletKeyLookupResponse> pResults) throws TException {
+        TResultBatch mergedBatch = null;
+        Map<List<String>, ByteBuffer> keyRows = new HashMap<>();
+        List<ByteBuffer> unorderedRows = new ArrayList<>();
+        for (TabletLookup tabletLookup : tabletLookups.values()) {
+            InternalService.PTabletKeyLookupResponse pResult = pResults.get(tabletLookup.tabletId);
+            if ((pResult.hasEmptyBatch() && pResult.getEmptyBatch())
+                    || !pResult.hasRowBatch() || pResult.getRowBatch().size() == 0) {
+                continue;
+            }
+            TResultBatch resultBatch = new TResultBatch();
+            TDeserializer deserializer = new TDeserializer();
+            deserializer.deserialize(resultBatch, pResult.getRowBatch().toByteArray());
+            if (mergedBatch == null) {
+                mergedBatch = resultBatch;
+            }
+            List<ByteBuffer> rows = resultBatch.getRows();
+            if (pResult.getRowKeyIndexesCount() != rows.size()) {
+                // the backend of an old version does not return the keys of rows
+                unorderedRows.addAll(rows);
+                continue;
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                keyRows.put(toKeyColumnReps(tabletLookup.keys.get(pResult.getRowKeyIndexes(i))), rows.get(i));
+            }
+        }
+        if (mergedBatch == null) {
+            return null;
+        }
+        List<ByteBuffer> mergedRows = new ArrayList<>(keyRows.size() + unorderedRows.size());
+        for (List<LiteralExpr> key : getKeyTuples()) {
+            ByteBuffer row = keyRows.get(toKeyColumnReps(key));
+            if (row != null) {
+                mergedRows.add(row);
+            }
+        }
+        mergedRows.addAll(unorderedRows);
+        mergedBatch.setRows(mergedRows);
+        return mergedBatch;
+    }
+
     public void cancel() {
         isCancel = true;
     }
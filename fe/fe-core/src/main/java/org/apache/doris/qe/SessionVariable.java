@@ -29,6 +29,7 @@ import org.apache.doris.thrift.TResourceLimit;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
@@ -55,6 +56,10 @@ import java.util.Set;
 public class SessionVariable implements Serializable, Writable {
     public static final Logger LOG = LogManager.getLogger(SessionVariable.class);
 
+    private static final List<Field> VAR_ATTR_FIELDS = Arrays.stream(SessionVariable.class.getDeclaredFields())
+            .filter(f -> f.getAnnotation(VarAttr.class) != null)
+            .collect(ImmutableList.toImmutableList());
+
     public static final String EXEC_MEM_LIMIT = "exec_mem_limit";
     public static final String QUERY_TIMEOUT = "query_timeout";
     public static final String ENABLE_PROFILE = "enable_profile";
@@ -200,6 +205,10 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String ENABLE_NEREIDS_RUNTIME_FILTER = "enable_nereids_runtime_filter";
 
+    public static final String ENABLE_NEREIDS_PLAN_CACHE = "enable_nereids_plan_cache";
+
+    public static final String ENABLE_MATERIALIZED_VIEW_REWRITE = "enable_materialized_view_rewrite";
+
     public static final String BROADCAST_RIGHT_TABLE_SCALE_FACTOR = "broadcast_right_table_scale_factor";
     public static final String BROADCAST_ROW_COUNT_LIMIT = "broadcast_row_count_limit";
 
@@ -580,6 +589,12 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = ENABLE_NEREIDS_RUNTIME_FILTER)
     private boolean enableNereidsRuntimeFilter = true;
 
+    @VariableMgr.VarAttr(name = ENABLE_NEREIDS_PLAN_CACHE)
+    private boolean enableNereidsPlanCache = false;
+
+    @VariableMgr.VarAttr(name = ENABLE_MATERIALIZED_VIEW_REWRITE)
+    private boolean enableMaterializedViewRewrite = false;
+
     @VariableMgr.VarAttr(name = BROADCAST_RIGHT_TABLE_SCALE_FACTOR)
     private double broadcastRightTableScaleFactor = 10.0;
 
@@ -1402,6 +1417,22 @@ public class SessionVariable implements Serializable, Writable {
         this.enableNereidsRuntimeFilter = enableNereidsRuntimeFilter;
     }
 
+    public boolean isEnableNereidsPlanCache() {
+        return enableNereidsPlanCache;
+    }
+
+    public void setEnableNereidsPlanCache(boolean enableNereidsPlanCache) {
+        this.enableNereidsPlanCache = enableNereidsPlanCache;
+    }
+
+    public boolean isEnableMaterializedViewRewrite() {
+        return enableMaterializedViewRewrite;
+    }
+
+    public void setEnableMaterializedViewRewrite(boolean enableMaterializedViewRewrite) {
+        this.enableMaterializedViewRewrite = enableMaterializedViewRewrite;
+    }
+
     public boolean isEnableSingleReplicaInsert() {
         return enableSingleReplicaInsert;
     }
@@ -1593,6 +1624,21 @@ public class SessionVariable implements Serializable, Writable {
         }
     }
 
+    /**
+     * Get the values of all session variables, two sessions with the same values plan a statement in the same way.
+     **/
+    public List<String> getAllVariableValues() {
+        List<String> values = Lists.newArrayListWithCapacity(VAR_ATTR_FIELDS.size());
+        try {
+            for (Field f : VAR_ATTR_FIELDS) {
+                values.add(String.valueOf(f.get(this)));
+            }
+        } catch (IllegalAccessException e) {
+            LOG.error("failed to get variable values", e);
+        }
+        return values;
+    }
+
     /**
      * Get all variables which need to forward along with statement.
      **/
@@ -1263,9 +1263,7 @@ public class StmtExecutor implements ProfileWriter {
                         }
                         isSendFields = true;
                     }
-                    for (ByteBuffer row : batch.getBatch().getRows()) {
-                        channel.sendOnePacket(row);
-                    }
+                    channel.sendRows(batch.getBatch().getRows());
                     plannerProfile.freshWriteResultConsumeTime();
                     context.updateReturnRows(batch.getBatch().getRows().size());
                 }
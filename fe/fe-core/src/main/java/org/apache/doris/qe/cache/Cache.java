@@ -49,7 +49,8 @@ public abstract class Cache {
     protected Cache(TUniqueId queryId, SelectStmt selectStmt) {
         this.queryId = queryId;
         this.selectStmt = selectStmt;
-        proxy = CacheProxy.getCacheProxy(CacheProxy.CacheProxyType.BE);
+        proxy = CacheProxy.getCacheProxy(Config.cache_fe_result_max_memory_mb > 0
+                ? CacheProxy.CacheProxyType.FE : CacheProxy.CacheProxyType.BE);
         hitRange = HitRange.None;
     }
 
@@ -0,0 +1,154 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps small results in the memory of FE, so that hot queries are answered without a rpc to BE.
+ * The results are bounded by cache_fe_result_max_memory_mb and evicted by W-TinyLFU, a result is only
+ * returned if the version and version time of every requested partition match.
+ * Misses and results too large for FE go to the cache of BE, which is also updated with every result.
+ */
+public class CacheFeProxy extends CacheProxy {
+    private static final Logger LOG = LogManager.getLogger(CacheFeProxy.class);
+
+    // the approximate memory of the key and the entry in the cache besides the rows
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    // fully qualified, Cache of this package is the base class of the sql and partition caches
+    private static final com.github.benmanes.caffeine.cache.Cache<ResultKey, InternalService.PCacheValue> RESULTS =
+            Caffeine.newBuilder()
+                    .maximumWeight(Config.cache_fe_result_max_memory_mb * 1024L * 1024L)
+                    .weigher((ResultKey key, InternalService.PCacheValue value) ->
+                            value.getSerializedSize() + ENTRY_OVERHEAD_BYTES)
+                    // maintain on the calling thread, so the used bytes are exact when they are reported
+                    .executor(Runnable::run)
+                    .build();
+
+    private final CacheBeProxy beProxy = new CacheBeProxy();
+
+    @Override
+    public void updateCache(InternalService.PUpdateCacheRequest request, int timeoutMs, Status status) {
+        long maxEntryBytes = Config.cache_fe_result_max_entry_kb * 1024L;
+        for (InternalService.PCacheValue value : request.getValuesList()) {
+            if (value.getSerializedSize() > maxEntryBytes) {
+                LOG.debug("result of partition {} is too large for fe cache, size {}",
+                        value.getParam().getPartitionKey(), value.getSerializedSize());
+                continue;
+            }
+            RESULTS.put(new ResultKey(request.getSqlKey(), value.getParam().getPartitionKey()), value);
+        }
+        beProxy.updateCache(request, timeoutMs, status);
+    }
+
+    @Override
+    public InternalService.PFetchCacheResult fetchCache(InternalService.PFetchCacheRequest request,
+                                                        int timeoutMs, Status status) {
+        List<InternalService.PCacheValue> values = Lists.newArrayList();
+        for (InternalService.PCacheParam param : request.getParamsList()) {
+            ResultKey key = new ResultKey(request.getSqlKey(), param.getPartitionKey());
+            InternalService.PCacheValue value = RESULTS.getIfPresent(key);
+            if (value == null) {
+                break;
+            }
+            if (value.getParam().getLastVersion() != param.getLastVersion()
+                    || value.getParam().getLastVersionTime() != param.getLastVersionTime()) {
+                // the partition has been loaded since, the result will never be hit again
+                RESULTS.invalidate(key);
+                break;
+            }
+            values.add(value);
+        }
+        // partial hits are left to BE, which knows how to return a contiguous range of partitions
+        if (values.isEmpty() || values.size() != request.getParamsCount()) {
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_CACHE_FE_RESULT_MISS.increase(1L);
+            }
+            return beProxy.fetchCache(request, timeoutMs, status);
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_CACHE_FE_RESULT_HIT.increase(1L);
+        }
+        return InternalService.PFetchCacheResult.newBuilder()
+                .setStatus(InternalService.PCacheStatus.CACHE_OK)
+                .addAllValues(values)
+                .build();
+    }
+
+    @Override
+    public void clearCache(InternalService.PClearCacheRequest clearRequest) {
+        RESULTS.invalidateAll();
+        beProxy.clearCache(clearRequest);
+    }
+
+    /**
+     * Memory in bytes used by the results cached in FE.
+     */
+    public static long getUsedBytes() {
+        return RESULTS.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    @VisibleForTesting
+    static void invalidateAll() {
+        RESULTS.invalidateAll();
+    }
+
+    private static class ResultKey {
+        private final long hi;
+        private final long lo;
+        private final long partitionKey;
+
+        ResultKey(Types.PUniqueId sqlKey, long partitionKey) {
+            this.hi = sqlKey.getHi();
+            this.lo = sqlKey.getLo();
+            this.partitionKey = partitionKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResultKey)) {
+                return false;
+            }
+            ResultKey that = (ResultKey) o;
+            return hi == that.hi && lo == that.lo && partitionKey == that.partitionKey;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hi, lo, partitionKey);
+        }
+    }
+}
@@ -134,7 +134,6 @@ public class PartitionCache extends Cache {
         InternalService.PUpdateCacheRequest updateRequest
                 = rowBatchBuilder.buildPartitionUpdateRequest(getSqlWithViewStmt());
         if (updateRequest.getValuesCount() > 0) {
-            CacheBeProxy proxy = new CacheBeProxy();
             Status status = new Status();
             proxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, status);
             int rowCount = 0;
@@ -109,6 +109,12 @@ public class BackendServiceProxy {
 
     public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
             TExecPlanFragmentParamsList paramsList, boolean twoPhaseExecution) throws TException, RpcException {
+        return execPlanFragmentsAsync(address, buildExecPlanFragmentRequest(paramsList), twoPhaseExecution);
+    }
+
+    // Serialize the fragments, separated from sending so that it can be done in other threads
+    public static InternalService.PExecPlanFragmentRequest buildExecPlanFragmentRequest(
+            TExecPlanFragmentParamsList paramsList) throws TException {
         InternalService.PExecPlanFragmentRequest.Builder builder =
                 InternalService.PExecPlanFragmentRequest.newBuilder();
         if (Config.use_compact_thrift_rpc) {
@@ -121,8 +127,11 @@ public class BackendServiceProxy {
         }
         // VERSION 2 means we send TExecPlanFragmentParamsList, not single TExecPlanFragmentParams
         builder.setVersion(InternalService.PFragmentRequestVersion.VERSION_2);
+        return builder.build();
+    }
 
-        final InternalService.PExecPlanFragmentRequest pRequest = builder.build();
+    public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
+            InternalService.PExecPlanFragmentRequest pRequest, boolean twoPhaseExecution) throws RpcException {
         MetricRepo.BE_COUNTER_QUERY_RPC_ALL.getOrAdd(address.hostname).increase(1L);
         MetricRepo.BE_COUNTER_QUERY_RPC_SIZE.getOrAdd(address.hostname).increase((long) pRequest.getSerializedSize());
         try {
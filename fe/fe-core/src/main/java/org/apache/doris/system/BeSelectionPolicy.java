@@ -22,9 +22,11 @@ import org.apache.doris.thrift.TStorageMedium;
 
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -48,6 +50,9 @@ public class BeSelectionPolicy {
 
     public boolean preferComputeNode = false;
     public int candidateNum = Integer.MAX_VALUE;
+    // If set, the candidates are picked by rendezvous hashing with this key instead of randomly,
+    // so that the same key always gets the same candidates as long as the backends are unchanged.
+    public Long affinityKey = null;
 
     private BeSelectionPolicy() {
 
@@ -110,6 +115,11 @@ public class BeSelectionPolicy {
             return this;
         }
 
+        public Builder assignAffinityKey(long affinityKey) {
+            policy.affinityKey = affinityKey;
+            return this;
+        }
+
         public BeSelectionPolicy build() {
             return policy;
         }
@@ -141,7 +151,11 @@ public class BeSelectionPolicy {
 
     public List<Backend> getCandidateBackends(ImmutableCollection<Backend> backends) {
         List<Backend> filterBackends = backends.stream().filter(this::isMatch).collect(Collectors.toList());
-        Collections.shuffle(filterBackends);
+        if (affinityKey == null) {
+            Collections.shuffle(filterBackends);
+        } else {
+            filterBackends.sort(Comparator.comparingLong(this::affinityHash).thenComparingLong(Backend::getId));
+        }
         List<Backend> candidates = new ArrayList<>();
         if (preferComputeNode) {
             int num = 0;
@@ -174,6 +188,10 @@ public class BeSelectionPolicy {
         return candidates;
     }
 
+    private long affinityHash(Backend backend) {
+        return Hashing.murmur3_128().newHasher().putLong(affinityKey).putLong(backend.getId()).hash().asLong();
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -100,13 +100,14 @@ public class DatabaseTransactionMgr {
 
     // the lock is used to control the access to transaction states
     // no other locks should be inside this lock
+    // a single transaction state can be looked up by id without the lock, see getTransactionState()
     private final ReentrantReadWriteLock transactionLock = new ReentrantReadWriteLock(true);
 
     // transactionId -> running TransactionState
-    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newHashMap();
+    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newConcurrentMap();
 
     // transactionId -> final status TransactionState
-    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newHashMap();
+    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newConcurrentMap();
 
     // The following 2 queues are to store transactionStates with final status
     // These queues are mainly used to avoid traversing all txns and speed up the cleaning time
@@ -170,18 +171,13 @@ public class DatabaseTransactionMgr {
         return dbId;
     }
 
+    /**
+     * Look up a transaction without the transaction lock.
+     * A transaction turning final is put into idToFinalStatusTransactionState before it is removed from
+     * idToRunningTransactionState, so it is always found in one of them until it expires.
+     */
     public TransactionState getTransactionState(Long transactionId) {
-        readLock();
-        try {
-            TransactionState transactionState = idToRunningTransactionState.get(transactionId);
-            if (transactionState != null) {
-                return transactionState;
-            } else {
-                return idToFinalStatusTransactionState.get(transactionId);
-            }
-        } finally {
-            readUnlock();
-        }
+        return unprotectedGetTransactionState(transactionId);
     }
 
     private TransactionState unprotectedGetTransactionState(Long transactionId) {
@@ -373,13 +369,7 @@ public class DatabaseTransactionMgr {
         // check status
         // the caller method already own db lock, we do not obtain db lock here
         Database db = env.getInternalCatalog().getDbOrMetaException(dbId);
-        TransactionState transactionState;
-        readLock();
-        try {
-            transactionState = unprotectedGetTransactionState(transactionId);
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = getTransactionState(transactionId);
         if (transactionState == null
                 || transactionState.getTransactionStatus() == TransactionStatus.ABORTED) {
             throw new TransactionCommitFailedException(
@@ -589,13 +579,7 @@ public class DatabaseTransactionMgr {
         // check status
         // the caller method already own tables' write lock
         Database db = env.getInternalCatalog().getDbOrMetaException(dbId);
-        TransactionState transactionState;
-        readLock();
-        try {
-            transactionState = unprotectedGetTransactionState(transactionId);
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = getTransactionState(transactionId);
 
         if (transactionState == null) {
             LOG.debug("transaction not found: {}", transactionId);
@@ -665,13 +649,7 @@ public class DatabaseTransactionMgr {
 
     public boolean waitForTransactionFinished(DatabaseIf db, long transactionId, long timeoutMillis)
             throws TransactionCommitFailedException {
-        TransactionState transactionState = null;
-        readLock();
-        try {
-            transactionState = unprotectedGetTransactionState(transactionId);
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = getTransactionState(transactionId);
 
         switch (transactionState.getTransactionStatus()) {
             case COMMITTED:
@@ -800,13 +778,7 @@ public class DatabaseTransactionMgr {
     }
 
     public void finishTransaction(long transactionId, Set<Long> errorReplicaIds) throws UserException {
-        TransactionState transactionState = null;
-        readLock();
-        try {
-            transactionState = unprotectedGetTransactionState(transactionId);
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = getTransactionState(transactionId);
         // add all commit errors and publish errors to a single set
         if (errorReplicaIds == null) {
             errorReplicaIds = Sets.newHashSet();
@@ -1096,6 +1068,8 @@ public class DatabaseTransactionMgr {
                 }
             }
         } else {
+            // put before remove, so that a lock-free lookup never misses the transaction
+            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
                     runningRoutineLoadTxnNums--;
@@ -1103,7 +1077,6 @@ public class DatabaseTransactionMgr {
                     runningTxnNums--;
                 }
             }
-            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (transactionState.isShortTxn()) {
                 finalStatusTransactionStateDequeShort.add(transactionState);
             } else {
@@ -1128,21 +1101,11 @@ public class DatabaseTransactionMgr {
     }
 
     public int getRunningTxnNum() {
-        readLock();
-        try {
-            return runningTxnNums;
-        } finally {
-            readUnlock();
-        }
+        return runningTxnNums;
     }
 
     public int getRunningTxnReplicaNum() {
-        readLock();
-        try {
-            return runningTxnReplicaNums;
-        } finally {
-            readUnlock();
-        }
+        return runningTxnReplicaNums;
     }
 
     private void updateTxnLabels(TransactionState transactionState) {
@@ -1191,13 +1154,7 @@ public class DatabaseTransactionMgr {
                     + " ignore abort operation", transactionId);
             return;
         }
-        TransactionState transactionState = null;
-        readLock();
-        try {
-            transactionState = idToRunningTransactionState.get(transactionId);
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = idToRunningTransactionState.get(transactionId);
         if (transactionState == null) {
             throw new TransactionNotFoundException("transaction not found", transactionId);
         }
@@ -1237,13 +1194,7 @@ public class DatabaseTransactionMgr {
                     + " ignore abort operation", transactionId);
             return;
         }
-        TransactionState transactionState;
-        readLock();
-        try {
-            transactionState = unprotectedGetTransactionState(transactionId);
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = getTransactionState(transactionId);
 
         if (transactionState == null) {
             throw new TransactionNotFoundException("transaction [" + transactionId + "] not found");
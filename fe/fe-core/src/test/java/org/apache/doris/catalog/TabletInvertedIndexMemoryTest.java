@@ -0,0 +1,131 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.thrift.TStorageMedium;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Table;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+
+/**
+ * Measure the heap of the replica indexes per replica, with TabletInvertedIndex and with the HashBasedTable
+ * layout used before. The TabletMeta and Replica objects are shared with the catalog, so they are created before
+ * the measurement and not counted.
+ */
+public class TabletInvertedIndexMemoryTest {
+    private static final Logger LOG = LogManager.getLogger(TabletInvertedIndexMemoryTest.class);
+
+    private static final int TABLET_NUM = 1000000;
+    private static final int REPLICA_NUM = 3;
+    private static final int BACKEND_NUM = 5;
+    private static final int TABLETS_PER_INDEX = 100;
+    private static final int SCHEMA_HASH = 1;
+
+    @Ignore("benchmark, run it manually with a large heap")
+    @Test
+    public void testHeapPerReplica() {
+        TabletMeta[] tabletMetas = new TabletMeta[TABLET_NUM];
+        Replica[] replicas = new Replica[TABLET_NUM * REPLICA_NUM];
+        for (int i = 0; i < TABLET_NUM; i++) {
+            if (i % TABLETS_PER_INDEX == 0) {
+                long indexId = i / TABLETS_PER_INDEX;
+                tabletMetas[i] = new TabletMeta(1, 2, indexId, indexId, SCHEMA_HASH, TStorageMedium.HDD);
+            } else {
+                tabletMetas[i] = tabletMetas[i - 1];
+            }
+            for (int j = 0; j < REPLICA_NUM; j++) {
+                int replicaIdx = i * REPLICA_NUM + j;
+                replicas[replicaIdx] = new Replica(replicaIdx, (i + j) % BACKEND_NUM, 2, SCHEMA_HASH,
+                        0L, 0L, 0L, ReplicaState.NORMAL, -1L, 2);
+            }
+        }
+
+        long heapBefore = usedHeap();
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        for (int i = 0; i < TABLET_NUM; i++) {
+            invertedIndex.addTablet(tabletId(i), tabletMetas[i]);
+            for (int j = 0; j < REPLICA_NUM; j++) {
+                invertedIndex.addReplica(tabletId(i), replicas[i * REPLICA_NUM + j]);
+            }
+        }
+        long indexHeap = usedHeap() - heapBefore;
+        Assert.assertEquals(TABLET_NUM * REPLICA_NUM / BACKEND_NUM, invertedIndex.getTabletNumByBackendId(0));
+        invertedIndex.clear();
+        invertedIndex = null;
+
+        heapBefore = usedHeap();
+        LegacyIndex legacyIndex = new LegacyIndex();
+        for (int i = 0; i < TABLET_NUM; i++) {
+            legacyIndex.addTablet(tabletId(i), tabletMetas[i]);
+            for (int j = 0; j < REPLICA_NUM; j++) {
+                legacyIndex.addReplica(tabletId(i), replicas[i * REPLICA_NUM + j]);
+            }
+        }
+        long legacyIndexHeap = usedHeap() - heapBefore;
+        Assert.assertEquals(TABLET_NUM * REPLICA_NUM / BACKEND_NUM, legacyIndex.backingReplicaMetaTable.row(0L).size());
+
+        int totalReplicaNum = TABLET_NUM * REPLICA_NUM;
+        LOG.info("{} tablets x {} replicas on {} backends: {} bytes per replica, {} bytes with HashBasedTable",
+                TABLET_NUM, REPLICA_NUM, BACKEND_NUM, indexHeap / totalReplicaNum, legacyIndexHeap / totalReplicaNum);
+    }
+
+    private static long tabletId(int idx) {
+        return 10000L + idx;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    // the replica indexes of TabletInvertedIndex before they were changed to LongObjectHashMap
+    private static class LegacyIndex {
+        private final Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+        private final Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+        private final Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
+        private final Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+        private final Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+
+        private void addTablet(long tabletId, TabletMeta tabletMeta) {
+            tabletMetaMap.put(tabletId, tabletMeta);
+            if (!tabletMetaTable.contains(tabletMeta.getPartitionId(), tabletMeta.getIndexId())) {
+                tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
+            }
+        }
+
+        private void addReplica(long tabletId, Replica replica) {
+            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
+            replicaToTabletMap.put(replica.getId(), tabletId);
+            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
+        }
+    }
+}
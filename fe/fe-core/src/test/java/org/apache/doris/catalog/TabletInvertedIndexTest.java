@@ -0,0 +1,130 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TabletInvertedIndexTest {
+    private static final long DB_ID = 10;
+    private static final long BACKEND_ID = 10001;
+    private static final int SCHEMA_HASH = 1;
+    private static final long VERSION = 2;
+
+    private TabletInvertedIndex invertedIndex;
+
+    @Mocked
+    private Env env;
+
+    private ListMultimap<Long, Long> tabletSyncMap;
+    private ListMultimap<Long, Long> tabletDeleteFromMeta;
+    private Set<Long> tabletFoundInMeta;
+
+    @Before
+    public void setUp() {
+        invertedIndex = new TabletInvertedIndex();
+        new Expectations(env) {
+            {
+                Env.getCurrentEnvJournalVersion();
+                minTimes = 0;
+                result = FeConstants.meta_version;
+
+                Env.isCheckpointThread();
+                minTimes = 0;
+                result = false;
+            }
+        };
+
+        // tablets 1, 2 and 3 all have a replica of version 2 on the backend
+        for (long tabletId = 1; tabletId <= 3; tabletId++) {
+            invertedIndex.addTablet(tabletId, new TabletMeta(DB_ID, 20, 30, 40, SCHEMA_HASH, TStorageMedium.HDD));
+            invertedIndex.addReplica(tabletId, new Replica(tabletId * 100, BACKEND_ID, VERSION, SCHEMA_HASH,
+                    0L, 0L, 0L, ReplicaState.NORMAL, -1L, VERSION));
+        }
+    }
+
+    @Test
+    public void testFullReport() {
+        // tablet 1 is loaded, and tablet 3 is not reported
+        report(ImmutableMap.of(1L, tablet(1, VERSION + 1), 2L, tablet(2, VERSION)), null);
+        Assert.assertEquals(Lists.newArrayList(1L), tabletSyncMap.get(DB_ID));
+        Assert.assertEquals(Lists.newArrayList(3L), tabletDeleteFromMeta.get(DB_ID));
+        Assert.assertEquals(Sets.newHashSet(1L, 2L), tabletFoundInMeta);
+    }
+
+    @Test
+    public void testDeltaReport() {
+        // the tablets not in a delta report are unchanged rather than missing
+        report(ImmutableMap.of(1L, tablet(1, VERSION + 1)), Lists.newArrayList());
+        Assert.assertEquals(Lists.newArrayList(1L), tabletSyncMap.get(DB_ID));
+        Assert.assertTrue(tabletDeleteFromMeta.isEmpty());
+        Assert.assertEquals(Sets.newHashSet(1L), tabletFoundInMeta);
+
+        report(ImmutableMap.of(2L, tablet(2, VERSION)), Lists.newArrayList());
+        Assert.assertTrue(tabletSyncMap.isEmpty());
+        Assert.assertTrue(tabletDeleteFromMeta.isEmpty());
+        Assert.assertEquals(Sets.newHashSet(2L), tabletFoundInMeta);
+    }
+
+    @Test
+    public void testDeltaReportDroppedTablets() {
+        // the tablets not in meta are ignored
+        report(Maps.newHashMap(), Lists.newArrayList(3L, 4L));
+        Assert.assertTrue(tabletSyncMap.isEmpty());
+        Assert.assertEquals(Lists.newArrayList(3L), tabletDeleteFromMeta.get(DB_ID));
+        Assert.assertTrue(tabletFoundInMeta.isEmpty());
+
+        report(ImmutableMap.of(1L, tablet(1, VERSION + 1), 2L, tablet(2, VERSION)), Lists.newArrayList(3L));
+        Assert.assertEquals(Lists.newArrayList(1L), tabletSyncMap.get(DB_ID));
+        Assert.assertEquals(Lists.newArrayList(3L), tabletDeleteFromMeta.get(DB_ID));
+        Assert.assertEquals(Sets.newHashSet(1L, 2L), tabletFoundInMeta);
+    }
+
+    private void report(Map<Long, TTablet> backendTablets, List<Long> droppedTablets) {
+        tabletSyncMap = ArrayListMultimap.create();
+        tabletDeleteFromMeta = ArrayListMultimap.create();
+        tabletFoundInMeta = Sets.newConcurrentHashSet();
+        invertedIndex.tabletReport(BACKEND_ID, backendTablets, droppedTablets, Maps.newHashMap(),
+                tabletSyncMap, tabletDeleteFromMeta, tabletFoundInMeta, ArrayListMultimap.create(),
+                Maps.newHashMap(), ArrayListMultimap.create(), ArrayListMultimap.create(), Lists.newArrayList(),
+                Lists.newArrayList(), Lists.newArrayList());
+    }
+
+    private static TTablet tablet(long tabletId, long version) {
+        return new TTablet(Lists.newArrayList(new TTabletInfo(tabletId, SCHEMA_HASH, version, 0L, 0L, 0L)));
+    }
+}
@@ -0,0 +1,98 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void testBasic() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.put(1L, "a"));
+        Assert.assertNull(map.put(0L, "zero"));
+        Assert.assertNull(map.put(-1L, "minus"));
+        Assert.assertEquals("a", map.put(1L, "b"));
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("b", map.get(1L));
+        Assert.assertEquals("zero", map.get(0L));
+        Assert.assertEquals("minus", map.get(-1L));
+        Assert.assertNull(map.get(2L));
+        Assert.assertEquals("default", map.getOrDefault(2L, "default"));
+        Assert.assertTrue(map.containsKey(0L));
+
+        Assert.assertEquals("zero", map.remove(0L));
+        Assert.assertFalse(map.containsKey(0L));
+        Assert.assertNull(map.remove(0L));
+        Assert.assertNull(map.remove(100L));
+        Assert.assertEquals(2, map.size());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(1L));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullValue() {
+        new LongObjectHashMap<String>().put(1L, null);
+    }
+
+    @Test
+    public void testCompareWithHashMap() {
+        Random random = new Random(0);
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            // a small key range to make a lot of collisions and removals
+            long key = random.nextInt(5000) - 10;
+            switch (random.nextInt(3)) {
+                case 0:
+                    Assert.assertEquals(expected.put(key, key * 3), map.put(key, key * 3));
+                    break;
+                case 1:
+                    Assert.assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    Assert.assertEquals(expected.get(key), map.get(key));
+                    Assert.assertEquals(expected.containsKey(key), map.containsKey(key));
+                    break;
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+
+        long[] keys = map.keyArray();
+        List<Long> values = map.valueList();
+        Assert.assertEquals(expected.size(), keys.length);
+        Assert.assertEquals(expected.size(), values.size());
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals(expected.get(keys[i]), values.get(i));
+        }
+
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        Assert.assertEquals(expected, visited);
+    }
+}
@@ -0,0 +1,144 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.datasource.CacheException;
+import org.apache.doris.datasource.HMSExternalCatalog;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+public class HiveMetaStoreCacheTest {
+    private static final String POOL_NAME = "test-file-listing";
+    private static final int KEY_NUM = 1000;
+
+    @Mocked
+    private HMSExternalCatalog catalog;
+
+    private int originalThreadNum;
+    private ExecutorService listingExecutor;
+    private HiveMetaStoreCache metaStoreCache;
+    // the threads which loaded the keys
+    private Set<String> loadingThreads;
+
+    @Before
+    public void setUp() {
+        new Expectations() {
+            {
+                catalog.getId();
+                minTimes = 0;
+                result = 1L;
+
+                catalog.getName();
+                minTimes = 0;
+                result = "hive";
+            }
+        };
+        originalThreadNum = Config.max_external_file_listing_thread_num;
+        Config.max_external_file_listing_thread_num = 4;
+        listingExecutor = ThreadPoolManager.newDaemonFixedThreadPool(Config.max_external_file_listing_thread_num,
+                Integer.MAX_VALUE, POOL_NAME, false);
+        metaStoreCache = new HiveMetaStoreCache(catalog, MoreExecutors.directExecutor(), listingExecutor);
+        loadingThreads = ConcurrentHashMap.newKeySet();
+    }
+
+    @After
+    public void tearDown() {
+        Config.max_external_file_listing_thread_num = originalThreadNum;
+        listingExecutor.shutdownNow();
+    }
+
+    // the value of a key is twice the key, and loading the failed key throws an exception
+    private LoadingCache<Integer, Integer> newCache(int failedKey) {
+        return CacheBuilder.newBuilder().build(new CacheLoader<Integer, Integer>() {
+            @Override
+            public Integer load(Integer key) throws IOException {
+                loadingThreads.add(Thread.currentThread().getName());
+                if (key == failedKey) {
+                    throw new IOException("failed to list " + key);
+                }
+                return key * 2;
+            }
+        });
+    }
+
+    private static List<Integer> keys() {
+        List<Integer> keys = Lists.newArrayListWithExpectedSize(KEY_NUM);
+        for (int i = 0; i < KEY_NUM; i++) {
+            keys.add(i);
+        }
+        return keys;
+    }
+
+    @Test
+    public void testGetAll() {
+        LoadingCache<Integer, Integer> cache = newCache(-1);
+        List<Integer> values = metaStoreCache.getAll(cache, keys(), "files");
+
+        // all the keys are loaded by the listing pool, and the values are in the order of keys
+        Assert.assertEquals(KEY_NUM, values.size());
+        for (int i = 0; i < KEY_NUM; i++) {
+            Assert.assertEquals(i * 2, (int) values.get(i));
+        }
+        Assert.assertEquals(KEY_NUM, cache.size());
+        Assert.assertFalse(loadingThreads.isEmpty());
+        for (String thread : loadingThreads) {
+            Assert.assertTrue(thread, thread.startsWith(POOL_NAME));
+        }
+    }
+
+    @Test
+    public void testGetAllFailure() {
+        try {
+            metaStoreCache.getAll(newCache(KEY_NUM / 2), keys(), "files");
+            Assert.fail();
+        } catch (CacheException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("failed to get files for " + KEY_NUM / 2));
+        }
+    }
+
+    @Test
+    public void testGetAllInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            metaStoreCache.getAll(newCache(-1), keys(), "files");
+            Assert.fail();
+        } catch (CacheException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("interrupted"));
+        }
+        // the interrupt flag is kept for the caller, clear it for the other tests
+        Assert.assertTrue(Thread.interrupted());
+    }
+}
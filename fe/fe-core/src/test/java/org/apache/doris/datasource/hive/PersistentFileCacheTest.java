@@ -0,0 +1,153 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.common.Config;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class PersistentFileCacheTest {
+    private static final String LOCATION = "hdfs://127.0.0.1:8020/user/hive/warehouse/t/p=1";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String originalDir;
+
+    @Before
+    public void setUp() {
+        originalDir = Config.external_file_cache_dir;
+        Config.external_file_cache_dir = folder.getRoot().getAbsolutePath();
+    }
+
+    @After
+    public void tearDown() {
+        Config.external_file_cache_dir = originalDir;
+    }
+
+    private static FileStatus file(String name, long length, long modificationTime) {
+        return new FileStatus(length, false, 3, 128 * 1024 * 1024, modificationTime, new Path(LOCATION + "/" + name));
+    }
+
+    private static List<InputSplit> splits(FileStatus... files) {
+        List<InputSplit> splits = Lists.newArrayList();
+        for (FileStatus file : files) {
+            splits.add(new FileSplit(file.getPath(), 0, file.getLen(), new String[] {"host1", "host2"}));
+        }
+        return splits;
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        PersistentFileCache cache = new PersistentFileCache(1);
+        FileStatus[] files = {file("000000_0", 100, 1000L), file("000001_0", 200, 1000L)};
+        cache.put(LOCATION, files, splits(files));
+
+        List<InputSplit> loaded = cache.get(LOCATION, files);
+        Assert.assertNotNull(loaded);
+        Assert.assertEquals(2, loaded.size());
+        FileSplit first = (FileSplit) loaded.get(0);
+        Assert.assertEquals(new Path(LOCATION + "/000000_0"), first.getPath());
+        Assert.assertEquals(100, first.getLength());
+        Assert.assertArrayEquals(new String[] {"host1", "host2"}, first.getLocations());
+        Assert.assertEquals(200, loaded.get(1).getLength());
+    }
+
+    @Test
+    public void testChangedFiles() {
+        PersistentFileCache cache = new PersistentFileCache(1);
+        FileStatus[] files = {file("000000_0", 100, 1000L), file("000001_0", 200, 1000L)};
+
+        // a file is appended in place, the directory is not modified
+        cache.put(LOCATION, files, splits(files));
+        Assert.assertNull(cache.get(LOCATION, new FileStatus[] {files[0], file("000001_0", 300, 2000L)}));
+        // a file is overwritten with the same length
+        cache.put(LOCATION, files, splits(files));
+        Assert.assertNull(cache.get(LOCATION, new FileStatus[] {files[0], file("000001_0", 200, 2000L)}));
+        // a file is added
+        cache.put(LOCATION, files, splits(files));
+        Assert.assertNull(cache.get(LOCATION, new FileStatus[] {files[0], files[1], file("000002_0", 1, 1L)}));
+        // a file is removed
+        cache.put(LOCATION, files, splits(files));
+        Assert.assertNull(cache.get(LOCATION, new FileStatus[] {files[0]}));
+    }
+
+    @Test
+    public void testNotSaved() {
+        PersistentFileCache cache = new PersistentFileCache(1);
+        FileStatus[] files = {file("000000_0", 100, 1000L),
+                new FileStatus(0, true, 0, 0, 1000L, new Path(LOCATION + "/1"))};
+        // the files in a sub directory are not validated
+        cache.put(LOCATION, files, splits(files[0], file("1/000000_0", 100, 1000L)));
+        Assert.assertNull(cache.get(LOCATION, files));
+
+        cache.put(LOCATION, new FileStatus[] {files[0]}, splits(files[0]));
+        Assert.assertNotNull(cache.get(LOCATION, new FileStatus[] {files[0]}));
+        cache.clear();
+        Assert.assertNull(cache.get(LOCATION, new FileStatus[] {files[0]}));
+    }
+
+    @Test
+    public void testEvict() {
+        long originalMaxBytes = Config.external_file_cache_persist_max_bytes;
+        try {
+            PersistentFileCache cache = new PersistentFileCache(1);
+            List<FileStatus[]> locations = Lists.newArrayList();
+            for (int i = 0; i < 3; i++) {
+                FileStatus[] files = {new FileStatus(100, false, 3, 1024, 1000L,
+                        new Path(LOCATION + i + "/000000_0"))};
+                cache.put(LOCATION + i, files, splits(files));
+                locations.add(files);
+            }
+            File dir = new File(folder.getRoot(), "1");
+            File[] savedFiles = dir.listFiles();
+            Assert.assertEquals(3, savedFiles.length);
+            long now = System.currentTimeMillis();
+            // location 0 is accessed least recently, location 2 is not accessed for a long time
+            for (File savedFile : savedFiles) {
+                savedFile.setLastModified(now - 1000);
+            }
+            cache.get(LOCATION + 1, locations.get(1));
+            new File(dir, DigestUtils.md5Hex(LOCATION + 2)).setLastModified(now - TimeUnit.MINUTES.toMillis(
+                    Config.external_cache_expire_time_minutes_after_access) - 1000);
+            Config.external_file_cache_persist_max_bytes = new File(dir, DigestUtils.md5Hex(LOCATION + 1)).length();
+            cache.evict(now);
+
+            Assert.assertNull(cache.get(LOCATION + 0, locations.get(0)));
+            Assert.assertNotNull(cache.get(LOCATION + 1, locations.get(1)));
+            Assert.assertNull(cache.get(LOCATION + 2, locations.get(2)));
+        } finally {
+            Config.external_file_cache_persist_max_bytes = originalMaxBytes;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive.event;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.SerDeInfo;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.metastore.messaging.PartitionFiles;
+import org.apache.hadoop.hive.metastore.messaging.json.JSONMessageFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class MetastoreEventFactoryTest {
+    private static final String CATALOG = "hive";
+    private static final JSONMessageFactory MESSAGE_FACTORY = new JSONMessageFactory();
+
+    private final MetastoreEventFactory factory = new MetastoreEventFactory();
+    private long nextEventId = 1;
+
+    private static Table createTable(String dbName, String tblName) {
+        Table table = new Table();
+        table.setDbName(dbName);
+        table.setTableName(tblName);
+        table.setPartitionKeys(Lists.newArrayList(new FieldSchema("dt", "string", null)));
+        StorageDescriptor sd = new StorageDescriptor();
+        sd.setCols(Lists.newArrayList(new FieldSchema("id", "int", null)));
+        sd.setSerdeInfo(new SerDeInfo());
+        table.setSd(sd);
+        return table;
+    }
+
+    private static List<Partition> createPartitions(Table table, String... values) {
+        List<Partition> partitions = Lists.newArrayList();
+        for (String value : values) {
+            Partition partition = new Partition();
+            partition.setDbName(table.getDbName());
+            partition.setTableName(table.getTableName());
+            partition.setValues(Lists.newArrayList(value));
+            partition.setSd(table.getSd());
+            partitions.add(partition);
+        }
+        return partitions;
+    }
+
+    private NotificationEvent createEvent(MetastoreEventType type, String dbName, String tblName, String message) {
+        NotificationEvent event = new NotificationEvent(nextEventId++, 0, type.toString(), message);
+        event.setDbName(dbName);
+        event.setTableName(tblName);
+        return event;
+    }
+
+    private MetastoreEvent addPartitions(String dbName, String tblName, String... values) {
+        Table table = createTable(dbName, tblName);
+        String message = MESSAGE_FACTORY.buildAddPartitionMessage(table, createPartitions(table, values).iterator(),
+                Collections.<PartitionFiles>emptyIterator()).toString();
+        return AddPartitionEvent.getEvents(
+                createEvent(MetastoreEventType.ADD_PARTITION, dbName, tblName, message), CATALOG).get(0);
+    }
+
+    private MetastoreEvent dropPartitions(String dbName, String tblName, String... values) {
+        Table table = createTable(dbName, tblName);
+        String message = MESSAGE_FACTORY.buildDropPartitionMessage(table, createPartitions(table, values).iterator())
+                .toString();
+        return DropPartitionEvent.getEvents(
+                createEvent(MetastoreEventType.DROP_PARTITION, dbName, tblName, message), CATALOG).get(0);
+    }
+
+    private MetastoreEvent otherEvent(String dbName, String tblName) {
+        return IgnoredEvent.getEvents(createEvent(MetastoreEventType.OTHER, dbName, tblName, "{}"), CATALOG).get(0);
+    }
+
+    private static List<String> partitionNames(MetastoreEvent event) {
+        if (event instanceof AddPartitionEvent) {
+            return ((AddPartitionEvent) event).getPartitionNames();
+        }
+        return ((DropPartitionEvent) event).getPartitionNames();
+    }
+
+    @Test
+    public void testMergeEventsOfTable() {
+        List<MetastoreEvent> events = factory.createBatchEvents(Lists.newArrayList(
+                addPartitions("db", "tbl", "1"),
+                addPartitions("db", "TBL", "2", "3"),
+                addPartitions("db", "tbl", "4")));
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(3, events.get(0).getNumberOfEvents());
+        Assert.assertEquals(Lists.newArrayList("dt=1", "dt=2", "dt=3", "dt=4"), partitionNames(events.get(0)));
+    }
+
+    @Test
+    public void testInterleavedAddAndDrop() {
+        // add and drop of the same table are not merged with each other, so the order is kept
+        List<MetastoreEvent> events = factory.createBatchEvents(Lists.newArrayList(
+                addPartitions("db", "tbl", "1"),
+                addPartitions("db", "tbl", "2"),
+                dropPartitions("db", "tbl", "1"),
+                dropPartitions("db", "tbl", "2"),
+                addPartitions("db", "tbl", "1")));
+        Assert.assertEquals(3, events.size());
+        Assert.assertTrue(events.get(0) instanceof AddPartitionEvent);
+        Assert.assertEquals(Lists.newArrayList("dt=1", "dt=2"), partitionNames(events.get(0)));
+        Assert.assertTrue(events.get(1) instanceof DropPartitionEvent);
+        Assert.assertEquals(Lists.newArrayList("dt=1", "dt=2"), partitionNames(events.get(1)));
+        Assert.assertTrue(events.get(2) instanceof AddPartitionEvent);
+        Assert.assertEquals(Lists.newArrayList("dt=1"), partitionNames(events.get(2)));
+    }
+
+    @Test
+    public void testEventsOfDifferentTables() {
+        // the events of a table are merged across the events of other tables
+        List<MetastoreEvent> events = factory.createBatchEvents(Lists.newArrayList(
+                addPartitions("db", "tbl1", "1"),
+                addPartitions("db", "tbl2", "1"),
+                dropPartitions("db", "tbl3", "1"),
+                addPartitions("db", "tbl1", "2"),
+                addPartitions("db2", "tbl2", "2"),
+                addPartitions("db", "tbl2", "2")));
+        Assert.assertEquals(4, events.size());
+        Assert.assertEquals("tbl1", events.get(0).getTblName());
+        Assert.assertEquals(Lists.newArrayList("dt=1", "dt=2"), partitionNames(events.get(0)));
+        Assert.assertEquals("tbl2", events.get(1).getTblName());
+        Assert.assertEquals(Lists.newArrayList("dt=1", "dt=2"), partitionNames(events.get(1)));
+        Assert.assertEquals("tbl3", events.get(2).getTblName());
+        Assert.assertEquals("db2", events.get(3).getDbName());
+        Assert.assertEquals(Lists.newArrayList("dt=2"), partitionNames(events.get(3)));
+    }
+
+    @Test
+    public void testNonBatchableEventBreaksBatch() {
+        MetastoreEvent other = otherEvent("db", "tbl");
+        MetastoreEvent dbEvent = otherEvent("db", null);
+        List<MetastoreEvent> events = factory.createBatchEvents(Lists.newArrayList(
+                addPartitions("db", "tbl", "1"),
+                other,
+                addPartitions("db", "tbl", "2"),
+                addPartitions("db", "tbl2", "1"),
+                dbEvent,
+                addPartitions("db", "tbl2", "2")));
+        Assert.assertEquals(6, events.size());
+        Assert.assertEquals(Lists.newArrayList("dt=1"), partitionNames(events.get(0)));
+        Assert.assertSame(other, events.get(1));
+        Assert.assertEquals(Lists.newArrayList("dt=2"), partitionNames(events.get(2)));
+        Assert.assertEquals(Lists.newArrayList("dt=1"), partitionNames(events.get(3)));
+        Assert.assertSame(dbEvent, events.get(4));
+        Assert.assertEquals(Lists.newArrayList("dt=2"), partitionNames(events.get(5)));
+    }
+}
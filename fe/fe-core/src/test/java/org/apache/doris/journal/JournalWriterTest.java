@@ -0,0 +1,200 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.journal;
+
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.persist.OperationType;
+
+import com.google.common.base.Throwables;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JournalWriterTest {
+
+    private static class MemoryJournal implements Journal {
+        private final AtomicLong nextJournalId = new AtomicLong(1);
+        private final List<Short> opCodes = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void rollJournal() {
+        }
+
+        @Override
+        public long getMaxJournalId() {
+            return nextJournalId.get() - 1;
+        }
+
+        @Override
+        public long getMinJournalId() {
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public JournalEntity read(long journalId) {
+            return null;
+        }
+
+        @Override
+        public JournalCursor read(long fromKey, long toKey) {
+            return null;
+        }
+
+        @Override
+        public synchronized void write(short op, Writable writable) {
+            opCodes.add(op);
+            nextJournalId.incrementAndGet();
+        }
+
+        @Override
+        public synchronized long write(JournalBatch batch) {
+            long firstId = nextJournalId.getAndAdd(batch.size());
+            for (JournalBatch.Entity entity : batch.getJournalEntities()) {
+                opCodes.add(entity.getOpCode());
+            }
+            batchSizes.add(batch.size());
+            return firstId;
+        }
+
+        @Override
+        public long getJournalNum() {
+            return opCodes.size();
+        }
+
+        @Override
+        public void deleteJournals(long deleteJournalToId) {
+        }
+
+        @Override
+        public long getFinalizedJournalId() {
+            return 0;
+        }
+
+        @Override
+        public List<Long> getDatabaseNames() {
+            return null;
+        }
+    }
+
+    private static JournalTask newTask(short op, String data) throws Exception {
+        JournalBatch batch = new JournalBatch(1);
+        batch.addJournal(op, new Text(data));
+        return new JournalTask(batch.getJournalEntities().get(0));
+    }
+
+    @Test
+    public void testJournalBatch() throws Exception {
+        JournalBatch batch = new JournalBatch();
+        Assert.assertTrue(batch.isEmpty());
+        Assert.assertFalse(batch.isTimestampOnly());
+        batch.addJournal(OperationType.OP_TIMESTAMP, new Text("1"));
+        Assert.assertTrue(batch.isTimestampOnly());
+        batch.addJournal(OperationType.OP_SAVE_NEXTID, new Text("100"));
+        Assert.assertFalse(batch.isTimestampOnly());
+        Assert.assertEquals(2, batch.size());
+        long dataSize = 0;
+        for (JournalBatch.Entity entity : batch.getJournalEntities()) {
+            Assert.assertTrue(entity.getSize() > 0);
+            dataSize += entity.getSize();
+        }
+        Assert.assertEquals(dataSize, batch.getDataSize());
+    }
+
+    @Test
+    public void testWriteInOrder() throws Exception {
+        MemoryJournal journal = new MemoryJournal();
+        AtomicLong writtenJournalNum = new AtomicLong();
+        JournalWriter writer = new JournalWriter(journal,
+                (journalNum, costMs) -> writtenJournalNum.addAndGet(journalNum));
+        writer.start();
+
+        int threadNum = 8;
+        int journalNumPerThread = 200;
+        List<Long> journalIds = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threadNum; i++) {
+                futures.add(executor.submit(() -> {
+                    long lastId = 0;
+                    for (int j = 0; j < journalNumPerThread; j++) {
+                        JournalTask task = newTask(OperationType.OP_SAVE_NEXTID, String.valueOf(j));
+                        writer.submit(task);
+                        long id = task.get();
+                        // journals of the same thread are written in submit order
+                        Assert.assertTrue(id > lastId);
+                        lastId = id;
+                        journalIds.add(id);
+                    }
+                    return null;
+                }));
+            }
+            // rethrow the assertion errors and exceptions of the writing threads on the test thread
+            for (Future<?> future : futures) {
+                try {
+                    future.get(60, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    Throwables.throwIfUnchecked(e.getCause());
+                    throw new AssertionError(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = threadNum * journalNumPerThread;
+        Assert.assertEquals(total, journalIds.size());
+        Assert.assertEquals(total, journal.getMaxJournalId());
+        // every journal gets a unique id, and there is no hole
+        List<Long> sortedIds = new ArrayList<>(journalIds);
+        Collections.sort(sortedIds);
+        for (int i = 0; i < total; i++) {
+            Assert.assertEquals(i + 1, (long) sortedIds.get(i));
+        }
+        int batchedJournalNum = 0;
+        for (int size : journal.batchSizes) {
+            batchedJournalNum += size;
+        }
+        Assert.assertEquals(total, batchedJournalNum);
+        // every written journal is reported to the listener, which is called after the callers are woken up
+        for (int i = 0; i < 100 && writtenJournalNum.get() < total; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(total, writtenJournalNum.get());
+    }
+}
@@ -0,0 +1,162 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.master;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Tablet;
+import org.apache.doris.common.Config;
+import org.apache.doris.system.Backend;
+import org.apache.doris.thrift.TBackend;
+import org.apache.doris.thrift.TMasterResult;
+import org.apache.doris.thrift.TReportRequest;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.apache.thrift.TException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ReportHandlerTest extends TestWithFeService {
+    private ReportHandler reportHandler;
+    private Backend backend;
+    private long tabletId;
+    private int schemaHash;
+    private Replica replica;
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("test");
+        createTable("CREATE TABLE test.tbl (k INT, v INT) DUPLICATE KEY (k) "
+                + "DISTRIBUTED BY HASH(k) BUCKETS 1 PROPERTIES ('replication_num' = '1')");
+        Database db = Env.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:test");
+        OlapTable table = (OlapTable) db.getTableOrMetaException("tbl");
+        Tablet tablet = table.getPartitions().iterator().next().getBaseIndex().getTablets().get(0);
+        tabletId = tablet.getId();
+        schemaHash = table.getSchemaHashByIndexId(table.getBaseIndexId());
+        backend = Env.getCurrentSystemInfo().getIdToBackend().values().iterator().next();
+        replica = tablet.getReplicaByBackendId(backend.getId());
+    }
+
+    @Override
+    protected void runBeforeEach() throws Exception {
+        reportHandler = new ReportHandler();
+        Config.enable_delta_tablet_report = true;
+    }
+
+    @AfterEach
+    public void resetConfig() {
+        Config.enable_delta_tablet_report = true;
+        Config.max_consecutive_delta_tablet_reports = 10;
+    }
+
+    @Test
+    public void testDeltaReportWithoutFullReport() throws TException {
+        long reportVersion = Env.getCurrentSystemInfo().getBackendReportVersion(backend.getId());
+        long version = replica.getVersion();
+        TMasterResult result = report(reportVersion, reportVersion, version + 1);
+        Assertions.assertTrue(result.isNeedFullTabletReport());
+        Assertions.assertFalse(result.isSetAckedTabletReportVersion());
+        reportHandler.runQueuedReportTasks();
+        Assertions.assertEquals(version, replica.getVersion());
+    }
+
+    @Test
+    public void testDeltaReport() throws TException {
+        long reportVersion = Env.getCurrentSystemInfo().getBackendReportVersion(backend.getId());
+        long version = replica.getVersion();
+        TMasterResult result = report(reportVersion, null, version);
+        Assertions.assertFalse(result.isNeedFullTabletReport());
+        reportHandler.runQueuedReportTasks();
+
+        // based on the processed full report
+        result = report(reportVersion + 1, reportVersion, version + 1);
+        Assertions.assertEquals(reportVersion, result.getAckedTabletReportVersion());
+        Assertions.assertFalse(result.isNeedFullTabletReport());
+        reportHandler.runQueuedReportTasks();
+        Assertions.assertEquals(version + 1, replica.getVersion());
+
+        // based on a report not processed yet
+        result = report(reportVersion + 2, reportVersion + 2, version + 2);
+        Assertions.assertEquals(reportVersion + 1, result.getAckedTabletReportVersion());
+        Assertions.assertTrue(result.isNeedFullTabletReport());
+        reportHandler.runQueuedReportTasks();
+        Assertions.assertEquals(version + 1, replica.getVersion());
+
+        // based on a report before the last processed one
+        result = report(reportVersion + 2, reportVersion, version + 2);
+        Assertions.assertEquals(reportVersion + 1, result.getAckedTabletReportVersion());
+        Assertions.assertFalse(result.isNeedFullTabletReport());
+        reportHandler.runQueuedReportTasks();
+        Assertions.assertEquals(version + 2, replica.getVersion());
+
+        // disabled
+        Config.enable_delta_tablet_report = false;
+        result = report(reportVersion + 3, reportVersion + 2, version + 3);
+        Assertions.assertTrue(result.isNeedFullTabletReport());
+        Assertions.assertFalse(result.isSetAckedTabletReportVersion());
+        reportHandler.runQueuedReportTasks();
+        Assertions.assertEquals(version + 2, replica.getVersion());
+    }
+
+    @Test
+    public void testMaxConsecutiveDeltaReports() throws TException {
+        Config.max_consecutive_delta_tablet_reports = 2;
+        long reportVersion = Env.getCurrentSystemInfo().getBackendReportVersion(backend.getId());
+        long version = replica.getVersion();
+        report(reportVersion, null, version);
+        reportHandler.runQueuedReportTasks();
+
+        TMasterResult result = report(reportVersion + 1, reportVersion, version);
+        Assertions.assertFalse(result.isNeedFullTabletReport());
+        reportHandler.runQueuedReportTasks();
+
+        // the last delta report allowed is still processed
+        result = report(reportVersion + 2, reportVersion + 1, version);
+        Assertions.assertTrue(result.isNeedFullTabletReport());
+        reportHandler.runQueuedReportTasks();
+
+        // a full report resets the count
+        report(reportVersion + 3, null, version);
+        reportHandler.runQueuedReportTasks();
+        result = report(reportVersion + 4, reportVersion + 3, version);
+        Assertions.assertEquals(reportVersion + 3, result.getAckedTabletReportVersion());
+        Assertions.assertFalse(result.isNeedFullTabletReport());
+        reportHandler.runQueuedReportTasks();
+    }
+
+    private TMasterResult report(long reportVersion, Long baseReportVersion, long tabletVersion) throws TException {
+        TReportRequest request = new TReportRequest(
+                new TBackend(backend.getHost(), backend.getBePort(), backend.getHttpPort()));
+        request.setReportVersion(reportVersion);
+        request.setTablets(ImmutableMap.of(tabletId, new TTablet(Lists.newArrayList(
+                new TTabletInfo(tabletId, schemaHash, tabletVersion, 0L, 0L, 0L)))));
+        if (baseReportVersion != null) {
+            request.setIsDeltaTabletReport(true);
+            request.setBaseTabletReportVersion(baseReportVersion);
+            request.setDroppedTablets(Lists.newArrayList());
+        }
+        return reportHandler.handleReport(request);
+    }
+}
@@ -0,0 +1,130 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.mtmv;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.MaterializedView;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.mtmv.MTMVPartitionRefreshPlanner.RefreshPlan;
+import org.apache.doris.mtmv.metadata.MTMVRefreshSnapshot;
+import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.utframe.TestWithFeService;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class MTMVPartitionRefreshPlannerTest extends TestWithFeService {
+    private static final String QUERY = "SELECT t1.pk, v1, v2 FROM test.t1, test.t2 WHERE test.t1.pk = test.t2.pk";
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("test");
+        connectContext.setDatabase("default_cluster:test");
+        createTable("CREATE TABLE test.t1 (pk INT NOT NULL, v1 INT SUM) AGGREGATE KEY (pk) "
+                + "PARTITION BY RANGE(pk) ("
+                + "  PARTITION p1 VALUES LESS THAN ('10'),"
+                + "  PARTITION p2 VALUES LESS THAN ('20')"
+                + ") DISTRIBUTED BY HASH(pk) BUCKETS 1 PROPERTIES ('replication_num' = '1')");
+        createTable("CREATE TABLE test.t2 (pk INT NOT NULL, v2 INT SUM) AGGREGATE KEY (pk) "
+                + "DISTRIBUTED BY HASH(pk) BUCKETS 1 PROPERTIES ('replication_num' = '1')");
+        new StmtExecutor(connectContext, "CREATE MATERIALIZED VIEW mv "
+                + "BUILD DEFERRED REFRESH FAST ON DEMAND KEY (pk) PARTITION BY (t1.pk) "
+                + "DISTRIBUTED BY HASH(pk) PROPERTIES ('replication_num' = '1') AS " + QUERY).execute();
+        Assertions.assertNull(connectContext.getState().getErrorCode(), connectContext.getState().getErrorMessage());
+    }
+
+    @Test
+    public void testPlan() throws Exception {
+        Database db = Env.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:test");
+        MaterializedView mv = (MaterializedView) db.getTableOrMetaException("mv");
+        OlapTable t1 = (OlapTable) db.getTableOrMetaException("t1");
+        OlapTable t2 = (OlapTable) db.getTableOrMetaException("t2");
+
+        RefreshPlan plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, QUERY, null);
+        Assertions.assertFalse(plan.isIncremental());
+        Assertions.assertEquals(2, plan.getTableVersions().size());
+
+        Set<Long> mvPartitionIds = mv.getPartitions().stream().map(Partition::getId).collect(Collectors.toSet());
+        MTMVRefreshSnapshot snapshot = new MTMVRefreshSnapshot(0, plan.getTableVersions(), mvPartitionIds);
+        plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, QUERY, snapshot);
+        Assertions.assertTrue(plan.isIncremental());
+        Assertions.assertEquals("pk", plan.getPartitionLabel());
+        Assertions.assertTrue(plan.getPartitionIds().isEmpty());
+
+        // a load into p1 of the driving table only makes p1 of the materialized view stale
+        Partition p1 = t1.getPartition("p1");
+        p1.updateVisibleVersion(p1.getVisibleVersion() + 1);
+        plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, QUERY, snapshot);
+        Assertions.assertTrue(plan.isIncremental());
+        Assertions.assertEquals(Collections.singletonList(mv.getPartition("p1").getId()), plan.getPartitionIds());
+
+        // any change of the other table needs a complete refresh
+        Partition t2Partition = t2.getPartitions().iterator().next();
+        t2Partition.updateVisibleVersion(t2Partition.getVisibleVersion() + 1);
+        plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, QUERY, snapshot);
+        Assertions.assertFalse(plan.isIncremental());
+        Assertions.assertNotNull(plan.getTableVersions());
+    }
+
+    @Test
+    public void testNestedQueries() throws Exception {
+        Database db = Env.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:test");
+        MaterializedView mv = (MaterializedView) db.getTableOrMetaException("mv");
+        Set<Long> mvPartitionIds = mv.getPartitions().stream().map(Partition::getId).collect(Collectors.toSet());
+        MTMVRefreshSnapshot snapshot = new MTMVRefreshSnapshot(0,
+                MTMVPartitionRefreshPlanner.plan(connectContext, mv, QUERY, null).getTableVersions(), mvPartitionIds);
+
+        String inlineView = "SELECT pk, v1, v2 FROM (%s) t";
+        RefreshPlan plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, String.format(inlineView, QUERY),
+                snapshot);
+        Assertions.assertTrue(plan.isIncremental(), plan.getReason());
+
+        plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, String.format(inlineView, QUERY + " LIMIT 10"),
+                snapshot);
+        Assertions.assertFalse(plan.isIncremental());
+        Assertions.assertEquals("the query has limit", plan.getReason());
+
+        plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, String.format(inlineView,
+                "SELECT t1.pk, v1, sum(v2) OVER (ORDER BY v1) AS v2 FROM test.t1, test.t2 "
+                        + "WHERE test.t1.pk = test.t2.pk"), snapshot);
+        Assertions.assertFalse(plan.isIncremental());
+        Assertions.assertEquals("the query has analytic functions", plan.getReason());
+
+        plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, String.format(inlineView,
+                "SELECT t1.pk, v1, v2 FROM test.t1 LEFT JOIN test.t2 ON test.t1.pk = test.t2.pk"), snapshot);
+        Assertions.assertFalse(plan.isIncremental());
+        Assertions.assertEquals("the query has LEFT OUTER JOIN", plan.getReason());
+
+        plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, String.format(inlineView,
+                "SELECT pk, v1, 0 AS v2 FROM test.t1 UNION ALL (SELECT pk, v1, 1 FROM test.t1 LIMIT 1)"), snapshot);
+        Assertions.assertFalse(plan.isIncremental());
+        Assertions.assertEquals("the query has limit", plan.getReason());
+
+        plan = MTMVPartitionRefreshPlanner.plan(connectContext, mv, QUERY
+                + " AND test.t1.pk IN (SELECT pk FROM test.t2 ORDER BY pk LIMIT 1)", snapshot);
+        Assertions.assertFalse(plan.isIncremental());
+        Assertions.assertEquals("the query has limit", plan.getReason());
+    }
+}
@@ -17,17 +17,25 @@
 
 package org.apache.doris.mysql;
 
+import org.apache.doris.thrift.TResultBatch;
+
+import com.google.common.collect.Lists;
 import mockit.Delegate;
 import mockit.Expectations;
 import mockit.Mocked;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TSerializer;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.List;
 
 public class MysqlChannelTest {
     int packetId = 0;
@@ -255,6 +263,108 @@ public class MysqlChannelTest {
         channel1.sendOnePacket(buf);
     }
 
+    @Test
+    public void testSendBufferGrowAndShrink() throws IOException {
+        List<Integer> writeLens = Lists.newArrayList();
+        new Expectations() {
+            {
+                channel.write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        buffer.position(buffer.limit());
+                        if (writeLen > 0) {
+                            writeLens.add(writeLen);
+                        }
+                        return writeLen;
+                    }
+                };
+            }
+        };
+
+        MysqlChannel channel1 = new MysqlChannel(channel);
+        // all packets are buffered, and sent by one write after the buffer grows
+        for (int i = 0; i < 100; ++i) {
+            channel1.sendOnePacket(ByteBuffer.allocate(1000));
+        }
+        Assert.assertTrue(writeLens.isEmpty());
+        channel1.flush();
+        Assert.assertEquals(Lists.newArrayList(100 * 1004), writeLens);
+
+        // the grown buffer is kept while the commands still need it
+        channel1.shrinkSendBuffer();
+        Assert.assertTrue(channel1.sendBuffer.capacity() > MysqlChannel.INIT_SEND_BUFFER_SIZE);
+        for (int i = 0; i < MysqlChannel.SHRINK_SEND_BUFFER_COMMAND_NUM * 2; ++i) {
+            channel1.sendAndFlush(ByteBuffer.allocate(MysqlChannel.INIT_SEND_BUFFER_SIZE));
+            channel1.shrinkSendBuffer();
+            Assert.assertNotNull(channel1.sendBuffer);
+        }
+
+        // and released after it is not needed for a while
+        for (int i = 0; i < MysqlChannel.SHRINK_SEND_BUFFER_COMMAND_NUM - 1; ++i) {
+            channel1.sendAndFlush(ByteBuffer.allocate(10));
+            channel1.shrinkSendBuffer();
+            Assert.assertNotNull(channel1.sendBuffer);
+        }
+        channel1.sendAndFlush(ByteBuffer.allocate(10));
+        channel1.shrinkSendBuffer();
+        Assert.assertNull(channel1.sendBuffer);
+
+        writeLens.clear();
+        channel1.sendAndFlush(ByteBuffer.allocate(10));
+        Assert.assertEquals(Lists.newArrayList(14), writeLens);
+        Assert.assertEquals(MysqlChannel.INIT_SEND_BUFFER_SIZE, channel1.sendBuffer.capacity());
+    }
+
+    @Test
+    public void testSendRows() throws Exception {
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        new Expectations() {
+            {
+                channel.write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        while (buffer.hasRemaining()) {
+                            written.write(buffer.get());
+                        }
+                        return writeLen;
+                    }
+                };
+            }
+        };
+
+        TResultBatch resultBatch = new TResultBatch();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 100; ++i) {
+            byte[] row = new byte[i * 3];
+            Arrays.fill(row, (byte) i);
+            resultBatch.addToRows(ByteBuffer.wrap(row));
+            expected.write(new byte[] {(byte) row.length, (byte) (row.length >> 8), 0, (byte) i});
+            expected.write(row);
+        }
+        resultBatch.setPacketSeq(0);
+        resultBatch.setIsCompressed(false);
+        TResultBatch received = new TResultBatch();
+        new TDeserializer().deserialize(received, new TSerializer().serialize(resultBatch));
+
+        // rows deserialized from thrift are framed in place
+        MysqlChannel channel1 = new MysqlChannel(channel);
+        channel1.sendRows(received.getRows());
+        channel1.flush();
+        Assert.assertArrayEquals(expected.toByteArray(), written.toByteArray());
+        Assert.assertEquals(resultBatch.getRows(), received.getRows());
+
+        // rows in separate buffers are sent one by one
+        written.reset();
+        MysqlChannel channel2 = new MysqlChannel(channel);
+        channel2.sendRows(resultBatch.getRows());
+        channel2.flush();
+        Assert.assertArrayEquals(expected.toByteArray(), written.toByteArray());
+    }
+
     @Test(expected = IOException.class)
     public void testSendException() throws IOException {
         // mock
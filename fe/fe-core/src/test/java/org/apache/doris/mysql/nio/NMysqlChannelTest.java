@@ -0,0 +1,197 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql.nio;
+
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.mysql.MysqlChannel;
+
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.xnio.StreamConnection;
+import org.xnio.conduits.ConduitStreamSourceChannel;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+public class NMysqlChannelTest {
+    @Mocked
+    private StreamConnection conn;
+    @Mocked
+    private ConduitStreamSourceChannel sourceChannel;
+
+    // each read of the channel returns the data of one chunk at most, the channel reaches EOF after all the chunks
+    private Deque<ByteBuffer> chunks;
+
+    @Before
+    public void setUp() throws IOException {
+        chunks = new ArrayDeque<>();
+        new Expectations() {
+            {
+                conn.getPeerAddress();
+                minTimes = 0;
+                result = new InetSocketAddress(1024);
+
+                conn.getSourceChannel();
+                minTimes = 0;
+                result = sourceChannel;
+
+                sourceChannel.read((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeRead(ByteBuffer buffer) {
+                        ByteBuffer chunk = chunks.peek();
+                        if (chunk == null) {
+                            return -1;
+                        }
+                        int readLen = Math.min(buffer.remaining(), chunk.remaining());
+                        ByteBuffer data = chunk.duplicate();
+                        data.limit(data.position() + readLen);
+                        buffer.put(data);
+                        chunk.position(chunk.position() + readLen);
+                        if (!chunk.hasRemaining()) {
+                            chunks.poll();
+                        }
+                        return readLen;
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    public void testHeaderSplit() throws IOException {
+        NMysqlChannel channel = new NMysqlChannel(conn);
+        byte[] header = header(10, 0);
+        byte[] payload = payload(10, 0);
+
+        addChunk(Arrays.copyOfRange(header, 0, 1));
+        Assert.assertFalse(channel.readPacketNonBlocking());
+        addChunk(Arrays.copyOfRange(header, 1, 3));
+        Assert.assertFalse(channel.readPacketNonBlocking());
+        addChunk(Arrays.copyOfRange(header, 3, 4), payload);
+        Assert.assertTrue(channel.readPacketNonBlocking());
+        assertPacket(payload, channel.fetchOnePacket());
+
+        // the next command is framed from the beginning
+        byte[] nextPayload = payload(5, 1);
+        addChunk(header(5, 0), nextPayload);
+        Assert.assertTrue(channel.readPacketNonBlocking());
+        assertPacket(nextPayload, channel.fetchOnePacket());
+    }
+
+    @Test
+    public void testPayloadSplit() throws IOException {
+        NMysqlChannel channel = new NMysqlChannel(conn);
+        byte[] payload = payload(100, 0);
+
+        addChunk(header(100, 0));
+        addChunk(Arrays.copyOfRange(payload, 0, 30));
+        Assert.assertFalse(channel.readPacketNonBlocking());
+        addChunk(Arrays.copyOfRange(payload, 30, 99));
+        Assert.assertFalse(channel.readPacketNonBlocking());
+        addChunk(Arrays.copyOfRange(payload, 99, 100));
+        Assert.assertTrue(channel.readPacketNonBlocking());
+        assertPacket(payload, channel.fetchOnePacket());
+    }
+
+    @Test
+    public void testMultiPacket() throws IOException {
+        NMysqlChannel channel = new NMysqlChannel(conn);
+        int maxLen = MysqlChannel.MAX_PHYSICAL_PACKET_LENGTH;
+        byte[] payload = payload(maxLen + 10, 0);
+
+        // the first physical packet is full, so the payload continues in the next one
+        addChunk(header(maxLen, 0));
+        addChunk(Arrays.copyOfRange(payload, 0, maxLen / 2));
+        Assert.assertFalse(channel.readPacketNonBlocking());
+        addChunk(Arrays.copyOfRange(payload, maxLen / 2, maxLen));
+        Assert.assertFalse(channel.readPacketNonBlocking());
+        addChunk(header(10, 1), Arrays.copyOfRange(payload, maxLen, maxLen + 10));
+        Assert.assertTrue(channel.readPacketNonBlocking());
+        assertPacket(payload, channel.fetchOnePacket());
+        // the response continues the sequence of the command
+        Assert.assertEquals(2, (int) Deencapsulation.getField(channel, "sequenceId"));
+    }
+
+    @Test
+    public void testEofMidPacket() throws IOException {
+        NMysqlChannel channel = new NMysqlChannel(conn);
+        byte[] header = header(100, 0);
+        byte[] payload = payload(100, 0);
+
+        // EOF in the payload
+        addChunk(header, Arrays.copyOfRange(payload, 0, 50));
+        Assert.assertFalse(channel.readPacketNonBlocking());
+        Assert.assertTrue(channel.readPacketNonBlocking());
+        Assert.assertNull(channel.fetchOnePacket());
+
+        // EOF in the header
+        addChunk(Arrays.copyOfRange(header, 0, 2));
+        Assert.assertFalse(channel.readPacketNonBlocking());
+        Assert.assertTrue(channel.readPacketNonBlocking());
+        Assert.assertNull(channel.fetchOnePacket());
+    }
+
+    @Test(expected = IOException.class)
+    public void testBadSeq() throws IOException {
+        NMysqlChannel channel = new NMysqlChannel(conn);
+        int maxLen = MysqlChannel.MAX_PHYSICAL_PACKET_LENGTH;
+        addChunk(header(maxLen, 0), payload(maxLen, 0));
+        // NOTE: Bad packet seq
+        addChunk(header(10, 0), payload(10, 0));
+        Assert.assertTrue(channel.readPacketNonBlocking());
+        channel.fetchOnePacket();
+    }
+
+    private void addChunk(byte[]... data) {
+        int len = Arrays.stream(data).mapToInt(d -> d.length).sum();
+        ByteBuffer chunk = ByteBuffer.allocate(len);
+        for (byte[] d : data) {
+            chunk.put(d);
+        }
+        chunk.flip();
+        chunks.add(chunk);
+    }
+
+    private static byte[] header(int packetLen, int packetId) {
+        return new byte[] {(byte) packetLen, (byte) (packetLen >> 8), (byte) (packetLen >> 16), (byte) packetId};
+    }
+
+    private static byte[] payload(int len, int seed) {
+        byte[] payload = new byte[len];
+        for (int i = 0; i < len; ++i) {
+            payload[i] = (byte) ('a' + (i + seed) % 26);
+        }
+        return payload;
+    }
+
+    private static void assertPacket(byte[] expected, ByteBuffer packet) {
+        Assert.assertNotNull(packet);
+        byte[] actual = new byte[packet.remaining()];
+        packet.get(actual);
+        Assert.assertArrayEquals(expected, actual);
+    }
+}
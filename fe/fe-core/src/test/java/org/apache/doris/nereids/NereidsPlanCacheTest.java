@@ -0,0 +1,160 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.nereids;
+
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.nereids.datasets.ssb.SSBTestBase;
+import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.nereids.properties.PhysicalProperties;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.nereids.util.MemoTestUtils;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.collect.ImmutableList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NereidsPlanCacheTest extends SSBTestBase {
+
+    private final NereidsParser parser = new NereidsParser();
+
+    @BeforeEach
+    public void enablePlanCache() {
+        connectContext.getSessionVariable().setEnableNereidsPlanCache(true);
+    }
+
+    @AfterEach
+    public void disablePlanCache() {
+        connectContext.getSessionVariable().setEnableNereidsPlanCache(false);
+    }
+
+    @Test
+    public void testHitCachedPlan() {
+        String sql = "SELECT s_suppkey FROM supplier WHERE s_suppkey > 10";
+        long size = NereidsPlanCache.INSTANCE.size();
+        NereidsPlanner planner = plan(sql);
+        Assertions.assertTrue(isOptimized(planner));
+        Assertions.assertEquals(size + 1, NereidsPlanCache.INSTANCE.size());
+
+        NereidsPlanner cachedPlanner = plan(sql);
+        Assertions.assertFalse(isOptimized(cachedPlanner));
+        Assertions.assertEquals(size + 1, NereidsPlanCache.INSTANCE.size());
+
+        // literals are compared
+        Assertions.assertTrue(isOptimized(plan("SELECT s_suppkey FROM supplier WHERE s_suppkey > 11")));
+
+        // session variables are compared
+        connectContext.getSessionVariable().setEnableNereidsRuntimeFilter(
+                !connectContext.getSessionVariable().isEnableNereidsRuntimeFilter());
+        try {
+            Assertions.assertTrue(isOptimized(plan(sql)));
+        } finally {
+            connectContext.getSessionVariable().setEnableNereidsRuntimeFilter(
+                    !connectContext.getSessionVariable().isEnableNereidsRuntimeFilter());
+        }
+    }
+
+    @Test
+    public void testNotCachePlan() {
+        long size = NereidsPlanCache.INSTANCE.size();
+        String sql = "SELECT s_suppkey, now() FROM supplier";
+        plan(sql);
+        Assertions.assertTrue(isOptimized(plan(sql)));
+        Assertions.assertEquals(size, NereidsPlanCache.INSTANCE.size());
+
+        connectContext.getSessionVariable().setEnableNereidsPlanCache(false);
+        sql = "SELECT s_suppkey FROM supplier WHERE s_suppkey < 10";
+        plan(sql);
+        Assertions.assertTrue(isOptimized(plan(sql)));
+        Assertions.assertEquals(size, NereidsPlanCache.INSTANCE.size());
+    }
+
+    @Test
+    public void testNotCacheTimeAndRandomFunctions() {
+        for (String sql : ImmutableList.of("SELECT now()", "SELECT current_timestamp()", "SELECT unix_timestamp()",
+                "SELECT s_suppkey, random() FROM supplier", "SELECT s_suppkey FROM supplier WHERE s_suppkey < rand()",
+                "SELECT s_suppkey FROM supplier WHERE s_suppkey < unix_timestamp()")) {
+            long size = NereidsPlanCache.INSTANCE.size();
+            // each execution is planned again instead of reusing the folded results of the first one
+            Assertions.assertTrue(isOptimized(plan(sql)), sql);
+            Assertions.assertTrue(isOptimized(plan(sql)), sql);
+            Assertions.assertEquals(size, NereidsPlanCache.INSTANCE.size(), sql);
+        }
+
+        // unix_timestamp() of a given time does not vary
+        long size = NereidsPlanCache.INSTANCE.size();
+        String sql = "SELECT s_suppkey, unix_timestamp('2023-01-01 00:00:00') FROM supplier";
+        Assertions.assertTrue(isOptimized(plan(sql)));
+        Assertions.assertFalse(isOptimized(plan(sql)));
+        Assertions.assertEquals(size + 1, NereidsPlanCache.INSTANCE.size());
+    }
+
+    @Test
+    public void testNotCacheConnectionFunctions() throws Exception {
+        ConnectContext otherContext = createCtx(UserIdentity.ROOT, "192.168.0.1");
+        try {
+            otherContext.setDatabase(connectContext.getDatabase());
+            otherContext.setConnectionId(connectContext.getConnectionId() + 1);
+            otherContext.getSessionVariable().setEnableNereidsPlanCache(true);
+            for (String sql : ImmutableList.of("SELECT connection_id()",
+                    "SELECT s_suppkey FROM supplier WHERE s_suppkey = connection_id()",
+                    "SELECT s_suppkey, user() FROM supplier")) {
+                long size = NereidsPlanCache.INSTANCE.size();
+                Assertions.assertTrue(isOptimized(plan(connectContext, sql)));
+                Assertions.assertTrue(isOptimized(plan(otherContext, sql)));
+                Assertions.assertTrue(isOptimized(plan(connectContext, sql)));
+                Assertions.assertEquals(size, NereidsPlanCache.INSTANCE.size());
+            }
+        } finally {
+            connectContext.setThreadLocalInfo();
+        }
+    }
+
+    @Test
+    public void testExprIdsAfterCachedPlan() {
+        // the translator generates ExprIds for the expressions of order by and group by
+        String sql = "SELECT s_nation, count(*) FROM supplier GROUP BY s_nation ORDER BY s_nation";
+        plan(sql);
+        StatementContext statementContext = MemoTestUtils.createStatementContext(connectContext, sql);
+        NereidsPlanner planner = new NereidsPlanner(statementContext);
+        PhysicalPlan cachedPlan = planner.plan(parser.parseSingle(sql), PhysicalProperties.GATHER);
+        Assertions.assertFalse(isOptimized(planner));
+        Assertions.assertTrue(statementContext.getNextExprId().asInt()
+                > NereidsPlanCache.getMaxExprId(cachedPlan).asInt());
+    }
+
+    private NereidsPlanner plan(String sql) {
+        return plan(connectContext, sql);
+    }
+
+    private NereidsPlanner plan(ConnectContext ctx, String sql) {
+        StatementContext statementContext = MemoTestUtils.createStatementContext(ctx, sql);
+        NereidsPlanner planner = new NereidsPlanner(statementContext);
+        planner.plan(parser.parseSingle(sql), PhysicalProperties.GATHER);
+        return planner;
+    }
+
+    private boolean isOptimized(NereidsPlanner planner) {
+        // the memo is not optimized if the plan comes from the plan cache
+        return planner.getRoot().getLowestCostPlan(PhysicalProperties.GATHER).isPresent();
+    }
+}
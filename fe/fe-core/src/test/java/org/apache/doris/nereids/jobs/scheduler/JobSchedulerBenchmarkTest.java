@@ -0,0 +1,179 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.nereids.datasets.tpch.TPCHTestBase;
+import org.apache.doris.nereids.datasets.tpch.TPCHUtils;
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.nereids.jobs.batch.OptimizeRulesJob;
+import org.apache.doris.nereids.trees.expressions.NamedExpressionUtil;
+import org.apache.doris.nereids.util.PlanChecker;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Stack;
+import java.util.function.Supplier;
+
+/**
+ * Check that cascades optimization of TPC-H queries executes the same jobs and gets the same plans with the job
+ * pool of the scheduler and with the synchronized java.util.Stack used before. The time of both is measured by
+ * {@link #testOptimizeTime()}, which is disabled in the unit tests and run manually.
+ */
+public class JobSchedulerBenchmarkTest extends TPCHTestBase {
+    private static final Logger LOG = LogManager.getLogger(JobSchedulerBenchmarkTest.class);
+
+    private static final int WARM_UP_TIMES = 3;
+    private static final int MEASURE_TIMES = 10;
+
+    private static final Map<String, String> QUERIES = ImmutableMap.<String, String>builder()
+            .put("Q2", TPCHUtils.Q2)
+            .put("Q3", TPCHUtils.Q3)
+            .put("Q5", TPCHUtils.Q5)
+            .put("Q7", TPCHUtils.Q7)
+            .put("Q8", TPCHUtils.Q8)
+            .put("Q9", TPCHUtils.Q9)
+            .put("Q10", TPCHUtils.Q10)
+            .put("Q18", TPCHUtils.Q18)
+            .put("Q21", TPCHUtils.Q21)
+            .build();
+
+    @Test
+    public void testSameJobsAndPlans() {
+        for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+            Result result = optimize(query.getValue(), JobStack::new);
+            Result legacyResult = optimize(query.getValue(), LegacyJobStack::new);
+            Assertions.assertEquals(legacyResult.plan, result.plan, query.getKey());
+            Assertions.assertEquals(legacyResult.jobNum, result.jobNum, query.getKey());
+        }
+    }
+
+    @Disabled("benchmark, run it manually")
+    @Test
+    public void testOptimizeTime() {
+        long totalNanos = 0;
+        long totalLegacyNanos = 0;
+        for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+            Result result = measure(query.getValue(), JobStack::new);
+            Result legacyResult = measure(query.getValue(), LegacyJobStack::new);
+            Assertions.assertEquals(legacyResult.plan, result.plan, query.getKey());
+            Assertions.assertEquals(legacyResult.jobNum, result.jobNum, query.getKey());
+            totalNanos += result.nanos;
+            totalLegacyNanos += legacyResult.nanos;
+            LOG.info("{}: {} jobs, optimize {} ms, {} ms with java.util.Stack", query.getKey(),
+                    result.jobNum, result.nanos / 1e6, legacyResult.nanos / 1e6);
+        }
+        LOG.info("total: optimize {} ms, {} ms with java.util.Stack", totalNanos / 1e6, totalLegacyNanos / 1e6);
+    }
+
+    // the average time of optimizing the query, the plan must be the same every time
+    private Result measure(String sql, Supplier<JobPool> jobPoolSupplier) {
+        Result result = null;
+        long nanos = 0;
+        for (int i = 0; i < WARM_UP_TIMES + MEASURE_TIMES; i++) {
+            Result current = optimize(sql, jobPoolSupplier);
+            if (result != null) {
+                Assertions.assertEquals(result.plan, current.plan);
+                Assertions.assertEquals(result.jobNum, current.jobNum);
+            }
+            result = current;
+            if (i >= WARM_UP_TIMES) {
+                nanos += current.nanos;
+            }
+        }
+        result.nanos = nanos / MEASURE_TIMES;
+        return result;
+    }
+
+    private Result optimize(String sql, Supplier<JobPool> jobPoolSupplier) {
+        NamedExpressionUtil.clear();
+        PlanChecker checker = PlanChecker.from(connectContext)
+                .analyze(sql)
+                .rewrite()
+                .deriveStats();
+        CountingJobPool jobPool = new CountingJobPool(jobPoolSupplier.get());
+        checker.getCascadesContext().setJobPool(jobPool);
+        long start = System.nanoTime();
+        new OptimizeRulesJob(checker.getCascadesContext()).execute();
+        long elapsed = System.nanoTime() - start;
+        Result result = new Result(checker.getBestPlanTree().treeString(), jobPool.popNum);
+        result.nanos = elapsed;
+        return result;
+    }
+
+    private static class Result {
+        private final String plan;
+        private final long jobNum;
+        private long nanos;
+
+        private Result(String plan, long jobNum) {
+            this.plan = plan;
+            this.jobNum = jobNum;
+        }
+    }
+
+    private static class CountingJobPool implements JobPool {
+        private final JobPool jobPool;
+        private long popNum = 0;
+
+        private CountingJobPool(JobPool jobPool) {
+            this.jobPool = jobPool;
+        }
+
+        @Override
+        public void push(Job job) {
+            jobPool.push(job);
+        }
+
+        @Override
+        public Job pop() {
+            popNum++;
+            return jobPool.pop();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return jobPool.isEmpty();
+        }
+    }
+
+    // the job pool before it was changed to ArrayDeque
+    private static class LegacyJobStack implements JobPool {
+        private final Stack<Job> stack = new Stack<>();
+
+        @Override
+        public void push(Job job) {
+            stack.push(job);
+        }
+
+        @Override
+        public Job pop() {
+            return stack.pop();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return stack.isEmpty();
+        }
+    }
+}
@@ -27,9 +27,29 @@ import org.apache.doris.nereids.trees.expressions.GreaterThan;
 import org.apache.doris.nereids.trees.expressions.Slot;
 import org.apache.doris.nereids.trees.expressions.SlotReference;
 import org.apache.doris.nereids.trees.expressions.TimestampArithmetic;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Abs;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Concat;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.DateDiff;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.DayOfWeek;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Length;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Right;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Sqrt;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Substring;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.ToDate;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Trim;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Upper;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Year;
+import org.apache.doris.nereids.trees.expressions.literal.BigIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.DateLiteral;
 import org.apache.doris.nereids.trees.expressions.literal.DateTimeLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.DateV2Literal;
+import org.apache.doris.nereids.trees.expressions.literal.DoubleLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
 import org.apache.doris.nereids.trees.expressions.literal.Interval.TimeUnit;
 import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.NullLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.StringLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.VarcharLiteral;
 import org.apache.doris.nereids.types.BigIntType;
 import org.apache.doris.nereids.types.DateTimeType;
 import org.apache.doris.nereids.types.DoubleType;
@@ -256,6 +276,49 @@ public class FoldConstantTest extends ExpressionRewriteTestHelper {
         assertRewrite(process, process);
     }
 
+    @Test
+    public void testFunctionFold() {
+        // substring works on utf-8 characters, start and length are checked as BE does
+        assertFold(new Substring(new VarcharLiteral("abc"), new IntegerLiteral(2)), new VarcharLiteral("bc"));
+        assertFold(new Substring(new VarcharLiteral("数据库"), new IntegerLiteral(2), new IntegerLiteral(1)),
+                new VarcharLiteral("据"));
+        assertFold(new Substring(new VarcharLiteral("abc"), new IntegerLiteral(-2), new IntegerLiteral(5)),
+                new VarcharLiteral("bc"));
+        assertFold(new Substring(new VarcharLiteral("abc"), new IntegerLiteral(0)), new VarcharLiteral(""));
+        // start is beyond the characters but not beyond the bytes, BE returns null
+        Expression substring = new Substring(new VarcharLiteral("数据"), new IntegerLiteral(4));
+        Assertions.assertTrue(fold(substring) instanceof NullLiteral);
+        assertFold(new Substring(new StringLiteral("abc"), new IntegerLiteral(2)), new StringLiteral("bc"));
+        assertFold(new Right(new VarcharLiteral("数据库"), new IntegerLiteral(2)), new VarcharLiteral("据库"));
+
+        assertFold(new Length(new VarcharLiteral("数据")), new IntegerLiteral(6));
+        assertFold(new Upper(new VarcharLiteral("aBc-é")), new VarcharLiteral("ABC-é"));
+        assertFold(new Trim(new VarcharLiteral(" \ta ")), new VarcharLiteral("\ta"));
+        assertFold(new Concat(new VarcharLiteral("a"), new VarcharLiteral("b"), new VarcharLiteral("c")),
+                new VarcharLiteral("abc"));
+
+        assertFold(new Abs(new IntegerLiteral(Integer.MIN_VALUE)), new BigIntLiteral(2147483648L));
+        assertFold(new Year(new DateTimeLiteral(2022, 12, 31, 23, 59, 59)), new IntegerLiteral(2022));
+        // 2023-01-01 is a Sunday
+        assertFold(new DayOfWeek(new DateV2Literal(2023, 1, 1)), new IntegerLiteral(1));
+        assertFold(new ToDate(new DateTimeLiteral(2022, 12, 31, 23, 59, 59)), new DateLiteral(2022, 12, 31));
+        Expression dateDiff = new DateDiff(new DateTimeLiteral(2023, 1, 1, 0, 0, 0),
+                new DateTimeLiteral(2022, 12, 31, 23, 59, 59));
+        assertFold(dateDiff, new IntegerLiteral(1));
+
+        // depends on the math library of BE, left to BE
+        Expression sqrt = new Sqrt(new DoubleLiteral(2.0));
+        Assertions.assertEquals(sqrt, fold(sqrt));
+    }
+
+    private Expression fold(Expression expression) {
+        return FoldConstantRuleOnFE.INSTANCE.rewrite(expression, new ExpressionRewriteContext(null));
+    }
+
+    private void assertFold(Expression expression, Literal expected) {
+        Assertions.assertEquals(expected, fold(expression));
+    }
+
     public Expression process(TimestampArithmetic arithmetic) {
         String funcOpName;
         if (arithmetic.getFuncName() == null) {
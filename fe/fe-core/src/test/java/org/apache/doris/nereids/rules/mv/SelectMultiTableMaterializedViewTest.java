@@ -0,0 +1,169 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.rules.mv;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.MaterializedView;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.mtmv.MTMVJobManager;
+import org.apache.doris.mtmv.MTMVPartitionRefreshPlanner;
+import org.apache.doris.mtmv.metadata.MTMVRefreshSnapshot;
+import org.apache.doris.nereids.util.PlanChecker;
+import org.apache.doris.planner.OlapScanNode;
+import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class SelectMultiTableMaterializedViewTest extends TestWithFeService {
+    private OlapTable t1;
+    private OlapTable t2;
+    private MaterializedView mv;
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("test");
+        createDatabase("other");
+        connectContext.setDatabase("default_cluster:test");
+        createTable("CREATE TABLE test.t1 (k INT, v INT, x INT) DUPLICATE KEY (k) "
+                + "DISTRIBUTED BY HASH(k) BUCKETS 1 PROPERTIES ('replication_num' = '1')");
+        createTable("CREATE TABLE test.t2 (k INT, w INT) DUPLICATE KEY (k) "
+                + "DISTRIBUTED BY HASH(k) BUCKETS 1 PROPERTIES ('replication_num' = '1')");
+        new StmtExecutor(connectContext, "CREATE MATERIALIZED VIEW mv "
+                + "BUILD DEFERRED REFRESH COMPLETE ON DEMAND KEY (k) "
+                + "DISTRIBUTED BY HASH(k) BUCKETS 1 PROPERTIES ('replication_num' = '1') "
+                + "AS SELECT t1.k, t1.v, t2.w FROM t1, t2 WHERE t1.k = t2.k AND t1.v > 10").execute();
+        Assertions.assertNull(connectContext.getState().getErrorCode(), connectContext.getState().getErrorMessage());
+
+        Database db = Env.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:test");
+        t1 = (OlapTable) db.getTableOrMetaException("t1");
+        t2 = (OlapTable) db.getTableOrMetaException("t2");
+        mv = (MaterializedView) db.getTableOrMetaException("mv");
+        setRowCount(t1, 100);
+        setRowCount(t2, 100);
+        setRowCount(mv, 10);
+    }
+
+    @Override
+    protected void runBeforeEach() throws Exception {
+        connectContext.setDatabase("default_cluster:test");
+        connectContext.getSessionVariable().setEnableMaterializedViewRewrite(true);
+        // the materialized view is refreshed from the current versions of the base tables
+        MTMVRefreshSnapshot snapshot = new MTMVRefreshSnapshot(0, ImmutableMap.of(
+                t1.getId(), MTMVPartitionRefreshPlanner.getPartitionVersions(t1),
+                t2.getId(), MTMVPartitionRefreshPlanner.getPartitionVersions(t2)),
+                MTMVPartitionRefreshPlanner.getPartitionVersions(mv).keySet());
+        new MockUp<MTMVJobManager>() {
+            @Mock
+            public MTMVRefreshSnapshot getLastRefreshSnapshot(String dbName, String mvName) {
+                return snapshot;
+            }
+        };
+    }
+
+    @AfterEach
+    public void disableRewrite() {
+        connectContext.getSessionVariable().setEnableMaterializedViewRewrite(false);
+    }
+
+    @Test
+    public void testRewrite() {
+        assertScanTables("SELECT t1.k, t1.v, t2.w FROM t1, t2 WHERE t1.k = t2.k AND t1.v > 10", "mv");
+        // the conjuncts not in the definition are evaluated on the materialized view
+        assertScanTables("SELECT t1.k, t2.w FROM t1 JOIN t2 ON t2.k = t1.k WHERE t1.v > 10 AND t2.w < 5", "mv");
+        assertScanTables("SELECT t1.k, sum(t2.w) FROM t1, t2 WHERE t1.k = t2.k AND t1.v > 10 GROUP BY t1.k", "mv");
+
+        // the names of the definition are resolved in the database of the materialized view
+        connectContext.setDatabase("default_cluster:other");
+        assertScanTables("SELECT test.t1.k, test.t2.w FROM test.t1, test.t2 "
+                + "WHERE test.t1.k = test.t2.k AND test.t1.v > 10", "mv");
+        Assertions.assertEquals("default_cluster:other", connectContext.getDatabase());
+    }
+
+    @Test
+    public void testNotRewriteOuterJoin() {
+        assertScanTables("SELECT t1.k, t1.v, t2.w FROM t1 LEFT JOIN t2 ON t1.k = t2.k WHERE t1.v > 10", "t1", "t2");
+    }
+
+    @Test
+    public void testNotRewriteWithoutPredicates() {
+        // the materialized view lacks the rows filtered by t1.v > 10
+        assertScanTables("SELECT t1.k, t1.v, t2.w FROM t1, t2 WHERE t1.k = t2.k", "t1", "t2");
+        assertScanTables("SELECT t1.k, t1.v, t2.w FROM t1, t2 WHERE t1.k = t2.k AND t1.v > 5", "t1", "t2");
+    }
+
+    @Test
+    public void testNotRewriteMissingColumn() {
+        assertScanTables("SELECT t1.k, t1.x FROM t1, t2 WHERE t1.k = t2.k AND t1.v > 10", "t1", "t2");
+        assertScanTables("SELECT t1.k, t2.w FROM t1, t2 WHERE t1.k = t2.k AND t1.v > 10 AND t1.x = 1",
+                "t1", "t2");
+    }
+
+    @Test
+    public void testNotRewriteStale() {
+        String sql = "SELECT t1.k, t1.v, t2.w FROM t1, t2 WHERE t1.k = t2.k AND t1.v > 10";
+        Partition partition = t2.getPartitions().iterator().next();
+        long version = partition.getVisibleVersion();
+        partition.updateVisibleVersion(version + 1);
+        try {
+            assertScanTables(sql, "t1", "t2");
+        } finally {
+            partition.updateVisibleVersion(version);
+        }
+        assertScanTables(sql, "mv");
+    }
+
+    @Test
+    public void testNotRewriteMoreRows() {
+        String sql = "SELECT t1.k, t1.v, t2.w FROM t1, t2 WHERE t1.k = t2.k AND t1.v > 10";
+        setRowCount(mv, 200);
+        try {
+            assertScanTables(sql, "t1", "t2");
+        } finally {
+            setRowCount(mv, 10);
+        }
+    }
+
+    private void assertScanTables(String sql, String... tableNames) {
+        PlanChecker.from(connectContext).checkPlannerResult(sql, planner -> Assertions.assertEquals(
+                ImmutableSet.copyOf(tableNames), planner.getScanNodes().stream()
+                        .map(scan -> ((OlapScanNode) scan).getOlapTable().getName())
+                        .collect(Collectors.toSet()), sql));
+        // the read lock of the materialized view is released after planning
+        Assertions.assertTrue(mv.tryWriteLock(0, TimeUnit.MILLISECONDS));
+        mv.writeUnlock();
+    }
+
+    private static void setRowCount(OlapTable table, long rowCount) {
+        long partitionNum = table.getPartitions().size();
+        for (Partition partition : table.getPartitions()) {
+            partition.getBaseIndex().setRowCount(rowCount / partitionNum);
+        }
+    }
+}
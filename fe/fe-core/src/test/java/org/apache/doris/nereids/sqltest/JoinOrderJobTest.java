@@ -17,10 +17,19 @@
 
 package org.apache.doris.nereids.sqltest;
 
+import org.apache.doris.nereids.trees.plans.RelationId;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalHashJoin;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOlapScan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
 import org.apache.doris.nereids.util.PlanChecker;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 public class JoinOrderJobTest extends SqlTestBase {
     @Test
     protected void testSimpleSQL() {
@@ -71,6 +80,40 @@ public class JoinOrderJobTest extends SqlTestBase {
                 .dpHypOptimize();
     }
 
+    @Test
+    protected void testJoinMoreThan64Relations() {
+        // more relations than the nodes of a hyper graph
+        StringBuilder sql = new StringBuilder("select * from T1 t0");
+        for (int i = 1; i < 70; i++) {
+            sql.append(" join T1 t").append(i).append(" on t").append(i - 1).append(".id = t").append(i)
+                    .append(".id");
+        }
+        PhysicalPlan plan = PlanChecker.from(connectContext)
+                .analyze(sql.toString())
+                .rewrite()
+                .deriveStats()
+                // the sub join of the 7 relations at the bottom is optimized separately, the others fit in 64 nodes
+                .dpHypOptimize(joinOrderJob -> Assertions.assertEquals(1, joinOrderJob.getCollapsedJoinNum()))
+                .getBestPlanTree();
+
+        // all the relations are joined
+        List<RelationId> relationIds = Lists.newArrayList();
+        List<PhysicalHashJoin<?, ?>> joins = Lists.newArrayList();
+        plan.foreach(node -> {
+            if (node instanceof PhysicalOlapScan) {
+                relationIds.add(((PhysicalOlapScan) node).getId());
+            } else if (node instanceof PhysicalHashJoin) {
+                joins.add((PhysicalHashJoin<?, ?>) node);
+            }
+        });
+        Assertions.assertEquals(70, relationIds.size());
+        Assertions.assertEquals(70, Sets.newHashSet(relationIds).size());
+        Assertions.assertEquals(69, joins.size());
+        for (PhysicalHashJoin<?, ?> join : joins) {
+            Assertions.assertFalse(join.getHashJoinConjuncts().isEmpty());
+        }
+    }
+
     @Test
     protected void testConstantComplex() {
         String sql = "select count(*) \n"
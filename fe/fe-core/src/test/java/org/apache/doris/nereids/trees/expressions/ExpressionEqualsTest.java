@@ -206,4 +206,17 @@ public class ExpressionEqualsTest {
         Assertions.assertEquals(unboundStar1, unboundStar2);
         Assertions.assertEquals(unboundStar1.hashCode(), unboundStar2.hashCode());
     }
+
+    @Test
+    public void testCaseWhen() {
+        CaseWhen caseWhen1 = new CaseWhen(Lists.newArrayList(new WhenClause(child1, left1)), right1);
+        CaseWhen caseWhen2 = new CaseWhen(Lists.newArrayList(new WhenClause(child2, left2)), right2);
+        Assertions.assertEquals(caseWhen1, caseWhen2);
+        Assertions.assertEquals(caseWhen1.hashCode(), caseWhen2.hashCode());
+        // hash code is cached after the first call
+        Assertions.assertEquals(caseWhen1.hashCode(), caseWhen1.hashCode());
+
+        CaseWhen caseWhen3 = new CaseWhen(Lists.newArrayList(new WhenClause(child1, right1)), left1);
+        Assertions.assertNotEquals(caseWhen1, caseWhen3);
+    }
 }
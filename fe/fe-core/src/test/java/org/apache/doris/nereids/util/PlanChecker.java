@@ -181,6 +181,14 @@ public class PlanChecker {
     }
 
     public PlanChecker dpHypOptimize() {
+        return dpHypOptimize(joinOrderJob -> {
+        });
+    }
+
+    /**
+     * optimize with DPHyp, and check the executed join order job by the checker
+     */
+    public PlanChecker dpHypOptimize(Consumer<JoinOrderJob> checker) {
         double now = System.currentTimeMillis();
         Group root = cascadesContext.getMemo().getRoot();
         boolean changeRoot = false;
@@ -193,8 +201,10 @@ public class PlanChecker {
             root = copyInResult.correspondingExpression.getOwnerGroup();
             changeRoot = true;
         }
-        cascadesContext.pushJob(new JoinOrderJob(root, cascadesContext.getCurrentJobContext()));
+        JoinOrderJob joinOrderJob = new JoinOrderJob(root, cascadesContext.getCurrentJobContext());
+        cascadesContext.pushJob(joinOrderJob);
         cascadesContext.getJobScheduler().executeJobPool(cascadesContext);
+        checker.accept(joinOrderJob);
         if (changeRoot) {
             cascadesContext.getMemo().setRoot(root.getLogicalExpression().child(0));
         }
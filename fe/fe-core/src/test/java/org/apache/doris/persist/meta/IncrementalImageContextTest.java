@@ -0,0 +1,155 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.analysis.DropDbStmt;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.persist.OperationType;
+import org.apache.doris.transaction.TransactionState;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+import org.apache.doris.transaction.TransactionState.TxnCoordinator;
+import org.apache.doris.transaction.TransactionState.TxnSourceType;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class IncrementalImageContextTest extends TestWithFeService {
+    private File baseImage;
+    private File fullImage;
+    private File incrementalImage;
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        for (String dbName : new String[] {"db1", "db2", "db3"}) {
+            createDatabase(dbName);
+            createTable("CREATE TABLE " + dbName + ".tbl (k INT, v INT) DUPLICATE KEY (k) "
+                    + "DISTRIBUTED BY HASH(k) BUCKETS 1 PROPERTIES ('replication_num' = '1')");
+        }
+    }
+
+    @BeforeEach
+    public void createImageFiles() throws IOException {
+        baseImage = Files.createTempFile("image", "base").toFile();
+        fullImage = Files.createTempFile("image", "full").toFile();
+        incrementalImage = Files.createTempFile("image", "incremental").toFile();
+    }
+
+    @AfterEach
+    public void deleteImageFiles() {
+        baseImage.delete();
+        fullImage.delete();
+        incrementalImage.delete();
+    }
+
+    @Test
+    public void testIncrementalImage() throws Exception {
+        saveImage(baseImage, null);
+
+        // db1 is modified, db2 is dropped, db4 is added and db3 is not changed
+        IncrementalImageContext context = IncrementalImageContext.create(baseImage);
+        Database db1 = getDb("db1");
+        updateVisibleVersion(db1);
+        context.markDirty(journal(OperationType.OP_UPSERT_TRANSACTION_STATE, transactionState(db1)));
+        Env.getCurrentEnv().dropDb((DropDbStmt) parseAndAnalyzeStmt("DROP DATABASE db2 FORCE"));
+        createDatabase("db4");
+
+        saveImage(fullImage, null);
+        saveImage(incrementalImage, context);
+        Assertions.assertArrayEquals(Files.readAllBytes(fullImage.toPath()),
+                Files.readAllBytes(incrementalImage.toPath()));
+
+        // the image is not the same if the modified db is copied from the base image
+        saveImage(incrementalImage, IncrementalImageContext.create(baseImage));
+        Assertions.assertFalse(Arrays.equals(Files.readAllBytes(fullImage.toPath()),
+                Files.readAllBytes(incrementalImage.toPath())));
+
+        // the incremental image can be the base of the next incremental image
+        context = IncrementalImageContext.create(incrementalImage);
+        Assertions.assertNotNull(context);
+        saveImage(baseImage, context);
+        Assertions.assertArrayEquals(Files.readAllBytes(fullImage.toPath()), Files.readAllBytes(baseImage.toPath()));
+    }
+
+    @Test
+    public void testUnknownJournal() throws Exception {
+        saveImage(baseImage, null);
+
+        // a journal not known to keep the dbs unchanged makes all dbs dirty
+        IncrementalImageContext context = IncrementalImageContext.create(baseImage);
+        updateVisibleVersion(getDb("db3"));
+        context.markDirty(journal(OperationType.OP_CREATE_DB, null));
+
+        saveImage(fullImage, null);
+        saveImage(incrementalImage, context);
+        Assertions.assertArrayEquals(Files.readAllBytes(fullImage.toPath()),
+                Files.readAllBytes(incrementalImage.toPath()));
+    }
+
+    // save the image as the checkpoint thread does, a full image is saved if the context is null
+    private void saveImage(File imageFile, IncrementalImageContext context) throws IOException {
+        Env env = Env.getCurrentEnv();
+        IncrementalImageContext.set(context);
+        Deencapsulation.setField(Env.class, "CHECKPOINT", env);
+        Env.registerCheckpointWorkerThread();
+        try {
+            env.saveImage(imageFile, env.getReplayedJournalId());
+        } finally {
+            Env.unregisterCheckpointWorkerThread();
+            Deencapsulation.setField(Env.class, "CHECKPOINT", null);
+            IncrementalImageContext.set(null);
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static Database getDb(String dbName) throws Exception {
+        return Env.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:" + dbName);
+    }
+
+    private static void updateVisibleVersion(Database db) throws Exception {
+        Partition partition = ((OlapTable) db.getTableOrMetaException("tbl")).getPartitions().iterator().next();
+        partition.updateVisibleVersion(partition.getVisibleVersion() + 1);
+    }
+
+    private static TransactionState transactionState(Database db) {
+        return new TransactionState(db.getId(), Lists.newArrayList(), 1L, "label", null, LoadJobSourceType.FRONTEND,
+                new TxnCoordinator(TxnSourceType.FE, "127.0.0.1"), -1L, 1000L);
+    }
+
+    private static JournalEntity journal(short opCode, TransactionState data) {
+        JournalEntity journal = new JournalEntity();
+        journal.setOpCode(opCode);
+        journal.setData(data);
+        return journal;
+    }
+}
@@ -0,0 +1,105 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class MetaFooterTest {
+    private static final int BODY_LENGTH = 100;
+    private static final long CHECKSUM = 12345L;
+
+    private File imageFile;
+    private List<MetaIndex> metaIndices;
+
+    @Before
+    public void setUp() throws IOException {
+        imageFile = Files.createTempFile("image", "tmp").toFile();
+        try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
+            raf.write(new byte[BODY_LENGTH]);
+        }
+        metaIndices = Lists.newArrayList(new MetaIndex("header", 0),
+                new MetaIndex("db", 20), new MetaIndex("auth", 80));
+    }
+
+    @After
+    public void tearDown() {
+        imageFile.delete();
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        List<MetaIndex> dbIndices = Lists.newArrayList(new MetaIndex("10001", 4), new MetaIndex("10002", 30));
+        MetaFooter.write(imageFile, metaIndices, dbIndices, CHECKSUM);
+
+        MetaFooter footer = MetaFooter.read(imageFile);
+        Assert.assertEquals(CHECKSUM, footer.checksum);
+        Assert.assertEquals(toStrings(metaIndices), toStrings(footer.metaIndices));
+        Assert.assertEquals(toStrings(dbIndices), toStrings(footer.dbIndices));
+        Assert.assertEquals(BODY_LENGTH, footer.getStartOffset(imageFile.length()));
+        Assert.assertNotNull(IncrementalImageContext.create(imageFile));
+    }
+
+    @Test
+    public void testReadWithoutDbIndices() throws IOException {
+        MetaFooter.write(imageFile, metaIndices, Lists.newArrayList(), CHECKSUM);
+
+        MetaFooter footer = MetaFooter.read(imageFile);
+        Assert.assertEquals(toStrings(metaIndices), toStrings(footer.metaIndices));
+        Assert.assertTrue(footer.dbIndices.isEmpty());
+        Assert.assertNull(IncrementalImageContext.create(imageFile));
+    }
+
+    @Test
+    public void testReadOldFormat() throws IOException {
+        // the footer written by the old version ends after the meta indices
+        try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
+            long startIndex = raf.length();
+            raf.seek(startIndex);
+            raf.writeLong(CHECKSUM);
+            raf.writeInt(metaIndices.size());
+            for (MetaIndex metaIndex : metaIndices) {
+                MetaIndex.write(raf, metaIndex);
+            }
+            raf.writeLong(raf.length() - startIndex);
+            MetaMagicNumber.write(raf);
+        }
+
+        MetaFooter footer = MetaFooter.read(imageFile);
+        Assert.assertEquals(CHECKSUM, footer.checksum);
+        Assert.assertEquals(toStrings(metaIndices), toStrings(footer.metaIndices));
+        Assert.assertTrue(footer.dbIndices.isEmpty());
+        Assert.assertEquals(BODY_LENGTH, footer.getStartOffset(imageFile.length()));
+        // the checkpoint writes a full image based on it
+        Assert.assertNull(IncrementalImageContext.create(imageFile));
+    }
+
+    private static List<String> toStrings(List<MetaIndex> indices) {
+        return indices.stream().map(MetaIndex::toString).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,58 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class MetaSectionExecutorTest {
+    @Test(timeout = 60000)
+    public void testCloseWaitsForRunningTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean(false);
+        AtomicBoolean queuedTaskRun = new AtomicBoolean(false);
+        try (MetaSectionExecutor executor = new MetaSectionExecutor(1, "meta-section-executor-test")) {
+            executor.submit(() -> {
+                started.countDown();
+                // like writing a section, the task does not stop on interrupt
+                long deadline = System.currentTimeMillis() + 500;
+                while (System.currentTimeMillis() < deadline) {
+                    try {
+                        Thread.sleep(Math.max(1, deadline - System.currentTimeMillis()));
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                }
+                finished.set(true);
+                return 0L;
+            });
+            executor.submit(() -> {
+                queuedTaskRun.set(true);
+                return 1L;
+            });
+            Assert.assertTrue(started.await(30, TimeUnit.SECONDS));
+        }
+        // the running task is done when close returns, and the queued one is cancelled
+        Assert.assertTrue(finished.get());
+        Assert.assertFalse(queuedTaskRun.get());
+    }
+}
@@ -0,0 +1,140 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.analysis.CreateUserStmt;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.qe.VariableMgr;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ParallelImageTest extends TestWithFeService {
+    private static final int PARALLELISM = 4;
+
+    private final List<File> imageFiles = Lists.newArrayList();
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        for (String dbName : new String[] {"db1", "db2"}) {
+            createDatabase(dbName);
+            createTable("CREATE TABLE " + dbName + ".tbl (k INT, v INT) DUPLICATE KEY (k) "
+                    + "DISTRIBUTED BY HASH(k) BUCKETS 3 PROPERTIES ('replication_num' = '1')");
+        }
+        Env.getCurrentEnv().getAuth().createUser(
+                (CreateUserStmt) parseAndAnalyzeStmt("CREATE USER 'user1' IDENTIFIED BY 'passwd'"));
+        createSqlBlockRule("CREATE SQL_BLOCK_RULE rule1 PROPERTIES ('sql' = 'select \\\\* from db1.tbl', "
+                + "'global' = 'false', 'enable' = 'true')");
+    }
+
+    @AfterEach
+    public void deleteImageFiles() {
+        Config.metadata_image_parallelism = 1;
+        for (File imageFile : imageFiles) {
+            imageFile.delete();
+        }
+    }
+
+    @Test
+    public void testSaveInParallel() throws Exception {
+        File serialImage = saveImage(Env.getCurrentEnv(), 1);
+        File parallelImage = saveImage(Env.getCurrentEnv(), PARALLELISM);
+        Assertions.assertEquals(MetaFooter.read(serialImage).checksum, MetaFooter.read(parallelImage).checksum);
+        Assertions.assertArrayEquals(Files.readAllBytes(serialImage.toPath()),
+                Files.readAllBytes(parallelImage.toPath()));
+    }
+
+    @Test
+    public void testLoadInParallel() throws Exception {
+        File image = saveImage(Env.getCurrentEnv(), 1);
+        Set<String> dbNames = Sets.newHashSet(Env.getCurrentInternalCatalog().getDbNames());
+
+        // the state loaded in parallel is saved as the same image as the state loaded serially
+        File serialLoadedImage = loadAndSaveImage(image, 1, dbNames);
+        File parallelLoadedImage = loadAndSaveImage(image, PARALLELISM, dbNames);
+        Assertions.assertEquals(MetaFooter.read(serialLoadedImage).checksum,
+                MetaFooter.read(parallelLoadedImage).checksum);
+        Assertions.assertArrayEquals(Files.readAllBytes(serialLoadedImage.toPath()),
+                Files.readAllBytes(parallelLoadedImage.toPath()));
+    }
+
+    @Test
+    public void testLoadDependencies() {
+        // a module only depends on the modules before it, so that the dependencies are submitted before it
+        for (Map.Entry<String, ImmutableSet<String>> entry
+                : PersistMetaModules.PARALLEL_LOAD_DEPENDENCIES.entrySet()) {
+            int index = PersistMetaModules.MODULE_NAMES.indexOf(entry.getKey());
+            Assertions.assertTrue(index >= 0, entry.getKey());
+            for (String dependency : entry.getValue()) {
+                int dependencyIndex = PersistMetaModules.MODULE_NAMES.indexOf(dependency);
+                Assertions.assertTrue(dependencyIndex >= 0 && dependencyIndex < index,
+                        entry.getKey() + " depends on " + dependency);
+            }
+        }
+    }
+
+    private File saveImage(Env env, int parallelism) throws IOException {
+        File imageFile = Files.createTempFile("image", String.valueOf(parallelism)).toFile();
+        imageFiles.add(imageFile);
+        Config.metadata_image_parallelism = parallelism;
+        try {
+            env.saveImage(imageFile, env.getReplayedJournalId());
+        } finally {
+            Config.metadata_image_parallelism = 1;
+        }
+        return imageFile;
+    }
+
+    // load the image into a new env as the checkpoint does, and save it again
+    private File loadAndSaveImage(File imageFile, int parallelism, Set<String> dbNames) throws Exception {
+        MetaContext metaContext = MetaContext.get();
+        VariableMgr.createDefaultSessionVariableForCkpt();
+        Env.registerCheckpointWorkerThread();
+        try {
+            // the checkpoint env is created on the first visit
+            Env env = Env.getCurrentEnv();
+            Config.metadata_image_parallelism = parallelism;
+            MetaReader.read(imageFile, env);
+            Assertions.assertEquals(dbNames, Sets.newHashSet(env.getInternalCatalog().getDbNames()));
+            Assertions.assertTrue(env.getSqlBlockRuleMgr().existRule("rule1"));
+            return saveImage(env, 1);
+        } finally {
+            Config.metadata_image_parallelism = 1;
+            Env.unregisterCheckpointWorkerThread();
+            Env.destroyCheckpoint();
+            VariableMgr.destroyDefaultSessionVariableForCkpt();
+            if (metaContext != null) {
+                metaContext.setThreadLocalInfo();
+            }
+        }
+    }
+}
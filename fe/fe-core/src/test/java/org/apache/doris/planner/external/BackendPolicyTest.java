@@ -0,0 +1,111 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner.external;
+
+import org.apache.doris.system.Backend;
+import org.apache.doris.system.BeSelectionPolicy;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.FileSplit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class BackendPolicyTest {
+
+    private static List<Backend> createBackends(int num) {
+        List<Backend> backends = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            backends.add(new Backend(10000 + i, "192.168.0." + i, 9050));
+        }
+        return backends;
+    }
+
+    private static List<FileSplit> createSplits(int num, long length) {
+        List<FileSplit> splits = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            splits.add(new FileSplit(new Path("hdfs://127.0.0.1:8020/warehouse/t/file_" + i), 0, length,
+                    new String[0]));
+        }
+        return splits;
+    }
+
+    @Test
+    public void testBalancedAssignment() throws Exception {
+        List<Backend> backends = createBackends(3);
+        BackendPolicy policy = new BackendPolicy();
+        policy.init(backends);
+        List<FileSplit> splits = createSplits(300, 1024);
+        splits.addAll(createSplits(3, 100 * 1024));
+
+        // the alive state of a backend changes by heartbeat during planning
+        backends.get(0).setAlive(true);
+        Map<Long, List<FileSplit>> assignment = policy.assignSplits(splits);
+        Assert.assertEquals(3, assignment.size());
+        long totalBytes = 300 * 1024 + 3 * 100 * 1024;
+        int splitNum = 0;
+        for (List<FileSplit> assigned : assignment.values()) {
+            long bytes = assigned.stream().mapToLong(FileSplit::getLength).sum();
+            Assert.assertTrue(bytes <= totalBytes / 3 * 1.2);
+            splitNum += assigned.size();
+        }
+        Assert.assertEquals(303, splitNum);
+    }
+
+    @Test
+    public void testStableAssignment() throws Exception {
+        List<Backend> backends = createBackends(3);
+        BackendPolicy policy1 = new BackendPolicy();
+        policy1.init(backends);
+        BackendPolicy policy2 = new BackendPolicy();
+        policy2.init(Lists.newArrayList(backends.get(2), backends.get(0), backends.get(1)));
+
+        // the same splits are assigned to the same backends, whatever the order of the candidate backends
+        Map<Long, List<FileSplit>> assignment1 = policy1.assignSplits(createSplits(100, 1024));
+        Map<Long, List<FileSplit>> assignment2 = policy2.assignSplits(createSplits(100, 1024));
+        for (Backend backend : backends) {
+            List<String> paths1 = Lists.newArrayList();
+            assignment1.get(backend.getId()).forEach(split -> paths1.add(split.getPath().toString()));
+            List<String> paths2 = Lists.newArrayList();
+            assignment2.get(backend.getId()).forEach(split -> paths2.add(split.getPath().toString()));
+            Assert.assertEquals(paths1, paths2);
+        }
+    }
+
+    @Test
+    public void testStableCandidates() {
+        List<Backend> backends = createBackends(10);
+        for (Backend backend : backends) {
+            backend.setAlive(true);
+        }
+        BeSelectionPolicy policy = new BeSelectionPolicy.Builder().preferComputeNode().assignCandidateNum(3)
+                .assignAffinityKey(1L).build();
+        List<Backend> candidates = policy.getCandidateBackends(ImmutableList.copyOf(backends));
+        Assert.assertEquals(3, candidates.size());
+        for (int i = 0; i < 10; i++) {
+            List<Backend> shuffled = Lists.newArrayList(backends);
+            Collections.shuffle(shuffled);
+            Assert.assertEquals(candidates, policy.getCandidateBackends(ImmutableList.copyOf(shuffled)));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.mysql.MysqlChannel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the cost of idle mysql connections, with the platform thread pool of ConnectScheduler and with the
+ * virtual threads enabled by enable_connection_virtual_thread. Each connection holds a MysqlChannel and waits for
+ * the next command, like ConnectProcessor between two queries. The stacks of platform threads are not on heap,
+ * so the number of started platform threads is reported besides the heap. The virtual threads are only measured
+ * on JDK 21 or later.
+ */
+public class ConnectionScalingBenchmarkTest {
+    private static final Logger LOG = LogManager.getLogger(ConnectionScalingBenchmarkTest.class);
+
+    private static final int[] CONNECTION_NUMS = {1000, 4000, 10000};
+
+    @Ignore("benchmark, run it manually")
+    @Test
+    public void testIdleConnections() throws Exception {
+        for (int connectionNum : CONNECTION_NUMS) {
+            ExecutorService platformExecutor = ThreadPoolManager.newDaemonCacheThreadPool(connectionNum,
+                    "connection-benchmark-platform-pool", false);
+            measure("platform threads", platformExecutor, connectionNum);
+
+            ExecutorService virtualExecutor = ThreadPoolManager.newVirtualThreadPerTaskExecutor(
+                    "connection-benchmark-virtual-pool");
+            if (virtualExecutor == null) {
+                LOG.info("virtual thread is not supported by current jdk, skip it");
+            } else {
+                measure("virtual threads", virtualExecutor, connectionNum);
+            }
+        }
+    }
+
+    private void measure(String name, ExecutorService executor, int connectionNum) throws Exception {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        System.gc();
+        long heapBefore = memoryMXBean.getHeapMemoryUsage().getUsed();
+        int threadsBefore = threadMXBean.getThreadCount();
+
+        CountDownLatch started = new CountDownLatch(connectionNum);
+        CountDownLatch close = new CountDownLatch(1);
+        List<MysqlChannel> channels = new ArrayList<>(connectionNum);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < connectionNum; i++) {
+                MysqlChannel channel = new MysqlChannel(null);
+                channels.add(channel);
+                executor.submit(() -> {
+                    started.countDown();
+                    // wait for the next command of the client
+                    close.await();
+                    return channel;
+                });
+            }
+            Assert.assertTrue(started.await(60, TimeUnit.SECONDS));
+            long elapsed = System.nanoTime() - start;
+            System.gc();
+            long heapUsed = memoryMXBean.getHeapMemoryUsage().getUsed() - heapBefore;
+            int threads = threadMXBean.getThreadCount() - threadsBefore;
+            LOG.info("{} idle connections on {}: start {} ms, {} platform threads, heap {} KB, {} bytes per connection",
+                    connectionNum, name, elapsed / 1e6, threads, heapUsed / 1024, heapUsed / connectionNum);
+        } finally {
+            close.countDown();
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import com.google.protobuf.ByteString;
+import org.apache.thrift.TException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PointQueryContextCacheTest {
+    @Test
+    public void testShareByPlan() throws TException {
+        PointQueryContextCache cache = new PointQueryContextCache();
+        ByteString desc = ByteString.copyFromUtf8("desc");
+        ByteString exprs = ByteString.copyFromUtf8("exprs");
+        AtomicInteger serializedNum = new AtomicInteger();
+        PointQueryContextCache.Serializer descSerializer = () -> {
+            serializedNum.incrementAndGet();
+            return desc;
+        };
+        PointQueryContextCache.Serializer exprsSerializer = () -> {
+            serializedNum.incrementAndGet();
+            return exprs;
+        };
+
+        PointQueryContextCache.Context context = cache.getOrCreate(
+                new PointQueryContextCache.Key("plan", false), descSerializer, exprsSerializer);
+        Assert.assertEquals(2, serializedNum.get());
+        Assert.assertSame(desc, context.getSerializedDescTable());
+        Assert.assertSame(exprs, context.getSerializedOutputExpr());
+
+        // the same plan is not serialized again
+        PointQueryContextCache.Context same = cache.getOrCreate(
+                new PointQueryContextCache.Key("plan", false), descSerializer, exprsSerializer);
+        Assert.assertSame(context, same);
+        Assert.assertEquals(2, serializedNum.get());
+
+        Assert.assertNotEquals(context.getId(), cache.getOrCreate(
+                new PointQueryContextCache.Key("plan", true), descSerializer, exprsSerializer).getId());
+        Assert.assertNotEquals(context.getId(), cache.getOrCreate(
+                new PointQueryContextCache.Key("plan2", false), descSerializer, exprsSerializer).getId());
+        Assert.assertEquals(6, serializedNum.get());
+    }
+
+    @Test
+    public void testSerializeFailure() throws TException {
+        PointQueryContextCache cache = new PointQueryContextCache();
+        PointQueryContextCache.Key key = new PointQueryContextCache.Key("plan", false);
+        try {
+            cache.getOrCreate(key, () -> {
+                throw new TException("failed");
+            }, () -> ByteString.EMPTY);
+            Assert.fail();
+        } catch (TException e) {
+            Assert.assertEquals("failed", e.getMessage());
+        }
+
+        // the failure is not cached
+        ByteString desc = ByteString.copyFromUtf8("desc");
+        Assert.assertSame(desc, cache.getOrCreate(key, () -> desc, () -> ByteString.EMPTY).getSerializedDescTable());
+    }
+}
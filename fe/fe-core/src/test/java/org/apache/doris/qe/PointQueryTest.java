@@ -0,0 +1,164 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.planner.OlapScanNode;
+import org.apache.doris.planner.Planner;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+import org.apache.doris.thrift.TNetworkAddress;
+import org.apache.doris.thrift.TResultBatch;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.apache.thrift.TSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PointQueryTest extends TestWithFeService {
+    private OlapTable table;
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("test");
+        useDatabase("test");
+        createTable("CREATE TABLE test.tbl (k1 INT, k2 VARCHAR(10), v INT) UNIQUE KEY (k1, k2) "
+                + "PARTITION BY RANGE (k1) (PARTITION p1 VALUES LESS THAN ('10'), "
+                + "PARTITION p2 VALUES LESS THAN ('20')) "
+                + "DISTRIBUTED BY HASH(k1, k2) BUCKETS 8 PROPERTIES ('replication_num' = '1', "
+                + "'enable_unique_key_merge_on_write' = 'true', 'store_row_column' = 'true', "
+                + "'light_schema_change' = 'true')");
+        Database db = Env.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:test");
+        table = (OlapTable) db.getTableOrMetaException("tbl");
+    }
+
+    @Test
+    public void testKeyTablet() throws Exception {
+        OlapScanNode scanNode = planPointQuery("SELECT * FROM tbl WHERE k1 = 15 AND k2 = 'b'");
+        List<List<LiteralExpr>> keys = getKeyTuples(scanNode);
+        Assertions.assertEquals(1, keys.size());
+        long tabletId = scanTablet("k1 = 15 AND k2 = 'b'");
+        Assertions.assertNotNull(table.getPartition("p2").getBaseIndex().getTablet(tabletId));
+        Assertions.assertEquals(Lists.newArrayList(tabletId), scanNode.lazyEvaluateKeyTablets(keys));
+    }
+
+    @Test
+    public void testInPredicateKeyTablets() throws Exception {
+        OlapScanNode scanNode = planPointQuery("SELECT * FROM tbl WHERE k1 IN (5, 15, 25) AND k2 IN ('a', 'b')");
+        List<List<LiteralExpr>> keys = getKeyTuples(scanNode);
+        Assertions.assertEquals(6, keys.size());
+        // the keys of k1 = 25 are in none of the partitions
+        Assertions.assertEquals(Lists.newArrayList(scanTablet("k1 = 5 AND k2 = 'a'"), scanTablet("k1 = 5 AND k2 = 'b'"),
+                scanTablet("k1 = 15 AND k2 = 'a'"), scanTablet("k1 = 15 AND k2 = 'b'"), -1L, -1L),
+                scanNode.lazyEvaluateKeyTablets(keys));
+    }
+
+    @Test
+    public void testMergeRowsInKeyOrder() throws Exception {
+        OlapScanNode scanNode = planPointQuery("SELECT * FROM tbl WHERE k1 IN (5, 15) AND k2 IN ('a', 'b')");
+        PointQueryExec pointExec = new PointQueryExec(scanNode.getPointQueryKeyValues(), null, null);
+        List<List<LiteralExpr>> keys = pointExec.getKeyTuples();
+        Assertions.assertEquals(4, keys.size());
+        // the keys are in two tablets of the same backend alternately, and the key 0 is not found
+        TNetworkAddress address = new TNetworkAddress("127.0.0.1", 8060);
+        for (int i = 0; i < keys.size(); i++) {
+            pointExec.addKeyTablet(keys.get(i), 1000 + i % 2, address, 1);
+        }
+        Map<Long, InternalService.PTabletKeyLookupResponse> pResults = new HashMap<>();
+        pResults.put(1000L, lookupResponse(Lists.newArrayList("row2"), Lists.newArrayList(1)));
+        pResults.put(1001L, lookupResponse(Lists.newArrayList("row1", "row3"), Lists.newArrayList(0, 1)));
+
+        TResultBatch mergedBatch = pointExec.mergeRows(pResults);
+        List<String> rows = new ArrayList<>();
+        for (ByteBuffer row : mergedBatch.getRows()) {
+            rows.add(StandardCharsets.UTF_8.decode(row).toString());
+        }
+        Assertions.assertEquals(Lists.newArrayList("row1", "row2", "row3"), rows);
+    }
+
+    @Test
+    public void testContextKey() throws Exception {
+        // the point queries of different keys share the context
+        PointQueryContextCache.Key key = contextKey("SELECT * FROM tbl WHERE k1 = 15 AND k2 = 'b'", false);
+        Assertions.assertEquals(key, contextKey("SELECT * FROM tbl WHERE k1 = 5 AND k2 = 'a'", false));
+        Assertions.assertNotEquals(key, contextKey("SELECT * FROM tbl WHERE k1 = 5 AND k2 = 'a'", true));
+        Assertions.assertNotEquals(key, contextKey("SELECT v, k1 FROM tbl WHERE k1 = 5 AND k2 = 'a'", false));
+        Assertions.assertNotEquals(key, contextKey("SELECT k1, k2, v + 1 FROM tbl WHERE k1 = 5 AND k2 = 'a'", false));
+    }
+
+    private static InternalService.PTabletKeyLookupResponse lookupResponse(List<String> rows,
+            List<Integer> rowKeyIndexes) throws Exception {
+        TResultBatch resultBatch = new TResultBatch();
+        for (String row : rows) {
+            resultBatch.addToRows(ByteBuffer.wrap(row.getBytes(StandardCharsets.UTF_8)));
+        }
+        resultBatch.setIsCompressed(false);
+        resultBatch.setPacketSeq(0);
+        return InternalService.PTabletKeyLookupResponse.newBuilder()
+                .setStatus(Types.PStatus.newBuilder().setStatusCode(0))
+                .setRowBatch(ByteString.copyFrom(new TSerializer().serialize(resultBatch)))
+                .addAllRowKeyIndexes(rowKeyIndexes)
+                .build();
+    }
+
+    private PointQueryContextCache.Key contextKey(String sql, boolean isBinaryProtocol) throws Exception {
+        Planner planner = getSQLPlanner("EXPLAIN " + sql);
+        Assertions.assertNotNull(planner, connectContext.getState().getErrorMessage());
+        OlapScanNode scanNode = (OlapScanNode) planner.getScanNodes().get(0);
+        Assertions.assertTrue(scanNode.isPointQuery(), sql);
+        return PointQueryContextCache.Key.of(scanNode.getDescTable(), planner.getFragments().get(0).getOutputExprs(),
+                isBinaryProtocol);
+    }
+
+    private OlapScanNode planPointQuery(String sql) throws Exception {
+        OlapScanNode scanNode = planScan(sql);
+        Assertions.assertTrue(scanNode.isPointQuery(), sql);
+        scanNode.lazyEvaluateRangeLocations();
+        return scanNode;
+    }
+
+    private List<List<LiteralExpr>> getKeyTuples(OlapScanNode scanNode) {
+        return new PointQueryExec(scanNode.getPointQueryKeyValues(), null, null).getKeyTuples();
+    }
+
+    // the tablet scanned by the normal plan of the key
+    private long scanTablet(String keyPredicates) throws Exception {
+        OlapScanNode scanNode = planScan("SELECT * FROM tbl WHERE " + keyPredicates + " LIMIT 1");
+        Assertions.assertFalse(scanNode.isPointQuery());
+        Assertions.assertEquals(1, scanNode.getScanTabletIds().size(), keyPredicates);
+        return scanNode.getScanTabletIds().get(0);
+    }
+
+    private OlapScanNode planScan(String sql) throws Exception {
+        Planner planner = getSQLPlanner("EXPLAIN " + sql);
+        Assertions.assertNotNull(planner, connectContext.getState().getErrorMessage());
+        return (OlapScanNode) planner.getScanNodes().get(0);
+    }
+}
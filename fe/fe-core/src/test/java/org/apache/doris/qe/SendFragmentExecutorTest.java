@@ -0,0 +1,224 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.common.UserException;
+
+import com.google.common.collect.Lists;
+import org.apache.thrift.TException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SendFragmentExecutorTest {
+    private static final int THREAD_NUM = 2;
+
+    private ThreadPoolExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = ThreadPoolManager.newDaemonCallerRunsThreadPool(THREAD_NUM, "send-fragment-test-pool", false);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testResultsInOrder() throws Exception {
+        List<Callable<Integer>> tasks = Lists.newArrayList();
+        for (int i = 0; i < 8; i++) {
+            int result = i;
+            tasks.add(() -> {
+                Thread.sleep(10);
+                return result;
+            });
+        }
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2, 3, 4, 5, 6, 7), Coordinator.callInParallel(executor, tasks));
+    }
+
+    @Test(timeout = 60000)
+    public void testNotQueuedBehindOtherQueries() throws Exception {
+        // the tasks of the first query occupy all the threads of the pool
+        CountDownLatch started = new CountDownLatch(THREAD_NUM + 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Callable<Integer>> blockedTasks = Lists.newArrayList();
+        for (int i = 0; i < THREAD_NUM + 1; i++) {
+            int result = i;
+            blockedTasks.add(() -> {
+                started.countDown();
+                release.await();
+                return result;
+            });
+        }
+        AtomicReference<List<Integer>> blockedResults = new AtomicReference<>();
+        Thread blockedQuery = new Thread(() -> {
+            try {
+                blockedResults.set(Coordinator.callInParallel(executor, blockedTasks));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        blockedQuery.start();
+        Assert.assertTrue(started.await(30, TimeUnit.SECONDS));
+        Assert.assertEquals(THREAD_NUM, executor.getActiveCount());
+
+        // the tasks of another query are run by the query thread instead of waiting for the pool
+        List<Callable<Thread>> tasks = Lists.newArrayList();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(Thread::currentThread);
+        }
+        List<Thread> threads = Coordinator.callInParallel(executor, tasks);
+        for (Thread thread : threads) {
+            Assert.assertSame(Thread.currentThread(), thread);
+        }
+
+        release.countDown();
+        blockedQuery.join();
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2), blockedResults.get());
+    }
+
+    @Test(timeout = 60000)
+    public void testConcurrentQueries() throws Exception {
+        int queryNum = 16;
+        int taskNum = 4;
+        AtomicInteger calledNum = new AtomicInteger();
+        List<Thread> queries = Lists.newArrayList();
+        List<AtomicReference<List<Integer>>> results = Lists.newArrayList();
+        for (int i = 0; i < queryNum; i++) {
+            List<Callable<Integer>> tasks = Lists.newArrayList();
+            for (int j = 0; j < taskNum; j++) {
+                int result = i * taskNum + j;
+                tasks.add(() -> {
+                    Thread.sleep(10);
+                    calledNum.incrementAndGet();
+                    return result;
+                });
+            }
+            AtomicReference<List<Integer>> queryResults = new AtomicReference<>();
+            results.add(queryResults);
+            queries.add(new Thread(() -> {
+                try {
+                    queryResults.set(Coordinator.callInParallel(executor, tasks));
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        queries.forEach(Thread::start);
+        for (Thread query : queries) {
+            query.join();
+        }
+
+        Assert.assertEquals(queryNum * taskNum, calledNum.get());
+        for (int i = 0; i < queryNum; i++) {
+            List<Integer> expected = Lists.newArrayList();
+            for (int j = 0; j < taskNum; j++) {
+                expected.add(i * taskNum + j);
+            }
+            Assert.assertEquals(expected, results.get(i).get());
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(THREAD_NUM);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calledNum = new AtomicInteger();
+        List<Callable<Integer>> tasks = Lists.newArrayList();
+        tasks.add(() -> 0);
+        for (int i = 1; i <= THREAD_NUM; i++) {
+            int result = i;
+            tasks.add(() -> {
+                started.countDown();
+                release.await();
+                calledNum.incrementAndGet();
+                return result;
+            });
+        }
+        AtomicReference<Exception> error = new AtomicReference<>();
+        AtomicInteger calledNumOnReturn = new AtomicInteger(-1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread query = new Thread(() -> {
+            try {
+                Coordinator.callInParallel(executor, tasks);
+            } catch (Exception e) {
+                error.set(e);
+            }
+            calledNumOnReturn.set(calledNum.get());
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        query.start();
+        Assert.assertTrue(started.await(30, TimeUnit.SECONDS));
+        query.interrupt();
+
+        // the interrupted query still waits for the running tasks, and keeps the interrupt flag
+        release.countDown();
+        query.join();
+        Assert.assertTrue(error.get() instanceof UserException);
+        Assert.assertEquals(THREAD_NUM, calledNumOnReturn.get());
+        Assert.assertTrue(interrupted.get());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        AtomicInteger calledNum = new AtomicInteger();
+        List<Callable<Integer>> tasks = Lists.newArrayList();
+        for (int i = 0; i < 4; i++) {
+            int result = i;
+            tasks.add(() -> {
+                Thread.sleep(10);
+                calledNum.incrementAndGet();
+                if (result == 1) {
+                    throw new TException("send failed");
+                } else if (result == 2) {
+                    throw new IllegalStateException("serialize failed");
+                }
+                return result;
+            });
+        }
+
+        // the first failure is thrown after all the tasks are done
+        try {
+            Coordinator.callInParallel(executor, tasks);
+            Assert.fail();
+        } catch (TException e) {
+            Assert.assertEquals("send failed", e.getMessage());
+        }
+        Assert.assertEquals(4, calledNum.get());
+
+        try {
+            Coordinator.callInParallel(executor, tasks.subList(2, 4));
+            Assert.fail();
+        } catch (UserException e) {
+            Assert.assertTrue(e.getMessage().contains("serialize failed"));
+        }
+    }
+}
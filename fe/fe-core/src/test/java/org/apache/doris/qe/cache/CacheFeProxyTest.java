@@ -0,0 +1,135 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+
+import com.google.protobuf.ByteString;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CacheFeProxyTest {
+    private int beFetchCount;
+
+    @Before
+    public void setUp() {
+        beFetchCount = 0;
+        new MockUp<CacheBeProxy>() {
+            @Mock
+            public void updateCache(InternalService.PUpdateCacheRequest request, int timeoutMs, Status status) {
+            }
+
+            @Mock
+            public InternalService.PFetchCacheResult fetchCache(InternalService.PFetchCacheRequest request,
+                    int timeoutMs, Status status) {
+                beFetchCount++;
+                return null;
+            }
+        };
+        CacheFeProxy.invalidateAll();
+    }
+
+    private static InternalService.PCacheParam param(long partitionKey, long version) {
+        return InternalService.PCacheParam.newBuilder()
+                .setPartitionKey(partitionKey)
+                .setLastVersion(version)
+                .setLastVersionTime(1000L)
+                .build();
+    }
+
+    private static InternalService.PUpdateCacheRequest updateRequest(Types.PUniqueId sqlKey, int rowBytes,
+            InternalService.PCacheParam... params) {
+        InternalService.PUpdateCacheRequest.Builder builder = InternalService.PUpdateCacheRequest.newBuilder()
+                .setSqlKey(sqlKey);
+        for (InternalService.PCacheParam param : params) {
+            builder.addValues(InternalService.PCacheValue.newBuilder()
+                    .setParam(param)
+                    .setDataSize(rowBytes)
+                    .addRows(ByteString.copyFrom(new byte[rowBytes])));
+        }
+        return builder.build();
+    }
+
+    private static InternalService.PFetchCacheRequest fetchRequest(Types.PUniqueId sqlKey,
+            InternalService.PCacheParam... params) {
+        InternalService.PFetchCacheRequest.Builder builder = InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(sqlKey);
+        for (InternalService.PCacheParam param : params) {
+            builder.addParams(param);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testHitWithoutBackend() {
+        CacheFeProxy proxy = new CacheFeProxy();
+        Types.PUniqueId sqlKey = CacheProxy.getMd5("select k1 from t");
+        proxy.updateCache(updateRequest(sqlKey, 10, param(1, 2), param(2, 3)), CacheProxy.UPDATE_TIMEOUT,
+                new Status());
+        Assert.assertTrue(CacheFeProxy.getUsedBytes() > 0);
+
+        Status status = new Status();
+        InternalService.PFetchCacheResult result = proxy.fetchCache(
+                fetchRequest(sqlKey, param(1, 2), param(2, 3)), CacheProxy.FETCH_TIMEOUT, status);
+        Assert.assertTrue(status.ok());
+        Assert.assertEquals(InternalService.PCacheStatus.CACHE_OK, result.getStatus());
+        Assert.assertEquals(2, result.getValuesCount());
+        Assert.assertEquals(0, beFetchCount);
+    }
+
+    @Test
+    public void testMissFallsBackToBackend() {
+        CacheFeProxy proxy = new CacheFeProxy();
+        Types.PUniqueId sqlKey = CacheProxy.getMd5("select k1 from t");
+        proxy.updateCache(updateRequest(sqlKey, 10, param(1, 2)), CacheProxy.UPDATE_TIMEOUT, new Status());
+
+        // the partition has a new version
+        Assert.assertNull(proxy.fetchCache(fetchRequest(sqlKey, param(1, 3)), CacheProxy.FETCH_TIMEOUT,
+                new Status()));
+        Assert.assertEquals(1, beFetchCount);
+        // the stale result has been dropped
+        Assert.assertNull(proxy.fetchCache(fetchRequest(sqlKey, param(1, 2)), CacheProxy.FETCH_TIMEOUT,
+                new Status()));
+        Assert.assertEquals(2, beFetchCount);
+
+        // only a part of the partitions is cached in fe
+        proxy.updateCache(updateRequest(sqlKey, 10, param(1, 2)), CacheProxy.UPDATE_TIMEOUT, new Status());
+        Assert.assertNull(proxy.fetchCache(fetchRequest(sqlKey, param(1, 2), param(2, 2)),
+                CacheProxy.FETCH_TIMEOUT, new Status()));
+        Assert.assertEquals(3, beFetchCount);
+    }
+
+    @Test
+    public void testLargeResultOnlyInBackend() {
+        CacheFeProxy proxy = new CacheFeProxy();
+        Types.PUniqueId sqlKey = CacheProxy.getMd5("select k2 from t");
+        int rowBytes = Config.cache_fe_result_max_entry_kb * 1024 + 1;
+        proxy.updateCache(updateRequest(sqlKey, rowBytes, param(1, 2)), CacheProxy.UPDATE_TIMEOUT, new Status());
+        Assert.assertEquals(0, CacheFeProxy.getUsedBytes());
+        Assert.assertNull(proxy.fetchCache(fetchRequest(sqlKey, param(1, 2)), CacheProxy.FETCH_TIMEOUT,
+                new Status()));
+        Assert.assertEquals(1, beFetchCount);
+    }
+}
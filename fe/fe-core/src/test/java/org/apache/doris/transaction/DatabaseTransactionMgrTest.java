@@ -168,6 +168,9 @@ public class DatabaseTransactionMgrTest {
         Assert.assertEquals(0, masterDbTransMgr.getRunningRoutineLoadTxnNums());
         Assert.assertEquals(2, masterDbTransMgr.getFinishedTxnNums());
         Assert.assertEquals(4, masterDbTransMgr.getTransactionNum());
+        // the aborted transaction is moved to final status and still found by id
+        Assert.assertEquals(TransactionStatus.ABORTED,
+                masterDbTransMgr.getTransactionState(txnId2).getTransactionStatus());
 
         long txnId3 = LabelToTxnId.get(CatalogTestUtil.testTxnLabel3);
         masterDbTransMgr.abortTransaction(txnId3, "test abort transaction", null);
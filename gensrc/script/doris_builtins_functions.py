@@ -1550,6 +1550,7 @@ non_null_result_with_null_param_functions = [
 # Nondeterministic functions may return different results each time they are called
 nondeterministic_functions = [
     'rand',
+    'random',
     'now',
     'current_timestamp',
     'localtime',
@@ -100,11 +100,20 @@ struct TReportRequest {
     8: optional i64 tablet_max_compaction_score
     9: optional list<AgentService.TStoragePolicy> storage_policy // only id and version
     10: optional list<AgentService.TStorageResource> resource // only id and version
+    // if true, 'tablets' only contains the tablets changed since the report of 'base_tablet_report_version',
+    // and 'dropped_tablets' contains the tablets dropped since then
+    11: optional bool is_delta_tablet_report
+    12: optional i64 base_tablet_report_version
+    13: optional list<Types.TTabletId> dropped_tablets
 }
 
 struct TMasterResult {
     // required in V1
     1: required Status.TStatus status
+    // the report version of the last tablet report processed by FE, a delta tablet report should be based on it
+    2: optional i64 acked_tablet_report_version
+    // the delta tablet report is rejected or too many delta reports are sent, the next one should be full
+    3: optional bool need_full_tablet_report
 }
 
 // Now we only support CPU share.
@@ -0,0 +1,90 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+// the functions folded by FE must return exactly what BE returns for the same input,
+// so every function is computed on a column by BE and on the literal value by FE.
+suite("fold_constant_conformance") {
+    sql "SET enable_nereids_planner=true"
+    sql "SET enable_vectorized_engine=true"
+    sql "SET enable_fallback_to_original_planner=false"
+
+    def tableName = "fold_constant_conformance"
+    sql "DROP TABLE IF EXISTS ${tableName}"
+    sql """
+        CREATE TABLE ${tableName} (
+            id int NOT NULL,
+            s varchar(64) NOT NULL,
+            i int NOT NULL,
+            n int NOT NULL,
+            dt datetime NOT NULL,
+            d datev2 NOT NULL
+        ) DUPLICATE KEY(id)
+        DISTRIBUTED BY HASH(id) BUCKETS 1
+        PROPERTIES (
+            "replication_allocation" = "tag.location.default: 1"
+        );
+    """
+
+    def rows = [
+        [1, "abc", 0, 2, "2022-12-31 23:59:59", "2023-01-01"],
+        [2, "数据库Doris", -3, 1, "2020-02-29 00:00:00", "2020-02-29"],
+        [3, "  a b  ", 2147483647, -1, "1999-01-04 12:30:45", "1970-01-01"],
+        [4, "", -2147483648, 100, "2000-10-15 08:00:01", "9999-12-31"],
+        [5, "Ünïcødé 💡 ok", 7, 4, "2024-06-30 18:05:00", "2024-03-01"]
+    ]
+    rows.each { r ->
+        sql "INSERT INTO ${tableName} VALUES (${r[0]}, '${r[1]}', ${r[2]}, ${r[3]}, '${r[4]}', '${r[5]}')"
+    }
+    sql "sync"
+
+    // the placeholders are replaced by a column for BE and by the literal of the same row for FE
+    def functions = [
+        "upper(S)", "lower(S)", "length(S)", "trim(S)", "ltrim(S)", "rtrim(S)", "reverse(S)",
+        "concat(S, '-', S)", "replace(S, 'a', 'xy')", "replace(S, '', 'x')",
+        "starts_with(S, 'ab')", "ends_with(S, 'ok')",
+        "substring(S, N)", "substring(S, N, 2)", "substring(S, I, N)", "substring(S, -2, N)",
+        "left(S, N)", "right(S, N)",
+        "abs(I)", "abs(cast(I as bigint))", "ceil(cast(I as double) / 3)", "floor(cast(I as double) / 3)",
+        "year(DT)", "month(DT)", "dayofmonth(DT)", "hour(DT)", "minute(DT)", "second(DT)",
+        "quarter(DT)", "dayofweek(DT)", "dayofyear(DT)", "to_date(DT)", "datediff(DT, D)",
+        "year(D)", "quarter(D)", "dayofweek(D)", "dayofyear(D)", "datediff(D, DT)",
+        // executable before, but only folded on FE since bound functions are evaluated there
+        "years_add(DT, N)", "months_add(DT, N)", "days_sub(DT, N)", "hours_add(DT, N)", "seconds_sub(DT, N)"
+    ]
+
+    rows.each { r ->
+        def literals = [
+            S: "'${r[1]}'", I: "${r[2]}", N: "${r[3]}",
+            DT: "cast('${r[4]}' as datetime)", D: "cast('${r[5]}' as datev2)"
+        ]
+        def columns = [S: "s", I: "i", N: "n", DT: "dt", D: "d"]
+        functions.each { f ->
+            def onBe = f
+            def onFe = f
+            ["DT", "D", "S", "I", "N"].each { p ->
+                onBe = onBe.replaceAll("\\b${p}\\b", columns[p])
+                onFe = onFe.replaceAll("\\b${p}\\b", literals[p])
+            }
+            def beResult = sql "SELECT ${onBe} FROM ${tableName} WHERE id = ${r[0]}"
+            def feResult = sql "SELECT ${onFe}"
+            assertEquals("${f} differs on row ${r[0]}".toString(), beResult, feResult)
+        }
+    }
+
+    sql "DROP TABLE IF EXISTS ${tableName}"
+}